@@ -79,6 +79,69 @@ public class SubmissionProperties {
 
     int maxSimultaneous = DEFAULT_MAX_VALIDATING;
 
+    /**
+     * Key validator key store implementation (one of {@code HEAP}, {@code OFF_HEAP}).
+     */
+    String keyStore = "HEAP";
+
+    /**
+     * Number of file types the key validator processes concurrently (1 for sequential processing).
+     */
+    int keyThreads = 1;
+
+    /**
+     * Whether the key validator fronts its key stores with a Bloom filter (logs hit/miss counters per file type).
+     */
+    boolean keyBloomFilter = false;
+
+    /**
+     * Maximum heap size of the key validator tasks with the {@code OFF_HEAP} key store (as for {@code -Xmx}).
+     */
+    String keyOffHeapMaxHeapSize = "4g";
+
+    /**
+     * Maximum direct memory size of the key validator tasks with the {@code OFF_HEAP} key store, where the keys are
+     * held (as for {@code -XX:MaxDirectMemorySize}).
+     */
+    String keyOffHeapMaxDirectMemorySize = "20g";
+
+    /**
+     * Whether the first-pass validator reads each file once, checking codec, header and rows from the same stream.
+     */
+    boolean firstPassFused = false;
+
+    /**
+     * Number of files the first-pass validator checks concurrently (1 for sequential processing).
+     */
+    int firstPassThreads = 1;
+
+    /**
+     * Whether the primary validator checks each file in a single loop rather than with Cascading (local mode only).
+     */
+    boolean primaryFused = false;
+
+    /**
+     * Number of files the fused primary validator processes concurrently (1 for sequential processing).
+     */
+    int primaryThreads = 1;
+
+    /**
+     * Whether compressed submission files are decompressed once before validation and the following validators read
+     * the decompressed copies.
+     */
+    boolean stageFiles = false;
+
+    /**
+     * Maximum number of errors reported per file (0 for no maximum), past which validators stop checking the file and
+     * its error counts are marked as truncated.
+     */
+    long maxFileErrors = 0;
+
+    /**
+     * Maximum number of errors reported per validation (0 for no maximum), past which validators stop checking files.
+     */
+    long maxErrors = 0;
+
   }
 
   @Data
@@ -94,6 +157,17 @@ public class SubmissionProperties {
 
     String fasta;
 
+    /**
+     * Whether the FASTA file is memory-mapped rather than read through its index with htsjdk.
+     */
+    boolean mapped = false;
+
+    /**
+     * Number of line index chunks of a file the reference genome validator checks concurrently (1 for sequential
+     * processing).
+     */
+    int threads = 1;
+
   }
 
   @Data
@@ -151,6 +225,24 @@ public class SubmissionProperties {
     Integer port;
     Integer nioWorkers;
 
+    /**
+     * Number of seconds the open release, its submissions and the directory listings are cached for SFTP sessions (0
+     * for no caching).
+     */
+    int cacheTtlSeconds = 5;
+
+    /**
+     * Size in bytes of each of the two buffers an upload is written to HDFS with, one being written while the other is
+     * received (0 for unbuffered writes).
+     */
+    int uploadBufferSize = 4 * 1024 * 1024;
+
+    /**
+     * Whether the first-pass checks that only involve the file itself are performed on uploaded submission files as
+     * their bytes arrive, the errors found being sent as a notification.
+     */
+    boolean preValidation = false;
+
   }
 
   @Data
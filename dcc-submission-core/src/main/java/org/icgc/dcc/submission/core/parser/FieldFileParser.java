@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.icgc.dcc.submission.core.util.ReadAheadInputStream;
+import org.icgc.dcc.submission.fs.StagedFiles;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Byte-level counterpart of {@code FileParser}: streams the (decompressed) lines of a file as {@link FieldRecord}s
+ * backed by a {@link FieldTokenizer}, avoiding a {@code String} per line and per field.
+ * <p>
+ * Line numbers are physical and 1-based, the header being line 1.
+ */
+@RequiredArgsConstructor
+public class FieldFileParser {
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final FileSystem fileSystem;
+
+  /**
+   * Configuration.
+   */
+  private final boolean processHeader;
+
+  /**
+   * Returns the number of lines read (including the header).
+   */
+  public long parse(@NonNull Path file, @NonNull FieldRecordProcessor processor) throws IOException {
+    @Cleanup
+    val tokenizer = new FieldTokenizer(open(file));
+
+    long lineNumber = 0;
+    while (tokenizer.next()) {
+      lineNumber++;
+
+      val header = lineNumber == 1;
+      if (header && !processHeader) {
+        continue;
+      }
+
+      processor.process(lineNumber, tokenizer);
+    }
+
+    return lineNumber;
+  }
+
+  private InputStream open(Path file) throws IOException {
+    val source = StagedFiles.resolve(fileSystem, file);
+    val in = fileSystem.open(source);
+    val codec = new CompressionCodecFactory(fileSystem.getConf()).getCodec(source);
+
+    return codec == null ? in : new ReadAheadInputStream(codec.createInputStream(in));
+  }
+
+}
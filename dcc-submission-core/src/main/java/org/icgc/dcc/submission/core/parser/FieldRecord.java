@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.parser;
+
+import static com.google.common.base.Charsets.UTF_8;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+/**
+ * Tab-delimited record exposed as field slices (offset and length) of a shared byte buffer, so that clients can read
+ * the fields they need without materializing the others.
+ * <p>
+ * Instances are typically reused from one line to the next: the buffer content is only valid for the duration of the
+ * callback that received the record.
+ */
+public interface FieldRecord {
+
+  int getFieldCount();
+
+  byte[] getBuffer();
+
+  int getFieldOffset(int index);
+
+  int getFieldLength(int index);
+
+  default String getField(int index) {
+    return new String(getBuffer(), getFieldOffset(index), getFieldLength(index), UTF_8);
+  }
+
+  /**
+   * Decodes all the fields (allocates, only intended for the less frequent code paths).
+   */
+  default List<String> getFields() {
+    val fields = ImmutableList.<String> builder();
+    for (int i = 0; i < getFieldCount(); i++) {
+      fields.add(getField(i));
+    }
+
+    return fields.build();
+  }
+
+}
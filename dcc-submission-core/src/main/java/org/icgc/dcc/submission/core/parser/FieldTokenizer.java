@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.parser;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import lombok.NonNull;
+
+/**
+ * Splits a decompressed stream of tab-delimited lines into {@link FieldRecord}s without decoding them.
+ * <p>
+ * Bytes are read in blocks into a single reusable buffer (grown only for lines longer than it) and each call to
+ * {@link #next()} exposes the next line's fields as slices of that buffer, in place. A trailing {@code '\r'} is not
+ * considered part of the last field.
+ * <p>
+ * Not thread-safe.
+ */
+public final class FieldTokenizer implements FieldRecord, Closeable {
+
+  /**
+   * Constants.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+  private static final int INITIAL_FIELD_CAPACITY = 64;
+  private static final byte FIELD_SEPARATOR = '\t';
+  private static final byte LINE_SEPARATOR = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final InputStream inputStream;
+
+  /**
+   * Buffer state: {@code [lineStart, limit)} holds the bytes not yet consumed.
+   */
+  private byte[] buffer;
+  private int lineStart;
+  private int limit;
+  private boolean eof;
+
+  /**
+   * Current record state.
+   */
+  private int[] fieldOffsets = new int[INITIAL_FIELD_CAPACITY];
+  private int[] fieldLengths = new int[INITIAL_FIELD_CAPACITY];
+  private int fieldCount;
+
+  public FieldTokenizer(@NonNull InputStream inputStream) {
+    this(inputStream, DEFAULT_BUFFER_SIZE);
+  }
+
+  public FieldTokenizer(@NonNull InputStream inputStream, int bufferSize) {
+    checkState(bufferSize > 0, "Invalid buffer size: %s", bufferSize);
+    this.inputStream = inputStream;
+    this.buffer = new byte[bufferSize];
+  }
+
+  /**
+   * Advances to the next line, returning {@code false} once the stream is exhausted. Previously exposed slices are
+   * invalidated.
+   */
+  public boolean next() throws IOException {
+    int scanFrom = lineStart;
+    while (true) {
+      for (int i = scanFrom; i < limit; i++) {
+        if (buffer[i] == LINE_SEPARATOR) {
+          tokenize(lineStart, i);
+          lineStart = i + 1;
+
+          return true;
+        }
+      }
+
+      if (eof) {
+        if (lineStart == limit) {
+          fieldCount = 0;
+
+          return false;
+        }
+
+        // Last line without a terminator
+        tokenize(lineStart, limit);
+        lineStart = limit;
+
+        return true;
+      }
+
+      // No complete line buffered, read more (only the partial line is rescanned)
+      scanFrom = limit - lineStart;
+      fill();
+    }
+  }
+
+  @Override
+  public int getFieldCount() {
+    return fieldCount;
+  }
+
+  @Override
+  public byte[] getBuffer() {
+    return buffer;
+  }
+
+  @Override
+  public int getFieldOffset(int index) {
+    checkElementIndex(index, fieldCount);
+    return fieldOffsets[index];
+  }
+
+  @Override
+  public int getFieldLength(int index) {
+    checkElementIndex(index, fieldCount);
+    return fieldLengths[index];
+  }
+
+  @Override
+  public void close() throws IOException {
+    inputStream.close();
+  }
+
+  /**
+   * Moves the partial line to the front of the buffer (growing it if the line fills it) and reads the next block.
+   */
+  private void fill() throws IOException {
+    int remaining = limit - lineStart;
+    if (lineStart > 0) {
+      System.arraycopy(buffer, lineStart, buffer, 0, remaining);
+    } else if (remaining == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+
+    lineStart = 0;
+    limit = remaining;
+
+    int read = inputStream.read(buffer, limit, buffer.length - limit);
+    if (read == -1) {
+      eof = true;
+    } else {
+      limit += read;
+    }
+  }
+
+  private void tokenize(int start, int end) {
+    if (end > start && buffer[end - 1] == CARRIAGE_RETURN) {
+      end--;
+    }
+
+    fieldCount = 0;
+    int fieldStart = start;
+    for (int i = start; i < end; i++) {
+      if (buffer[i] == FIELD_SEPARATOR) {
+        addField(fieldStart, i);
+        fieldStart = i + 1;
+      }
+    }
+
+    addField(fieldStart, end);
+  }
+
+  private void addField(int start, int end) {
+    if (fieldCount == fieldOffsets.length) {
+      fieldOffsets = Arrays.copyOf(fieldOffsets, fieldCount * 2);
+      fieldLengths = Arrays.copyOf(fieldLengths, fieldCount * 2);
+    }
+
+    fieldOffsets[fieldCount] = start;
+    fieldLengths[fieldCount] = end - start;
+    fieldCount++;
+  }
+
+}
@@ -17,8 +17,11 @@
  */
 package org.icgc.dcc.submission.core.parser;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -31,17 +34,23 @@ import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import com.google.common.collect.ImmutableSortedMap;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.val;
 
 /**
  * Parser that guarantees {@link FileSchema} defined field ordering of its parsed {@code Map<String, String>} field map.
+ * <p>
+ * When given a subset of field names, only those fields are extracted from the line and included in the map (the
+ * number of fields is still verified).
  */
-@ToString
-@RequiredArgsConstructor
+@ToString(of = "schema")
 public class FileLineMapParser extends AbstractFileLineParser<Map<String, String>> {
 
+  /**
+   * Constants.
+   */
+  private static final char FIELD_SEPARATOR = '\t';
+
   /**
    * Dependencies.
    */
@@ -50,22 +59,44 @@ public class FileLineMapParser extends AbstractFileLineParser<Map<String, String
   @NonNull
   protected final Comparator<String> fieldNameComparator;
 
+  /**
+   * Metadata.
+   */
+  private final List<String> fieldNames;
+
+  /**
+   * Schema ordinals (ascending) of the fields to include, {@code null} meaning all of them.
+   */
+  private final int[] projection;
+
   public FileLineMapParser(@NonNull FileSchema schema) {
+    this(schema, new FieldNameComparator(schema.getFieldNames()));
+  }
+
+  public FileLineMapParser(@NonNull FileSchema schema, @NonNull Comparator<String> fieldNameComparator) {
+    this(schema, fieldNameComparator, null);
+  }
+
+  public FileLineMapParser(@NonNull FileSchema schema, @NonNull Collection<String> fieldNames) {
+    this(schema, new FieldNameComparator(schema.getFieldNames()), getOrdinals(schema, fieldNames));
+  }
+
+  private FileLineMapParser(FileSchema schema, Comparator<String> fieldNameComparator, int[] projection) {
     this.schema = schema;
-    this.fieldNameComparator = new FieldNameComparator(schema.getFieldNames());
+    this.fieldNameComparator = fieldNameComparator;
+    this.fieldNames = schema.getFieldNames();
+    this.projection = projection;
   }
 
   @Override
   public Map<String, String> parse(String line) {
     try {
-      val fieldNames = schema.getFieldNames();
-      val fieldValues = split(line);
+      if (projection != null) {
+        return createProjectedRecord(line);
+      }
 
-      val actualCount = fieldValues.size();
-      val expectedCount = fieldNames.size();
-      checkState(actualCount == expectedCount,
-          "Mismatched actual number of fields (%s) with expected number of fields (%s) parsing actual values %s with expected %s fields %s",
-          actualCount, expectedCount, fieldValues, schema.getName(), fieldNames);
+      val fieldValues = split(line);
+      checkFieldCount(fieldValues.size(), fieldValues);
 
       return createRecord(fieldNames, fieldValues);
     } catch (Exception e) {
@@ -86,6 +117,48 @@ public class FileLineMapParser extends AbstractFileLineParser<Map<String, String
     return record.build();
   }
 
+  /**
+   * Scans the field separators, only materializing the values of the projected fields.
+   */
+  private SortedMap<String, String> createProjectedRecord(String line) {
+    val record = createFieldOrderMapBuilder();
+
+    int next = 0;
+    int fieldCount = 0;
+    int fieldStart = 0;
+    while (true) {
+      int fieldEnd = line.indexOf(FIELD_SEPARATOR, fieldStart);
+      val last = fieldEnd == -1;
+      if (last) {
+        fieldEnd = line.length();
+      }
+
+      if (next < projection.length && projection[next] == fieldCount) {
+        record.put(fieldNames.get(fieldCount), line.substring(fieldStart, fieldEnd));
+        next++;
+      }
+
+      fieldCount++;
+      if (last) {
+        break;
+      }
+
+      fieldStart = fieldEnd + 1;
+    }
+
+    // Not split for the check of every line, the line is formatted as is
+    checkFieldCount(fieldCount, line);
+
+    return record.build();
+  }
+
+  private void checkFieldCount(int actualCount, Object actualValues) {
+    val expectedCount = fieldNames.size();
+    checkState(actualCount == expectedCount,
+        "Mismatched actual number of fields (%s) with expected number of fields (%s) parsing actual values %s with expected %s fields %s",
+        actualCount, expectedCount, actualValues, schema.getName(), fieldNames);
+  }
+
   private ImmutableSortedMap.Builder<String, String> createFieldOrderMapBuilder() {
     return ImmutableSortedMap.<String, String> orderedBy(fieldNameComparator);
   }
@@ -94,4 +167,17 @@ public class FileLineMapParser extends AbstractFileLineParser<Map<String, String
     return FIELD_SPLITTER.splitToList(line);
   }
 
+  private static int[] getOrdinals(FileSchema schema, Collection<String> fieldNames) {
+    val schemaFieldNames = schema.getFieldNames();
+    val ordinals = new int[fieldNames.size()];
+    int i = 0;
+    for (val fieldName : fieldNames) {
+      val ordinal = schemaFieldNames.indexOf(fieldName);
+      checkArgument(ordinal != -1, "Unknown field '%s' for schema '%s'", fieldName, schema.getName());
+      ordinals[i++] = ordinal;
+    }
+
+    return Arrays.stream(ordinals).distinct().sorted().toArray();
+  }
+
 }
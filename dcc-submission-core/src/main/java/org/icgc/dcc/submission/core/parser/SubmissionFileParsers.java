@@ -19,6 +19,7 @@ package org.icgc.dcc.submission.core.parser;
 
 import static lombok.AccessLevel.PRIVATE;
 
+import java.util.Collection;
 import java.util.Map;
 
 import org.apache.hadoop.fs.FileSystem;
@@ -44,4 +45,12 @@ public class SubmissionFileParsers {
     return new FileParser<Map<String, String>>(fileSystem, new FileLineMapParser(fileSchema), processHeader);
   }
 
+  /**
+   * Returns a parser whose records only contain the specified fields.
+   */
+  public static FileParser<Map<String, String>> newMapFileParser(FileSystem fileSystem, FileSchema fileSchema,
+      Collection<String> fieldNames) {
+    return new FileParser<Map<String, String>>(fileSystem, new FileLineMapParser(fileSchema, fieldNames), false);
+  }
+
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.report;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.Maps.newEnumMap;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.Lists;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Collects {@link Error}s ahead of their {@link Report}, keyed by file name, error type, number and field names, so
+ * that adding an error is a few hash lookups rather than a traversal of the report tree.
+ * <p>
+ * The aggregated reports are folded into the report tree at once (see {@link Report#addErrors(ErrorAggregator)}),
+ * which yields the same report as adding the errors one at a time. As with {@link FieldErrorReport}s, errors past the
+ * first {@value FieldErrorReport#MAXIMUM_NUM_STORED_ERRORS} of a field are only counted.
+ */
+@NotThreadSafe
+public class ErrorAggregator {
+
+  /**
+   * State.
+   */
+  private final Map<String, Map<ErrorType, Map<Integer, Aggregate>>> files = newLinkedHashMap();
+  private final Set<String> truncatedFileNames = newLinkedHashSet();
+
+  public void addError(@NonNull Error error) {
+    checkNotNull(error.getFileName(), "Expecting a file name for error: %s", error);
+    val errorTypes = files.computeIfAbsent(error.getFileName(), fileName -> newEnumMap(ErrorType.class));
+    val numbers = errorTypes.computeIfAbsent(error.getType(), errorType -> newHashMap());
+
+    Aggregate aggregate = numbers.get(error.getNumber());
+    if (aggregate == null) {
+      aggregate = new Aggregate(new ErrorReport(error.getType(), error.getNumber(), error.getMessage()));
+      numbers.put(error.getNumber(), aggregate);
+    }
+
+    aggregate.addError(error);
+  }
+
+  /**
+   * Records that errors of {@code fileName} were left out (see {@link FileReport#isErrorsTruncated()}).
+   */
+  public void truncate(@NonNull String fileName) {
+    truncatedFileNames.add(fileName);
+  }
+
+  public boolean isTruncated(@NonNull String fileName) {
+    return truncatedFileNames.contains(fileName);
+  }
+
+  public boolean isEmpty() {
+    return files.isEmpty() && truncatedFileNames.isEmpty();
+  }
+
+  /**
+   * The aggregated error reports of {@code fileName}, if any.
+   */
+  public List<ErrorReport> getErrorReports(@NonNull String fileName) {
+    val errorReports = Lists.<ErrorReport> newArrayList();
+    val errorTypes = files.get(fileName);
+    if (errorTypes != null) {
+      for (val numbers : errorTypes.values()) {
+        for (val aggregate : numbers.values()) {
+          errorReports.add(aggregate.errorReport);
+        }
+      }
+    }
+
+    return errorReports;
+  }
+
+  public void clear() {
+    files.clear();
+    truncatedFileNames.clear();
+  }
+
+  /**
+   * An {@link ErrorReport} along with the index of its {@link FieldErrorReport}s.
+   */
+  private static class Aggregate {
+
+    private final ErrorReport errorReport;
+    private final Map<List<String>, FieldErrorReport> fieldErrorReports = newHashMap();
+
+    private Aggregate(ErrorReport errorReport) {
+      this.errorReport = errorReport;
+    }
+
+    private void addError(Error error) {
+      FieldErrorReport fieldErrorReport = fieldErrorReports.get(error.getFieldNames());
+      if (fieldErrorReport == null) {
+        fieldErrorReport = new FieldErrorReport(error.getFieldNames(), error.getType().build(error.getParams()));
+
+        fieldErrorReports.put(error.getFieldNames(), fieldErrorReport);
+        errorReport.getFieldErrorReports().add(fieldErrorReport);
+      }
+
+      fieldErrorReport.addError(error);
+    }
+
+  }
+
+}
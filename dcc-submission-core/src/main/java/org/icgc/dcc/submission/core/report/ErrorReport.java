@@ -19,6 +19,7 @@ package org.icgc.dcc.submission.core.report;
 
 import static com.google.common.collect.ComparisonChain.start;
 
+import java.util.List;
 import java.util.Set;
 
 import org.mongodb.morphia.annotations.Embedded;
@@ -101,6 +102,20 @@ public class ErrorReport implements ReportElement, Comparable<ErrorReport> {
     fieldErrorReport.addError(error);
   }
 
+  /**
+   * Adds the errors {@code errorReport} reports on, as if they had been added after the ones of this report.
+   */
+  public void addErrors(@NonNull ErrorReport errorReport) {
+    for (val fieldErrorReport : errorReport.fieldErrorReports) {
+      val existing = getFieldErrorReport(fieldErrorReport.getFieldNames());
+      if (existing == null) {
+        fieldErrorReports.add(fieldErrorReport);
+      } else {
+        existing.addErrors(fieldErrorReport);
+      }
+    }
+  }
+
   public boolean reportsOn(@NonNull Error error) {
     return errorType == error.getType() && number == error.getNumber();
   }
@@ -134,4 +149,14 @@ public class ErrorReport implements ReportElement, Comparable<ErrorReport> {
     return null;
   }
 
+  private FieldErrorReport getFieldErrorReport(List<String> fieldNames) {
+    for (val fieldErrorReport : fieldErrorReports) {
+      if (fieldErrorReport.getFieldNames().equals(fieldNames)) {
+        return fieldErrorReport;
+      }
+    }
+
+    return null;
+  }
+
 }
@@ -18,7 +18,6 @@
 package org.icgc.dcc.submission.core.report;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Lists.newLinkedList;
 import static com.google.common.collect.Maps.newHashMap;
 
 import java.io.Serializable;
@@ -78,8 +77,8 @@ public class FieldErrorReport implements Serializable {
    * Values.
    */
   private long count;
-  private List<Long> lineNumbers = newLinkedList();
-  private List<Object> values = newLinkedList();
+  private List<Long> lineNumbers = newArrayList();
+  private List<Object> values = newArrayList();
 
   public FieldErrorReport(@NonNull List<String> fieldNames, @NonNull Map<ErrorParameterKey, Object> parameters) {
     this.fieldNames = fieldNames;
@@ -112,6 +111,23 @@ public class FieldErrorReport implements Serializable {
     }
   }
 
+  /**
+   * Adds the errors {@code fieldErrorReport} reports on, as if they had been added after the ones of this report.
+   */
+  public void addErrors(@NonNull FieldErrorReport fieldErrorReport) {
+    for (int i = 0; i < fieldErrorReport.values.size(); i++) {
+      incrementCount();
+
+      if (isStorable()) {
+        addValue(fieldErrorReport.values.get(i));
+        addLineNumber(fieldErrorReport.lineNumbers.get(i));
+      }
+    }
+
+    // Only counted
+    count += fieldErrorReport.count - fieldErrorReport.values.size();
+  }
+
   /**
    * Temporary: see DCC-2085, remove if/when unused.
    */
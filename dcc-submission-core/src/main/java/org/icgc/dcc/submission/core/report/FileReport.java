@@ -103,6 +103,12 @@ public class FileReport implements ReportElement, Comparable<FileReport> {
    */
   Set<ErrorReport> errorReports = newTreeSet();
 
+  /**
+   * Whether error reporting on the file stopped once its error budget was spent, in which case the error counts are
+   * lower bounds.
+   */
+  boolean errorsTruncated;
+
   public FileReport(@NonNull String fileName, @NonNull FileType fileType) {
     this.fileName = fileName;
     this.fileType = fileType;
@@ -112,6 +118,7 @@ public class FileReport implements ReportElement, Comparable<FileReport> {
     this.fileName = fileReport.fileName;
     this.fileType = fileReport.fileType;
     this.fileState = fileReport.fileState;
+    this.errorsTruncated = fileReport.errorsTruncated;
 
     for (val summaryReport : fileReport.summaryReports) {
       summaryReports.add(new SummaryReport(summaryReport));
@@ -151,6 +158,25 @@ public class FileReport implements ReportElement, Comparable<FileReport> {
     errorReport.addError(error);
   }
 
+  /**
+   * Adds the errors {@code errorReport} reports on (see {@link ErrorAggregator}).
+   */
+  public void addErrors(@NonNull ErrorReport errorReport) {
+    ErrorReport existing = null;
+    for (val candidate : errorReports) {
+      if (candidate.compareTo(errorReport) == 0) {
+        existing = candidate;
+        break;
+      }
+    }
+
+    if (existing == null) {
+      errorReports.add(errorReport);
+    } else {
+      existing.addErrors(errorReport);
+    }
+  }
+
   @Override
   public int compareTo(@NonNull FileReport other) {
     return fileName.compareTo(other.fileName);
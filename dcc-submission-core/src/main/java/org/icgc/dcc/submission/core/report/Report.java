@@ -31,6 +31,7 @@ import org.icgc.dcc.common.core.model.DataType;
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.submission.core.report.visitor.AbortVisitor;
 import org.icgc.dcc.submission.core.report.visitor.AddErrorVisitor;
+import org.icgc.dcc.submission.core.report.visitor.AddErrorsVisitor;
 import org.icgc.dcc.submission.core.report.visitor.AddFieldVisitor;
 import org.icgc.dcc.submission.core.report.visitor.AddFileVisitor;
 import org.icgc.dcc.submission.core.report.visitor.AddSummaryVisitor;
@@ -133,6 +134,17 @@ public class Report implements ReportElement {
     executeVisitor(new AddErrorVisitor(error));
   }
 
+  /**
+   * Folds the errors aggregated by {@code errors} into the report in a single traversal, leaving it empty. Errors of
+   * files the report does not know about are dropped, as with {@link #addError(Error)}.
+   */
+  public void addErrors(@NonNull ErrorAggregator errors) {
+    if (!errors.isEmpty()) {
+      executeVisitor(new AddErrorsVisitor(errors));
+      errors.clear();
+    }
+  }
+
   public Map<String, FileType> getFiles() {
     return executeVisitor(new GetFilesVisitor()).getFiles();
   }
@@ -75,6 +75,7 @@ public class ResetVisitor extends NoOpVisitor {
       fileReport.getSummaryReports().clear();
       fileReport.getFieldReports().clear();
       fileReport.getErrorReports().clear();
+      fileReport.setErrorsTruncated(false);
     }
   }
 
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Reads an {@link InputStream} (typically a decompressing one) ahead of its consumer on a dedicated thread, so that
+ * decompression overlaps with whatever the consumer does with the bytes.
+ * <p>
+ * Chunks of at most {@code chunkSize} bytes are handed over through a bounded queue of {@code chunkCount} chunks and
+ * their buffers are recycled. Exceptions thrown by the underlying stream are rethrown as is to the consumer once it has
+ * consumed the chunks read before the failure. Closing this stream stops the read-ahead and closes the underlying
+ * stream.
+ * <p>
+ * Not thread-safe (on the consumer side).
+ */
+public class ReadAheadInputStream extends InputStream {
+
+  /**
+   * Constants.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+  public static final int DEFAULT_CHUNK_COUNT = 4;
+  private static final Chunk END_OF_STREAM = new Chunk(new byte[0], -1, null);
+
+  /**
+   * Shared (daemon) threads.
+   */
+  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setNameFormat("read-ahead-%d").setDaemon(true).build());
+
+  /**
+   * Dependencies.
+   */
+  private final InputStream inputStream;
+
+  /**
+   * Hand-over state.
+   */
+  private final BlockingQueue<Chunk> filled;
+  private final BlockingQueue<byte[]> free;
+  private final AtomicBoolean claimed = new AtomicBoolean();
+  private final CountDownLatch done = new CountDownLatch(1);
+  private final Future<?> producer;
+
+  /**
+   * Consumer state.
+   */
+  private Chunk chunk;
+  private int position;
+  private boolean closed;
+
+  public ReadAheadInputStream(@NonNull InputStream inputStream) {
+    this(inputStream, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_COUNT);
+  }
+
+  public ReadAheadInputStream(@NonNull InputStream inputStream, int chunkSize, int chunkCount) {
+    checkArgument(chunkSize > 0, "Chunk size must be positive: %s", chunkSize);
+    checkArgument(chunkCount > 0, "Chunk count must be positive: %s", chunkCount);
+    this.inputStream = inputStream;
+    this.filled = new ArrayBlockingQueue<>(chunkCount + 1); // Room for the end marker
+    this.free = new ArrayBlockingQueue<>(chunkCount + 1);
+    for (int i = 0; i < chunkCount + 1; i++) {
+      free.add(new byte[chunkSize]);
+    }
+
+    this.producer = EXECUTOR.submit(this::readAhead);
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!ensureChunk()) {
+      return -1;
+    }
+
+    return chunk.data[position++] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!ensureChunk()) {
+      return -1;
+    }
+
+    int count = Math.min(len, chunk.length - position);
+    System.arraycopy(chunk.data, position, b, off, count);
+    position += count;
+
+    return count;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return chunk == null || chunk == END_OF_STREAM ? 0 : chunk.length - position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    if (claimed.compareAndSet(false, true)) {
+      // The producer never started
+      closeQuietly();
+      done.countDown();
+    } else {
+      producer.cancel(true);
+    }
+
+    // Wait for the producer to release the underlying stream
+    boolean interrupted = false;
+    while (true) {
+      try {
+        done.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Makes sure there are bytes left in the current chunk, returning {@code false} at the end of the stream.
+   */
+  private boolean ensureChunk() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+    if (chunk == END_OF_STREAM) {
+      return false;
+    }
+    if (chunk != null && position < chunk.length) {
+      return true;
+    }
+
+    if (chunk != null) {
+      free.add(chunk.data);
+    }
+
+    try {
+      chunk = filled.take();
+      position = 0;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for data");
+    }
+
+    if (chunk.failure != null) {
+      val failure = chunk.failure;
+      chunk = END_OF_STREAM;
+      Throwables.propagateIfPossible(failure, IOException.class);
+      throw new IOException(failure);
+    }
+
+    return chunk != END_OF_STREAM;
+  }
+
+  /**
+   * Producer loop.
+   */
+  private void readAhead() {
+    if (!claimed.compareAndSet(false, true)) {
+      // Closed before starting
+      return;
+    }
+
+    try {
+      while (true) {
+        val data = free.take();
+        val length = readFully(data);
+        if (length > 0) {
+          filled.put(new Chunk(data, length, null));
+        }
+        if (length < data.length) {
+          filled.put(END_OF_STREAM);
+          break;
+        }
+      }
+    } catch (InterruptedException e) {
+      // Closed by the consumer
+    } catch (Throwable t) {
+      // Room is guaranteed since at most chunkCount chunks are ever in flight
+      filled.offer(new Chunk(new byte[0], 0, t));
+    } finally {
+      closeQuietly();
+      done.countDown();
+    }
+  }
+
+  private int readFully(byte[] data) throws IOException {
+    int length = 0;
+    while (length < data.length) {
+      int read = inputStream.read(data, length, data.length - length);
+      if (read == -1) {
+        break;
+      }
+
+      length += read;
+    }
+
+    return length;
+  }
+
+  private void closeQuietly() {
+    try {
+      inputStream.close();
+    } catch (IOException e) {
+      // Nothing left to read from it
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static class Chunk {
+
+    private final byte[] data;
+    private final int length;
+    private final Throwable failure;
+
+  }
+
+}
@@ -17,12 +17,12 @@
  */
 package org.icgc.dcc.submission.dictionary.model;
 
+import static com.google.common.base.Optional.fromNullable;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableList.copyOf;
 import static com.google.common.collect.Iterables.contains;
 import static com.google.common.collect.Iterables.filter;
 import static com.google.common.collect.Iterables.transform;
-import static com.google.common.collect.Iterables.tryFind;
 import static com.google.common.collect.Maps.asMap;
 import static com.google.common.collect.Sets.newLinkedHashSet;
 import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
@@ -54,6 +54,7 @@ import org.icgc.dcc.submission.dictionary.visitor.DictionaryVisitor;
 import org.mongodb.morphia.annotations.Entity;
 import org.mongodb.morphia.annotations.Indexed;
 import org.mongodb.morphia.annotations.PrePersist;
+import org.mongodb.morphia.annotations.Transient;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Function;
@@ -84,6 +85,14 @@ public class Dictionary extends BaseEntity implements HasName, DictionaryElement
   @Valid
   private List<FileSchema> files;
 
+  /**
+   * Lookup index of the {@link #files}, built on first lookup and dropped when files are set or added. File schemata
+   * must not be modified once looked up.
+   */
+  @Transient
+  @JsonIgnore
+  private transient volatile DictionaryIndex index;
+
   public Dictionary() {
     super();
     this.state = DictionaryState.OPENED;
@@ -140,6 +149,7 @@ public class Dictionary extends BaseEntity implements HasName, DictionaryElement
 
   public void setFiles(@NonNull List<FileSchema> files) {
     this.files = files;
+    this.index = null;
   }
 
   /**
@@ -147,9 +157,9 @@ public class Dictionary extends BaseEntity implements HasName, DictionaryElement
    */
   @JsonIgnore
   public FileSchema getFileSchema(@NonNull FileType type) {
-    val optional = getFileSchemaByName(type.getId());
-    checkState(optional.isPresent(), "Couldn't find type '%s' in dictionary", type);
-    return optional.get();
+    val fileSchema = getIndex().getFileSchema(type);
+    checkState(fileSchema != null, "Couldn't find type '%s' in dictionary", type);
+    return fileSchema;
   }
 
   /**
@@ -158,15 +168,8 @@ public class Dictionary extends BaseEntity implements HasName, DictionaryElement
    * TODO: phase out in favour of {@link #getFileSchema(FileType)}.
    */
   @JsonIgnore
-  public Optional<FileSchema> getFileSchemaByName(@NonNull final String fileSchemaName) {
-    return tryFind(this.files, new Predicate<FileSchema>() {
-
-      @Override
-      public boolean apply(FileSchema input) {
-        return input.getName().equals(fileSchemaName);
-      }
-
-    });
+  public Optional<FileSchema> getFileSchemaByName(@NonNull String fileSchemaName) {
+    return fromNullable(getIndex().getFileSchemaByName(fileSchemaName));
   }
 
   /**
@@ -174,14 +177,7 @@ public class Dictionary extends BaseEntity implements HasName, DictionaryElement
    */
   @JsonIgnore
   public Optional<FileSchema> getFileSchemaByFileName(@NonNull String fileName) {
-    val optional = Optional.<FileSchema> absent();
-    for (val fileSchema : files) {
-      if (fileSchema.matches(fileName)) {
-        return Optional.of(fileSchema);
-      }
-    }
-
-    return optional;
+    return fromNullable(getIndex().getFileSchemaByFileName(fileName));
   }
 
   /**
@@ -231,14 +227,12 @@ public class Dictionary extends BaseEntity implements HasName, DictionaryElement
    */
   @JsonIgnore
   public String getFilePattern(@NonNull FileType type) {
-    for (val fileSchema : files) {
-      val match = type.getId().equals(fileSchema.getName());
-      if (match) {
-        return fileSchema.getPattern();
-      }
+    val fileSchema = getIndex().getFileSchema(type);
+    if (fileSchema == null) {
+      throw new IllegalStateException("No file schema found for type '" + type + "'");
     }
 
-    throw new IllegalStateException("No file schema found for type '" + type + "'");
+    return fileSchema.getPattern();
   }
 
   /**
@@ -275,17 +269,12 @@ public class Dictionary extends BaseEntity implements HasName, DictionaryElement
   }
 
   public boolean hasFileSchema(@NonNull String fileName) {
-    for (val fileSchema : files) {
-      if (fileSchema.getName().equals(fileName)) {
-        return true;
-      }
-    }
-
-    return false;
+    return getIndex().getFileSchemaByName(fileName) != null;
   }
 
   public void addFile(@NonNull FileSchema file) {
     files.add(file);
+    this.index = null;
   }
 
   @JsonIgnore
@@ -405,4 +394,13 @@ public class Dictionary extends BaseEntity implements HasName, DictionaryElement
         .collect(toImmutableList());
   }
 
+  private DictionaryIndex getIndex() {
+    DictionaryIndex current = index;
+    if (current == null) {
+      index = current = new DictionaryIndex(files);
+    }
+
+    return current;
+  }
+
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.dictionary.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.icgc.dcc.common.core.model.FileTypes.FileType;
+import org.icgc.dcc.submission.dictionary.util.FilePatternMatcher;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Lookup index of the {@link FileSchema}s of a {@link Dictionary}: by {@link FileType}, by name and by file name (see
+ * {@link FilePatternMatcher}).
+ * <p>
+ * As with the linear searches it replaces, the first schema wins when several share a name or match a file name.
+ * Schemata without a valid pattern (reported by dictionary validation) match no file name.
+ */
+@Immutable
+class DictionaryIndex {
+
+  private final Map<FileType, FileSchema> fileSchemasByType;
+  private final Map<String, FileSchema> fileSchemasByName;
+  private final List<FileSchema> matchableFileSchemas;
+  private final FilePatternMatcher fileNameMatcher;
+
+  DictionaryIndex(@NonNull List<FileSchema> files) {
+    val byName = Maps.<String, FileSchema> newLinkedHashMap();
+    val matchable = ImmutableList.<FileSchema> builder();
+    for (val fileSchema : files) {
+      if (fileSchema.getName() != null) {
+        byName.putIfAbsent(fileSchema.getName(), fileSchema);
+      }
+      if (isValidPattern(fileSchema.getPattern())) {
+        matchable.add(fileSchema);
+      }
+    }
+
+    val byType = Maps.<FileType, FileSchema> newEnumMap(FileType.class);
+    for (val fileType : FileType.values()) {
+      val fileSchema = byName.get(fileType.getId());
+      if (fileSchema != null) {
+        byType.put(fileType, fileSchema);
+      }
+    }
+
+    this.fileSchemasByName = ImmutableMap.copyOf(byName);
+    this.fileSchemasByType = Maps.immutableEnumMap(byType);
+    this.matchableFileSchemas = matchable.build();
+    this.fileNameMatcher = new FilePatternMatcher(Lists.transform(matchableFileSchemas, FileSchema::getPattern));
+  }
+
+  FileSchema getFileSchema(FileType type) {
+    return fileSchemasByType.get(type);
+  }
+
+  FileSchema getFileSchemaByName(String name) {
+    return fileSchemasByName.get(name);
+  }
+
+  FileSchema getFileSchemaByFileName(String fileName) {
+    val index = fileNameMatcher.indexOf(fileName);
+
+    return index == -1 ? null : matchableFileSchemas.get(index);
+  }
+
+  private static boolean isValidPattern(String pattern) {
+    if (pattern == null) {
+      return false;
+    }
+
+    try {
+      Pattern.compile(pattern);
+      return true;
+    } catch (PatternSyntaxException e) {
+      return false;
+    }
+  }
+
+}
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import javax.validation.Valid;
 
@@ -45,6 +46,7 @@ import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.submission.dictionary.visitor.DictionaryElement;
 import org.icgc.dcc.submission.dictionary.visitor.DictionaryVisitor;
 import org.mongodb.morphia.annotations.Embedded;
+import org.mongodb.morphia.annotations.Transient;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Function;
@@ -77,6 +79,12 @@ public class FileSchema implements DictionaryElement, Serializable {
    */
   private String pattern;
 
+  /**
+   * The compiled {@link #pattern}, on first match.
+   */
+  @Transient
+  private transient Pattern compiledPattern;
+
   private FileSchemaRole role;
 
   private List<String> uniqueFields;
@@ -147,6 +155,7 @@ public class FileSchema implements DictionaryElement, Serializable {
 
   public void setPattern(String pattern) {
     this.pattern = pattern;
+    this.compiledPattern = null;
   }
 
   public FileSchemaRole getRole() {
@@ -285,8 +294,12 @@ public class FileSchema implements DictionaryElement, Serializable {
    * Returns whether or not the provided file name matches the pattern for the current {@link FileSchema}.
    */
   public boolean matches(@NonNull String fileName) {
-    return compile(pattern) // TODO: lazy-load
-        .matcher(fileName).matches();
+    Pattern compiled = compiledPattern;
+    if (compiled == null) {
+      compiledPattern = compiled = compile(pattern);
+    }
+
+    return compiled.matcher(fileName).matches();
   }
 
   /**
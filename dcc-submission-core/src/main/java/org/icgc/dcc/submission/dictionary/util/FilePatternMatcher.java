@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.dictionary.util;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Classifies file names against file patterns in a single pass, the patterns being compiled once into an alternation
+ * of groups.
+ * <p>
+ * As when trying the patterns one after the other, a file name is classified by the first pattern it matches in full.
+ * Patterns that cannot be combined (numbered back references, clashing named groups) are tried one after the other.
+ */
+@ThreadSafe
+public final class FilePatternMatcher {
+
+  /**
+   * Constants.
+   */
+  private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\[1-9]");
+  private static final int NO_MATCH = -1;
+
+  /**
+   * The compiled patterns, only used if they cannot be combined.
+   */
+  private final List<Pattern> patterns;
+
+  /**
+   * The alternation of the patterns, {@code null} if they cannot be combined, and the number of the group of each.
+   */
+  private final Pattern combinedPattern;
+  private final int[] groups;
+
+  public FilePatternMatcher(@NonNull Iterable<String> patterns) {
+    val compiled = ImmutableList.<Pattern> builder();
+    for (val pattern : patterns) {
+      compiled.add(Pattern.compile(pattern));
+    }
+
+    this.patterns = compiled.build();
+    this.groups = new int[this.patterns.size()];
+    this.combinedPattern = combine(this.patterns, groups);
+  }
+
+  /**
+   * Returns the index of the first pattern {@code fileName} matches, {@value #NO_MATCH} if none.
+   */
+  public int indexOf(@NonNull String fileName) {
+    if (combinedPattern == null) {
+      for (int i = 0; i < patterns.size(); i++) {
+        if (patterns.get(i).matcher(fileName).matches()) {
+          return i;
+        }
+      }
+
+      return NO_MATCH;
+    }
+
+    val matcher = combinedPattern.matcher(fileName);
+    if (matcher.matches()) {
+      for (int i = 0; i < groups.length; i++) {
+        if (matcher.start(groups[i]) != -1) {
+          return i;
+        }
+      }
+    }
+
+    return NO_MATCH;
+  }
+
+  public boolean matches(@NonNull String fileName) {
+    return indexOf(fileName) != NO_MATCH;
+  }
+
+  private static Pattern combine(List<Pattern> patterns, int[] groups) {
+    val combined = new StringBuilder();
+    int group = 1;
+    for (int i = 0; i < patterns.size(); i++) {
+      val pattern = patterns.get(i).pattern();
+      if (BACK_REFERENCE.matcher(pattern).find()) {
+        return null;
+      }
+
+      if (i > 0) {
+        combined.append('|');
+      }
+      combined.append('(').append(pattern).append(')');
+
+      groups[i] = group;
+      group += 1 + patterns.get(i).matcher("").groupCount();
+    }
+
+    try {
+      return Pattern.compile(combined.toString());
+    } catch (PatternSyntaxException e) {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import static com.google.common.base.Charsets.US_ASCII;
+import static lombok.AccessLevel.PRIVATE;
+import static org.icgc.dcc.submission.fs.SubmissionFileSystem.VALIDATION_DIRNAME;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import com.google.common.base.Optional;
+import com.google.common.io.ByteStreams;
+
+import lombok.Cleanup;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persisted MD5 digests of submission files, as computed while they were uploaded.
+ * <p>
+ * The digest of a file is kept in the {@value #DIGEST_DIRNAME} directory of the validation directory of its
+ * submission, as lower case hexadecimal text. As with {@link LineIndexes}, its name records the modification time and
+ * length of the file it was computed for, so that it is ignored as soon as the file changes. Digests are not removed
+ * along with the validation files, as they are only computed on upload.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class FileDigests {
+
+  /**
+   * Constants.
+   */
+  public static final String DIGEST_DIRNAME = ".digests";
+  private static final String DIGEST_FILE_EXTENSION = ".md5";
+  private static final Pattern DIGEST_FILE_NAME_SUFFIX = Pattern.compile("\\d+\\.\\d+\\.md5");
+
+  /**
+   * Persists the {@code md5} of {@code file} as it is now, replacing any previous one. Failures are logged only, the
+   * upload having succeeded.
+   */
+  public static void save(@NonNull FileSystem fileSystem, @NonNull Path file, @NonNull String md5) {
+    try {
+      val digestFile = getDigestFilePath(fileSystem, file);
+      removeStaleDigests(fileSystem, file);
+
+      @Cleanup
+      val outputStream = fileSystem.create(digestFile, true);
+      outputStream.write(md5.getBytes(US_ASCII));
+
+      log.info("Saved MD5 of '{}' as '{}'", file, digestFile);
+    } catch (IOException e) {
+      log.warn("Could not save MD5 of '{}': {}", file, e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the MD5 of {@code file} as uploaded, if it was not changed since.
+   */
+  public static Optional<String> getMd5(@NonNull FileSystem fileSystem, @NonNull Path file) {
+    try {
+      val digestFile = getDigestFilePath(fileSystem, file);
+      if (!fileSystem.exists(digestFile)) {
+        return Optional.absent();
+      }
+
+      @Cleanup
+      val inputStream = fileSystem.open(digestFile);
+
+      return Optional.of(new String(ByteStreams.toByteArray(inputStream), US_ASCII));
+    } catch (IOException e) {
+      log.warn("Could not read MD5 of '{}': {}", file, e.getMessage());
+      return Optional.absent();
+    }
+  }
+
+  private static Path getDigestFilePath(FileSystem fileSystem, Path file) throws IOException {
+    val status = fileSystem.getFileStatus(file);
+    val name = file.getName() + "." + status.getModificationTime() + "." + status.getLen() + DIGEST_FILE_EXTENSION;
+
+    return new Path(getDigestDir(file), name);
+  }
+
+  private static Path getDigestDir(Path file) {
+    return new Path(new Path(file.getParent(), VALIDATION_DIRNAME), DIGEST_DIRNAME);
+  }
+
+  private static boolean isDigestFile(Path file, Path path) {
+    val prefix = file.getName() + ".";
+    val name = path.getName();
+
+    return name.startsWith(prefix) && DIGEST_FILE_NAME_SUFFIX.matcher(name.substring(prefix.length())).matches();
+  }
+
+  private static void removeStaleDigests(FileSystem fileSystem, Path file) throws IOException {
+    val digestDir = getDigestDir(file);
+    if (!fileSystem.exists(digestDir)) {
+      return;
+    }
+
+    for (val status : fileSystem.listStatus(digestDir, path -> isDigestFile(file, path))) {
+      fileSystem.delete(status.getPath(), false);
+    }
+  }
+
+}
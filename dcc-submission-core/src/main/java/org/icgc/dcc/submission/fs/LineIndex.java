@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import lombok.Getter;
+import lombok.val;
+
+/**
+ * Sparse index of the line starts of a (decompressed) submission file: the byte offset of the first line and then of
+ * every {@link #getInterval() interval}th line after it ({@value #INTERVAL} by default).
+ * <p>
+ * The line number of a byte offset is that of the closest indexed line at or before it plus the number of newlines in
+ * between, so that at most an interval of lines needs to be scanned to convert it (see {@link LineIndexes} for the
+ * persisted indices).
+ */
+public final class LineIndex {
+
+  /**
+   * Constants.
+   */
+  public static final int INTERVAL = 64 * 1024;
+  private static final int VERSION = 1;
+  private static final byte LINE_SEPARATOR = '\n';
+
+  /**
+   * State.
+   */
+  private final long[] offsets;
+  @Getter
+  private final long length;
+  @Getter
+  private final int interval;
+
+  private LineIndex(long[] offsets, long length, int interval) {
+    checkArgument(offsets.length > 0 && offsets[0] == 0, "Expected a first line starting at offset 0");
+    this.offsets = offsets;
+    this.length = length;
+    this.interval = interval;
+  }
+
+  /**
+   * Returns the closest indexed line starting at or before {@code offset}.
+   */
+  public int getEntry(long offset) {
+    checkArgument(offset >= 0, "Offset is negative: %s", offset);
+    int index = Arrays.binarySearch(offsets, offset);
+
+    return index >= 0 ? index : -index - 2;
+  }
+
+  public long getOffset(int entry) {
+    return offsets[entry];
+  }
+
+  /**
+   * The 1-based line number of the line starting at {@link #getOffset(int)}.
+   */
+  public long getLineNumber(int entry) {
+    return (long) entry * interval + 1;
+  }
+
+  public int size() {
+    return offsets.length;
+  }
+
+  public void write(DataOutput output) throws IOException {
+    output.writeInt(VERSION);
+    output.writeInt(interval);
+    output.writeLong(length);
+    output.writeInt(offsets.length);
+    for (long offset : offsets) {
+      output.writeLong(offset);
+    }
+  }
+
+  public static LineIndex read(DataInput input) throws IOException {
+    val version = input.readInt();
+    val interval = input.readInt();
+    checkState(version == VERSION && interval > 0, "Unsupported line index: version %s, interval %s",
+        version, interval);
+
+    val length = input.readLong();
+    val offsets = new long[input.readInt()];
+    for (int i = 0; i < offsets.length; i++) {
+      offsets[i] = input.readLong();
+    }
+
+    return new LineIndex(offsets, length, interval);
+  }
+
+  /**
+   * Indexes content as it is streamed, one block of bytes at a time. Not thread-safe.
+   */
+  public static final class Builder {
+
+    private final int interval;
+    private long[] offsets = new long[16];
+    private int size = 1;
+    private long length;
+    private long lineCount;
+
+    public Builder() {
+      this(INTERVAL);
+    }
+
+    /**
+     * Indexes every {@code interval}th line, smaller intervals giving finer entries for a larger index.
+     */
+    public Builder(int interval) {
+      checkArgument(interval > 0, "Interval is not positive: %s", interval);
+      this.interval = interval;
+    }
+
+    public void update(byte[] bytes, int offset, int count) {
+      for (int i = offset; i < offset + count; i++) {
+        if (bytes[i] == LINE_SEPARATOR && ++lineCount % interval == 0) {
+          add(length + i - offset + 1);
+        }
+      }
+
+      length += count;
+    }
+
+    public LineIndex build() {
+      return new LineIndex(Arrays.copyOf(offsets, size), length, interval);
+    }
+
+    private void add(long lineStart) {
+      if (size == offsets.length) {
+        offsets = Arrays.copyOf(offsets, size * 2);
+      }
+
+      offsets[size++] = lineStart;
+    }
+
+  }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.icgc.dcc.submission.fs.SubmissionFileSystem.VALIDATION_DIRNAME;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+
+import com.google.common.base.Optional;
+
+import lombok.Cleanup;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persisted {@link LineIndex}es of submission files.
+ * <p>
+ * The index of a file is recorded when it is first streamed (by the first-pass) and kept in the {@value #INDEX_DIRNAME}
+ * directory of the validation directory of its submission. As with {@link StagedFiles}, its name records the
+ * modification time and length of the file it was built from, so that it is ignored as soon as the file changes.
+ * Indexes are removed along with the staged copies (see {@link SubmissionDirectory#removeStagedFiles()}).
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class LineIndexes {
+
+  /**
+   * Constants.
+   */
+  public static final String INDEX_DIRNAME = ".lines";
+  private static final String INDEX_FILE_EXTENSION = ".idx";
+  private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+  private static final Pattern INDEX_FILE_NAME_SUFFIX = Pattern.compile("\\d+\\.\\d+\\.idx(\\.tmp)?");
+
+  /**
+   * Persists the {@code index} of {@code file}, replacing any previous one. Failures are logged only, the index being
+   * an optimization.
+   */
+  public static void save(@NonNull FileSystem fileSystem, @NonNull Path file, @NonNull LineIndex index) {
+    try {
+      val indexFile = getIndexFilePath(fileSystem, file);
+      removeStaleIndexes(fileSystem, file);
+
+      val temporaryFile = new Path(indexFile.getParent(), indexFile.getName() + TEMPORARY_FILE_EXTENSION);
+      try {
+        write(fileSystem, index, temporaryFile);
+        fileSystem.rename(temporaryFile, indexFile);
+      } finally {
+        fileSystem.delete(temporaryFile, false);
+      }
+
+      log.info("Saved line index of '{}' ({} entries) as '{}'", new Object[] { file, index.size(), indexFile });
+    } catch (IOException e) {
+      log.warn("Could not save line index of '{}': {}", file, e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the fresh index of {@code file}, if any.
+   */
+  public static Optional<LineIndex> getLineIndex(@NonNull FileSystem fileSystem, @NonNull Path file) {
+    try {
+      val indexFile = getIndexFilePath(fileSystem, file);
+      if (!fileSystem.exists(indexFile)) {
+        return Optional.absent();
+      }
+
+      @Cleanup
+      val inputStream = fileSystem.open(indexFile);
+
+      return Optional.of(LineIndex.read(inputStream));
+    } catch (IOException | IllegalStateException e) {
+      log.warn("Could not read line index of '{}': {}", file, e.getMessage());
+      return Optional.absent();
+    }
+  }
+
+  /**
+   * Returns the fresh index of {@code file} provided its content can be read at random from {@code source}, the plain
+   * text file itself or its staged copy (see {@link StagedFiles#resolve(FileSystem, Path)}), if any.
+   */
+  public static Optional<LineIndex> getLineIndex(@NonNull FileSystem fileSystem, @NonNull Path file,
+      @NonNull Path source) {
+    try {
+      val factory = new CompressionCodecFactory(fileSystem.getConf());
+      if (factory.getCodec(source) != null) {
+        return Optional.absent();
+      }
+
+      val index = getLineIndex(fileSystem, file);
+      if (!index.isPresent()) {
+        return index;
+      }
+
+      val length = fileSystem.getFileStatus(source).getLen();
+      if (index.get().getLength() != length) {
+        log.warn("Ignoring line index of '{}' indexing {} bytes instead of {}",
+            new Object[] { file, index.get().getLength(), length });
+        return Optional.absent();
+      }
+
+      return index;
+    } catch (IOException e) {
+      log.warn("Could not check line index of '{}': {}", file, e.getMessage());
+      return Optional.absent();
+    }
+  }
+
+  private static void write(FileSystem fileSystem, LineIndex index, Path indexFile) throws IOException {
+    @Cleanup
+    val outputStream = fileSystem.create(indexFile, true);
+    index.write(outputStream);
+  }
+
+  private static Path getIndexFilePath(FileSystem fileSystem, Path file) throws IOException {
+    val status = fileSystem.getFileStatus(file);
+    val name = file.getName() + "." + status.getModificationTime() + "." + status.getLen() + INDEX_FILE_EXTENSION;
+
+    return new Path(getIndexDir(file), name);
+  }
+
+  private static Path getIndexDir(Path file) {
+    return new Path(new Path(file.getParent(), VALIDATION_DIRNAME), INDEX_DIRNAME);
+  }
+
+  private static boolean isIndexFile(Path file, Path path) {
+    val prefix = file.getName() + ".";
+    val name = path.getName();
+
+    return name.startsWith(prefix) && INDEX_FILE_NAME_SUFFIX.matcher(name.substring(prefix.length())).matches();
+  }
+
+  private static void removeStaleIndexes(FileSystem fileSystem, Path file) throws IOException {
+    val indexDir = getIndexDir(file);
+    if (!fileSystem.exists(indexDir)) {
+      return;
+    }
+
+    for (val status : fileSystem.listStatus(indexDir, path -> isIndexFile(file, path))) {
+      fileSystem.delete(status.getPath(), false);
+    }
+  }
+
+}
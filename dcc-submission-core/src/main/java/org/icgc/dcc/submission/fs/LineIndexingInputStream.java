@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.google.common.base.Optional;
+
+import lombok.NonNull;
+
+/**
+ * Builds the {@link LineIndex} of the content read through it, for free while the content is streamed anyway.
+ * <p>
+ * The index is only available once the stream has been read to its end without skipping. Not thread-safe.
+ */
+public class LineIndexingInputStream extends FilterInputStream {
+
+  /**
+   * State.
+   */
+  private final LineIndex.Builder builder = new LineIndex.Builder();
+  private final byte[] single = new byte[1];
+  private boolean complete;
+  private boolean skipped;
+
+  public LineIndexingInputStream(@NonNull InputStream inputStream) {
+    super(inputStream);
+  }
+
+  @Override
+  public int read() throws IOException {
+    int read = read(single, 0, 1);
+
+    return read == -1 ? -1 : single[0] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    int read = in.read(bytes, offset, length);
+    if (read == -1) {
+      complete = true;
+    } else {
+      builder.update(bytes, offset, read);
+    }
+
+    return read;
+  }
+
+  @Override
+  public long skip(long count) throws IOException {
+    skipped = true;
+
+    return in.skip(count);
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  /**
+   * Returns the index of the content if it was read in full.
+   */
+  public Optional<LineIndex> getLineIndex() {
+    return complete && !skipped ? Optional.of(builder.build()) : Optional.<LineIndex> absent();
+  }
+
+}
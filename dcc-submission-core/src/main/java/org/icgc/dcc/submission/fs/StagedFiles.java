@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.icgc.dcc.submission.fs.SubmissionFileSystem.VALIDATION_DIRNAME;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.icgc.dcc.submission.core.util.ReadAheadInputStream;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Stopwatch;
+import com.google.common.io.ByteStreams;
+
+import lombok.Cleanup;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decompress-once cache of compressed submission files.
+ * <p>
+ * A staged copy is the uncompressed content of a submission file, kept in the {@value #STAGE_DIRNAME} directory of the
+ * validation directory of its submission. Its name records the modification time and length of the file it was
+ * decompressed from, so that it is ignored (and eventually replaced) as soon as the file changes. Plain text files are
+ * never staged.
+ * <p>
+ * Staged copies only live for the duration of a validation: the validation directory is reset when a validation
+ * starts, and they are removed once it ends and on sign-off (see {@link SubmissionDirectory#removeStagedFiles()}).
+ * <p>
+ * Readers {@link #resolve(FileSystem, Path)} a submission file to read its staged copy when there is a fresh one.
+ * Byte offsets in a staged copy are those of the decompressed content, as reported when reading the file itself.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class StagedFiles {
+
+  /**
+   * Constants.
+   */
+  public static final String STAGE_DIRNAME = ".stage";
+  private static final String STAGED_FILE_EXTENSION = ".staged";
+  private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+  /**
+   * Decompresses {@code file} into the stage unless a fresh copy is already there, returning whether there is a fresh
+   * copy afterwards. Files that fail to decompress are left unstaged, so that readers run into the failure as before.
+   */
+  public static boolean stage(@NonNull FileSystem fileSystem, @NonNull Path file) {
+    val codec = getCodec(fileSystem, file);
+    if (codec == null) {
+      return false;
+    }
+
+    try {
+      val stagedFile = getStagedFilePath(fileSystem, file);
+      if (fileSystem.exists(stagedFile)) {
+        log.info("Using staged copy of '{}': '{}'", file, stagedFile);
+        return true;
+      }
+
+      removeStaleCopies(fileSystem, file);
+
+      val watch = Stopwatch.createStarted();
+      val temporaryFile = new Path(stagedFile.getParent(), stagedFile.getName() + TEMPORARY_FILE_EXTENSION);
+      try {
+        decompress(fileSystem, codec, file, temporaryFile);
+        fileSystem.rename(temporaryFile, stagedFile);
+      } finally {
+        fileSystem.delete(temporaryFile, false);
+      }
+
+      log.info("Staged '{}' as '{}' in {}", new Object[] { file, stagedFile, watch });
+      return true;
+    } catch (IOException e) {
+      log.warn("Could not stage '{}', it will be read from the submission directory: {}", file, e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Returns the fresh staged copy of {@code file}, if any.
+   */
+  public static Optional<Path> getStagedFile(@NonNull FileSystem fileSystem, @NonNull Path file) {
+    if (getCodec(fileSystem, file) == null) {
+      return Optional.absent();
+    }
+
+    try {
+      val stagedFile = getStagedFilePath(fileSystem, file);
+      return fileSystem.exists(stagedFile) ? Optional.of(stagedFile) : Optional.<Path> absent();
+    } catch (IOException e) {
+      log.warn("Could not look up staged copy of '{}': {}", file, e.getMessage());
+      return Optional.absent();
+    }
+  }
+
+  /**
+   * Returns the path to read the content of {@code file} from: its fresh staged copy if any, the file itself otherwise.
+   */
+  public static Path resolve(@NonNull FileSystem fileSystem, @NonNull Path file) {
+    return getStagedFile(fileSystem, file).or(file);
+  }
+
+  private static Path getStagedFilePath(FileSystem fileSystem, Path file) throws IOException {
+    val status = fileSystem.getFileStatus(file);
+    val name = file.getName() + "." + status.getModificationTime() + "." + status.getLen() + STAGED_FILE_EXTENSION;
+
+    return new Path(getStageDir(file), name);
+  }
+
+  private static Path getStageDir(Path file) {
+    return new Path(new Path(file.getParent(), VALIDATION_DIRNAME), STAGE_DIRNAME);
+  }
+
+  private static void removeStaleCopies(FileSystem fileSystem, Path file) throws IOException {
+    val stageDir = getStageDir(file);
+    if (!fileSystem.exists(stageDir)) {
+      return;
+    }
+
+    val prefix = file.getName() + ".";
+    for (val status : fileSystem.listStatus(stageDir, path -> path.getName().startsWith(prefix))) {
+      log.info("Removing stale staged copy '{}'", status.getPath());
+      fileSystem.delete(status.getPath(), false);
+    }
+  }
+
+  private static void decompress(FileSystem fileSystem, CompressionCodec codec, Path file, Path targetFile)
+      throws IOException {
+    @Cleanup
+    val inputStream = new ReadAheadInputStream(codec.createInputStream(fileSystem.open(file)));
+    @Cleanup
+    val outputStream = fileSystem.create(targetFile, true);
+
+    ByteStreams.copy(inputStream, outputStream);
+  }
+
+  private static CompressionCodec getCodec(FileSystem fileSystem, Path file) {
+    return new CompressionCodecFactory(fileSystem.getConf()).getCodec(file);
+  }
+
+}
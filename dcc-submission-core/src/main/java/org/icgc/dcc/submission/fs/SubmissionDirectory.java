@@ -40,12 +40,14 @@ import java.util.regex.Pattern;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.icgc.dcc.common.hadoop.fs.HadoopUtils;
+import org.icgc.dcc.submission.core.util.ReadAheadInputStream;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.dictionary.util.FilePatternMatcher;
 import org.icgc.dcc.submission.release.model.Release;
 import org.icgc.dcc.submission.release.model.ReleaseState;
 import org.icgc.dcc.submission.release.model.Submission;
 
-import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -89,19 +91,10 @@ public class SubmissionDirectory {
   /**
    * Returns the list of files that match a file pattern in the dictionary.
    */
-  public Iterable<String> listFiles(final Iterable<String> filePatterns) {
-    return Iterables.filter(listFile(), new Predicate<String>() {
-
-      @Override
-      public boolean apply(String input) {
-        for (String filePattern : filePatterns) {
-          if (compile(filePattern).matcher(input).matches()) {
-            return true;
-          }
-        }
-        return false;
-      }
-    });
+  public Iterable<String> listFiles(Iterable<String> filePatterns) {
+    val matcher = new FilePatternMatcher(filePatterns);
+
+    return Iterables.filter(listFile(), matcher::matches);
   }
 
   public String addFile(String filename, InputStream data) {
@@ -163,9 +156,12 @@ public class SubmissionDirectory {
   }
 
   /**
-   * Removes all files pertaining to validation (not including normalization), leaving nested directories untouched.
+   * Removes all files pertaining to validation (not including normalization), leaving the other nested directories
+   * untouched.
    */
   public void removeValidationFiles() {
+    removeStagedFiles();
+
     val fs = submissionFileSystem.getFileSystem();
     for (val file : lsFile(fs, new Path(getValidationDirPath()))) {
       checkState(isFile(fs, file), "Expecting file, not a directory: '%s'", file);
@@ -174,6 +170,19 @@ public class SubmissionDirectory {
     }
   }
 
+  /**
+   * Removes the staged copies and line indexes of the data files (see {@link StagedFiles} and {@link LineIndexes}),
+   * which are only of use while a validation runs.
+   */
+  public void removeStagedFiles() {
+    val validationDirPath = getValidationDirPath();
+    for (val dirName : ImmutableList.of(StagedFiles.STAGE_DIRNAME, LineIndexes.INDEX_DIRNAME)) {
+      val dirPath = new Path(validationDirPath, dirName).toString();
+      log.info("Deleting directory '{}'", dirPath);
+      submissionFileSystem.removeDirIfExist(dirPath);
+    }
+  }
+
   /**
    * TODO: port logic in here rather than in {@link SubmissionFileSystem}
    */
@@ -197,15 +206,43 @@ public class SubmissionDirectory {
   /**
    * Must close stream after usage. The extension is expected to match the actual encoding at this point. The client
    * code can read data from this stream without having to worry about what compression is used.
+   * <p>
+   * Compressed files are read from their staged copy if there is a fresh one (see {@link StagedFiles}), otherwise
+   * decompressed ahead of the reader on a separate thread.
    */
-  @SneakyThrows
   public InputStream getDecompressingInputStream(String fileName) {
+    return getDecompressingInputStream(fileName, true);
+  }
+
+  /**
+   * Same as {@link #getDecompressingInputStream(String)}, optionally without read-ahead (for readers only interested
+   * in the first bytes of the file).
+   */
+  @SneakyThrows
+  public InputStream getDecompressingInputStream(String fileName, boolean readAhead) {
+    val fileSystem = submissionFileSystem.getFileSystem();
+    val stagedFile = StagedFiles.getStagedFile(fileSystem, new Path(getDataFilePath(fileName)));
+    if (stagedFile.isPresent()) {
+      return fileSystem.open(stagedFile.get());
+    }
+
     val in = open(fileName);
     val codec = new CompressionCodecFactory(submissionFileSystem.getFileSystemConfiguration())
         .getCodec(new Path(getDataFilePath(fileName)));
-    return codec == null ?
-        in : // This is assumed to be PLAIN_TEXT
-        codec.createInputStream(in);
+    if (codec == null) {
+      return in; // This is assumed to be PLAIN_TEXT
+    }
+
+    val decompressing = codec.createInputStream(in);
+    return readAhead ? new ReadAheadInputStream(decompressing) : decompressing;
+  }
+
+  /**
+   * Persists the line index of a data file, as built while streaming its decompressed content (see
+   * {@link LineIndexes}).
+   */
+  public void saveLineIndex(@NonNull String fileName, @NonNull LineIndex index) {
+    LineIndexes.save(submissionFileSystem.getFileSystem(), new Path(getDataFilePath(fileName)), index);
   }
 
   /**
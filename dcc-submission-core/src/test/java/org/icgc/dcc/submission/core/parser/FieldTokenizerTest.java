@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.parser;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+public class FieldTokenizerTest {
+
+  @Test
+  public void testNext() {
+    val records = tokenize("a\tb\tc\n\n1\t\t3\r\nx", 1024);
+
+    assertThat(records).containsExactly(
+        ImmutableList.of("a", "b", "c"),
+        ImmutableList.of(""),
+        ImmutableList.of("1", "", "3"),
+        ImmutableList.of("x"));
+  }
+
+  @Test
+  public void testNextWithTrailingNewline() {
+    val records = tokenize("a\tb\n", 1024);
+
+    assertThat(records).containsExactly(ImmutableList.of("a", "b"));
+  }
+
+  @Test
+  public void testNextWithLinesSpanningBuffer() {
+    // Lines longer than the buffer force both compaction and growth
+    val records = tokenize("abcdef\tghijkl\nmn\to\npqrstuvwxyz\n", 4);
+
+    assertThat(records).containsExactly(
+        ImmutableList.of("abcdef", "ghijkl"),
+        ImmutableList.of("mn", "o"),
+        ImmutableList.of("pqrstuvwxyz"));
+  }
+
+  @Test
+  public void testFieldSlices() {
+    val tokenizer = new FieldTokenizer(new ByteArrayInputStream("ab\tcde".getBytes(UTF_8)));
+
+    assertThat(next(tokenizer)).isTrue();
+    assertThat(tokenizer.getFieldCount()).isEqualTo(2);
+    assertThat(tokenizer.getFieldOffset(1)).isEqualTo(3);
+    assertThat(tokenizer.getFieldLength(1)).isEqualTo(3);
+    assertThat(next(tokenizer)).isFalse();
+  }
+
+  @Test
+  public void testEmpty() {
+    assertThat(tokenize("", 1024)).isEmpty();
+  }
+
+  @SneakyThrows
+  private static List<List<String>> tokenize(String text, int bufferSize) {
+    val tokenizer = new FieldTokenizer(new ByteArrayInputStream(text.getBytes(UTF_8)), bufferSize);
+    val records = Lists.<List<String>> newArrayList();
+    while (tokenizer.next()) {
+      records.add(tokenizer.getFields());
+    }
+
+    return records;
+  }
+
+  @SneakyThrows
+  private static boolean next(FieldTokenizer tokenizer) {
+    return tokenizer.next();
+  }
+
+}
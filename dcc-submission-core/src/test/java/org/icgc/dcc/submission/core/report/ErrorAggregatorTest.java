@@ -0,0 +1,82 @@
+package org.icgc.dcc.submission.core.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.SSM_M_TYPE;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.SSM_P_TYPE;
+import static org.icgc.dcc.submission.core.report.Error.error;
+import static org.icgc.dcc.submission.core.report.ErrorType.CODELIST_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.SCRIPT_ERROR;
+import static org.icgc.dcc.submission.core.report.FieldErrorReport.MAXIMUM_NUM_STORED_ERRORS;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import lombok.val;
+
+public class ErrorAggregatorTest {
+
+  private static final String FILE_NAME = "ssm_p.txt";
+  private static final String OTHER_FILE_NAME = "ssm_m.txt";
+
+  @Test
+  public void testAddErrors() {
+    val errors = createErrors();
+
+    // One at a time
+    val expected = createReport();
+    for (val error : errors) {
+      expected.addError(error);
+    }
+
+    // Aggregated, folded in two steps
+    val actual = createReport();
+    val aggregator = new ErrorAggregator();
+    for (int i = 0; i < errors.size(); i++) {
+      aggregator.addError(errors.get(i));
+      if (i == errors.size() / 3) {
+        actual.addErrors(aggregator);
+        assertThat(aggregator.isEmpty()).isTrue();
+      }
+    }
+    actual.addErrors(aggregator);
+
+    assertThat(actual.getErrorCount()).isEqualTo(expected.getErrorCount());
+    assertThat(actual.isValid()).isEqualTo(expected.isValid());
+    assertThat(actual.getFileReport(FILE_NAME).get().toString())
+        .isEqualTo(expected.getFileReport(FILE_NAME).get().toString());
+    assertThat(actual.getFileReport(OTHER_FILE_NAME).get().getFileState())
+        .isEqualTo(expected.getFileReport(OTHER_FILE_NAME).get().getFileState());
+  }
+
+  @Test
+  public void testAddErrorsUnknownFile() {
+    val report = createReport();
+    val aggregator = new ErrorAggregator();
+    aggregator.addError(error().fileName("unknown.txt").type(SCRIPT_ERROR).fieldNames("f1").build());
+
+    report.addErrors(aggregator);
+
+    assertThat(report.hasErrors()).isFalse();
+  }
+
+  private static Report createReport() {
+    return new Report(ImmutableMap.of(FILE_NAME, SSM_P_TYPE, OTHER_FILE_NAME, SSM_M_TYPE));
+  }
+
+  private static List<Error> createErrors() {
+    val errors = Lists.<Error> newArrayList();
+    for (int i = 0; i < 3 * MAXIMUM_NUM_STORED_ERRORS; i++) {
+      errors.add(error().fileName(FILE_NAME).type(SCRIPT_ERROR).number(i % 2).fieldNames("f" + i % 3).lineNumber(i)
+          .value("v" + i).build());
+      errors.add(error().fileName(FILE_NAME).type(CODELIST_ERROR).fieldNames("f1").lineNumber(i).value("c" + i)
+          .params("codelist").build());
+    }
+
+    return errors;
+  }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.common.io.ByteStreams;
+
+import lombok.Cleanup;
+import lombok.val;
+
+public class ReadAheadInputStreamTest {
+
+  @Test
+  public void testRead() throws IOException {
+    val bytes = new byte[10_000];
+    new Random(1).nextBytes(bytes);
+
+    @Cleanup
+    val inputStream = new ReadAheadInputStream(new ByteArrayInputStream(bytes), 64, 2);
+
+    assertThat(ByteStreams.toByteArray(inputStream)).isEqualTo(bytes);
+    assertThat(inputStream.read()).isEqualTo(-1);
+  }
+
+  @Test
+  public void testReadSingleBytes() throws IOException {
+    @Cleanup
+    val inputStream = new ReadAheadInputStream(new ByteArrayInputStream(new byte[] { 1, (byte) 0xFF }), 1, 1);
+
+    assertThat(inputStream.read()).isEqualTo(1);
+    assertThat(inputStream.read()).isEqualTo(0xFF);
+    assertThat(inputStream.read()).isEqualTo(-1);
+  }
+
+  @Test
+  public void testEmpty() throws IOException {
+    @Cleanup
+    val inputStream = new ReadAheadInputStream(new ByteArrayInputStream(new byte[0]));
+
+    assertThat(inputStream.read()).isEqualTo(-1);
+  }
+
+  @Test(expected = IOException.class)
+  public void testFailure() throws IOException {
+    val failing = new InputStream() {
+
+      private int count;
+
+      @Override
+      public int read() {
+        return 'a';
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        if (count++ == 10) {
+          throw new IOException("bad block header");
+        }
+
+        return super.read(b, off, len);
+      }
+
+    };
+
+    @Cleanup
+    val inputStream = new ReadAheadInputStream(failing, 16, 2);
+    ByteStreams.exhaust(inputStream);
+  }
+
+  @Test
+  public void testCloseBeforeEnd() throws IOException {
+    val closed = new boolean[1];
+    val endless = new InputStream() {
+
+      @Override
+      public int read() {
+        return 'a';
+      }
+
+      @Override
+      public void close() {
+        closed[0] = true;
+      }
+
+    };
+
+    val inputStream = new ReadAheadInputStream(endless, 16, 2);
+    assertThat(inputStream.read()).isEqualTo('a');
+    inputStream.close();
+
+    assertThat(closed[0]).isTrue();
+  }
+
+}
@@ -0,0 +1,52 @@
+package org.icgc.dcc.submission.dictionary.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.val;
+
+public class FilePatternMatcherTest {
+
+  @Test
+  public void testIndexOf() {
+    val matcher = new FilePatternMatcher(ImmutableList.of(
+        "^donor(\\.[a-zA-Z0-9]+)?\\.txt(?:\\.gz|\\.bz2)?$",
+        "^ssm_m(\\.[a-zA-Z0-9]+)?\\.txt(?:\\.gz|\\.bz2)?$",
+        "^ssm_p(\\.[a-zA-Z0-9]+)?\\.txt(?:\\.gz|\\.bz2)?$"));
+
+    assertThat(matcher.indexOf("donor.txt")).isEqualTo(0);
+    assertThat(matcher.indexOf("ssm_m.1.txt.gz")).isEqualTo(1);
+    assertThat(matcher.indexOf("ssm_p.txt.bz2")).isEqualTo(2);
+    assertThat(matcher.indexOf("ssm_s.txt")).isEqualTo(-1);
+    assertThat(matcher.matches("ssm_p.txt")).isTrue();
+    assertThat(matcher.matches("ssm_p.txt.zip")).isFalse();
+  }
+
+  @Test
+  public void testIndexOfFirstMatch() {
+    val matcher = new FilePatternMatcher(ImmutableList.of("^a.*", "^ab.*", "^.*"));
+
+    assertThat(matcher.indexOf("abc")).isEqualTo(0);
+    assertThat(matcher.indexOf("bc")).isEqualTo(2);
+  }
+
+  @Test
+  public void testIndexOfBackReference() {
+    val matcher = new FilePatternMatcher(ImmutableList.of("^(a)\\1\\.txt$", "^(b)\\1\\.txt$"));
+
+    assertThat(matcher.indexOf("aa.txt")).isEqualTo(0);
+    assertThat(matcher.indexOf("bb.txt")).isEqualTo(1);
+    assertThat(matcher.indexOf("ab.txt")).isEqualTo(-1);
+  }
+
+  @Test
+  public void testIndexOfEmpty() {
+    val matcher = new FilePatternMatcher(ImmutableList.<String> of());
+
+    assertThat(matcher.matches("donor.txt")).isFalse();
+  }
+
+}
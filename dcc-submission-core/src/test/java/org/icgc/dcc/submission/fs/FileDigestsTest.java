@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.fs.SubmissionFileSystem.VALIDATION_DIRNAME;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.Files;
+
+import lombok.val;
+
+public class FileDigestsTest {
+
+  private static final String CONTENT = "a\tb\n1\t2\n";
+  private static final String MD5 = "0123456789abcdef0123456789abcdef";
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  FileSystem fileSystem;
+
+  @Before
+  public void setUp() throws IOException {
+    fileSystem = FileSystem.getLocal(new Configuration());
+  }
+
+  @Test
+  public void testSave() throws IOException {
+    val file = createFile("ssm_p.txt", CONTENT);
+
+    assertThat(FileDigests.getMd5(fileSystem, file).isPresent()).isFalse();
+    FileDigests.save(fileSystem, file, MD5);
+
+    assertThat(FileDigests.getMd5(fileSystem, file).get()).isEqualTo(MD5);
+  }
+
+  @Test
+  public void testSaveChangedFile() throws IOException {
+    val file = createFile("ssm_p.txt", CONTENT);
+    FileDigests.save(fileSystem, file, MD5);
+
+    createFile("ssm_p.txt", CONTENT + "3\t4\n");
+    assertThat(FileDigests.getMd5(fileSystem, file).isPresent()).isFalse();
+
+    val md5 = "fedcba9876543210fedcba9876543210";
+    FileDigests.save(fileSystem, file, md5);
+    assertThat(FileDigests.getMd5(fileSystem, file).get()).isEqualTo(md5);
+
+    // Stale digest removed
+    val digestDir = new File(new File(tmp.getRoot(), VALIDATION_DIRNAME), FileDigests.DIGEST_DIRNAME);
+    assertThat(digestDir.list((dir, name) -> name.endsWith(".md5"))).hasSize(1);
+  }
+
+  private Path createFile(String fileName, String content) throws IOException {
+    val file = new File(tmp.getRoot(), fileName);
+    Files.write(content, file, UTF_8);
+
+    return new Path(file.getAbsolutePath());
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.fs;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+
+import lombok.Cleanup;
+import lombok.val;
+
+public class StagedFilesTest {
+
+  private static final String CONTENT = "a\tb\n1\t2\n";
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  FileSystem fileSystem;
+
+  @Before
+  public void setUp() throws IOException {
+    fileSystem = FileSystem.getLocal(new Configuration());
+  }
+
+  @Test
+  public void testStage() throws IOException {
+    val file = createGzipFile("ssm_p.txt.gz", CONTENT);
+
+    assertThat(StagedFiles.getStagedFile(fileSystem, file).isPresent()).isFalse();
+    assertThat(StagedFiles.stage(fileSystem, file)).isTrue();
+
+    val stagedFile = StagedFiles.getStagedFile(fileSystem, file);
+    assertThat(stagedFile.isPresent()).isTrue();
+    assertThat(StagedFiles.resolve(fileSystem, file)).isEqualTo(stagedFile.get());
+    assertThat(readString(stagedFile.get())).isEqualTo(CONTENT);
+  }
+
+  @Test
+  public void testStageChangedFile() throws IOException {
+    val file = createGzipFile("ssm_p.txt.gz", CONTENT);
+    StagedFiles.stage(fileSystem, file);
+    val stagedFile = StagedFiles.getStagedFile(fileSystem, file).get();
+
+    createGzipFile("ssm_p.txt.gz", CONTENT + "3\t4\n");
+    assertThat(StagedFiles.resolve(fileSystem, file)).isEqualTo(file);
+
+    assertThat(StagedFiles.stage(fileSystem, file)).isTrue();
+    assertThat(fileSystem.exists(stagedFile)).isFalse();
+    assertThat(readString(StagedFiles.resolve(fileSystem, file))).isEqualTo(CONTENT + "3\t4\n");
+  }
+
+  @Test
+  public void testPlainFileNotStaged() throws IOException {
+    val file = new File(tmp.getRoot(), "ssm_p.txt");
+    Files.write(CONTENT, file, UTF_8);
+    val path = new Path(file.getAbsolutePath());
+
+    assertThat(StagedFiles.stage(fileSystem, path)).isFalse();
+    assertThat(StagedFiles.resolve(fileSystem, path)).isEqualTo(path);
+  }
+
+  @Test
+  public void testCorruptFileNotStaged() throws IOException {
+    val file = new File(tmp.getRoot(), "ssm_p.txt.gz");
+    Files.write(CONTENT, file, UTF_8);
+    val path = new Path(file.getAbsolutePath());
+
+    assertThat(StagedFiles.stage(fileSystem, path)).isFalse();
+    assertThat(StagedFiles.resolve(fileSystem, path)).isEqualTo(path);
+  }
+
+  private Path createGzipFile(String fileName, String content) throws IOException {
+    val file = new File(tmp.getRoot(), fileName);
+    @Cleanup
+    val outputStream = new GZIPOutputStream(new FileOutputStream(file));
+    outputStream.write(content.getBytes(UTF_8));
+
+    return new Path(file.getAbsolutePath());
+  }
+
+  private String readString(Path file) throws IOException {
+    @Cleanup
+    val inputStream = fileSystem.open(file);
+
+    return new String(ByteStreams.toByteArray(inputStream), UTF_8);
+  }
+
+}
@@ -36,6 +36,7 @@ import org.icgc.dcc.submission.validation.accession.ega.EGAFileAccessionValidato
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.first.FirstPassValidator;
 import org.icgc.dcc.submission.validation.key.KeyValidator;
+import org.icgc.dcc.submission.validation.key.data.KVKeyStoreType;
 import org.icgc.dcc.submission.validation.norm.NormalizationValidator;
 import org.icgc.dcc.submission.validation.pcawg.PCAWGValidator;
 import org.icgc.dcc.submission.validation.pcawg.core.PCAWGDictionary;
@@ -55,7 +56,10 @@ import org.icgc.dcc.submission.validation.primary.restriction.RequiredRestrictio
 import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction;
 import org.icgc.dcc.submission.validation.rgv.ReferenceGenomeValidator;
 import org.icgc.dcc.submission.validation.rgv.reference.HtsjdkReferenceGenome;
+import org.icgc.dcc.submission.validation.rgv.reference.MappedReferenceGenome;
+import org.icgc.dcc.submission.validation.rgv.reference.ReferenceGenome;
 import org.icgc.dcc.submission.validation.sample.SampleTypeValidator;
+import org.icgc.dcc.submission.validation.stage.StagingValidator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -192,6 +196,12 @@ public class ValidationConfig extends AbstractConfig {
     // Set binder will preserve bind order as iteration order for injectees
     val validators = Sets.<Validator> newLinkedHashSet();
 
+    // Optional decompression of the submission files ahead of all validators
+    if (properties.getValidator().isStageFiles()) {
+      log.info("Staging submission files before validation");
+      validators.add(new StagingValidator());
+    }
+
     // Bind validators and their execution ordering
     val values = properties.getValidators();
     if (!values.isEmpty()) {
@@ -200,11 +210,11 @@ public class ValidationConfig extends AbstractConfig {
       // Externally configured validators and validator ordering
       for (val value : values) {
         if (value.equals(FIRST_PASS_VALIDATOR_CONFIG_VALUE)) {
-          validators.add(firstPassValidator());
+          validators.add(firstPassValidator(properties));
         } else if (value.equals(PRIMARY_VALIDATOR_CONFIG_VALUE)) {
-          validators.add(primaryValidator(planner));
+          validators.add(primaryValidator(properties, planner));
         } else if (value.equals(KEY_VALIDATOR_CONFIG_VALUE)) {
-          validators.add(keyValidator());
+          validators.add(keyValidator(properties));
         } else if (value.equals(PCAWG_VALIDATOR_CONFIG_VALUE)) {
           validators.add(pcawgValidator(properties));
         } else if (value.equals(REFERENCE_GENOME_VALIDATOR_CONFIG_VALUE)) {
@@ -221,9 +231,9 @@ public class ValidationConfig extends AbstractConfig {
       }
     } else {
       // Default validators and validator ordering
-      validators.add(firstPassValidator());
-      validators.add(primaryValidator(planner));
-      validators.add(keyValidator());
+      validators.add(firstPassValidator(properties));
+      validators.add(primaryValidator(properties, planner));
+      validators.add(keyValidator(properties));
       validators.add(pcawgValidator(properties));
       validators.add(referenceGenomeValidator(properties));
       validators.add(sampleTypeValidator());
@@ -234,16 +244,38 @@ public class ValidationConfig extends AbstractConfig {
     return validators;
   }
 
-  private static Validator firstPassValidator() {
-    return new FirstPassValidator();
+  private static Validator firstPassValidator(SubmissionProperties properties) {
+    val fused = properties.getValidator().isFirstPassFused();
+    val threads = properties.getValidator().getFirstPassThreads();
+    log.info("Using fused first-pass validation: {} and threads: {}", fused, threads);
+
+    return new FirstPassValidator(fused, threads);
   }
 
-  private static Validator keyValidator() {
-    return new KeyValidator();
+  private static Validator keyValidator(SubmissionProperties properties) {
+    val keyStoreType = KVKeyStoreType.valueOf(properties.getValidator().getKeyStore().toUpperCase());
+    val threads = properties.getValidator().getKeyThreads();
+    val bloomFilter = properties.getValidator().isKeyBloomFilter();
+    val maxFileErrors = properties.getValidator().getMaxFileErrors();
+    val offHeapMaxHeapSize = properties.getValidator().getKeyOffHeapMaxHeapSize();
+    val offHeapMaxDirectMemorySize = properties.getValidator().getKeyOffHeapMaxDirectMemorySize();
+    log.info("Using key validator key store: {}, threads: {}, Bloom filter: {} and maximum errors per file: {}",
+        new Object[] { keyStoreType, threads, bloomFilter, maxFileErrors });
+    if (keyStoreType == KVKeyStoreType.OFF_HEAP) {
+      log.info("Using key validator off-heap maximum heap size: {} and maximum direct memory size: {}",
+          offHeapMaxHeapSize, offHeapMaxDirectMemorySize);
+    }
+
+    return new KeyValidator(keyStoreType, threads, bloomFilter, maxFileErrors, offHeapMaxHeapSize,
+        offHeapMaxDirectMemorySize);
   }
 
-  private static Validator primaryValidator(Planner planner) {
-    return new PrimaryValidator(planner);
+  private static Validator primaryValidator(SubmissionProperties properties, Planner planner) {
+    val fused = properties.getValidator().isPrimaryFused();
+    val threads = properties.getValidator().getPrimaryThreads();
+    log.info("Using fused primary validation: {} and threads: {}", fused, threads);
+
+    return new PrimaryValidator(planner, fused, threads);
   }
 
   @SneakyThrows
@@ -261,8 +293,14 @@ public class ValidationConfig extends AbstractConfig {
 
   private static Validator referenceGenomeValidator(SubmissionProperties properties) {
     val fastaFilePath = properties.getReference().getFasta();
-
-    return new ReferenceGenomeValidator(new HtsjdkReferenceGenome(fastaFilePath));
+    val mapped = properties.getReference().isMapped();
+    val threads = properties.getReference().getThreads();
+    log.info("Using reference genome FASTA file: {} memory-mapped: {} and threads: {}",
+        new Object[] { fastaFilePath, mapped, threads });
+    ReferenceGenome reference =
+        mapped ? new MappedReferenceGenome(fastaFilePath) : new HtsjdkReferenceGenome(fastaFilePath);
+
+    return new ReferenceGenomeValidator(reference, threads);
   }
 
   private static Validator sampleTypeValidator() {
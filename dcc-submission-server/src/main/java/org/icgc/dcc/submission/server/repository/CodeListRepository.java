@@ -29,17 +29,32 @@ import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Morphia;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.collect.ImmutableList;
+
 import lombok.NonNull;
 
 public class CodeListRepository extends AbstractRepository<CodeList, QCodeList> {
 
+  /**
+   * Constants.
+   */
+  private static final String ALL_CODE_LISTS = "*";
+
+  /**
+   * All the code lists, read by every validation.
+   */
+  private final EntityCache<String, List<CodeList>> codeLists = new EntityCache<>("code lists");
+
   @Autowired
   public CodeListRepository(@NonNull Morphia morphia, @NonNull Datastore datastore) {
     super(morphia, datastore, codeList);
   }
 
+  /**
+   * Returns the cached code lists, which must not be modified.
+   */
   public List<CodeList> findCodeLists() {
-    return list();
+    return codeLists.get(ALL_CODE_LISTS, () -> ImmutableList.copyOf(list()));
   }
 
   public CodeList findCodeListByName(@NonNull String codeListName) {
@@ -48,6 +63,7 @@ public class CodeListRepository extends AbstractRepository<CodeList, QCodeList>
 
   public void saveCodeLists(@NonNull List<CodeList> codeLists) {
     save(codeLists);
+    invalidateCodeLists();
   }
 
   public void updateCodeList(@NonNull String codeListName, @NonNull CodeList updatedCodeList) {
@@ -56,6 +72,7 @@ public class CodeListRepository extends AbstractRepository<CodeList, QCodeList>
             .filter("name", codeListName),
         createUpdateOperations()
             .set("label", updatedCodeList.getLabel()));
+    invalidateCodeLists();
   }
 
   public void addCodeListTerm(@NonNull String codeListName, @NonNull Term newTerm) {
@@ -64,6 +81,14 @@ public class CodeListRepository extends AbstractRepository<CodeList, QCodeList>
             .filter("name", codeListName),
         createUpdateOperations()
             .add("terms", newTerm));
+    invalidateCodeLists();
+  }
+
+  /**
+   * Invalidates the cached code lists, also for writes made behind the back of the repository.
+   */
+  public void invalidateCodeLists() {
+    codeLists.invalidateAll();
   }
 
 }
@@ -18,27 +18,26 @@
 
 package org.icgc.dcc.submission.server.repository;
 
-import static com.google.common.base.Preconditions.checkNotNull;
 import static org.icgc.dcc.submission.dictionary.model.DictionaryState.CLOSED;
 import static org.icgc.dcc.submission.dictionary.model.QDictionary.dictionary;
 
 import java.util.List;
-import java.util.Map;
 
-import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.QDictionary;
 import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Morphia;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import com.google.common.collect.ImmutableMap;
-
 import lombok.NonNull;
-import lombok.val;
 
 public class DictionaryRepository extends AbstractRepository<Dictionary, QDictionary> {
 
+  /**
+   * Dictionaries by version, read on every request, SFTP operation and validation.
+   */
+  private final EntityCache<String, Dictionary> dictionaries = new EntityCache<>("dictionary");
+
   @Autowired
   public DictionaryRepository(@NonNull Morphia morphia, @NonNull Datastore datastore) {
     super(morphia, datastore, dictionary);
@@ -56,12 +55,16 @@ public class DictionaryRepository extends AbstractRepository<Dictionary, QDictio
     return list(entity.version, entity.created, entity.lastUpdate, entity.state);
   }
 
+  /**
+   * Returns the cached dictionary of {@code version}, which must not be modified.
+   */
   public Dictionary findDictionaryByVersion(@NonNull String version) {
-    return uniqueResult(entity.version.eq(version));
+    return dictionaries.get(version, () -> uniqueResult(entity.version.eq(version)));
   }
 
   public void saveDictionary(@NonNull Dictionary dictionary) {
     save(dictionary);
+    dictionaries.invalidate(dictionary.getVersion());
   }
 
   public void updateDictionary(@NonNull Dictionary dictionary) {
@@ -69,6 +72,7 @@ public class DictionaryRepository extends AbstractRepository<Dictionary, QDictio
         createQuery()
             .filter("version", dictionary.getVersion()),
         dictionary, false);
+    dictionaries.invalidate(dictionary.getVersion());
   }
 
   public void closeDictionary(@NonNull String version) {
@@ -77,19 +81,14 @@ public class DictionaryRepository extends AbstractRepository<Dictionary, QDictio
             .filter("version", version),
         createUpdateOperations()
             .set("state", CLOSED));
+    dictionaries.invalidate(version);
   }
 
   /**
-   * Return a map of file pattern to {@link FileType} for the dictionary version provided, which is expected to exist.
+   * Invalidates the cached dictionaries, for writes made behind the back of the repository.
    */
-  public Map<String, FileType> getFilePatternToTypeMap(@NonNull String version) {
-    val dictionary = checkNotNull(findDictionaryByVersion(version), "No dictionary with version '%s' found", version);
-
-    val patternToType = new ImmutableMap.Builder<String, FileType>();
-    for (val fileSchema : dictionary.getFiles()) {
-      patternToType.put(fileSchema.getPattern(), fileSchema.getFileType());
-    }
-    return patternToType.build();
+  public void invalidateDictionaries() {
+    dictionaries.invalidateAll();
   }
 
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.repository;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through cache of the entities of a repository that are read far more often than they are written (e.g.
+ * dictionaries and code lists, read on every request, SFTP operation and validation).
+ * <p>
+ * The repository invalidates the entries it writes. Absent entities are not cached, so that entities saved behind the
+ * back of the repository (e.g. seeded) are found. Cached entities are shared and must not be modified. The hit ratio
+ * and load time are logged with each load.
+ */
+@Slf4j
+@ThreadSafe
+@RequiredArgsConstructor
+public class EntityCache<K, V> {
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final String name;
+
+  /**
+   * State.
+   */
+  private final Cache<K, V> cache = CacheBuilder.newBuilder().recordStats().build();
+
+  /**
+   * Returns the cached entity of {@code key}, loading it with {@code loader} if need be, {@code null} if absent.
+   */
+  public V get(@NonNull K key, @NonNull Supplier<? extends V> loader) {
+    try {
+      return cache.get(key, () -> load(key, loader));
+    } catch (InvalidCacheLoadException e) {
+      // Absent, hence not cached
+      return null;
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  public void invalidate(@NonNull K key) {
+    log.info("Invalidating {} '{}'", name, key);
+    cache.invalidate(key);
+  }
+
+  public void invalidateAll() {
+    log.info("Invalidating all {}", name);
+    cache.invalidateAll();
+  }
+
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  private V load(K key, Supplier<? extends V> loader) {
+    val watch = Stopwatch.createStarted();
+    val value = loader.get();
+
+    val stats = getStats();
+    val averageLoadTime = NANOSECONDS.toMillis((long) stats.averageLoadPenalty());
+    log.info("Loaded {} '{}' in {} ms (hit ratio: {}, average load time: {} ms)",
+        new Object[] { name, key, watch.elapsed(MILLISECONDS), stats.hitRate(), averageLoadTime });
+
+    return value;
+  }
+
+}
@@ -30,6 +30,7 @@ import java.net.UnknownHostException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
+import java.util.TreeSet;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 
@@ -48,6 +49,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.icgc.dcc.submission.core.config.SubmissionProperties;
 import org.icgc.dcc.submission.core.model.Feedback;
+import org.icgc.dcc.submission.core.report.Error;
 import org.icgc.dcc.submission.core.report.Report;
 import org.icgc.dcc.submission.core.state.State;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -112,6 +114,16 @@ public class MailService {
         user, path));
   }
 
+  public void sendFilePreValidated(@NonNull String user, @NonNull String path, @NonNull List<Error> errors) {
+    val errorTypes = new TreeSet<String>();
+    for (val error : errors) {
+      errorTypes.add(error.getType().name());
+    }
+
+    sendNotification(format("User '%s' transferred file '%s' with %s pre-validation error(s) %s",
+        user, path, errors.size(), errorTypes));
+  }
+
   public void sendFileRemoved(@NonNull String user, @NonNull String path) {
     sendNotification(format("User '%s' removed file '%s'",
         user, path));
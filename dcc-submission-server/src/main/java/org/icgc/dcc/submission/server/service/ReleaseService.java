@@ -40,9 +40,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.regex.Pattern;
 
 import lombok.NonNull;
 import lombok.Synchronized;
@@ -50,7 +48,6 @@ import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.hadoop.fs.Path;
-import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.common.hadoop.fs.HadoopUtils;
 import org.icgc.dcc.submission.core.model.DccModelOptimisticLockException;
 import org.icgc.dcc.submission.core.model.Outcome;
@@ -280,10 +277,10 @@ public class ReleaseService extends AbstractService {
 
     // TODO: Do we need to check if the project is being validated currently?
     release.removeFromQueue(projectKeys);
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
+    val dictionary = getDictionary(release.getDictionaryVersion());
     val submissions = submissionService.findProjectKeysToSubmissions(releaseName, projectKeys);
     for (val projectKey : projectKeys) {
-      val submissionFiles = getSubmissionFiles(release.getName(), projectKey, filePatternToTypeMap);
+      val submissionFiles = getSubmissionFiles(release.getName(), projectKey, dictionary);
       val submission = submissions.get(projectKey);
       checkNotNullSubmission(releaseName, projectKey, submission);
 
@@ -458,7 +455,7 @@ public class ReleaseService extends AbstractService {
     // Update release object
     release.enqueue(queuedProjects);
 
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
+    val dictionary = getDictionary(release.getDictionaryVersion());
     val projectKeys = queuedProjects.stream()
         .map(QueuedProject::getKey)
         .collect(toImmutableList());
@@ -467,7 +464,7 @@ public class ReleaseService extends AbstractService {
       val projectKey = queuedProject.getKey();
       val submission = submissions.get(projectKey);
       checkNotNullSubmission(releaseName, projectKey, submission);
-      val submissionFiles = getSubmissionFiles(release.getName(), projectKey, filePatternToTypeMap);
+      val submissionFiles = getSubmissionFiles(release.getName(), projectKey, dictionary);
 
       //
       // Transition
@@ -554,7 +551,7 @@ public class ReleaseService extends AbstractService {
 
     log.info("Deleting queued request for project(s) '{}'", projectKeys);
     val queue = ImmutableList.<QueuedProject> copyOf(release.getQueue());
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
+    val dictionary = getDictionary(release.getDictionaryVersion());
     val queuedProjectKeys = queue.stream()
         .map(QueuedProject::getKey)
         .collect(toImmutableList());
@@ -567,7 +564,7 @@ public class ReleaseService extends AbstractService {
       if (remove) {
         val submission = submissions.get(projectKey);
         checkNotNullSubmission(releaseName, projectKey, submission);
-        val submissionFiles = getSubmissionFiles(releaseName, projectKey, filePatternToTypeMap);
+        val submissionFiles = getSubmissionFiles(releaseName, projectKey, dictionary);
 
         //
         // Transition
@@ -611,24 +608,24 @@ public class ReleaseService extends AbstractService {
   @Synchronized
   public void resetInvalidSubmissions() {
     val release = getNextRelease();
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
+    val dictionary = getDictionary(release.getDictionaryVersion());
     val invalidProjectKeys = submissionService.findSubmissionSummariesByReleaseName(release.getName()).stream()
         .filter(submission -> submission.getState() == INVALID)
         .map(Submission::getProjectKey)
         .collect(toImmutableList());
 
     for (val projectKey : invalidProjectKeys) {
-      resetSubmission(release, projectKey, filePatternToTypeMap);
+      resetSubmission(release, projectKey, dictionary);
     }
   }
 
   @Synchronized
   public void resetSubmissions(Iterable<String> projects) {
     val release = getNextRelease();
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(release.getDictionaryVersion());
+    val dictionary = getDictionary(release.getDictionaryVersion());
 
     for (val projectKey : projects) {
-      resetSubmission(release, projectKey, filePatternToTypeMap);
+      resetSubmission(release, projectKey, dictionary);
     }
   }
 
@@ -686,17 +683,17 @@ public class ReleaseService extends AbstractService {
 
   private List<SubmissionFile> getSubmissionFiles(
       @NonNull String releaseName, @NonNull String dictionaryVersion, @NonNull String projectKey) {
-    return getSubmissionFiles(releaseName, projectKey, dictionaryRepository.getFilePatternToTypeMap(dictionaryVersion));
+    return getSubmissionFiles(releaseName, projectKey, getDictionary(dictionaryVersion));
   }
 
   private List<SubmissionFile> getSubmissionFiles(
-      @NonNull String releaseName, @NonNull String projectKey, @NonNull Map<String, FileType> filePatternToTypeMap) {
+      @NonNull String releaseName, @NonNull String projectKey, @NonNull Dictionary dictionary) {
     val submissionFiles = new ArrayList<SubmissionFile>();
     val projectStringPath = new Path(submissionFileSystem.buildProjectStringPath(releaseName, projectKey));
 
     for (val path : lsFile(submissionFileSystem.getFileSystem(), projectStringPath)) {
       try {
-        submissionFiles.add(getSubmissionFile(filePatternToTypeMap, path));
+        submissionFiles.add(getSubmissionFile(dictionary, path));
       } catch (Exception e) {
         // This could happen if the file was renamed or removed in the meantime
         log.warn("Could not get submission file '{}': {}", path, e.getMessage());
@@ -729,12 +726,12 @@ public class ReleaseService extends AbstractService {
 
     // Create new release entity
     val newRelease = new Release(nextReleaseName, dictionaryVersion);
-    val filePatternToTypeMap = dictionaryRepository.getFilePatternToTypeMap(oldRelease.getDictionaryVersion());
+    val dictionary = getDictionary(oldRelease.getDictionaryVersion());
     val oldReleaseName = oldRelease.getName();
     val oldReleaseSubmissions = submissionService.findSubmissionsByReleaseName(oldReleaseName);
     val newSubmissions = ImmutableList.<Submission> builder();
     for (val submission : oldReleaseSubmissions) {
-      val submissionFiles = getSubmissionFiles(oldReleaseName, submission.getProjectKey(), filePatternToTypeMap);
+      val submissionFiles = getSubmissionFiles(oldReleaseName, submission.getProjectKey(), dictionary);
 
       //
       // Transition
@@ -800,12 +797,12 @@ public class ReleaseService extends AbstractService {
   }
 
   private Submission resetSubmission(
-      @NonNull Release release, @NonNull String projectKey, @NonNull Map<String, FileType> filePatternToTypeMap) {
+      @NonNull Release release, @NonNull String projectKey, @NonNull Dictionary dictionary) {
     val releaseName = release.getName();
     val submissionOpt = submissionService.findSubmissionByReleaseNameAndProjectKey(releaseName, projectKey);
     checkSubmissionExistence(projectKey, releaseName, submissionOpt);
     val submission = submissionOpt.get();
-    val submissionFiles = getSubmissionFiles(releaseName, projectKey, filePatternToTypeMap);
+    val submissionFiles = getSubmissionFiles(releaseName, projectKey, dictionary);
 
     //
     // Transition
@@ -837,13 +834,13 @@ public class ReleaseService extends AbstractService {
     throw new ReleaseException("There is no project '%s' associated with release '%s'", projectKey, releaseName);
   }
 
-  private SubmissionFile getSubmissionFile(Map<String, FileType> filePatternToTypeMap, Path filePath)
+  private SubmissionFile getSubmissionFile(Dictionary dictionary, Path filePath)
       throws IOException {
     val fileName = filePath.getName();
     val fileStatus = HadoopUtils.getFileStatus(submissionFileSystem.getFileSystem(), filePath).get();
     val fileLastUpdate = new Date(fileStatus.getModificationTime());
     val fileSize = fileStatus.getLen();
-    val fileType = getFileType(filePatternToTypeMap, fileName).orNull();
+    val fileType = dictionary.getFileType(fileName).orNull();
 
     return new SubmissionFile(fileName, fileLastUpdate, fileSize, fileType, false);
   }
@@ -875,13 +872,12 @@ public class ReleaseService extends AbstractService {
     mailService.sendSupportProblem("Automatic email - Failure update", message);
   }
 
-  private Optional<FileType> getFileType(Map<String, FileType> filePatternToTypeMap, String fileName) {
-    for (val pattern : filePatternToTypeMap.keySet()) {
-      if (Pattern.compile(pattern).matcher(fileName).matches()) {
-        return Optional.of(filePatternToTypeMap.get(pattern));
-      }
-    }
-    return Optional.<FileType> absent();
+  /**
+   * Returns the dictionary of {@code version}, which is expected to exist.
+   */
+  private Dictionary getDictionary(String version) {
+    return checkNotNull(dictionaryRepository.findDictionaryByVersion(version),
+        "No dictionary with version '%s' found", version);
   }
 
   private static void checkNotNullSubmission(String releaseName, String projectKey, Submission submission) {
@@ -42,21 +42,26 @@ import org.springframework.security.core.Authentication;
 import com.google.common.base.Optional;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
+import com.google.common.eventbus.EventBus;
 
 @Slf4j
 public class SubmissionService extends AbstractService {
 
   private final SubmissionRepository submissionRepository;
   private final ProjectService projectService;
+  private final EventBus eventBus;
 
   @Autowired
   public SubmissionService(
       @NonNull final MailService mailService,
       @NonNull final ProjectService projectService,
-      @NonNull final SubmissionRepository submissionRepository) {
+      @NonNull final SubmissionRepository submissionRepository,
+      @NonNull final EventBus eventBus) {
     super(mailService);
     this.projectService = projectService;
     this.submissionRepository = submissionRepository;
+    this.eventBus = eventBus;
   }
 
   public Map<String, Submission> findProjectKeysToSubmissions(@NonNull String releaseName,
@@ -154,6 +159,7 @@ public class SubmissionService extends AbstractService {
    */
   public void updateExistingSubmissions(@NonNull Iterable<Submission> submissions) {
     submissionRepository.updateExistingSubmissions(submissions);
+    notifyChange(submissions);
   }
 
   /**
@@ -161,18 +167,38 @@ public class SubmissionService extends AbstractService {
    */
   public void updateSubmission(@NonNull Submission submission) {
     submissionRepository.updateSubmission(submission);
+    notifyChange(submission.getReleaseName());
   }
 
   public void addSubmissions(@NonNull Iterable<Submission> submissions) {
     submissionRepository.addSubmissions(submissions);
+    notifyChange(submissions);
   }
 
   public void addSubmission(@NonNull Submission submission) {
     submissionRepository.addSubmission(submission);
+    notifyChange(submission.getReleaseName());
   }
 
   public void deleteUnsignedSubmissions(@NonNull String releaseName) {
     submissionRepository.deleteByReleaseAndNotState(releaseName, SIGNED_OFF);
+    notifyChange(releaseName);
+  }
+
+  private void notifyChange(Iterable<Submission> submissions) {
+    val releaseNames = Sets.<String> newLinkedHashSet();
+    for (val submission : submissions) {
+      releaseNames.add(submission.getReleaseName());
+    }
+
+    for (val releaseName : releaseNames) {
+      notifyChange(releaseName);
+    }
+  }
+
+  private void notifyChange(String releaseName) {
+    // Lets caches of submissions (e.g. the SFTP one) drop them
+    eventBus.post(new SubmissionChangeEvent(releaseName));
   }
 
   private List<String> getUserProjects(Authentication authentication) {
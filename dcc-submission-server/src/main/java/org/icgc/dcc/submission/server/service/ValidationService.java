@@ -47,6 +47,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.icgc.dcc.common.core.model.DataType;
 import org.icgc.dcc.common.core.model.Identifiable.Identifiables;
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
 import org.icgc.dcc.submission.core.report.Report;
 import org.icgc.dcc.submission.fs.SubmissionFileSystem;
 import org.icgc.dcc.submission.release.model.QueuedProject;
@@ -59,6 +60,7 @@ import org.icgc.dcc.submission.validation.ValidationListener;
 import org.icgc.dcc.submission.validation.ValidationRejectedException;
 import org.icgc.dcc.submission.validation.core.DefaultReportContext;
 import org.icgc.dcc.submission.validation.core.DefaultValidationContext;
+import org.icgc.dcc.submission.validation.core.ErrorBudget;
 import org.icgc.dcc.submission.validation.core.ReportContext;
 import org.icgc.dcc.submission.validation.core.Validation;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
@@ -104,6 +106,8 @@ public class ValidationService extends AbstractScheduledService {
   private final SubmissionPlatformStrategyFactory platformStrategyFactory;
   @NonNull
   private final Set<Validator> validators;
+  @NonNull
+  private final SubmissionProperties properties;
 
   /**
    * Main {@code Validation} dispatch processing.
@@ -251,6 +255,7 @@ public class ValidationService extends AbstractScheduledService {
         val outcome = validation.isCompleted() ? COMPLETED : ABORTED;
 
         log.info("onCompletion - Validation '{}' completed with outcome '{}'", project, outcome);
+        removeStagedFiles(validationContext);
         releaseService.resolveSubmission(project, outcome, newReport);
         log.info("onCompletion - Completed '{}'", project.getKey());
       }
@@ -264,6 +269,7 @@ public class ValidationService extends AbstractScheduledService {
         val outcome = CANCELLED;
 
         log.warn("onCancelled - Validation '{}' completed with outcome '{}'", project, outcome);
+        removeStagedFiles(validationContext);
         releaseService.resolveSubmission(project, outcome, newReport);
         log.warn("onCancelled - Completed '{}'.", project.getKey());
       }
@@ -277,6 +283,7 @@ public class ValidationService extends AbstractScheduledService {
         val outcome = FAILED;
 
         log.error("onFailure - Throwable occurred in '{}' validation: {}", project.getKey(), t);
+        removeStagedFiles(validationContext);
         releaseService.resolveSubmission(project, outcome, nextReport);
         log.error("onFailure - Completed '{}'.", project.getKey());
       }
@@ -284,6 +291,18 @@ public class ValidationService extends AbstractScheduledService {
     });
   }
 
+  /**
+   * Removes the files only of use while validating (see {@link org.icgc.dcc.submission.fs.StagedFiles}), whatever
+   * the outcome of the validation.
+   */
+  private static void removeStagedFiles(ValidationContext context) {
+    try {
+      context.getSubmissionDirectory().removeStagedFiles();
+    } catch (Exception e) {
+      log.warn("Could not remove staged files of '{}': {}", context.getProjectKey(), e.getMessage());
+    }
+  }
+
   /**
    * Internal {@code Validation} factory method.
    * 
@@ -338,8 +357,11 @@ public class ValidationService extends AbstractScheduledService {
   /**
    * Internal {@code ReportContext} factory method.
    */
-  private static ReportContext createReportContext() {
-    return new DefaultReportContext(new Report()); // Empty report will be updated then merged with existing one
+  private ReportContext createReportContext() {
+    val validator = properties.getValidator();
+    val budget = new ErrorBudget(validator.getMaxFileErrors(), validator.getMaxErrors());
+
+    return new DefaultReportContext(new Report(), budget); // Empty report will be updated then merged with existing one
   }
 
 }
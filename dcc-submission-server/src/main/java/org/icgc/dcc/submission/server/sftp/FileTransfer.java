@@ -17,11 +17,58 @@
  */
 package org.icgc.dcc.submission.server.sftp;
 
-import lombok.Value;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
-@Value
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+
+import com.google.common.base.Stopwatch;
+
+/**
+ * A file transfer of an SFTP session, counting the bytes transferred so far to report its throughput.
+ */
+@ThreadSafe
+@ToString(of = "path")
+@EqualsAndHashCode(of = "path")
+@RequiredArgsConstructor
 public class FileTransfer {
 
-  String path;
+  /**
+   * Configuration.
+   */
+  @Getter
+  @NonNull
+  private final String path;
+
+  /**
+   * State.
+   */
+  private final Stopwatch watch = Stopwatch.createStarted();
+  private final AtomicLong bytes = new AtomicLong();
+
+  public void addBytes(long count) {
+    bytes.addAndGet(count);
+  }
+
+  public long getBytes() {
+    return bytes.get();
+  }
+
+  public long getElapsedMillis() {
+    return watch.elapsed(MILLISECONDS);
+  }
+
+  public long getBytesPerSecond() {
+    val elapsed = getElapsedMillis();
+    return elapsed == 0 ? 0 : getBytes() * 1000 / elapsed;
+  }
 
 }
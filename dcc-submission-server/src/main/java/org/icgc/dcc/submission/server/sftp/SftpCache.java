@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.sftp;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.submission.release.model.Release;
+import org.icgc.dcc.submission.release.model.Submission;
+import org.icgc.dcc.submission.server.service.SubmissionChangeEvent;
+
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Short-lived cache of the open release, its submissions and the directory listings of the release file system,
+ * shared by all SFTP sessions so that listing a directory does not cost a Mongo and HDFS round-trip per file.
+ * <p>
+ * Entries expire after the configured TTL, which bounds how stale they get on writes made behind the back of the SFTP
+ * subsystem. The release snapshot is also dropped on {@link SubmissionChangeEvent}s and {@link SftpChangeEvent}s, and
+ * listings are dropped by {@link SftpContext} on every write made through SFTP. Cached objects must not be modified.
+ */
+@Slf4j
+@ThreadSafe
+public class SftpCache {
+
+  /**
+   * Constants.
+   */
+  private static final String NEXT_RELEASE = "next";
+
+  /**
+   * State.
+   */
+  private final Cache<String, ReleaseSnapshot> releases;
+  private final Cache<String, Map<String, FileStatus>> listings;
+
+  public SftpCache(long ttl, @NonNull TimeUnit unit) {
+    this(ttl, unit, Ticker.systemTicker());
+  }
+
+  SftpCache(long ttl, @NonNull TimeUnit unit, @NonNull Ticker ticker) {
+    this.releases = CacheBuilder.newBuilder().expireAfterWrite(ttl, unit).ticker(ticker).build();
+    this.listings = CacheBuilder.newBuilder().expireAfterWrite(ttl, unit).ticker(ticker).build();
+  }
+
+  public ReleaseSnapshot getRelease(@NonNull Callable<ReleaseSnapshot> loader) {
+    return get(releases, NEXT_RELEASE, loader);
+  }
+
+  /**
+   * Returns the statuses of the entries of {@code directory} by name.
+   */
+  public Map<String, FileStatus> getListing(@NonNull Path directory,
+      @NonNull Callable<Map<String, FileStatus>> loader) {
+    return get(listings, getKey(directory), loader);
+  }
+
+  public void invalidateRelease() {
+    releases.invalidateAll();
+  }
+
+  public void invalidateListing(@NonNull Path directory) {
+    listings.invalidate(getKey(directory));
+  }
+
+  public void invalidateAll() {
+    releases.invalidateAll();
+    listings.invalidateAll();
+  }
+
+  /**
+   * Event fired from {@link SftpServerService}.
+   */
+  @Subscribe
+  public void onEvent(SftpChangeEvent event) {
+    log.info("Received SFTP event: {}, invalidating cache", event);
+    invalidateAll();
+  }
+
+  /**
+   * Event fired from {@link org.icgc.dcc.submission.server.service.SubmissionService}.
+   */
+  @Subscribe
+  public void onEvent(SubmissionChangeEvent event) {
+    log.debug("Received submission event: {}, invalidating release", event);
+    invalidateRelease();
+  }
+
+  private static <K, V> V get(Cache<K, V> cache, K key, Callable<V> loader) {
+    try {
+      return cache.get(key, loader);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  private static String getKey(Path directory) {
+    // Qualified and unqualified paths of the same directory share their entry
+    return directory.toUri().getPath();
+  }
+
+  /**
+   * The open release and its submissions by project key.
+   */
+  @Value
+  public static class ReleaseSnapshot {
+
+    Release release;
+    Map<String, Submission> submissions;
+
+  }
+
+}
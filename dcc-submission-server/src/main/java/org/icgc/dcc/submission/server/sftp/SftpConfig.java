@@ -17,10 +17,15 @@
  */
 package org.icgc.dcc.submission.server.sftp;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import javax.annotation.PostConstruct;
 
+import lombok.val;
+
 import org.apache.sshd.SshServer;
 import org.apache.sshd.server.PasswordAuthenticator;
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
 import org.icgc.dcc.submission.server.config.AbstractConfig;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,6 +43,14 @@ public class SftpConfig extends AbstractConfig {
     return new EventBus();
   }
 
+  @Bean
+  public SftpCache sftpCache(SubmissionProperties properties) {
+    val cache = new SftpCache(properties.getSftp().getCacheTtlSeconds(), SECONDS);
+    eventBus().register(cache);
+
+    return cache;
+  }
+
   @Bean
   public SftpContext sftpContext() {
     return singleton(SftpContext.class);
@@ -18,23 +18,29 @@
 package org.icgc.dcc.submission.server.sftp;
 
 import static com.google.common.base.Optional.fromNullable;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
 import static org.icgc.dcc.submission.fs.SubmissionFileEventType.FILE_CREATED;
 import static org.icgc.dcc.submission.fs.SubmissionFileEventType.FILE_REMOVED;
 import static org.icgc.dcc.submission.fs.SubmissionFileEventType.FILE_RENAMED;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.common.hadoop.fs.HadoopUtils;
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
 import org.icgc.dcc.submission.core.security.Authorizations;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.fs.ReleaseFileSystem;
@@ -44,15 +50,19 @@ import org.icgc.dcc.submission.fs.SubmissionFileEvent;
 import org.icgc.dcc.submission.fs.SubmissionFileRenamedEvent;
 import org.icgc.dcc.submission.fs.SubmissionFileSystem;
 import org.icgc.dcc.submission.release.model.Release;
+import org.icgc.dcc.submission.server.sftp.SftpCache.ReleaseSnapshot;
+import org.icgc.dcc.submission.server.sftp.fs.PreValidatingOutputStream;
 import org.icgc.dcc.submission.server.service.MailService;
 import org.icgc.dcc.submission.server.service.ProjectService;
 import org.icgc.dcc.submission.server.service.ReleaseService;
 import org.icgc.dcc.submission.server.service.SubmissionService;
+import org.icgc.dcc.submission.validation.first.FirstPassStreamChecker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.Authentication;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 
 /**
@@ -84,6 +94,10 @@ public class SftpContext {
   private final AuthenticationManager authenticator;
   @NonNull
   private final MailService mailService;
+  @NonNull
+  private final SftpCache cache;
+  @NonNull
+  private final SubmissionProperties properties;
 
   public List<String> getUserProjectKeys(Authentication authentication) {
     val projectKeys = Lists.<String> newArrayList();
@@ -98,7 +112,7 @@ public class SftpContext {
 
   // TODO: This should not be needed once the other todos are addressed
   public Release getNextRelease() {
-    return releaseService.getNextRelease();
+    return getReleaseSnapshot().getRelease();
   }
 
   public String getNextReleaseName() {
@@ -107,16 +121,76 @@ public class SftpContext {
 
   // TODO: Return Paths or Strings and nothing in org.dcc.filesystem.*
   public ReleaseFileSystem getReleaseFileSystem(Authentication authentication) {
-    val nextRelease = getNextRelease();
-    val submissions = submissionService.findProjectKeyToSubmissionByReleaseName(nextRelease.getName());
+    val snapshot = getReleaseSnapshot();
 
-    return fs.getReleaseFilesystem(nextRelease, submissions, authentication);
+    return fs.getReleaseFilesystem(snapshot.getRelease(), snapshot.getSubmissions(), authentication);
   }
 
   public FileSystem getFileSystem() {
     return fs.getFileSystem();
   }
 
+  public int getUploadBufferSize() {
+    return properties.getSftp().getUploadBufferSize();
+  }
+
+  /**
+   * Returns {@code outputStream} tapped so that the upload of the submission file at {@code path} is pre-validated as
+   * its bytes arrive, if enabled.
+   */
+  public OutputStream preValidate(@NonNull Path path, @NonNull OutputStream outputStream,
+      @NonNull Authentication authentication) {
+    val fileName = path.getName();
+    if (!properties.getSftp().isPreValidation()) {
+      return outputStream;
+    }
+
+    val dictionary = releaseService.getNextDictionary();
+    if (!dictionary.getFileSchemaByFileName(fileName).isPresent()) {
+      return outputStream;
+    }
+
+    val user = authentication.getName();
+    val checker = new FirstPassStreamChecker(dictionary);
+    return new PreValidatingOutputStream(outputStream, fileName, checker, errors -> {
+      log.info("'{}' transferred file '{}' with {} pre-validation error(s)",
+          new Object[] { user, fileName, errors.size() });
+      mailService.sendFilePreValidated(user, fileName, errors);
+    });
+  }
+
+  /**
+   * Returns the (cached) paths of the entries of {@code directory}, none if it does not exist.
+   */
+  public List<Path> listPaths(@NonNull Path directory) {
+    return getListing(directory).values().stream()
+        .map(FileStatus::getPath)
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Returns the (cached) status of {@code path}, absent if it does not exist.
+   */
+  public Optional<FileStatus> getFileStatus(@NonNull Path path) throws IOException {
+    val directory = path.getParent();
+    if (directory == null) {
+      // File system root, not listed in any directory
+      return Optional.of(fs.getFileSystem().getFileStatus(path));
+    }
+
+    return fromNullable(getListing(directory).get(path.getName()));
+  }
+
+  /**
+   * To be called after each write made through SFTP to {@code path} so that it is visible to all sessions.
+   */
+  public void registerFileChange(@NonNull Path path) {
+    val directory = path.getParent();
+    if (directory != null) {
+      cache.invalidateListing(directory);
+    }
+  }
+
   public boolean isSystemDirectory(Path path, Authentication authentication) {
     return getReleaseFileSystem(authentication).isSystemDirectory(path);
   }
@@ -140,6 +214,7 @@ public class SftpContext {
 
   public void registerReferenceChange() {
     releaseService.resetSubmissions();
+    cache.invalidateRelease();
   }
 
   public void registerSubmissionEvent(@NonNull String projectKey, @NonNull SubmissionFileEvent event,
@@ -160,6 +235,31 @@ public class SftpContext {
     }
 
     releaseService.modifySubmission(getNextReleaseName(), projectKey, event);
+    cache.invalidateRelease();
+  }
+
+  private ReleaseSnapshot getReleaseSnapshot() {
+    return cache.getRelease(() -> {
+      val nextRelease = releaseService.getNextRelease();
+      val submissions = submissionService.findProjectKeyToSubmissionByReleaseName(nextRelease.getName());
+
+      return new ReleaseSnapshot(nextRelease, submissions);
+    });
+  }
+
+  private Map<String, FileStatus> getListing(Path directory) {
+    return cache.getListing(directory, () -> {
+      val listing = ImmutableMap.<String, FileStatus> builder();
+      try {
+        for (val status : fs.getFileSystem().listStatus(directory)) {
+          listing.put(status.getPath().getName(), status);
+        }
+      } catch (FileNotFoundException e) {
+        // Cached as empty
+      }
+
+      return listing.build();
+    });
   }
 
   // TODO: Duplicated code with ReleaseService
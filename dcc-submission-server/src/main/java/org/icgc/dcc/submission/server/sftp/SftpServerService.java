@@ -196,6 +196,8 @@ public class SftpServerService extends AbstractService {
     val transfer = SftpSessions.getFileTransfer(session);
     if (hasFileTransfer(transfer)) {
       map.put("fileTransfer", transfer.get().getPath());
+      map.put("fileTransferBytes", valueOf(transfer.get().getBytes()));
+      map.put("fileTransferBytesPerSecond", valueOf(transfer.get().getBytesPerSecond()));
     }
 
     return map;
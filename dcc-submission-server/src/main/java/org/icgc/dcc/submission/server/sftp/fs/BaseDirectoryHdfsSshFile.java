@@ -19,7 +19,6 @@ package org.icgc.dcc.submission.server.sftp.fs;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Lists.newArrayList;
-import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.lsAll;
 import static org.icgc.dcc.submission.server.sftp.fs.HdfsFileUtils.SshFileList;
 import static org.icgc.dcc.submission.server.sftp.fs.HdfsFileUtils.handleException;
 
@@ -28,6 +27,7 @@ import java.util.List;
 
 import lombok.NonNull;
 import lombok.SneakyThrows;
+import lombok.val;
 
 import org.apache.hadoop.fs.Path;
 import org.apache.sshd.common.file.SshFile;
@@ -77,6 +77,7 @@ public abstract class BaseDirectoryHdfsSshFile extends HdfsSshFile {
     try {
       if (isWritable()) {
         fileSystem.create(path);
+        context.registerFileChange(path);
 
         return true;
       }
@@ -94,7 +95,7 @@ public abstract class BaseDirectoryHdfsSshFile extends HdfsSshFile {
   @Override
   public List<SshFile> listSshFiles() {
     try {
-      List<Path> paths = lsAll(fileSystem, path);
+      List<Path> paths = context.listPaths(path);
       List<SshFile> sshFiles = newArrayList();
 
       for (Path path : paths) {
@@ -135,7 +136,12 @@ public abstract class BaseDirectoryHdfsSshFile extends HdfsSshFile {
   @Override
   public boolean move(SshFile destination) {
     try {
-      return fileSystem.rename(path, new Path(destination.getAbsolutePath()));
+      val destinationPath = new Path(destination.getAbsolutePath());
+      val success = fileSystem.rename(path, destinationPath);
+      context.registerFileChange(path);
+      context.registerFileChange(destinationPath);
+
+      return success;
     } catch (Exception e) {
       return handleException(Boolean.class, e);
     }
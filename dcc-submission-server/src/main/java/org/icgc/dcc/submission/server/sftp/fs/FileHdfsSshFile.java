@@ -110,6 +110,7 @@ public class FileHdfsSshFile extends HdfsSshFile {
     try {
       if (isWritable()) {
         fileSystem.createNewFile(path);
+        context.registerFileChange(path);
 
         registerEvent(new SubmissionFileCreatedEvent(getSubmissionFile()));
 
@@ -130,6 +131,7 @@ public class FileHdfsSshFile extends HdfsSshFile {
         if (success == false) {
           throw new IOException("Unable to delete file " + path.toUri());
         }
+        context.registerFileChange(path);
 
         registerEvent(new SubmissionFileRemovedEvent(file));
 
@@ -158,6 +160,8 @@ public class FileHdfsSshFile extends HdfsSshFile {
         if (!success) {
           throw new IOException("Unable to move file " + path.toUri() + " to " + destinationPath.toUri());
         }
+        context.registerFileChange(path);
+        context.registerFileChange(destinationPath);
 
         path = destinationPath;
 
@@ -178,6 +182,12 @@ public class FileHdfsSshFile extends HdfsSshFile {
     return null;
   }
 
+  @Override
+  public void handleClose() throws IOException {
+    // The size of a written file is only known once its handle is closed
+    context.registerFileChange(path);
+  }
+
   @Override
   public HdfsSshFile getChild(Path filePath) {
     return handleException(HdfsSshFile.class, "Invalid file path: %s%s", getAbsolutePath(), filePath.toString());
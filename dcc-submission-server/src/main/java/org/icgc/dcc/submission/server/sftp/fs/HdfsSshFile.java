@@ -39,6 +39,7 @@ import static org.apache.sshd.common.file.SshFile.Permission.UserWrite;
 import static org.icgc.dcc.submission.fs.SubmissionFileSystem.VALIDATION_DIRNAME;
 import static org.icgc.dcc.submission.server.sftp.fs.HdfsFileUtils.handleException;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -51,11 +52,13 @@ import lombok.NonNull;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.permission.FsAction;
 import org.apache.sshd.common.Session;
 import org.apache.sshd.common.file.SshFile;
+import org.icgc.dcc.submission.fs.FileDigests;
 import org.icgc.dcc.submission.server.sftp.SftpContext;
 import org.springframework.security.core.Authentication;
 
@@ -153,7 +156,7 @@ public abstract class HdfsSshFile implements SshFile {
         return false;
       }
 
-      return fileSystem.exists(path);
+      return context.getFileStatus(path).isPresent();
     } catch (Exception e) {
       return handleException(Boolean.class, e);
     }
@@ -162,7 +165,7 @@ public abstract class HdfsSshFile implements SshFile {
   @Override
   public boolean isReadable() {
     try {
-      FsAction u = fileSystem.getFileStatus(path).getPermission().getUserAction();
+      FsAction u = getFileStatus().getPermission().getUserAction();
 
       return (u == FsAction.ALL || u == FsAction.READ_WRITE || u == FsAction.READ || u == FsAction.READ_EXECUTE);
     } catch (Exception e) {
@@ -173,7 +176,7 @@ public abstract class HdfsSshFile implements SshFile {
   @Override
   public boolean isWritable() {
     try {
-      FsAction u = fileSystem.getFileStatus(path).getPermission().getUserAction();
+      FsAction u = getFileStatus().getPermission().getUserAction();
 
       return (u == FsAction.ALL || u == FsAction.READ_WRITE || u == FsAction.WRITE || u == FsAction.WRITE_EXECUTE);
     } catch (Exception e) {
@@ -194,7 +197,7 @@ public abstract class HdfsSshFile implements SshFile {
   @Override
   public long getLastModified() {
     try {
-      return fileSystem.getFileStatus(path).getModificationTime();
+      return getFileStatus().getModificationTime();
     } catch (Exception e) {
       return handleException(Long.class, e);
     }
@@ -203,7 +206,13 @@ public abstract class HdfsSshFile implements SshFile {
   @Override
   public boolean setLastModified(long time) {
     try {
+      // Keep the MD5 of the upload (e.g. when the client preserves times), recorded against the modification time
+      val md5 = FileDigests.getMd5(fileSystem, path);
       fileSystem.setTimes(path, time, -1);
+      if (md5.isPresent()) {
+        FileDigests.save(fileSystem, path, md5.get());
+      }
+      context.registerFileChange(path);
 
       return true;
     } catch (Exception e) {
@@ -214,7 +223,7 @@ public abstract class HdfsSshFile implements SshFile {
   @Override
   public long getSize() {
     try {
-      return fileSystem.getFileStatus(path).getLen();
+      return getFileStatus().getLen();
     } catch (Exception e) {
       return handleException(Long.class, e);
     }
@@ -223,7 +232,7 @@ public abstract class HdfsSshFile implements SshFile {
   @Override
   public String getOwner() {
     try {
-      return fileSystem.getFileStatus(path).getOwner();
+      return getFileStatus().getOwner();
     } catch (Exception e) {
       return handleException(String.class, e);
     }
@@ -253,8 +262,12 @@ public abstract class HdfsSshFile implements SshFile {
 
       log.info("Submission file opened: '{}'", path);
       val delegate = fileSystem.create(path);
+      context.registerFileChange(path);
+
+      val outputStream = new SessionFileTransferOutputStream(delegate, fileSystem, session, path,
+          context.getUploadBufferSize());
 
-      return new SessionFileTransferOutputStream(delegate, session, path);
+      return context.preValidate(path, outputStream, authentication);
     } catch (Exception e) {
       return handleException(OutputStream.class, e);
     }
@@ -294,6 +307,18 @@ public abstract class HdfsSshFile implements SshFile {
 
   public abstract HdfsSshFile getChild(Path filePath);
 
+  /**
+   * Returns the status of {@code path}, shared by all sessions (see {@link SftpContext#getFileStatus(Path)}).
+   */
+  protected FileStatus getFileStatus() throws IOException {
+    val fileStatus = context.getFileStatus(path);
+    if (!fileStatus.isPresent()) {
+      throw new FileNotFoundException("File " + path + " does not exist");
+    }
+
+    return fileStatus.get();
+  }
+
   protected boolean isValidationFile(Path path) {
     if (path == null) {
       return false;
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.sftp.fs;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+import static com.google.common.util.concurrent.Uninterruptibles.getUninterruptibly;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import lombok.NonNull;
+import lombok.val;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Output stream writing to its delegate from a background thread, one large buffer at a time, while the other buffer
+ * is being filled. This overlaps the (slow) writes to HDFS with the receiving of the bytes to write.
+ * <p>
+ * The writing threads are shared by all the streams, each of which has at most one write pending, so that streams that
+ * are never closed (e.g. abandoned uploads) hold no thread. Failures of the delegate surface on the next write, flush
+ * or close. As any output stream, not thread-safe.
+ */
+public final class PipelinedOutputStream extends OutputStream {
+
+  /**
+   * Constants.
+   */
+  static final int MAX_WRITER_COUNT = 32;
+  private static final long WRITER_KEEP_ALIVE_SECONDS = 60;
+  private static final ExecutorService WRITERS = createWriters();
+
+  /**
+   * Dependencies.
+   */
+  private final OutputStream delegate;
+
+  /**
+   * State.
+   */
+  private byte[] buffer;
+  private byte[] spare;
+  private int count;
+  private Future<?> pending;
+  private boolean closed;
+
+  public PipelinedOutputStream(@NonNull OutputStream delegate, int bufferSize) {
+    checkArgument(bufferSize > 0, "Buffer size must be positive: %s", bufferSize);
+    this.delegate = delegate;
+    this.buffer = new byte[bufferSize];
+    this.spare = new byte[bufferSize];
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    if (count == buffer.length) {
+      writeBuffer();
+    }
+
+    buffer[count++] = (byte) b;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    checkPositionIndexes(off, off + len, b.length);
+    while (len > 0) {
+      if (count == buffer.length) {
+        writeBuffer();
+      }
+
+      val n = Math.min(len, buffer.length - count);
+      System.arraycopy(b, off, buffer, count, n);
+      count += n;
+      off += n;
+      len -= n;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writeBuffer();
+    awaitPending();
+    delegate.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    try {
+      writeBuffer();
+      awaitPending();
+    } finally {
+      // The delegate must not be closed while a write may still be in flight (e.g. when interrupted while waiting)
+      awaitPendingUninterruptibly();
+      delegate.close();
+    }
+  }
+
+  /**
+   * Hands the filled buffer over to the writer once it is done with the other one, which then gets filled.
+   */
+  private void writeBuffer() throws IOException {
+    awaitPending();
+    if (count == 0) {
+      return;
+    }
+
+    val full = buffer;
+    val length = count;
+    pending = WRITERS.submit(() -> {
+      delegate.write(full, 0, length);
+      return null;
+    });
+
+    buffer = spare;
+    spare = full;
+    count = 0;
+  }
+
+  private void awaitPending() throws IOException {
+    if (pending == null) {
+      return;
+    }
+
+    try {
+      pending.get();
+      pending = null;
+    } catch (InterruptedException e) {
+      // Still pending
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while writing");
+    } catch (ExecutionException e) {
+      pending = null;
+      Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  /**
+   * Lets the pending write (if any) finish, preserving the interrupt status. Its failure, if any, was already reported
+   * or is superseded by the one being reported.
+   */
+  private void awaitPendingUninterruptibly() {
+    if (pending == null) {
+      return;
+    }
+
+    try {
+      getUninterruptibly(pending);
+    } catch (ExecutionException e) {
+      // See above
+    } finally {
+      pending = null;
+    }
+  }
+
+  private static ExecutorService createWriters() {
+    val threadFactory = new ThreadFactoryBuilder().setNameFormat("sftp-upload-%d").setDaemon(true).build();
+    val writers = new ThreadPoolExecutor(MAX_WRITER_COUNT, MAX_WRITER_COUNT,
+        WRITER_KEEP_ALIVE_SECONDS, SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+
+    // Idle uploads hold no thread either
+    writers.allowCoreThreadTimeOut(true);
+
+    return writers;
+  }
+
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.sftp.fs;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.validation.first.FirstPassStreamChecker;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Output stream tapping the bytes written to its delegate so that a {@link FirstPassStreamChecker} checks them on a
+ * background thread as they arrive. The errors found are handed to the listener once the checker is done and the
+ * stream is closed successfully, even if the checker returned early (e.g. on a header error).
+ * <p>
+ * The checker never fails nor slows down the writes: the bytes are handed over through a bounded queue, and if the
+ * checker falls that far behind, or the writes fail, the check is abandoned (logged, the listener not being called).
+ * As any output stream, not thread-safe.
+ */
+@Slf4j
+public final class PreValidatingOutputStream extends OutputStream {
+
+  /**
+   * Constants.
+   */
+  private static final ThreadFactory THREAD_FACTORY =
+      new ThreadFactoryBuilder().setNameFormat("sftp-prevalidation-%d").setDaemon(true).build();
+  private static final int QUEUE_CAPACITY = 1024;
+  private static final long POLL_MILLIS = 100;
+
+  /**
+   * Dependencies.
+   */
+  private final OutputStream delegate;
+
+  /**
+   * State.
+   */
+  private final String fileName;
+  private final Pipe pipe = new Pipe();
+  private boolean closed;
+
+  public PreValidatingOutputStream(@NonNull OutputStream delegate, @NonNull String fileName,
+      @NonNull FirstPassStreamChecker checker, @NonNull Consumer<List<Error>> listener) {
+    this.delegate = delegate;
+    this.fileName = fileName;
+
+    val executor = newSingleThreadExecutor(THREAD_FACTORY);
+    executor.execute(() -> check(checker, listener));
+    executor.shutdown();
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] { (byte) b }, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    try {
+      delegate.write(b, off, len);
+    } catch (IOException e) {
+      pipe.abandon("the upload failed");
+      throw e;
+    }
+
+    pipe.feed(b, off, len);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    delegate.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    boolean success = false;
+    try {
+      delegate.close();
+      success = true;
+    } finally {
+      if (success) {
+        pipe.end();
+      } else {
+        pipe.abandon("the upload failed");
+      }
+    }
+  }
+
+  private void check(FirstPassStreamChecker checker, Consumer<List<Error>> listener) {
+    try {
+      val errors = checker.check(fileName, pipe);
+
+      // The upload may still fail after an early return
+      pipe.skipToEnd();
+      listener.accept(errors);
+    } catch (Throwable t) {
+      if (!pipe.isAbandoned()) {
+        log.warn("Pre-validation of '{}' failed:", fileName, t);
+      }
+    } finally {
+      pipe.close();
+    }
+  }
+
+  /**
+   * Input stream of the checker, fed with copies of the bytes written.
+   */
+  private class Pipe extends InputStream {
+
+    private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final byte[] single = new byte[1];
+    private volatile boolean ended;
+    private volatile boolean abandoned;
+    private volatile boolean closed;
+
+    /**
+     * Current chunk, read from {@code position}.
+     */
+    private byte[] chunk;
+    private int position;
+
+    void feed(byte[] b, int off, int len) {
+      if (len == 0 || closed || abandoned) {
+        return;
+      }
+
+      if (!queue.offer(Arrays.copyOfRange(b, off, off + len))) {
+        abandon("it fell behind the upload");
+      }
+    }
+
+    void end() {
+      ended = true;
+    }
+
+    void abandon(String reason) {
+      if (!abandoned && !closed) {
+        log.warn("Abandoning pre-validation of '{}' as {}", fileName, reason);
+      }
+
+      abandoned = true;
+      queue.clear();
+    }
+
+    boolean isAbandoned() {
+      return abandoned;
+    }
+
+    /**
+     * Drops the bytes not read yet, and the ones still to come, until the end of the upload. Throws if it is abandoned.
+     */
+    void skipToEnd() throws IOException {
+      close();
+      while (next() != null) {
+        // Dropped
+      }
+    }
+
+    @Override
+    public int read() throws IOException {
+      int read = read(single, 0, 1);
+
+      return read == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+
+      if (chunk == null || position == chunk.length) {
+        chunk = next();
+        position = 0;
+        if (chunk == null) {
+          return -1;
+        }
+      }
+
+      val n = Math.min(len, chunk.length - position);
+      System.arraycopy(chunk, position, b, off, n);
+      position += n;
+
+      return n;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      queue.clear();
+    }
+
+    /**
+     * Returns the next chunk written, {@code null} at the end of the upload.
+     */
+    private byte[] next() throws IOException {
+      while (true) {
+        if (abandoned) {
+          throw new IOException("Pre-validation of '" + fileName + "' abandoned");
+        }
+
+        try {
+          val next = queue.poll(POLL_MILLIS, MILLISECONDS);
+          if (next != null) {
+            return next;
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while reading");
+        }
+
+        // Chunks are queued before the end is signaled
+        if (ended && queue.isEmpty()) {
+          return null;
+        }
+      }
+    }
+
+  }
+
+}
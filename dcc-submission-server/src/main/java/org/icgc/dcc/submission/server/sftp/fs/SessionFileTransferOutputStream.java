@@ -22,37 +22,71 @@ import static org.icgc.dcc.submission.server.sftp.SftpSessions.unsetFileTransfer
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 
 import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.sshd.common.Session;
+import org.icgc.dcc.submission.fs.FileDigests;
 import org.icgc.dcc.submission.server.sftp.FileTransfer;
 
+import com.google.common.io.BaseEncoding;
+
+/**
+ * Output stream of a file uploaded through SFTP, tracked as the {@link FileTransfer} of its session.
+ * <p>
+ * Unless the buffer size is 0, the bytes received are written by a {@link PipelinedOutputStream}. The MD5 of the file
+ * is computed along the way (by the writing thread), logged with the throughput of the transfer and saved (see
+ * {@link FileDigests}) once the file is successfully closed.
+ */
+@Slf4j
 public final class SessionFileTransferOutputStream extends OutputStream {
 
+  /**
+   * Constants.
+   */
+  private static final String DIGEST_ALGORITHM = "MD5";
+
   private final OutputStream delegate;
+  private final MessageDigest digest;
+  private final FileSystem fileSystem;
+  private final Path path;
   private final Session session;
+  private final FileTransfer transfer;
 
-  public SessionFileTransferOutputStream(@NonNull OutputStream delegate, @NonNull Session session, @NonNull Path path) {
-    this.delegate = delegate;
+  public SessionFileTransferOutputStream(@NonNull OutputStream delegate, @NonNull FileSystem fileSystem,
+      @NonNull Session session, @NonNull Path path, int bufferSize) {
+    this.digest = createDigest();
+    val digestStream = new DigestOutputStream(delegate, digest);
+    this.delegate = bufferSize > 0 ? new PipelinedOutputStream(digestStream, bufferSize) : digestStream;
+    this.fileSystem = fileSystem;
+    this.path = path;
     this.session = session;
-    setFileTransfer(session, new FileTransfer(path.toString()));
+    this.transfer = new FileTransfer(path.toString());
+    setFileTransfer(session, transfer);
   }
 
   @Override
   public void write(int b) throws IOException {
     delegate.write(b);
+    transfer.addBytes(1);
   }
 
   @Override
   public void write(byte[] b) throws IOException {
-    delegate.write(b);
+    write(b, 0, b.length);
   }
 
   @Override
   public void write(byte[] b, int off, int len) throws IOException {
     delegate.write(b, off, len);
+    transfer.addBytes(len);
   }
 
   @Override
@@ -64,9 +98,20 @@ public final class SessionFileTransferOutputStream extends OutputStream {
   public void close() throws IOException {
     try {
       delegate.close();
+
+      // Only complete once the writing thread is done
+      val md5 = BaseEncoding.base16().lowerCase().encode(digest.digest());
+      log.info("Transferred '{}': {} bytes in {} ms ({} bytes/s), MD5: {}", new Object[] {
+          transfer.getPath(), transfer.getBytes(), transfer.getElapsedMillis(), transfer.getBytesPerSecond(), md5 });
+      FileDigests.save(fileSystem, path, md5);
     } finally {
       unsetFileTransfer(session);
     }
   }
 
-}
\ No newline at end of file
+  @SneakyThrows
+  private static MessageDigest createDigest() {
+    return MessageDigest.getInstance(DIGEST_ALGORITHM);
+  }
+
+}
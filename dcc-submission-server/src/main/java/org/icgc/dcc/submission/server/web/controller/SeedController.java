@@ -30,6 +30,8 @@ import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.fs.SubmissionFileSystem;
 import org.icgc.dcc.submission.release.model.Release;
+import org.icgc.dcc.submission.server.repository.CodeListRepository;
+import org.icgc.dcc.submission.server.repository.DictionaryRepository;
 import org.icgc.dcc.submission.server.security.Admin;
 import org.mongodb.morphia.Datastore;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -62,6 +64,8 @@ public class SeedController {
    */
   private final Datastore datastore;
   private final SubmissionFileSystem fileSystem;
+  private final DictionaryRepository dictionaryRepository;
+  private final CodeListRepository codeListRepository;
 
   @Admin
   @PostMapping("users")
@@ -113,6 +117,7 @@ public class SeedController {
     }
 
     datastore.save(dictionaries);
+    dictionaryRepository.invalidateDictionaries();
 
     return created();
   }
@@ -128,6 +133,7 @@ public class SeedController {
     }
 
     datastore.save(codelists);
+    codeListRepository.invalidateCodeLists();
 
     return created();
   }
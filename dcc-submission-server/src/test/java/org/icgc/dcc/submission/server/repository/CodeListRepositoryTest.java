@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.icgc.dcc.submission.dictionary.model.CodeList;
+import org.icgc.dcc.submission.dictionary.model.Term;
+import org.junit.Before;
+import org.junit.Test;
+import org.mongodb.morphia.Morphia;
+
+import com.mongodb.MongoClientURI;
+
+import lombok.val;
+
+public class CodeListRepositoryTest extends AbstractRepositoryTest {
+
+  /**
+   * Test data.
+   */
+  private static final String CODE_LIST_NAME = "list1";
+
+  /**
+   * Class under test.
+   */
+  private CodeListRepository codeListRepository;
+
+  @Before
+  public void setUp() {
+    val morphia = new Morphia();
+    val uri = new MongoClientURI(getMongoUri());
+    val datastore = morphia.createDatastore(embeddedMongo.getMongo(), uri.getDatabase());
+
+    val codeList = new CodeList(CODE_LIST_NAME);
+    codeList.addTerm(new Term("1", "one", ""));
+    datastore.save(codeList);
+
+    codeListRepository = new CodeListRepository(morphia, datastore);
+  }
+
+  @Test
+  public void testFindCodeListsSameInstances() {
+    // Code list matchers of the validator are keyed by instance
+    val codeLists = codeListRepository.findCodeLists();
+
+    assertThat(codeLists).hasSize(1);
+    assertThat(codeListRepository.findCodeLists().get(0)).isSameAs(codeLists.get(0));
+  }
+
+  @Test
+  public void testFindCodeListsAfterUpdate() {
+    val codeLists = codeListRepository.findCodeLists();
+
+    codeListRepository.addCodeListTerm(CODE_LIST_NAME, new Term("2", "two", ""));
+
+    val updated = codeListRepository.findCodeLists();
+    assertThat(updated.get(0)).isNotSameAs(codeLists.get(0));
+    assertThat(updated.get(0).getTerms()).hasSize(2);
+  }
+
+}
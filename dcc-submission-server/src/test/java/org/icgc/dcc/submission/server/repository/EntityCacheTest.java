@@ -0,0 +1,55 @@
+package org.icgc.dcc.submission.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import lombok.val;
+
+public class EntityCacheTest {
+
+  EntityCache<String, String> cache = new EntityCache<>("test");
+
+  @Test
+  public void testGet() {
+    val loads = new AtomicInteger();
+
+    assertThat(cache.get("a", () -> "a" + loads.incrementAndGet())).isEqualTo("a1");
+    assertThat(cache.get("a", () -> "a" + loads.incrementAndGet())).isEqualTo("a1");
+    assertThat(loads.get()).isEqualTo(1);
+    assertThat(cache.getStats().hitCount()).isEqualTo(1);
+    assertThat(cache.getStats().loadSuccessCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testGetAbsent() {
+    val loads = new AtomicInteger();
+
+    assertThat(cache.get("a", () -> loads.incrementAndGet() == 1 ? null : "a")).isNull();
+    assertThat(cache.get("a", () -> loads.incrementAndGet() == 1 ? null : "a")).isEqualTo("a");
+  }
+
+  @Test
+  public void testInvalidate() {
+    cache.get("a", () -> "a1");
+    cache.get("b", () -> "b1");
+
+    cache.invalidate("a");
+    assertThat(cache.get("a", () -> "a2")).isEqualTo("a2");
+    assertThat(cache.get("b", () -> "b2")).isEqualTo("b1");
+
+    cache.invalidateAll();
+    assertThat(cache.get("a", () -> "a3")).isEqualTo("a3");
+    assertThat(cache.get("b", () -> "b3")).isEqualTo("b3");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGetFailure() {
+    cache.get("a", () -> {
+      throw new IllegalStateException();
+    });
+  }
+
+}
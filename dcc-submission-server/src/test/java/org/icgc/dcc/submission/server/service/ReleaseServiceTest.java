@@ -54,6 +54,7 @@ import org.mongodb.morphia.Datastore;
 import org.mongodb.morphia.Morphia;
 
 import com.google.common.base.Throwables;
+import com.google.common.eventbus.EventBus;
 import com.mongodb.Mongo;
 import com.mongodb.MongoClient;
 import com.mongodb.MongoException;
@@ -127,7 +128,7 @@ public class ReleaseServiceTest {
 
       val projectService = new ProjectService(projectRepository);
 
-      submissionService = new SubmissionService(mailService, projectService, submissionRepository);
+      submissionService = new SubmissionService(mailService, projectService, submissionRepository, new EventBus());
       submissionService.addSubmission(validSubmission);
       submissionService.addSubmission(notValidatedSubmission);
       submissionService.addSubmission(queuedSubmission);
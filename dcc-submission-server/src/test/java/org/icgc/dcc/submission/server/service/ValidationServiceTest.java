@@ -35,6 +35,7 @@ import java.util.Set;
 import lombok.SneakyThrows;
 import lombok.val;
 
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
 import org.icgc.dcc.submission.core.model.Outcome;
 import org.icgc.dcc.submission.core.report.Report;
 import org.icgc.dcc.submission.dictionary.model.CodeList;
@@ -95,6 +96,8 @@ public class ValidationServiceTest {
   SubmissionPlatformStrategyFactory platformStrategyFactory;
   @Spy
   Set<Validator> validators = newLinkedHashSet();
+  @Spy
+  SubmissionProperties properties = new SubmissionProperties();
 
   /**
    * Secondary collaborators.
@@ -1,11 +1,13 @@
 package org.icgc.dcc.submission.server.sftp;
 
+import static com.google.common.base.Charsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Date;
 
 import org.apache.hadoop.conf.Configuration;
@@ -13,6 +15,7 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.RawLocalFileSystem;
 import org.apache.sshd.common.Session;
 import org.icgc.dcc.submission.core.model.Project;
+import org.icgc.dcc.submission.fs.FileDigests;
 import org.icgc.dcc.submission.fs.SubmissionDirectory;
 import org.icgc.dcc.submission.fs.SubmissionFile;
 import org.icgc.dcc.submission.release.model.Release;
@@ -29,6 +32,10 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.security.core.Authentication;
 
+import com.google.common.base.Optional;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
 @RunWith(MockitoJUnitRunner.class)
 public class FileHdfsSshFileTest {
 
@@ -54,6 +61,7 @@ public class FileHdfsSshFileTest {
   @Mock
   Session session;
 
+  RawLocalFileSystem fileSystem;
   SubmissionDirectoryHdfsSshFile directory;
 
   @Before
@@ -66,10 +74,17 @@ public class FileHdfsSshFileTest {
 
     when(submissionDirectory.isReadOnly()).thenReturn(false);
     when(submissionDirectory.getSubmission()).thenReturn(submission);
-    when(context.getFileSystem()).thenReturn(createFileSystem());
+    fileSystem = createFileSystem();
+    when(context.getFileSystem()).thenReturn(fileSystem);
+    when(context.getFileStatus(any(Path.class))).thenAnswer(invocation -> {
+      Path path = (Path) invocation.getArguments()[0];
+      return fileSystem.exists(path) ? Optional.of(fileSystem.getFileStatus(path)) : Optional.absent();
+    });
     when(context.getReleasePath()).thenReturn(new Path(root.getAbsolutePath()));
     when(context.getSubmissionFile(any(Path.class))).thenReturn(new SubmissionFile("", new Date(), 0, null, false));
     when(context.getSubmissionDirectory(PROJECT_KEY, authentication)).thenReturn(submissionDirectory);
+    when(context.preValidate(any(Path.class), any(OutputStream.class), any(Authentication.class)))
+        .thenAnswer(invocation -> invocation.getArguments()[1]);
 
     RootHdfsSshFile rootDirectory = new RootHdfsSshFile(context, authentication, session);
     String directoryName = PROJECT_KEY;
@@ -93,6 +108,29 @@ public class FileHdfsSshFileTest {
     assertThat(file.doesExist()).isTrue();
   }
 
+  @Test
+  public void testCreateOutputStreamSavesMd5() throws IOException {
+    String fileName = "file.txt";
+    FileHdfsSshFile file = new FileHdfsSshFile(context, directory, fileName);
+    byte[] content = "a\tb\n1\t2\n".getBytes(UTF_8);
+
+    OutputStream outputStream = file.createOutputStream(0);
+    outputStream.write(content);
+    outputStream.close();
+
+    Path path = new Path(new File(tmp.getRoot(), RELEASE_NAME + "/" + PROJECT_KEY + "/" + fileName).getAbsolutePath());
+    String md5 = Hashing.md5().hashBytes(content).toString();
+    assertThat(FileDigests.getMd5(fileSystem, path)).isEqualTo(Optional.of(md5));
+
+    // Times preserved by the client
+    assertThat(file.setLastModified(1000L)).isTrue();
+    assertThat(FileDigests.getMd5(fileSystem, path)).isEqualTo(Optional.of(md5));
+
+    // Changed behind the back of SFTP
+    Files.append("3\t4\n", new File(path.toUri()), UTF_8);
+    assertThat(FileDigests.getMd5(fileSystem, path).isPresent()).isFalse();
+  }
+
   private static RawLocalFileSystem createFileSystem() {
     RawLocalFileSystem localFileSystem = new RawLocalFileSystem();
     localFileSystem.setConf(new Configuration());
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.sftp;
+
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.submission.release.model.Release;
+import org.icgc.dcc.submission.release.model.Submission;
+import org.icgc.dcc.submission.server.service.SubmissionChangeEvent;
+import org.icgc.dcc.submission.server.sftp.SftpCache.ReleaseSnapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.eventbus.EventBus;
+
+public class SftpCacheTest {
+
+  /**
+   * Test data.
+   */
+  private static final long TTL_SECONDS = 10;
+  private static final Path DIRECTORY = new Path("/release1/project1");
+
+  /**
+   * Loaders that count their calls.
+   */
+  private final CountingLoader<ReleaseSnapshot> releaseLoader = new CountingLoader<>(
+      () -> new ReleaseSnapshot(mock(Release.class), ImmutableMap.<String, Submission> of()));
+  private final CountingLoader<Map<String, FileStatus>> listingLoader = new CountingLoader<>(
+      () -> emptyMap());
+
+  /**
+   * Manual clock.
+   */
+  private final FakeTicker ticker = new FakeTicker();
+
+  /**
+   * Class under test.
+   */
+  private SftpCache cache;
+
+  @Before
+  public void setUp() {
+    this.cache = new SftpCache(TTL_SECONDS, SECONDS, ticker);
+  }
+
+  @Test
+  public void testGetRelease() {
+    ReleaseSnapshot release = cache.getRelease(releaseLoader);
+
+    assertThat(cache.getRelease(releaseLoader)).isSameAs(release);
+    assertThat(releaseLoader.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testInvalidateRelease() {
+    ReleaseSnapshot release = cache.getRelease(releaseLoader);
+    cache.getListing(DIRECTORY, listingLoader);
+
+    cache.invalidateRelease();
+
+    assertThat(cache.getRelease(releaseLoader)).isNotSameAs(release);
+    assertThat(releaseLoader.getCount()).isEqualTo(2);
+
+    cache.getListing(DIRECTORY, listingLoader);
+    assertThat(listingLoader.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testGetListing() {
+    cache.getListing(DIRECTORY, listingLoader);
+    cache.getListing(DIRECTORY, listingLoader);
+
+    // Qualified path of the same directory
+    cache.getListing(new Path("file://" + DIRECTORY), listingLoader);
+
+    assertThat(listingLoader.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testInvalidateListing() {
+    cache.getListing(DIRECTORY, listingLoader);
+    cache.getListing(DIRECTORY.getParent(), listingLoader);
+
+    cache.invalidateListing(DIRECTORY);
+
+    cache.getListing(DIRECTORY, listingLoader);
+    assertThat(listingLoader.getCount()).isEqualTo(3);
+
+    cache.getListing(DIRECTORY.getParent(), listingLoader);
+    assertThat(listingLoader.getCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void testExpiry() {
+    cache.getRelease(releaseLoader);
+    cache.getListing(DIRECTORY, listingLoader);
+
+    ticker.advance(TTL_SECONDS - 1);
+    cache.getRelease(releaseLoader);
+    cache.getListing(DIRECTORY, listingLoader);
+    assertThat(releaseLoader.getCount()).isEqualTo(1);
+    assertThat(listingLoader.getCount()).isEqualTo(1);
+
+    ticker.advance(1);
+    cache.getRelease(releaseLoader);
+    cache.getListing(DIRECTORY, listingLoader);
+    assertThat(releaseLoader.getCount()).isEqualTo(2);
+    assertThat(listingLoader.getCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testSubmissionChangeEvent() {
+    EventBus eventBus = new EventBus();
+    eventBus.register(cache);
+    cache.getRelease(releaseLoader);
+    cache.getListing(DIRECTORY, listingLoader);
+
+    eventBus.post(new SubmissionChangeEvent("release1"));
+
+    cache.getRelease(releaseLoader);
+    cache.getListing(DIRECTORY, listingLoader);
+    assertThat(releaseLoader.getCount()).isEqualTo(2);
+    assertThat(listingLoader.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testSftpChangeEvent() {
+    EventBus eventBus = new EventBus();
+    eventBus.register(cache);
+    cache.getRelease(releaseLoader);
+    cache.getListing(DIRECTORY, listingLoader);
+
+    eventBus.post(new SftpChangeEvent(false));
+
+    cache.getRelease(releaseLoader);
+    cache.getListing(DIRECTORY, listingLoader);
+    assertThat(releaseLoader.getCount()).isEqualTo(2);
+    assertThat(listingLoader.getCount()).isEqualTo(2);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLoaderFailure() {
+    cache.getRelease(() -> {
+      throw new IllegalStateException("No open release");
+    });
+  }
+
+  private static class CountingLoader<T> implements Callable<T> {
+
+    private final Callable<T> delegate;
+    private final AtomicInteger count = new AtomicInteger();
+
+    CountingLoader(Callable<T> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public T call() throws Exception {
+      count.incrementAndGet();
+      return delegate.call();
+    }
+
+    int getCount() {
+      return count.get();
+    }
+
+  }
+
+  private static class FakeTicker extends Ticker {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long read() {
+      return nanos.get();
+    }
+
+    void advance(long seconds) {
+      nanos.addAndGet(SECONDS.toNanos(seconds));
+    }
+
+  }
+
+}
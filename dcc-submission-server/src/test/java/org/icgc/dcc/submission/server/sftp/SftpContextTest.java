@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.server.sftp;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.apache.sshd.common.Session;
+import org.icgc.dcc.submission.core.config.SubmissionProperties;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.fs.ReleaseFileSystem;
+import org.icgc.dcc.submission.fs.SubmissionDirectory;
+import org.icgc.dcc.submission.fs.SubmissionFileSystem;
+import org.icgc.dcc.submission.release.model.Release;
+import org.icgc.dcc.submission.release.model.Submission;
+import org.icgc.dcc.submission.server.service.MailService;
+import org.icgc.dcc.submission.server.service.ProjectService;
+import org.icgc.dcc.submission.server.service.ReleaseService;
+import org.icgc.dcc.submission.server.service.SubmissionService;
+import org.icgc.dcc.submission.server.sftp.fs.FileHdfsSshFile;
+import org.icgc.dcc.submission.server.sftp.fs.RootHdfsSshFile;
+import org.icgc.dcc.submission.server.sftp.fs.SubmissionDirectoryHdfsSshFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+
+import com.google.common.base.Optional;
+import com.google.common.io.Files;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SftpContextTest {
+
+  /**
+   * Test data.
+   */
+  private static final String RELEASE_NAME = "release1";
+  private static final String PROJECT_KEY = "project1";
+  private static final String FILE_NAME = "file.txt";
+  private static final long TTL_SECONDS = 60;
+
+  /**
+   * Scratch space.
+   */
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  /**
+   * Dependencies.
+   */
+  @Mock
+  SubmissionFileSystem fs;
+  @Mock
+  ReleaseFileSystem releaseFileSystem;
+  @Mock
+  SubmissionDirectory submissionDirectory;
+  @Mock
+  ReleaseService releaseService;
+  @Mock
+  SubmissionService submissionService;
+  @Mock
+  ProjectService projectService;
+  @Mock
+  AuthenticationManager authenticator;
+  @Mock
+  MailService mailService;
+  @Mock
+  Release release;
+  @Mock
+  Dictionary dictionary;
+  @Mock
+  Authentication authentication;
+  @Mock
+  Session session;
+
+  RawLocalFileSystem fileSystem;
+  File projectDirectory;
+  SftpCache cache;
+
+  /**
+   * Class under test.
+   */
+  SftpContext context;
+
+  @Before
+  public void setUp() throws IOException {
+    File releaseDirectory = tmp.newFolder(RELEASE_NAME);
+    projectDirectory = new File(releaseDirectory, PROJECT_KEY);
+    projectDirectory.mkdir();
+
+    fileSystem = new RawLocalFileSystem();
+    fileSystem.setConf(new Configuration());
+
+    when(fs.getFileSystem()).thenReturn(fileSystem);
+    when(fs.buildReleaseStringPath(RELEASE_NAME)).thenReturn(releaseDirectory.getAbsolutePath());
+    when(fs.getReleaseFilesystem(any(Release.class), anyMapOf(String.class, Submission.class),
+        any(Authentication.class))).thenReturn(releaseFileSystem);
+    when(releaseFileSystem.getSubmissionDirectory(PROJECT_KEY)).thenReturn(submissionDirectory);
+    when(submissionDirectory.isReadOnly()).thenReturn(false);
+    when(release.getName()).thenReturn(RELEASE_NAME);
+    when(releaseService.getNextRelease()).thenReturn(release);
+    when(releaseService.getNextDictionary()).thenReturn(dictionary);
+    when(dictionary.getFileSchemaByFileName(anyString())).thenReturn(Optional.<FileSchema> absent());
+
+    cache = new SftpCache(TTL_SECONDS, SECONDS);
+    context = createContext();
+  }
+
+  @Test
+  public void testRegisterFileChange() throws IOException {
+    Path directory = new Path(projectDirectory.getAbsolutePath());
+    Path file = new Path(directory, FILE_NAME);
+    assertThat(context.listPaths(directory)).isEmpty();
+    assertThat(context.getFileStatus(file).isPresent()).isFalse();
+
+    // Written behind the back of the context
+    fileSystem.createNewFile(file);
+    assertThat(context.listPaths(directory)).isEmpty();
+    assertThat(context.getFileStatus(file).isPresent()).isFalse();
+
+    context.registerFileChange(file);
+    assertThat(context.listPaths(directory)).extracting("name").containsExactly(FILE_NAME);
+    assertThat(context.getFileStatus(file).isPresent()).isTrue();
+  }
+
+  @Test
+  public void testWriteVisibleToOtherContext() throws IOException {
+    SftpContext otherContext = createContext();
+    FileHdfsSshFile otherFile = new FileHdfsSshFile(otherContext, createDirectory(otherContext), FILE_NAME);
+    assertThat(otherFile.doesExist()).isFalse();
+
+    FileHdfsSshFile file = new FileHdfsSshFile(context, createDirectory(context), FILE_NAME);
+    assertThat(file.create()).isTrue();
+    assertThat(otherFile.doesExist()).isTrue();
+    assertThat(otherFile.getSize()).isEqualTo(0);
+
+    // Transfer of the content
+    Files.write(new byte[] { 'a', 'b', 'c' }, new File(projectDirectory, FILE_NAME));
+    file.handleClose();
+    assertThat(otherFile.getSize()).isEqualTo(3);
+  }
+
+  private SftpContext createContext() {
+    return new SftpContext(fs, releaseService, submissionService, projectService, authenticator, mailService, cache,
+        new SubmissionProperties());
+  }
+
+  private SubmissionDirectoryHdfsSshFile createDirectory(SftpContext context) {
+    RootHdfsSshFile root = new RootHdfsSshFile(context, authentication, session);
+
+    return new SubmissionDirectoryHdfsSshFile(context, root, PROJECT_KEY);
+  }
+
+}
@@ -19,6 +19,7 @@ package org.icgc.dcc.submission.server.sftp;
 
 import static com.google.common.base.Charsets.UTF_8;
 import static com.jcraft.jsch.KeyPair.RSA;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
 
@@ -137,7 +138,10 @@ public class SftpPublicKeyAuthenticatorTest {
   }
 
   private SftpServerService createService() {
-    val context = new SftpContext(fs, releaseService, submissionService, projectService, authenticator, mailService);
+    val cache = new SftpCache(properties.getSftp().getCacheTtlSeconds(), SECONDS);
+    val context =
+        new SftpContext(fs, releaseService, submissionService, projectService, authenticator, mailService, cache,
+            properties);
     val sshd = new SshServerProvider(properties, context, sftpAuthenticator).get();
     val eventBus = new EventBus();
     eventBus.register(authenticator);
@@ -441,8 +441,10 @@ public class SftpServerServiceTest {
   }
 
   private SftpServerService createService() {
+    SftpCache cache = new SftpCache(properties.getSftp().getCacheTtlSeconds(), SECONDS);
     SftpContext context =
-        new SftpContext(fs, releaseService, submissionService, projectService, authenticator, mailService);
+        new SftpContext(fs, releaseService, submissionService, projectService, authenticator, mailService, cache,
+            properties);
     SftpAuthenticator sftpAuthenticator = new SftpAuthenticator(authenticator, context);
     SshServer sshd = new SshServerProvider(properties, context, sftpAuthenticator).get();
     EventBus eventBus = new EventBus();
@@ -0,0 +1,115 @@
+package org.icgc.dcc.submission.server.sftp.fs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+public class PipelinedOutputStreamTest {
+
+  @Test
+  public void testWrite() throws IOException {
+    val bytes = new byte[10000];
+    new Random(1).nextBytes(bytes);
+
+    val output = new ByteArrayOutputStream();
+    try (PipelinedOutputStream stream = new PipelinedOutputStream(output, 64)) {
+      stream.write(bytes[0]);
+      stream.write(bytes, 1, 99);
+      stream.write(bytes, 100, 1000);
+      for (int i = 1100; i < bytes.length; i += 7) {
+        stream.write(bytes, i, Math.min(7, bytes.length - i));
+      }
+    }
+
+    assertThat(output.toByteArray()).isEqualTo(bytes);
+  }
+
+  @Test
+  public void testFlush() throws IOException {
+    val output = new ByteArrayOutputStream();
+    val stream = new PipelinedOutputStream(output, 64);
+    stream.write(new byte[] { 1, 2, 3 });
+    stream.flush();
+
+    assertThat(output.toByteArray()).isEqualTo(new byte[] { 1, 2, 3 });
+  }
+
+  @Test
+  public void testCloseInterrupted() throws IOException {
+    val writing = new AtomicBoolean();
+    val closedWhileWriting = new AtomicBoolean();
+    val output = new OutputStream() {
+
+      @Override
+      @SneakyThrows
+      public void write(int b) throws IOException {
+        writing.set(true);
+        Thread.sleep(10);
+        writing.set(false);
+      }
+
+      @Override
+      public void close() {
+        closedWhileWriting.set(writing.get());
+      }
+
+    };
+
+    val stream = new PipelinedOutputStream(output, 8);
+    stream.write(new byte[16]);
+
+    Thread.currentThread().interrupt();
+    try {
+      stream.close();
+      fail("Expected an InterruptedIOException");
+    } catch (InterruptedIOException e) {
+      // Expected
+    } finally {
+      assertThat(Thread.interrupted()).isTrue();
+    }
+
+    assertThat(closedWhileWriting.get()).isFalse();
+  }
+
+  @Test(expected = IOException.class)
+  public void testWriteFailure() throws IOException {
+    val output = new OutputStream() {
+
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException();
+      }
+
+    };
+
+    try (PipelinedOutputStream stream = new PipelinedOutputStream(output, 8)) {
+      stream.write(new byte[100]);
+    }
+  }
+
+  @Test
+  public void testAbandonedStreams() throws IOException {
+    for (int i = 0; i < 2 * PipelinedOutputStream.MAX_WRITER_COUNT; i++) {
+      // Never closed
+      val stream = new PipelinedOutputStream(new ByteArrayOutputStream(), 8);
+      stream.write(new byte[9]);
+    }
+
+    long writerCount = Thread.getAllStackTraces().keySet().stream()
+        .filter(thread -> thread.getName().startsWith("sftp-upload-"))
+        .count();
+    assertThat(writerCount).isLessThanOrEqualTo(PipelinedOutputStream.MAX_WRITER_COUNT);
+  }
+
+}
@@ -0,0 +1,145 @@
+package org.icgc.dcc.submission.server.sftp.fs;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.validation.first.FirstPassStreamChecker;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+import lombok.val;
+
+public class PreValidatingOutputStreamTest {
+
+  FirstPassStreamChecker checker = mock(FirstPassStreamChecker.class);
+  BlockingQueue<byte[]> checked = new ArrayBlockingQueue<>(1);
+  BlockingQueue<List<Error>> results = new ArrayBlockingQueue<>(1);
+
+  @Before
+  public void setUp() {
+    when(checker.check(eq("ssm_p.txt"), any(InputStream.class))).thenAnswer(invocation -> {
+      val inputStream = (InputStream) invocation.getArguments()[1];
+      checked.add(ByteStreams.toByteArray(inputStream));
+
+      return ImmutableList.<Error> of();
+    });
+  }
+
+  @Test
+  public void testCheck() throws Exception {
+    val bytes = new byte[100000];
+    new Random(1).nextBytes(bytes);
+
+    val output = new ByteArrayOutputStream();
+    try (OutputStream stream = new PreValidatingOutputStream(output, "ssm_p.txt", checker, results::add)) {
+      stream.write(bytes[0]);
+      for (int i = 1; i < bytes.length; i += 1000) {
+        stream.write(bytes, i, Math.min(1000, bytes.length - i));
+      }
+    }
+
+    assertThat(output.toByteArray()).isEqualTo(bytes);
+    assertThat(checked.poll(10, SECONDS)).isEqualTo(bytes);
+    assertThat(results.poll(10, SECONDS)).isEmpty();
+  }
+
+  @Test
+  public void testEarlyReturn() throws Exception {
+    val returned = returnEarly();
+
+    val output = new ByteArrayOutputStream();
+    val stream = new PreValidatingOutputStream(output, "ssm_p.txt", checker, results::add);
+    assertThat(returned.await(10, SECONDS)).isTrue();
+    for (int i = 0; i < 10000; i++) {
+      stream.write(new byte[] { 1, 2, 3 });
+    }
+
+    // Upload not done yet
+    assertThat(results.poll(1, SECONDS)).isNull();
+
+    stream.close();
+    assertThat(output.size()).isEqualTo(30000);
+    assertThat(results.poll(10, SECONDS)).isEmpty();
+  }
+
+  @Test
+  public void testEarlyReturnUploadFailure() throws Exception {
+    val returned = returnEarly();
+
+    val output = new ByteArrayOutputStream() {
+
+      @Override
+      public void close() throws IOException {
+        throw new IOException();
+      }
+
+    };
+
+    val stream = new PreValidatingOutputStream(output, "ssm_p.txt", checker, results::add);
+    assertThat(returned.await(10, SECONDS)).isTrue();
+    stream.write(new byte[] { 1, 2, 3 });
+    try {
+      stream.close();
+    } catch (IOException e) {
+      // Expected
+    }
+
+    assertThat(results.poll(1, SECONDS)).isNull();
+  }
+
+  @Test
+  public void testUploadFailure() throws Exception {
+    val output = new OutputStream() {
+
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException();
+      }
+
+    };
+
+    val stream = new PreValidatingOutputStream(output, "ssm_p.txt", checker, results::add);
+    try {
+      stream.write(new byte[] { 1, 2, 3 });
+    } catch (IOException e) {
+      // Expected
+    }
+    stream.close();
+
+    assertThat(results.poll(1, SECONDS)).isNull();
+  }
+
+  /**
+   * Makes the checker return without reading the upload, as on a header error.
+   */
+  private CountDownLatch returnEarly() {
+    val returned = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      returned.countDown();
+
+      return ImmutableList.<Error> of();
+    }).when(checker).check(eq("ssm_p.txt"), any(InputStream.class));
+
+    return returned;
+  }
+
+}
@@ -40,6 +40,7 @@ import org.icgc.dcc.common.hadoop.parser.FileParser;
 import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.dictionary.model.Term;
 import org.icgc.dcc.submission.dictionary.util.CodeLists;
+import org.icgc.dcc.submission.fs.StagedFiles;
 import org.icgc.dcc.submission.validation.accession.core.AccessionDictionary;
 import org.icgc.dcc.submission.validation.accession.ega.EGAFileAccessionValidator;
 import org.icgc.dcc.submission.validation.accession.ega.EGAFileAccessionValidator.Result;
@@ -156,8 +157,9 @@ public class AccessionValidator implements Validator {
   @SneakyThrows
   private void validateMetaFile(ValidationContext context, FileType fileType, Path filePath,
       FileParser<Map<String, String>> fileParser, TupleStateWriter writer) {
-    // Validate all records
-    fileParser.parse(filePath, (long lineNumber, Map<String, String> record) -> validateMetaFileRecord(
+    // Validate all records (from the staged copy, if any)
+    val sourcePath = StagedFiles.resolve(context.getFileSystem(), filePath);
+    fileParser.parse(sourcePath, (long lineNumber, Map<String, String> record) -> validateMetaFileRecord(
         context, writer, fileType, filePath.getName(), lineNumber, record, resolveEGATerm(context)));
   }
 
@@ -64,13 +64,19 @@ public class ForbiddenValuesFunction extends BaseOperation implements Function {
     for (Comparable fieldName : entry.getFields()) {
       // Only check for required fields (irrespective of whether it is a strict or non-strict requirement
       if (requiredFieldnames.contains(fieldName.toString())) {
-        String value = entry.getString(fieldName);
-        if (SpecialValue.DEPRECATED_VALUES.contains(value)) {
-          state.reportError(FORBIDDEN_VALUE_ERROR, fieldName.toString(), value, value);
-        }
+        checkValue(fieldName.toString(), entry.getString(fieldName), state);
       }
     }
     functionCall.getOutputCollector().add(entry.getTupleCopy());
   }
 
+  /**
+   * Checks the {@code value} of the required field {@code fieldName}.
+   */
+  public static void checkValue(String fieldName, String value, TupleState state) {
+    if (SpecialValue.DEPRECATED_VALUES.contains(value)) {
+      state.reportError(FORBIDDEN_VALUE_ERROR, fieldName, value, value);
+    }
+  }
+
 }
@@ -78,8 +78,7 @@ public class StructuralCheckFunction extends BaseOperation implements Function {
     TupleState tupleState = new TupleState(offset);
 
     String line = arguments.getString(LINE_FIELD_NAME);
-    List<String> values = parseValues(line);
-    List<String> adjustedValues = adjustValues(values, tupleState);
+    List<String> adjustedValues = checkLine(line, tupleState);
 
     List<Object> tupleValues = Lists.<Object> newArrayList(adjustedValues);
     tupleValues.add(tupleState); // lastly state
@@ -88,6 +87,14 @@ public class StructuralCheckFunction extends BaseOperation implements Function {
     functionCall.getOutputCollector().add(new Tuple(tupleValues.toArray()));
   }
 
+  /**
+   * Returns the values of the dictionary fields in {@code line} (the tuple emitted, minus the state), with missing
+   * codes and blank values replaced.
+   */
+  public List<String> checkLine(String line, TupleState tupleState) {
+    return adjustValues(parseValues(line), tupleState);
+  }
+
   public static List<String> parseValues(String line) {
     return newArrayList(Splitter.on(FIELD_SEPARATOR).split(line));
   }
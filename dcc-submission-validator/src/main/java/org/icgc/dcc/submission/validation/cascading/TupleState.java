@@ -21,6 +21,7 @@ import static com.google.common.base.Objects.firstNonNull;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -61,6 +62,16 @@ public class TupleState implements Serializable {
     this.offset = offset;
   }
 
+  /**
+   * Restores a serialized state (see {@link TupleStateSerialization}).
+   */
+  TupleState(long offset, boolean structurallyValid, List<TupleError> errors, Collection<String> missingFieldNames) {
+    this.offset = offset;
+    this.structurallyValid = structurallyValid;
+    this.errors = errors;
+    this.missingFieldNames.addAll(missingFieldNames);
+  }
+
   public void reportError(ErrorType type, List<String> columnNames, Object values, Object... params) {
     checkArgument(type != null);
     ensureErrors().add(new TupleError(type, columnNames, values, this.getOffset(), type.build(params)));
@@ -126,6 +137,17 @@ public class TupleState implements Serializable {
     return this.missingFieldNames.contains(fieldName);
   }
 
+  /**
+   * The errors list as is, {@code null} if no error was ever reported (see {@link TupleStateSerialization}).
+   */
+  List<TupleError> getErrorList() {
+    return errors;
+  }
+
+  Set<String> getMissingFieldNames() {
+    return missingFieldNames;
+  }
+
   /**
    * Used to lazily instantiate the errors list. This method never returns {@code null}.
    */
@@ -162,7 +184,7 @@ public class TupleState implements Serializable {
       this(type, columnNames, 0, value, line, parameters);
     }
 
-    private TupleError(ErrorType type, List<String> columnNames, int number, Object value, Long line,
+    TupleError(ErrorType type, List<String> columnNames, int number, Object value, Long line,
         Map<ErrorParameterKey, Object> parameters) {
       this.type = type;
       this.number = number;
@@ -17,7 +17,11 @@
  */
 package org.icgc.dcc.submission.validation.cascading;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
 import java.io.DataInputStream;
+import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -25,13 +29,25 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.WritableUtils;
 import org.apache.hadoop.io.serializer.Deserializer;
 import org.apache.hadoop.io.serializer.Serialization;
 import org.apache.hadoop.io.serializer.Serializer;
+import org.icgc.dcc.submission.core.report.ErrorParameterKey;
+import org.icgc.dcc.submission.core.report.ErrorType;
+import org.icgc.dcc.submission.validation.cascading.TupleState.TupleError;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import cascading.CascadingException;
 import cascading.tuple.Comparison;
@@ -39,9 +55,47 @@ import cascading.tuple.StreamComparator;
 import cascading.tuple.hadoop.SerializationToken;
 import cascading.tuple.hadoop.io.BufferedInputStream;
 
+/**
+ * Hadoop serialization of the {@link TupleState} that rides along with every tuple of the primary validation cascade.
+ * <p>
+ * Compact hand-written format (Java serialization is only used for unexpected error values):
+ * <ul>
+ * <li>a variable-length header holding the offset, shifted left by one bit, the low bit being set if flags follow;
+ * hence a valid state without missing fields takes a single variable-length {@code long}</li>
+ * <li>a flags byte (structurally invalid, has missing fields, has errors)</li>
+ * <li>the missing field names</li>
+ * <li>the errors, their type and parameter keys being encoded as enum ordinals (only meant for intermediate data,
+ * written and read by the same classes)</li>
+ * </ul>
+ */
 @SerializationToken(tokens = { 222 }, classNames = { "org.icgc.dcc.submission.validation.cascading.TupleState" })
 public class TupleStateSerialization extends Configured implements Comparison<TupleState>, Serialization<TupleState> {
 
+  /**
+   * Flags.
+   */
+  private static final int STRUCTURALLY_INVALID = 1;
+  private static final int HAS_MISSING_FIELDS = 1 << 1;
+  private static final int HAS_ERRORS = 1 << 2;
+
+  /**
+   * Value tags.
+   */
+  private static final byte NULL_VALUE = 0;
+  private static final byte STRING_VALUE = 1;
+  private static final byte INTEGER_VALUE = 2;
+  private static final byte LONG_VALUE = 3;
+  private static final byte DOUBLE_VALUE = 4;
+  private static final byte BOOLEAN_VALUE = 5;
+  private static final byte LIST_VALUE = 6;
+  private static final byte SERIALIZED_VALUE = 7;
+
+  /**
+   * Ordinal lookups.
+   */
+  private static final ErrorType[] ERROR_TYPES = ErrorType.values();
+  private static final ErrorParameterKey[] ERROR_PARAMETER_KEYS = ErrorParameterKey.values();
+
   public static class TupleStateDeserializer implements Deserializer<TupleState> {
 
     private DataInputStream in;
@@ -57,14 +111,7 @@ public class TupleStateSerialization extends Configured implements Comparison<Tu
 
     @Override
     public TupleState deserialize(TupleState t) throws IOException {
-      ObjectInputStream output = new ObjectInputStream(in);
-      TupleState tupleState = null;
-      try {
-        tupleState = (TupleState) output.readObject();
-      } catch (ClassNotFoundException e) {
-        e.printStackTrace();
-      }
-      return tupleState;
+      return readTupleState(in);
     }
 
     @Override
@@ -89,8 +136,7 @@ public class TupleStateSerialization extends Configured implements Comparison<Tu
 
     @Override
     public void serialize(TupleState t) throws IOException {
-      ObjectOutputStream outputStream = new ObjectOutputStream(out);
-      outputStream.writeObject(t);
+      writeTupleState(out, t);
     }
 
     @Override
@@ -131,10 +177,11 @@ public class TupleStateSerialization extends Configured implements Comparison<Tu
           return 1;
         }
 
-        String lhsString = WritableUtils.readString(new DataInputStream(lhsStream));
-        String rhsString = WritableUtils.readString(new DataInputStream(rhsStream));
+        // Consume both states, which compare as equal (as in the object comparison above)
+        readTupleState(new DataInputStream(lhsStream));
+        readTupleState(new DataInputStream(rhsStream));
 
-        return lhsString.compareTo(rhsString);
+        return 0;
       } catch (IOException exception) {
         throw new CascadingException(exception);
       }
@@ -161,4 +208,194 @@ public class TupleStateSerialization extends Configured implements Comparison<Tu
     return new TupleStateComparator();
   }
 
+  static void writeTupleState(DataOutput out, TupleState state) throws IOException {
+    List<TupleError> errors = state.getErrorList();
+    Set<String> missingFieldNames = state.getMissingFieldNames();
+
+    int flags = 0;
+    if (!state.isStructurallyValid()) {
+      flags |= STRUCTURALLY_INVALID;
+    }
+    if (!missingFieldNames.isEmpty()) {
+      flags |= HAS_MISSING_FIELDS;
+    }
+    if (errors != null && !errors.isEmpty()) {
+      flags |= HAS_ERRORS;
+    }
+
+    WritableUtils.writeVLong(out, state.getOffset() << 1 | (flags == 0 ? 0 : 1));
+    if (flags == 0) {
+      // Fast path
+      return;
+    }
+
+    out.writeByte(flags);
+    if ((flags & HAS_MISSING_FIELDS) != 0) {
+      WritableUtils.writeVInt(out, missingFieldNames.size());
+      for (String fieldName : missingFieldNames) {
+        Text.writeString(out, fieldName);
+      }
+    }
+    if ((flags & HAS_ERRORS) != 0) {
+      WritableUtils.writeVInt(out, errors.size());
+      for (TupleError error : errors) {
+        writeError(out, error);
+      }
+    }
+  }
+
+  static TupleState readTupleState(DataInput in) throws IOException {
+    long header = WritableUtils.readVLong(in);
+    long offset = header >> 1;
+    if ((header & 1) == 0) {
+      // Fast path
+      return new TupleState(offset);
+    }
+
+    int flags = in.readByte();
+    Set<String> missingFieldNames = Collections.emptySet();
+    if ((flags & HAS_MISSING_FIELDS) != 0) {
+      int count = WritableUtils.readVInt(in);
+      missingFieldNames = Sets.newHashSetWithExpectedSize(count);
+      for (int i = 0; i < count; i++) {
+        missingFieldNames.add(Text.readString(in));
+      }
+    }
+
+    List<TupleError> errors = null;
+    if ((flags & HAS_ERRORS) != 0) {
+      int count = WritableUtils.readVInt(in);
+      errors = Lists.newArrayListWithCapacity(count);
+      for (int i = 0; i < count; i++) {
+        errors.add(readError(in));
+      }
+    }
+
+    return new TupleState(offset, (flags & STRUCTURALLY_INVALID) == 0, errors, missingFieldNames);
+  }
+
+  private static void writeError(DataOutput out, TupleError error) throws IOException {
+    ErrorType type = error.getType();
+    WritableUtils.writeVInt(out, type == null ? 0 : type.ordinal() + 1);
+
+    List<String> columnNames = error.getColumnNames();
+    WritableUtils.writeVInt(out, columnNames.size());
+    for (String columnName : columnNames) {
+      writeValue(out, columnName);
+    }
+
+    WritableUtils.writeVInt(out, error.getNumber());
+    writeValue(out, error.getValue());
+    writeValue(out, error.getLine());
+
+    Map<ErrorParameterKey, Object> parameters = error.getParameters();
+    WritableUtils.writeVInt(out, parameters.size());
+    for (Map.Entry<ErrorParameterKey, Object> parameter : parameters.entrySet()) {
+      WritableUtils.writeVInt(out, parameter.getKey().ordinal());
+      writeValue(out, parameter.getValue());
+    }
+  }
+
+  private static TupleError readError(DataInput in) throws IOException {
+    int typeOrdinal = WritableUtils.readVInt(in);
+    ErrorType type = typeOrdinal == 0 ? null : ERROR_TYPES[typeOrdinal - 1];
+
+    int columnCount = WritableUtils.readVInt(in);
+    List<String> columnNames = Lists.newArrayListWithCapacity(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      columnNames.add((String) readValue(in));
+    }
+
+    int number = WritableUtils.readVInt(in);
+    Object value = readValue(in);
+    Long line = (Long) readValue(in);
+
+    int parameterCount = WritableUtils.readVInt(in);
+    ImmutableMap.Builder<ErrorParameterKey, Object> parameters = ImmutableMap.builder();
+    for (int i = 0; i < parameterCount; i++) {
+      ErrorParameterKey key = ERROR_PARAMETER_KEYS[WritableUtils.readVInt(in)];
+      parameters.put(key, readValue(in));
+    }
+
+    return new TupleError(type, columnNames, number, value, line, parameters.build());
+  }
+
+  private static void writeValue(DataOutput out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL_VALUE);
+    } else if (value instanceof String) {
+      out.writeByte(STRING_VALUE);
+      Text.writeString(out, (String) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(INTEGER_VALUE);
+      WritableUtils.writeVInt(out, (Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(LONG_VALUE);
+      WritableUtils.writeVLong(out, (Long) value);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE_VALUE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte(BOOLEAN_VALUE);
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof List) {
+      List<?> values = (List<?>) value;
+      out.writeByte(LIST_VALUE);
+      WritableUtils.writeVInt(out, values.size());
+      for (Object element : values) {
+        writeValue(out, element);
+      }
+    } else {
+      // Rare, anything else that used to be Java serialized along with the state
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes);
+      objectOutputStream.writeObject(value);
+      objectOutputStream.close();
+
+      out.writeByte(SERIALIZED_VALUE);
+      WritableUtils.writeVInt(out, bytes.size());
+      out.write(bytes.toByteArray());
+    }
+  }
+
+  private static Object readValue(DataInput in) throws IOException {
+    byte tag = in.readByte();
+    switch (tag) {
+    case NULL_VALUE:
+      return null;
+    case STRING_VALUE:
+      return Text.readString(in);
+    case INTEGER_VALUE:
+      return WritableUtils.readVInt(in);
+    case LONG_VALUE:
+      return WritableUtils.readVLong(in);
+    case DOUBLE_VALUE:
+      return in.readDouble();
+    case BOOLEAN_VALUE:
+      return in.readBoolean();
+    case LIST_VALUE:
+      int count = WritableUtils.readVInt(in);
+      List<Object> values = Lists.newArrayListWithCapacity(count);
+      for (int i = 0; i < count; i++) {
+        values.add(readValue(in));
+      }
+
+      return values;
+    case SERIALIZED_VALUE:
+      byte[] bytes = new byte[WritableUtils.readVInt(in)];
+      in.readFully(bytes);
+
+      ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes));
+      try {
+        return objectInputStream.readObject();
+      } catch (ClassNotFoundException e) {
+        throw new IOException(e);
+      } finally {
+        objectInputStream.close();
+      }
+    default:
+      throw new IOException("Unknown tuple state value tag: " + tag);
+    }
+  }
+
 }
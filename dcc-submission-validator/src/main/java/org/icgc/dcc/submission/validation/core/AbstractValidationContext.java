@@ -169,6 +169,11 @@ public abstract class AbstractValidationContext implements ValidationContext {
     log.error("{}", text);
   }
 
+  @Override
+  public boolean isErrorBudgetExhausted(String fileName) {
+    return false;
+  }
+
   @Override
   public void reportLineNumbers(Path path) {
     new UnsupportedOperationException();
@@ -19,16 +19,24 @@ package org.icgc.dcc.submission.validation.core;
 
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.core.report.ErrorAggregator;
 import org.icgc.dcc.submission.core.report.FieldReport;
 import org.icgc.dcc.submission.core.report.Report;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Wraps and "adapts" a {@link Report}.
+ * <p>
+ * Errors are aggregated apart from the report (see {@link ErrorAggregator}) and folded into it before it is read, which
+ * happens at the end of each validator at the latest. Errors past the {@link ErrorBudget} are dropped, the files they
+ * belong to being marked as truncated.
  */
+@Slf4j
 @Value
 @RequiredArgsConstructor
 public class DefaultReportContext implements ReportContext {
@@ -38,11 +46,18 @@ public class DefaultReportContext implements ReportContext {
    */
   @NonNull
   Report report;
+  @NonNull
+  ErrorBudget budget;
+  ErrorAggregator errors = new ErrorAggregator();
 
   public DefaultReportContext() {
     this(new Report());
   }
 
+  public DefaultReportContext(@NonNull Report report) {
+    this(report, ErrorBudget.unlimited());
+  }
+
   @Override
   public void reportSummary(@NonNull String fileName, @NonNull String name, @NonNull String value) {
     report.addSummary(fileName, name, value);
@@ -55,22 +70,44 @@ public class DefaultReportContext implements ReportContext {
 
   @Override
   public void reportError(@NonNull Error error) {
-    report.addError(error);
+    val fileName = error.getFileName();
+    if (!budget.spend(fileName)) {
+      if (!errors.isTruncated(fileName)) {
+        log.warn("Error budget {} exhausted by '{}', not reporting any further errors for it", budget, fileName);
+      }
+
+      errors.truncate(fileName);
+      return;
+    }
+
+    errors.addError(error);
+  }
+
+  @Override
+  public boolean isErrorBudgetExhausted(@NonNull String fileName) {
+    return budget.isExhausted(fileName);
   }
 
   @Override
   public boolean hasErrors() {
-    return report.hasErrors();
+    return getReport().hasErrors();
   }
 
   @Override
   public int getErrorCount() {
-    return report.getErrorCount();
+    return getReport().getErrorCount();
   }
 
   @Override
   public void reportLineNumbers(@NonNull Path filePath) {
-    report.accept(new ConvertLineNumbersReportVisitor(filePath));
+    getReport().accept(new ConvertLineNumbersReportVisitor(filePath));
+  }
+
+  @Override
+  public Report getReport() {
+    report.addErrors(errors);
+
+    return report;
   }
 
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+
+/**
+ * Caps the number of errors reported per file and per validation, so that validators can stop checking a file once
+ * its report would only grow in counts (see {@link ReportContext#isErrorBudgetExhausted(String)}).
+ * <p>
+ * A limit of {@value #UNLIMITED} means no limit. A budget is spent by a single validation. It is only exhausted once an
+ * error was refused, so that a file with exactly as many errors as its limit is not reported as truncated.
+ */
+@ThreadSafe
+@ToString(of = { "maxFileErrors", "maxErrors" })
+@RequiredArgsConstructor
+public class ErrorBudget {
+
+  /**
+   * Constants.
+   */
+  public static final long UNLIMITED = 0;
+
+  /**
+   * Configuration.
+   */
+  @Getter
+  private final long maxFileErrors;
+  @Getter
+  private final long maxErrors;
+
+  /**
+   * State.
+   */
+  private final ConcurrentMap<String, AtomicLong> fileErrorCounts = new ConcurrentHashMap<>();
+  private final AtomicLong errorCount = new AtomicLong();
+
+  public static ErrorBudget unlimited() {
+    return new ErrorBudget(UNLIMITED, UNLIMITED);
+  }
+
+  /**
+   * Spends one error of the budget of {@code fileName}, returning {@code false} when there was none left.
+   */
+  public boolean spend(@NonNull String fileName) {
+    // Counts include the refused errors, so that the limits hold whatever the number of reporting threads
+    if (maxFileErrors != UNLIMITED
+        && fileErrorCounts.computeIfAbsent(fileName, key -> new AtomicLong()).incrementAndGet() > maxFileErrors) {
+      return false;
+    }
+
+    val errorCount = this.errorCount.incrementAndGet();
+    return maxErrors == UNLIMITED || errorCount <= maxErrors;
+  }
+
+  /**
+   * Whether no more errors of {@code fileName} are to be reported, an error of it having been refused already.
+   */
+  public boolean isExhausted(@NonNull String fileName) {
+    if (isExhausted()) {
+      return true;
+    }
+    if (maxFileErrors == UNLIMITED) {
+      return false;
+    }
+
+    val fileErrorCount = fileErrorCounts.get(fileName);
+    return fileErrorCount != null && fileErrorCount.get() > maxFileErrors;
+  }
+
+  /**
+   * Whether no more errors are to be reported, whatever the file, an error having been refused already.
+   */
+  public boolean isExhausted() {
+    return maxErrors != UNLIMITED && errorCount.get() > maxErrors;
+  }
+
+}
@@ -58,6 +58,11 @@ public interface ReportContext {
    */
   void reportError(Error error);
 
+  /**
+   * Indicates that no more errors of {@code fileName} will be reported, so that validators may stop checking it.
+   */
+  boolean isErrorBudgetExhausted(String fileName);
+
   /**
    * Allows the context an opportunity to update line numbers referenced in report elements.
    */
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Delegate;
+
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.core.report.FieldReport;
+import org.icgc.dcc.submission.core.report.Report;
+
+/**
+ * A {@link ValidationContext} whose {@link ReportContext} methods may be called concurrently, for validators checking
+ * several files at once.
+ * <p>
+ * Elements are reported into the report of the file they belong to, so the resulting report does not depend on how
+ * concurrent calls interleave as long as each file is reported on by a single thread.
+ */
+@RequiredArgsConstructor
+public class SynchronizedValidationContext implements ValidationContext {
+
+  /**
+   * Fulfills the non-reporting part of the {@link ValidationContext} contract via delegation.
+   */
+  @Delegate(excludes = ReportContext.class)
+  @NonNull
+  private final ValidationContext delegate;
+
+  @Override
+  public synchronized boolean hasErrors() {
+    return delegate.hasErrors();
+  }
+
+  @Override
+  public synchronized int getErrorCount() {
+    return delegate.getErrorCount();
+  }
+
+  @Override
+  public synchronized void reportSummary(String fileName, String name, String value) {
+    delegate.reportSummary(fileName, name, value);
+  }
+
+  @Override
+  public synchronized void reportField(String fileName, FieldReport fieldReport) {
+    delegate.reportField(fileName, fieldReport);
+  }
+
+  @Override
+  public synchronized void reportError(Error error) {
+    delegate.reportError(error);
+  }
+
+  @Override
+  public synchronized boolean isErrorBudgetExhausted(String fileName) {
+    return delegate.isErrorBudgetExhausted(fileName);
+  }
+
+  @Override
+  public synchronized void reportLineNumbers(Path path) {
+    delegate.reportLineNumbers(path);
+  }
+
+  /**
+   * Not guarded: only to be used once concurrent reporting is over.
+   */
+  @Override
+  public Report getReport() {
+    return delegate.getReport();
+  }
+
+}
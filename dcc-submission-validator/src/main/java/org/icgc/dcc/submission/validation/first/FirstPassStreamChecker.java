@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.dictionary.model.CodeList;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.release.model.Submission;
+import org.icgc.dcc.submission.validation.core.AbstractValidationContext;
+import org.icgc.dcc.submission.validation.core.ErrorBudget;
+import org.icgc.dcc.submission.validation.first.io.FPVStreamFileSystem;
+import org.icgc.dcc.submission.validation.first.util.FileCheckers;
+import org.icgc.dcc.submission.validation.first.util.RowCheckers;
+
+import com.google.common.collect.ImmutableList;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Performs the first-pass checks that only involve the file itself (codec, header, charset, column count and line
+ * terminators) on a file read from a stream, so that a file can be checked while it is uploaded and before it is
+ * part of a validation.
+ * <p>
+ * The checks are those of {@link FileCheckers#getSingleFileFusedChecker} so errors are the same as the ones the
+ * {@link FirstPassValidator} would report, up to {@link #MAX_ERRORS}.
+ */
+@RequiredArgsConstructor
+public class FirstPassStreamChecker {
+
+  /**
+   * Constants.
+   */
+  public static final long MAX_ERRORS = 100;
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final Dictionary dictionary;
+
+  /**
+   * Checks {@code fileName}, which must match a file schema of the dictionary, from {@code inputStream}. The stream is
+   * read to its end unless the codec or header check fails, and closed.
+   */
+  public List<Error> check(@NonNull String fileName, @NonNull InputStream inputStream) {
+    val context = new StreamValidationContext(dictionary);
+    val fs = new FPVStreamFileSystem(inputStream);
+    val checker = FileCheckers.getSingleFileFusedChecker(context, fs, RowCheckers.getDefaultRowChecker(context, fs));
+    checker.checkFile(fileName);
+
+    return context.getErrors();
+  }
+
+  /**
+   * Context collecting the errors of a single file.
+   */
+  @RequiredArgsConstructor
+  private static class StreamValidationContext extends AbstractValidationContext {
+
+    /**
+     * Dependencies.
+     */
+    @NonNull
+    private final Dictionary dictionary;
+
+    /**
+     * State.
+     */
+    private final ErrorBudget budget = new ErrorBudget(ErrorBudget.UNLIMITED, MAX_ERRORS);
+    private final List<Error> errors = newArrayList();
+
+    public List<Error> getErrors() {
+      return ImmutableList.copyOf(errors);
+    }
+
+    @Override
+    public Dictionary getDictionary() {
+      return dictionary;
+    }
+
+    @Override
+    public List<CodeList> getCodeLists() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Map<String, Submission> getReleaseSubmissions() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getOutputDirPath() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean hasErrors() {
+      return !errors.isEmpty();
+    }
+
+    @Override
+    public int getErrorCount() {
+      return errors.size();
+    }
+
+    @Override
+    public void reportError(@NonNull Error error) {
+      if (budget.spend(error.getFileName())) {
+        errors.add(error);
+      }
+    }
+
+    @Override
+    public boolean isErrorBudgetExhausted(@NonNull String fileName) {
+      return budget.isExhausted(fileName);
+    }
+
+  }
+
+}
@@ -22,12 +22,22 @@ import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.first.core.FPVSubmissionProcessor;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
 
-import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 
-@NoArgsConstructor
+@RequiredArgsConstructor
 public class FirstPassValidator implements Validator {
 
+  /**
+   * Configuration.
+   */
+  private final boolean fused;
+  private final int threads;
+
+  public FirstPassValidator() {
+    this(false, 1);
+  }
+
   @Override
   public String getName() {
     return "First-pass Validator";
@@ -37,6 +47,8 @@ public class FirstPassValidator implements Validator {
   public void validate(ValidationContext validationContext) {
     val fileSystem = new FPVFileSystem(validationContext.getSubmissionDirectory());
     val processor = new FPVSubmissionProcessor();
+    processor.setFused(fused);
+    processor.setThreads(threads);
 
     processor.process(getName(), validationContext, fileSystem);
   }
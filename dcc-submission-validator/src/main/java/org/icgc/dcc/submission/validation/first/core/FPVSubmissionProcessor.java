@@ -24,13 +24,23 @@ import static org.icgc.dcc.submission.core.report.ErrorLevel.FILE_LEVEL;
 import static org.icgc.dcc.submission.core.report.ErrorLevel.ROW_LEVEL;
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
 
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import javax.validation.constraints.NotNull;
 
+import org.icgc.dcc.submission.validation.core.SynchronizedValidationContext;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
 import org.icgc.dcc.submission.validation.first.util.FileCheckers;
 import org.icgc.dcc.submission.validation.first.util.RowCheckers;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.val;
@@ -53,11 +63,28 @@ public class FPVSubmissionProcessor {
   @Setter
   private RowChecker rowChecker;
 
+  /**
+   * Configuration.
+   */
+  @Setter
+  private boolean fused;
+
+  /**
+   * Number of files checked concurrently (1 for sequential processing). Only applies to the default checkers.
+   */
+  @Setter
+  private int threads = 1;
+
   public void process(String stepName, ValidationContext validationContext, FPVFileSystem fs) {
-    FileChecker fileChecker =
-        this.fileChecker == null ? FileCheckers.getDefaultFileChecker(validationContext, fs) : this.fileChecker;
+    if (threads > 1 && this.fileChecker == null && this.rowChecker == null) {
+      processConcurrently(stepName, validationContext, fs);
+      return;
+    }
+
     RowChecker rowChecker =
         this.rowChecker == null ? RowCheckers.getDefaultRowChecker(validationContext, fs) : this.rowChecker;
+    FileChecker fileChecker =
+        this.fileChecker == null ? getDefaultFileChecker(validationContext, fs, rowChecker) : this.fileChecker;
 
     // TODO: Add check that at least DONOR exists (+ create new error)
 
@@ -72,6 +99,11 @@ public class FPVSubmissionProcessor {
       fileChecker.checkFile(fileName);
       checkInterrupted(stepName);
 
+      if (fused) {
+        // Rows already checked in the same pass
+        continue;
+      }
+
       if (fileChecker.canContinue()) {
         log.info("Validating '{}' well-formedness for file: '{}'", ROW_LEVEL, fileName);
         rowChecker.checkFile(fileName);
@@ -80,6 +112,77 @@ public class FPVSubmissionProcessor {
     }
   }
 
+  /**
+   * Runs the checks involving other files (collisions and references) for all files first, as a barrier, then checks
+   * the files that passed them on a bounded pool.
+   * <p>
+   * Checkers keep state, hence each file gets its own chains. As a result, a file failing a fail-fast check does not
+   * prevent the next files from being checked as it does when processing sequentially.
+   */
+  private void processConcurrently(String stepName, ValidationContext validationContext, FPVFileSystem fs) {
+    log.info("Validating files using {} threads", threads);
+    val context = new SynchronizedValidationContext(validationContext);
+    val fileNames = getSelectedFileNames(context, fs);
+
+    List<String> checkedFileNames = Lists.newArrayList();
+    for (val fileName : fileNames) {
+      log.info(banner());
+      log.info("Validate '{}' level cross-file well-formedness for file: {}", FILE_LEVEL, fileName);
+
+      val crossFileChecker = FileCheckers.getCrossFileChecker(context, fs);
+      crossFileChecker.checkFile(fileName);
+      checkInterrupted(stepName);
+
+      if (crossFileChecker.canContinue()) {
+        checkedFileNames.add(fileName);
+      }
+    }
+
+    val executor = Executors.newFixedThreadPool(threads,
+        new ThreadFactoryBuilder().setNameFormat("fpv-file-%d").setDaemon(true).build());
+    try {
+      List<Future<?>> tasks = Lists.newArrayList();
+      for (val fileName : checkedFileNames) {
+        tasks.add(executor.submit(() -> processFile(stepName, context, fs, fileName)));
+      }
+
+      for (val task : tasks) {
+        task.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      checkInterrupted(stepName);
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void processFile(String stepName, ValidationContext context, FPVFileSystem fs, String fileName) {
+    val rowChecker = RowCheckers.getDefaultRowChecker(context, fs);
+    val fileChecker = fused ?
+        FileCheckers.getSingleFileFusedChecker(context, fs, rowChecker) :
+        FileCheckers.getSingleFileChecker(context, fs);
+
+    log.info("Validate '{}' level well-formedness for file: {}", FILE_LEVEL, fileName);
+    fileChecker.checkFile(fileName);
+    checkInterrupted(stepName);
+
+    if (!fused && fileChecker.canContinue()) {
+      log.info("Validating '{}' well-formedness for file: '{}'", ROW_LEVEL, fileName);
+      rowChecker.checkFile(fileName);
+      checkInterrupted(stepName);
+    }
+  }
+
+  private FileChecker getDefaultFileChecker(ValidationContext validationContext, FPVFileSystem fs,
+      RowChecker rowChecker) {
+    return fused ?
+        FileCheckers.getFusedFileChecker(validationContext, fs, rowChecker) :
+        FileCheckers.getDefaultFileChecker(validationContext, fs);
+  }
+
   private static Iterable<String> getSelectedFileNames(ValidationContext validationContext, FPVFileSystem fs) {
     val selectedFilePatterns = getSelectedFilePatterns(validationContext);
 
@@ -17,10 +17,19 @@
  */
 package org.icgc.dcc.submission.validation.first.core;
 
+import java.io.IOException;
+
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.validation.first.io.FPVLineReader;
 
 public interface RowChecker extends FileChecker {
 
+  /**
+   * Checks the lines of {@code fileName} read from an already opened {@code reader}, as an alternative to
+   * {@link #checkFile(String)} opening the file itself.
+   */
+  void checkLines(String fileName, FPVLineReader reader) throws IOException;
+
   void checkRow(String filename, FileSchema fileSchema, CharSequence row, long lineNumber);
 
   void finish(String filename, FileSchema fileSchema);
@@ -17,17 +17,21 @@
  */
 package org.icgc.dcc.submission.validation.first.file;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
 import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.core.report.ErrorType.LINE_TERMINATOR_MISSING_ERROR;
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
 
-import java.io.BufferedInputStream;
+import java.io.IOException;
 
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.fs.LineIndexingInputStream;
 import org.icgc.dcc.submission.validation.first.core.AbstractDelegatingChecker;
 import org.icgc.dcc.submission.validation.first.core.FileChecker;
 import org.icgc.dcc.submission.validation.first.core.RowChecker;
+import org.icgc.dcc.submission.validation.first.io.FPVLineReader;
 
 import com.google.common.base.Stopwatch;
 
@@ -41,12 +45,9 @@ import lombok.extern.slf4j.Slf4j;
 public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker implements RowChecker, FileChecker {
 
   /**
-   * Number of bytes to buffer when reading submission files.
-   * 
-   * @see http
-   * ://stackoverflow.com/questions/236861/how-do-you-determine-the-ideal-buffer-size-when-using-fileinputstream
+   * Number of bytes to buffer when reading submission files (lines are scanned in place within the buffer).
    */
-  private static final int LINE_BUFFER_SIZE = 8192;
+  private static final int LINE_BUFFER_SIZE = FPVLineReader.DEFAULT_BUFFER_SIZE;
 
   /**
    * Number of lines checked between status logging.
@@ -54,13 +55,26 @@ public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker
   private static final long LINE_STATUS_THRESHOLD = 1000L * 1000L;
 
   /**
-   * Constants.
+   * Number of lines checked between cancellation and error budget checks.
    */
-  private static final char LINE_SEPARATOR_CHAR = '\n';
+  private static final long LINE_BLOCK_SIZE = 10000L;
+
+  /**
+   * Number of leading lines of each block whose own check is timed, so that the clock is not read for every line.
+   */
+  private static final long TIMED_LINE_COUNT = 100L;
 
   @NonNull
   protected final RowChecker delegate;
 
+  /**
+   * Throughput of this checker's own check (excluding its delegates) for the current file, estimated from the timed
+   * lines.
+   */
+  private long selfCheckLineCount;
+  private long selfCheckTimedLineCount;
+  private long selfCheckNanos;
+
   public DelegatingFileRowChecker(RowChecker delegate, boolean failFast) {
     super(delegate, failFast);
     this.delegate = delegate;
@@ -73,50 +87,53 @@ public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker
   @Override
   @SneakyThrows
   public void checkFile(String fileName) {
+    val inputStream = new LineIndexingInputStream(getFileSystem().getDecompressingInputStream(fileName));
+    @Cleanup
+    val reader = new FPVLineReader(inputStream, LINE_BUFFER_SIZE);
+
+    checkLines(fileName, reader);
+    getFileSystem().saveLineIndex(fileName, inputStream);
+  }
+
+  @Override
+  public void checkLines(String fileName, FPVLineReader reader) throws IOException {
     log.info(banner());
 
     log.info("Start performing {} validation...", name);
     val fileSchema = getFileSchema(fileName);
 
-    @Cleanup
-    val inputStream = new BufferedInputStream(
-        getFileSystem().getDecompressingInputStream(fileName),
-        LINE_BUFFER_SIZE);
     val watch = Stopwatch.createStarted();
-    val line = new StringBuilder(512);
+    val line = reader.getLine();
     long lineNumber = 1;
+    boolean exhausted = false;
 
-    int nextByte = 0;
-    while ((nextByte = inputStream.read()) > 0) {
-      if ((char) nextByte == LINE_SEPARATOR_CHAR) {
-
-        // Delegate
-        checkRow(fileName, fileSchema, line, lineNumber);
+    while (reader.next()) {
+      // Delegate
+      checkRow(fileName, fileSchema, line, lineNumber);
 
-        // Book-keeping
-        ++lineNumber;
+      // Book-keeping
+      ++lineNumber;
 
-        if (lineNumber % 10000 == 0) {
-          // Check for cancellation
-          checkInterrupted(name);
-        }
+      if (lineNumber % LINE_BLOCK_SIZE == 0) {
+        // Check for cancellation
+        checkInterrupted(name);
 
-        if (lineNumber % LINE_STATUS_THRESHOLD == 0L) {
-          // Log status
-          log.info("Checked {} lines of '{}' in {}",
-              new Object[] { formatCount(lineNumber), fileName, watch });
+        if (getReportContext().isErrorBudgetExhausted(fileName)) {
+          log.warn("Error budget of '{}' exhausted, skipping the lines after line {}", fileName, lineNumber - 1);
+          exhausted = true;
+          break;
         }
+      }
 
-        // Reset
-        line.setLength(0);
-      } else {
-        // Buffer
-        line.appendCodePoint(nextByte);
+      if (lineNumber % LINE_STATUS_THRESHOLD == 0L) {
+        // Log status
+        log.info("Checked {} lines of '{}' in {}",
+            new Object[] { formatCount(lineNumber), fileName, watch });
       }
     }
 
     // Check buffer to be empty, otherwise we have a file with no trailing new line
-    if (line.length() > 0) {
+    if (!exhausted && reader.hasUnterminatedLine()) {
       log.info("Missing new line at end of file '{}'", fileName);
 
       reportError(error()
@@ -129,8 +146,9 @@ public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker
     log.info("Finishing performing {} validation...", name);
     finish(fileName, fileSchema);
 
-    log.info("Completed '{}' validation on '{}' in {}. Number of errors found: {}",
-        new Object[] { name, fileName, watch, formatCount(checkErrorCount) });
+    log.info("Completed '{}' validation on '{}' in {} ({} lines/sec). Number of errors found: {}",
+        new Object[] { name, fileName, watch, formatCount(getRate(lineNumber - 1, watch.elapsed(NANOSECONDS))),
+            formatCount(checkErrorCount) });
   }
 
   @Override
@@ -142,7 +160,15 @@ public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker
             "Start performing {} validation for row '{}'...", row, name);
       }
 
-      performSelfCheck(filename, fileSchema, row, lineNumber);
+      if (lineNumber % LINE_BLOCK_SIZE < TIMED_LINE_COUNT) {
+        val start = System.nanoTime();
+        performSelfCheck(filename, fileSchema, row, lineNumber);
+        selfCheckNanos += System.nanoTime() - start;
+        selfCheckTimedLineCount++;
+      } else {
+        performSelfCheck(filename, fileSchema, row, lineNumber);
+      }
+      selfCheckLineCount++;
 
       if (log.isDebugEnabled()) {
         log.debug("End performing {} validation for row '{}'", row, name);
@@ -155,6 +181,17 @@ public abstract class DelegatingFileRowChecker extends AbstractDelegatingChecker
     delegate.finish(fileName, fileSchema);
 
     performSelfFinish(fileName, fileSchema);
+
+    log.info("'{}' checked {} lines of '{}' at {} lines/sec",
+        new Object[] { name, formatCount(selfCheckLineCount), fileName,
+            formatCount(getRate(selfCheckTimedLineCount, selfCheckNanos)) });
+    selfCheckLineCount = 0;
+    selfCheckTimedLineCount = 0;
+    selfCheckNanos = 0;
+  }
+
+  private static long getRate(long lineCount, long nanos) {
+    return nanos == 0 ? 0 : lineCount * NANOSECONDS.convert(1, SECONDS) / nanos;
   }
 
   /**
@@ -23,6 +23,7 @@ import static org.icgc.dcc.submission.core.report.ErrorType.UNSUPPORTED_COMPRESS
 
 import java.io.IOException;
 
+import org.icgc.dcc.submission.core.report.Error;
 import org.icgc.dcc.submission.validation.first.core.FileChecker;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType;
 
@@ -95,24 +96,7 @@ public class FileCorruptionChecker extends DelegatingFileChecker {
       getFileSystem().attemptBzip2Read(fileName);
     } catch (IOException e) {
       e.printStackTrace();
-      String errMsg = e.getMessage();
-      log.info("Exception caught in decoding bzip2 file '{}': '{}'", fileName, errMsg);
-
-      // TODO: remove this after upgrade hadoop
-      if (errMsg != null && errMsg.equals("bad block header")) {
-        log.info("found possibly, concatenated bzip2 files!", fileName);
-        reportError(error()
-            .fileName(fileName)
-            .type(UNSUPPORTED_COMPRESSED_FILE)
-            .params(getFileSchema(fileName).getName())
-            .build());
-      } else {
-        reportError(error()
-            .fileName(fileName)
-            .type(COMPRESSION_CODEC_ERROR)
-            .params(getFileSchema(fileName).getName())
-            .build());
-      }
+      reportError(createDecodingError(fileName, getFileSchema(fileName).getName(), CodecType.BZIP2, e));
     }
   }
 
@@ -120,13 +104,32 @@ public class FileCorruptionChecker extends DelegatingFileChecker {
     try {
       getFileSystem().attemptGzipRead(fileName);
     } catch (IOException e) {
-      log.info("Exception caught in decoding gzip file '{}': '{}'", fileName, e.getMessage());
+      reportError(createDecodingError(fileName, getFileSchema(fileName).getName(), CodecType.GZIP, e));
+    }
+  }
 
-      reportError(error()
+  /**
+   * Creates the error for a file that failed to decompress.
+   */
+  static Error createDecodingError(String fileName, String schemaName, CodecType codecType, IOException e) {
+    String errMsg = e.getMessage();
+    log.info("Exception caught in decoding {} file '{}': '{}'", new Object[] { codecType, fileName, errMsg });
+
+    // TODO: remove this after upgrade hadoop
+    if (codecType == CodecType.BZIP2 && errMsg != null && errMsg.equals("bad block header")) {
+      log.info("found possibly, concatenated bzip2 files!", fileName);
+      return error()
           .fileName(fileName)
-          .type(COMPRESSION_CODEC_ERROR)
-          .params(getFileSchema(fileName).getName())
-          .build());
+          .type(UNSUPPORTED_COMPRESSED_FILE)
+          .params(schemaName)
+          .build();
     }
+
+    return error()
+        .fileName(fileName)
+        .type(COMPRESSION_CODEC_ERROR)
+        .params(schemaName)
+        .build();
   }
+
 }
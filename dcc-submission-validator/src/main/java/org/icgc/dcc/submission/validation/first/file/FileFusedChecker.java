@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.file;
+
+import static org.icgc.dcc.submission.core.report.Error.error;
+import static org.icgc.dcc.submission.core.report.ErrorType.COMPRESSION_CODEC_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.FILE_HEADER_ERROR;
+import static org.icgc.dcc.submission.validation.first.file.FileCorruptionChecker.createDecodingError;
+import static org.icgc.dcc.submission.validation.first.io.FPVFileSystem.parseHeader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.icgc.dcc.submission.fs.LineIndexingInputStream;
+import org.icgc.dcc.submission.validation.first.core.FileChecker;
+import org.icgc.dcc.submission.validation.first.core.RowChecker;
+import org.icgc.dcc.submission.validation.first.io.FPVFileInput;
+import org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType;
+import org.icgc.dcc.submission.validation.first.io.FPVLineReader;
+
+import com.google.common.io.ByteStreams;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single-pass replacement for {@link FileCorruptionChecker}, {@link FileHeaderChecker} and the row checks: the file is
+ * opened and decompressed once, the codec being sniffed from that stream, the header checked on its first line and
+ * the rows checked from the same reader. Decompressing the whole stream doubles as the integrity check.
+ * <p>
+ * Since corruption can only be detected as the file is read, row errors reported for the lines preceding it are kept
+ * along with the corruption error.
+ */
+@Slf4j
+public class FileFusedChecker extends DelegatingFileChecker {
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final RowChecker rowChecker;
+
+  public FileFusedChecker(FileChecker fileChecker, RowChecker rowChecker, boolean failFast) {
+    super(fileChecker, failFast);
+    this.rowChecker = rowChecker;
+  }
+
+  public FileFusedChecker(FileChecker fileChecker, RowChecker rowChecker) {
+    this(fileChecker, rowChecker, true);
+  }
+
+  @Override
+  public void performSelfCheck(String fileName) {
+    val fs = getFileSystem();
+    val schemaName = getFileSchema(fileName).getName();
+    val fileNameType = fs.determineCodecFromFilename(fileName);
+    log.info("File name '{}' indicates type: '{}'", fileName, fileNameType);
+
+    try {
+      @Cleanup
+      val input = fs.openInput(fileName);
+      checkContent(fileName, schemaName, fileNameType, input);
+    } catch (IOException e) {
+      log.info("Exception caught in detecting file type for '{}' from content'{}'", fileName, e.getMessage());
+
+      reportError(error()
+          .fileName(fileName)
+          .type(COMPRESSION_CODEC_ERROR)
+          .params(schemaName)
+          .build());
+    }
+  }
+
+  private void checkContent(String fileName, String schemaName, CodecType fileNameType, FPVFileInput input) {
+    val contentType = input.getContentType();
+    log.info("Content for '{}' indicates type: '{}'", fileName, contentType);
+    if (contentType != fileNameType) {
+      log.info("Content type does not match the extension for file: '{}' ('{}' != '{}')",
+          new Object[] { fileName, contentType, fileNameType });
+
+      reportError(error()
+          .fileName(fileName)
+          .type(COMPRESSION_CODEC_ERROR)
+          .params(schemaName)
+          .build());
+
+      return;
+    }
+
+    try {
+      val inputStream = new LineIndexingInputStream(input.getDecompressingInputStream());
+      val reader = new FPVLineReader(inputStream);
+      if (!checkHeader(fileName, reader)) {
+        return;
+      }
+
+      rowChecker.checkLines(fileName, reader);
+
+      // Row reading stops at a NUL byte, make sure the remainder decompresses too
+      drain(inputStream);
+
+      // For converting byte offsets to line numbers without reading the file again
+      getFileSystem().saveLineIndex(fileName, inputStream);
+    } catch (IOException e) {
+      reportError(createDecodingError(fileName, schemaName, contentType, e));
+    }
+  }
+
+  /**
+   * Checks the first line, leaving it to be read again by the row checks.
+   */
+  private boolean checkHeader(String fileName, FPVLineReader reader) throws IOException {
+    reader.next();
+    val expectedHeader = getFileSchema(fileName).getFieldNames();
+    val actualHeader = parseHeader(stripCarriageReturn(reader.getLine()));
+    reader.pushBack();
+
+    if (actualHeader.equals(expectedHeader)) {
+      log.info("Correct header in '{}': '{}'", fileName, expectedHeader);
+
+      return true;
+    }
+
+    log.info(
+        "Different from the expected header in '{}': '{}', actual header: '{}'",
+        new Object[] { fileName, expectedHeader, actualHeader });
+
+    reportError(error()
+        .fileName(fileName)
+        .type(FILE_HEADER_ERROR)
+        .params(expectedHeader, actualHeader)
+        .build());
+
+    return false;
+  }
+
+  /**
+   * As read by {@link java.io.BufferedReader#readLine()} in {@link FileHeaderChecker}.
+   */
+  private static CharSequence stripCarriageReturn(CharSequence line) {
+    val length = line.length();
+    val carriageReturn = length > 0 && line.charAt(length - 1) == '\r';
+
+    return carriageReturn ? line.subSequence(0, length - 1) : line;
+  }
+
+  private static void drain(InputStream inputStream) throws IOException {
+    val remaining = ByteStreams.exhaust(inputStream);
+    if (remaining > 0) {
+      log.info("Skipped {} bytes following a NUL byte", remaining);
+    }
+  }
+
+}
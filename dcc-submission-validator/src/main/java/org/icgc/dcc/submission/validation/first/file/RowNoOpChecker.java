@@ -22,6 +22,7 @@ import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.core.AbstractChecker;
 import org.icgc.dcc.submission.validation.first.core.RowChecker;
 import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
+import org.icgc.dcc.submission.validation.first.io.FPVLineReader;
 
 public class RowNoOpChecker extends AbstractChecker implements RowChecker {
 
@@ -38,6 +39,11 @@ public class RowNoOpChecker extends AbstractChecker implements RowChecker {
     // No-op
   }
 
+  @Override
+  public void checkLines(String fileName, FPVLineReader reader) {
+    // No-op
+  }
+
   @Override
   public void checkRow(String fileName, FileSchema fileSchema, CharSequence row, long lineNumber) {
     // No-op
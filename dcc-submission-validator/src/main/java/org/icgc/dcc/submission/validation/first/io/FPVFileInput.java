@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.io;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.compress.BZip2Codec;
+import org.icgc.dcc.submission.core.util.ReadAheadInputStream;
+import org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A submission file opened once for a fused first-pass: the codec is sniffed from the leading bytes of the stream that
+ * is then decompressed, so detection, integrity and row checks share a single read of the file.
+ * <p>
+ * Decompression uses the same decoders as {@link FPVFileSystem#attemptGzipRead(String)} and
+ * {@link FPVFileSystem#attemptBzip2Read(String)}, hence reading the decompressed stream to the end is an integrity check.
+ */
+public class FPVFileInput implements Closeable {
+
+  /**
+   * Constants.
+   */
+  private static final int BUFFER_SIZE = 1024 * 1024;
+  private static final byte[] GZIP_MAGIC = { (byte) 0x1f, (byte) 0x8b };
+  private static final byte[] BZIP2_MAGIC = { 'B', 'Z', 'h' };
+
+  /**
+   * State.
+   */
+  private final BufferedInputStream inputStream;
+  @Getter
+  private final CodecType contentType;
+  private InputStream decompressingInputStream;
+
+  public FPVFileInput(@NonNull InputStream inputStream) throws IOException {
+    this.inputStream = new BufferedInputStream(inputStream, BUFFER_SIZE);
+    this.contentType = detectCodec(this.inputStream);
+  }
+
+  /**
+   * Returns the decompressed content (may only be called once), decompressed ahead of the reader on a separate thread.
+   * Decoding errors surface as {@link IOException}s while reading.
+   */
+  public InputStream getDecompressingInputStream() throws IOException {
+    checkState(decompressingInputStream == null, "Decompressing stream already created");
+    decompressingInputStream = contentType == CodecType.PLAIN_TEXT ?
+        inputStream :
+        new ReadAheadInputStream(createDecompressingInputStream());
+
+    return decompressingInputStream;
+  }
+
+  @Override
+  public void close() throws IOException {
+    // Closing the outermost stream lets it release the ones it wraps first
+    if (decompressingInputStream != null) {
+      decompressingInputStream.close();
+    } else {
+      inputStream.close();
+    }
+  }
+
+  private InputStream createDecompressingInputStream() throws IOException {
+    switch (contentType) {
+    case GZIP:
+      return new GZIPInputStream(inputStream, BUFFER_SIZE);
+    case BZIP2:
+      BZip2Codec codec = new BZip2Codec();
+
+      // FIXME: Passing in a blank configuration to get things working in CDH5.1 for now
+      codec.setConf(new Configuration());
+
+      return codec.createInputStream(inputStream);
+    default:
+      return inputStream;
+    }
+  }
+
+  /**
+   * Magic number based detection (what content sniffing amounts to for the supported codecs), leaving the stream at
+   * its start.
+   */
+  private static CodecType detectCodec(BufferedInputStream inputStream) throws IOException {
+    byte[] header = new byte[BZIP2_MAGIC.length];
+    inputStream.mark(header.length);
+    int count = 0;
+    for (int read; count < header.length && (read = inputStream.read(header, count, header.length - count)) != -1;) {
+      count += read;
+    }
+    inputStream.reset();
+
+    if (startsWith(header, count, GZIP_MAGIC)) {
+      return CodecType.GZIP;
+    } else if (startsWith(header, count, BZIP2_MAGIC)) {
+      return CodecType.BZIP2;
+    }
+
+    return CodecType.PLAIN_TEXT;
+  }
+
+  private static boolean startsWith(byte[] bytes, int count, byte[] prefix) {
+    if (count < prefix.length) {
+      return false;
+    }
+
+    for (int i = 0; i < prefix.length; i++) {
+      if (bytes[i] != prefix[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+}
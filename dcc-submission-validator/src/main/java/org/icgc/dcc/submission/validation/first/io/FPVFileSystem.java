@@ -36,11 +36,13 @@ import org.apache.tika.Tika;
 import org.apache.tika.detect.Detector;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
+import org.icgc.dcc.submission.fs.LineIndexingInputStream;
 import org.icgc.dcc.submission.fs.SubmissionDirectory;
 
 import lombok.Cleanup;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.val;
 
 /**
  * Class representing interactions with the file system in the context of FPV (as a temporary measure to isolate such
@@ -63,6 +65,16 @@ public class FPVFileSystem {
     return submissionDirectory.getDecompressingInputStream(fileName);
   }
 
+  /**
+   * Persists the line index built by {@code inputStream} if the file was read in full.
+   */
+  public void saveLineIndex(String fileName, LineIndexingInputStream inputStream) {
+    val lineIndex = inputStream.getLineIndex();
+    if (lineIndex.isPresent()) {
+      submissionDirectory.saveLineIndex(fileName, lineIndex.get());
+    }
+  }
+
   public Iterable<String> listMatchingSubmissionFiles(Iterable<String> filePatterns) {
     return submissionDirectory.listFiles(filePatterns);
   }
@@ -83,6 +95,13 @@ public class FPVFileSystem {
     return CodecType.PLAIN_TEXT;
   }
 
+  /**
+   * Opens the file for a single-pass read (see {@link FPVFileInput}). Must close after usage.
+   */
+  public FPVFileInput openInput(String fileName) throws IOException {
+    return new FPVFileInput(submissionDirectory.open(fileName));
+  }
+
   public CodecType determineCodecFromContent(String fileName) throws IOException {
     @Cleanup
     BufferedInputStream bis = new BufferedInputStream(submissionDirectory.open(fileName));
@@ -135,9 +154,13 @@ public class FPVFileSystem {
   public List<String> peekFileHeader(String fileName) {
     @Cleanup
     BufferedReader reader =
-        new BufferedReader(new InputStreamReader(submissionDirectory.getDecompressingInputStream(fileName)));
+        new BufferedReader(new InputStreamReader(submissionDirectory.getDecompressingInputStream(fileName, false)));
     String header = reader.readLine();
     header = (header == null) ? "" : header;
+    return parseHeader(header);
+  }
+
+  public static List<String> parseHeader(CharSequence header) {
     return copyOf(FIELD_SPLITTER.split(header));
   }
 
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import lombok.NonNull;
+
+/**
+ * Reads newline terminated lines from a (decompressed) submission file in large blocks.
+ * <p>
+ * Each byte is exposed as the {@code char} of the same value (as the first-pass checkers have always seen them) through
+ * a single reusable {@link CharSequence} view over the block buffer, so no per-line objects are created. The view is
+ * only valid until the next call to {@link #next()}.
+ * <p>
+ * As before, reading stops at the end of the stream or at the first {@code NUL} byte. Bytes left after the last
+ * newline are not returned as a line; use {@link #hasUnterminatedLine()} to detect them (once {@link #next()} has
+ * returned {@code false}, {@link #getLine()} exposes them).
+ * <p>
+ * Not thread-safe.
+ */
+public final class FPVLineReader implements Closeable {
+
+  /**
+   * Constants.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+  private static final byte LINE_SEPARATOR = '\n';
+  private static final byte END_OF_DATA = 0;
+
+  /**
+   * SWAR constants (8 bytes tested per step).
+   */
+  private static final long ONES = 0x0101010101010101L;
+  private static final long HIGHS = 0x8080808080808080L;
+  private static final long LINE_SEPARATORS = ONES * LINE_SEPARATOR;
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final InputStream inputStream;
+
+  /**
+   * Buffer state: {@code [lineStart, limit)} holds the bytes not yet consumed.
+   */
+  private byte[] buffer;
+  private ByteBuffer words;
+  private int lineStart;
+  private int limit;
+  private boolean eof;
+
+  /**
+   * Current line.
+   */
+  private final Line line = new Line();
+
+  public FPVLineReader(@NonNull InputStream inputStream) {
+    this(inputStream, DEFAULT_BUFFER_SIZE);
+  }
+
+  public FPVLineReader(@NonNull InputStream inputStream, int bufferSize) {
+    this.inputStream = inputStream;
+    setBuffer(new byte[Math.max(bufferSize, Long.BYTES)]);
+  }
+
+  /**
+   * Advances to the next complete line, returning {@code false} once there is none left.
+   */
+  public boolean next() throws IOException {
+    int scanFrom = lineStart;
+    while (true) {
+      int end = indexOfTerminator(scanFrom, limit);
+      if (end != -1) {
+        if (buffer[end] == END_OF_DATA) {
+          // Stop here, whatever follows
+          limit = end;
+          eof = true;
+          line.set(lineStart, limit - lineStart);
+
+          return false;
+        }
+
+        line.set(lineStart, end - lineStart);
+        lineStart = end + 1;
+
+        return true;
+      }
+
+      if (eof) {
+        line.set(lineStart, limit - lineStart);
+
+        return false;
+      }
+
+      // No complete line buffered, read more (only the partial line is rescanned)
+      scanFrom = limit - lineStart;
+      fill();
+    }
+  }
+
+  public CharSequence getLine() {
+    return line;
+  }
+
+  /**
+   * Makes the next call to {@link #next()} return the current line again (e.g. to hand a line that was peeked at over
+   * to another consumer).
+   */
+  public void pushBack() {
+    lineStart = line.offset;
+  }
+
+  /**
+   * Whether bytes remain after the last newline (only meaningful once {@link #next()} has returned {@code false}).
+   */
+  public boolean hasUnterminatedLine() {
+    return limit > lineStart;
+  }
+
+  @Override
+  public void close() throws IOException {
+    inputStream.close();
+  }
+
+  /**
+   * Moves the partial line to the front of the buffer (growing it if the line fills it) and reads until the buffer is
+   * full or the stream ends.
+   */
+  private void fill() throws IOException {
+    int remaining = limit - lineStart;
+    if (lineStart > 0) {
+      System.arraycopy(buffer, lineStart, buffer, 0, remaining);
+    } else if (remaining == buffer.length) {
+      setBuffer(Arrays.copyOf(buffer, buffer.length * 2));
+    }
+
+    lineStart = 0;
+    limit = remaining;
+
+    while (limit < buffer.length) {
+      int read = inputStream.read(buffer, limit, buffer.length - limit);
+      if (read == -1) {
+        eof = true;
+        break;
+      }
+
+      limit += read;
+    }
+  }
+
+  private void setBuffer(byte[] buffer) {
+    this.buffer = buffer;
+    this.words = ByteBuffer.wrap(buffer);
+  }
+
+  /**
+   * Returns the index of the first newline or {@code NUL} byte in {@code [from, to)}, or {@code -1}.
+   * <p>
+   * Tests 8 bytes at a time (SWAR) and only looks at individual bytes within a word that contains a match.
+   */
+  private int indexOfTerminator(int from, int to) {
+    int i = from;
+    for (; i + Long.BYTES <= to; i += Long.BYTES) {
+      long word = words.getLong(i);
+      if ((hasZeroByte(word) | hasZeroByte(word ^ LINE_SEPARATORS)) != 0) {
+        break;
+      }
+    }
+
+    for (; i < to; i++) {
+      byte b = buffer[i];
+      if (b == LINE_SEPARATOR || b == END_OF_DATA) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Non-zero iff one of the bytes of {@code word} is zero.
+   */
+  private static long hasZeroByte(long word) {
+    return (word - ONES) & ~word & HIGHS;
+  }
+
+  /**
+   * Reusable view of the current line.
+   */
+  private final class Line implements CharSequence {
+
+    private int offset;
+    private int length;
+
+    private void set(int offset, int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= length) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+      }
+
+      return (char) (buffer[offset + index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return toString().substring(start, end);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public String toString() {
+      // Maps each byte to the char of the same value
+      return new String(buffer, 0, offset, length);
+    }
+
+  }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.io;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.icgc.dcc.submission.fs.LineIndexingInputStream;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * {@link FPVFileSystem} of a single file read from a stream (e.g. as it is being uploaded) rather than from its
+ * submission directory. Only supports the single-pass read of {@link #openInput(String)}, the line index being
+ * discarded.
+ */
+public class FPVStreamFileSystem extends FPVFileSystem {
+
+  /**
+   * State.
+   */
+  private InputStream inputStream;
+
+  public FPVStreamFileSystem(@NonNull InputStream inputStream) {
+    super(null);
+    this.inputStream = inputStream;
+  }
+
+  @Override
+  public FPVFileInput openInput(String fileName) throws IOException {
+    checkState(inputStream != null, "Stream of '%s' already opened", fileName);
+    val input = new FPVFileInput(inputStream);
+    inputStream = null;
+
+    return input;
+  }
+
+  @Override
+  public void saveLineIndex(String fileName, LineIndexingInputStream inputStream) {
+    // No-op: the file is not in a submission directory (yet)
+  }
+
+}
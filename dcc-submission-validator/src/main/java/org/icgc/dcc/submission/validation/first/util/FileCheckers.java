@@ -21,8 +21,10 @@ import static lombok.AccessLevel.PRIVATE;
 
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.first.core.FileChecker;
+import org.icgc.dcc.submission.validation.first.core.RowChecker;
 import org.icgc.dcc.submission.validation.first.file.FileCollisionChecker;
 import org.icgc.dcc.submission.validation.first.file.FileCorruptionChecker;
+import org.icgc.dcc.submission.validation.first.file.FileFusedChecker;
 import org.icgc.dcc.submission.validation.first.file.FileHeaderChecker;
 import org.icgc.dcc.submission.validation.first.file.FileNoOpChecker;
 import org.icgc.dcc.submission.validation.first.file.FileReferenceChecker;
@@ -52,4 +54,67 @@ public class FileCheckers {
     return chain;
   }
 
-}
\ No newline at end of file
+  /**
+   * Same as {@link #getDefaultFileChecker(ValidationContext, FPVFileSystem)} but with the corruption, header and row
+   * checks performed in a single pass over each file.
+   */
+  public static FileChecker getFusedFileChecker(ValidationContext validationContext, FPVFileSystem fs,
+      RowChecker rowChecker) {
+    val chain =
+        new FileFusedChecker(
+            new FileCollisionChecker(
+                new FileReferenceChecker(
+                    new FileNoOpChecker(validationContext, fs) // Leaf checker
+                )
+            ),
+            rowChecker
+        );
+
+    return chain;
+  }
+
+  /**
+   * The checks of {@link #getDefaultFileChecker(ValidationContext, FPVFileSystem)} that involve other files of the
+   * submission.
+   */
+  public static FileChecker getCrossFileChecker(ValidationContext validationContext, FPVFileSystem fs) {
+    val chain =
+        new FileCollisionChecker(
+            new FileReferenceChecker(
+                new FileNoOpChecker(validationContext, fs) // Leaf checker
+            )
+        );
+
+    return chain;
+  }
+
+  /**
+   * The checks of {@link #getDefaultFileChecker(ValidationContext, FPVFileSystem)} that only involve the file itself.
+   */
+  public static FileChecker getSingleFileChecker(ValidationContext validationContext, FPVFileSystem fs) {
+    val chain =
+        new FileHeaderChecker(
+            new FileCorruptionChecker(
+                new FileNoOpChecker(validationContext, fs) // Leaf checker
+            )
+        );
+
+    return chain;
+  }
+
+  /**
+   * The checks of {@link #getFusedFileChecker(ValidationContext, FPVFileSystem, RowChecker)} that only involve the file
+   * itself.
+   */
+  public static FileChecker getSingleFileFusedChecker(ValidationContext validationContext, FPVFileSystem fs,
+      RowChecker rowChecker) {
+    val chain =
+        new FileFusedChecker(
+            new FileNoOpChecker(validationContext, fs), // Leaf checker
+            rowChecker
+        );
+
+    return chain;
+  }
+
+}
@@ -39,18 +39,20 @@ import org.icgc.dcc.submission.core.report.Error;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.key.core.KVValidatorRunner;
+import org.icgc.dcc.submission.validation.key.data.KVKeyStoreType;
 
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.Cleanup;
-import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
-@NoArgsConstructor
 @Slf4j
+@RequiredArgsConstructor
 public class KeyValidator implements Validator {
 
   /**
@@ -63,6 +65,51 @@ public class KeyValidator implements Validator {
    */
   private static final String DEFAULT_MAX_HEAP_SIZE = "24g";
 
+  /**
+   * The default sizes of the heap and of the direct memory used when running in non-local mode with an off-heap key
+   * store.
+   */
+  public static final String DEFAULT_OFF_HEAP_MAX_HEAP_SIZE = "4g";
+  public static final String DEFAULT_OFF_HEAP_MAX_DIRECT_MEMORY_SIZE = "20g";
+
+  /**
+   * The default key store implementation.
+   */
+  public static final KVKeyStoreType DEFAULT_KEY_STORE_TYPE = KVKeyStoreType.HEAP;
+
+  /**
+   * The default number of file types processed concurrently.
+   */
+  public static final int DEFAULT_THREADS = 1;
+
+  /**
+   * Whether key stores are fronted by a Bloom filter by default.
+   */
+  public static final boolean DEFAULT_BLOOM_FILTER = false;
+
+  /**
+   * The default maximum number of errors reported per file (none).
+   */
+  public static final long DEFAULT_MAX_FILE_ERRORS = 0;
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final KVKeyStoreType keyStoreType;
+  private final int threads;
+  private final boolean bloomFilter;
+  private final long maxFileErrors;
+  @NonNull
+  private final String offHeapMaxHeapSize;
+  @NonNull
+  private final String offHeapMaxDirectMemorySize;
+
+  public KeyValidator() {
+    this(DEFAULT_KEY_STORE_TYPE, DEFAULT_THREADS, DEFAULT_BLOOM_FILTER, DEFAULT_MAX_FILE_ERRORS,
+        DEFAULT_OFF_HEAP_MAX_HEAP_SIZE, DEFAULT_OFF_HEAP_MAX_DIRECT_MEMORY_SIZE);
+  }
+
   @Override
   public String getName() {
     return COMPONENT_NAME;
@@ -84,7 +131,7 @@ public class KeyValidator implements Validator {
     log.info("Finished key validation report collection");
   }
 
-  private static KVValidatorRunner createRunner(ValidationContext context, Path reportPath) {
+  private KVValidatorRunner createRunner(ValidationContext context, Path reportPath) {
     val submissionDirectory = context.getSubmissionDirectory();
     return new KVValidatorRunner(
         context.getFileSystem().getUri(),
@@ -92,7 +139,11 @@ public class KeyValidator implements Validator {
         context.getDictionary(),
         submissionDirectory.getSubmissionDirPath(),
         submissionDirectory.getSystemDirPath(),
-        reportPath.toUri().toString());
+        reportPath.toUri().toString(),
+        keyStoreType,
+        threads,
+        bloomFilter,
+        maxFileErrors);
   }
 
   private static Path getReportPath(ValidationContext context) {
@@ -102,7 +153,7 @@ public class KeyValidator implements Validator {
   }
 
   @SneakyThrows
-  private static void execute(ValidationContext context, KVValidatorRunner runner) {
+  private void execute(ValidationContext context, KVValidatorRunner runner) {
     // Change this switch to false to aid in step debugging
     val distributable = true;
     if (distributable) {
@@ -117,19 +168,28 @@ public class KeyValidator implements Validator {
     }
   }
 
-  private static Map<Object, Object> getProperties(ValidationContext context) {
+  private Map<Object, Object> getProperties(ValidationContext context) {
     // Needed for the core hadoop properties
     val hadoop = context.getPlatformStrategy().getFlowConnector().getProperties();
 
     // This can't be an immutable map since the values can be null
     val properties = newHashMap();
-    properties.put(MAPRED_MAP_TASK_JAVA_OPTS, "-Xmx" + DEFAULT_MAX_HEAP_SIZE);
+    properties.put(MAPRED_MAP_TASK_JAVA_OPTS, getJavaOpts());
     properties.put(FS_DEFAULT_NAME_KEY, hadoop.get(FS_DEFAULT_NAME_KEY));
     properties.put(MR_JOBTRACKER_ADDRESS_KEY, hadoop.get(MR_JOBTRACKER_ADDRESS_KEY));
 
     return properties;
   }
 
+  private String getJavaOpts() {
+    if (keyStoreType == KVKeyStoreType.OFF_HEAP) {
+      // Keys live in direct memory so the heap can be kept small
+      return "-Xmx" + offHeapMaxHeapSize + " -XX:MaxDirectMemorySize=" + offHeapMaxDirectMemorySize;
+    }
+
+    return "-Xmx" + DEFAULT_MAX_HEAP_SIZE;
+  }
+
   @SneakyThrows
   private static void collect(ValidationContext context, Path reportPath) {
     if (!checkExistence(context.getFileSystem(), reportPath)) {
@@ -17,19 +17,18 @@
  */
 package org.icgc.dcc.submission.validation.key.core;
 
-import java.util.List;
-
 import org.apache.hadoop.fs.FileSystem;
-import org.icgc.dcc.common.hadoop.parser.FileLineParser;
-import org.icgc.dcc.common.hadoop.parser.FileParser;
+import org.icgc.dcc.submission.core.parser.FieldFileParser;
 
 /**
  * "typedef" for parsers used by the key validation framework.
+ * <p>
+ * Rows are exposed as byte slices so that keys can be built without decoding the lines.
  */
-public class KVFileParser extends FileParser<List<String>> {
+public class KVFileParser extends FieldFileParser {
 
-  public KVFileParser(FileSystem fileSystem, FileLineParser<List<String>> lineParser, boolean processHeader) {
-    super(fileSystem, lineParser, processHeader);
+  public KVFileParser(FileSystem fileSystem, boolean processHeader) {
+    super(fileSystem, processHeader);
   }
 
 }
@@ -17,7 +17,7 @@
  */
 package org.icgc.dcc.submission.validation.key.core;
 
-import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
 import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
 import static org.icgc.dcc.submission.validation.key.core.KVKeyType.CONDITIONAL_FK;
 import static org.icgc.dcc.submission.validation.key.core.KVKeyType.FK;
@@ -27,11 +27,14 @@ import static org.icgc.dcc.submission.validation.key.core.KVSubmissionProcessor.
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import lombok.Value;
 import lombok.val;
 
 import org.icgc.dcc.common.core.util.stream.Streams;
+import org.icgc.dcc.submission.core.parser.FieldRecord;
 import org.icgc.dcc.submission.validation.key.data.KVKey;
 import org.icgc.dcc.submission.validation.key.data.KVRow;
 
@@ -55,24 +58,37 @@ public class KVFileTypeKeysIndices {
   private final Map<KVFileType, RowConditionEvaluator> conditionEvaluators;
 
   public KVRow getRow(List<String> row) {
-    if (ROW_CHECKS_ENABLED) {
-      checkState(hasKeys(keys.get(PK)) || hasKeys(keys.get(FK)), "Invalid row: '%s'", row);
+    return getRow(indices -> KVKey.from(row, indices), () -> row);
+  }
+
+  /**
+   * Builds the keys straight from the record's bytes. The fields are only decoded if a condition must be evaluated.
+   */
+  public KVRow getRow(FieldRecord record) {
+    return getRow(indices -> KVKey.from(record, indices), record::getFields);
+  }
+
+  private KVRow getRow(Function<List<Integer>, KVKey> keyFactory, Supplier<List<String>> row) {
+    if (ROW_CHECKS_ENABLED && !hasKeys(keys.get(PK)) && !hasKeys(keys.get(FK))) {
+      // Only decoded on failure
+      throw new IllegalStateException(format("Invalid row: '%s'", row.get()));
     }
 
     val rowTable = HashBasedTable.<KVKeyType, KVFileType, KVKey> create();
     for (val keyType : UNCONDITIONAL_KEYS) {
       val key = keys.get(keyType);
       if (hasKeys(key)) {
-        addKeys(rowTable, keyType, getRowKeys(row, key));
+        addKeys(rowTable, keyType, getRowKeys(keyFactory, key));
       }
     }
 
     if (hasConditionalKeys()) {
+      val fields = row.get();
       for (val evaluatorEntry : conditionEvaluators.entrySet()) {
         val referencedType = evaluatorEntry.getKey();
         val evaluator = evaluatorEntry.getValue();
-        if (evaluator.evaluate(row)) {
-          addConditionalKey(rowTable, row, referencedType);
+        if (evaluator.evaluate(fields)) {
+          addConditionalKey(rowTable, keyFactory, referencedType);
         }
       }
     }
@@ -80,11 +96,11 @@ public class KVFileTypeKeysIndices {
     return new KVRow(rowTable);
   }
 
-  private void addConditionalKey(Table<KVKeyType, KVFileType, KVKey> table, List<String> row,
+  private void addConditionalKey(Table<KVKeyType, KVFileType, KVKey> table, Function<List<Integer>, KVKey> keyFactory,
       KVFileType referencedType) {
     // The Multimap is backed by ArrayListMultimap
     val typeKeys = (List<Integer>) keys.get(CONDITIONAL_FK).get(referencedType);
-    val key = KVKey.from(row, typeKeys);
+    val key = keyFactory.apply(typeKeys);
     table.put(CONDITIONAL_FK, referencedType, key);
   }
 
@@ -99,12 +115,13 @@ public class KVFileTypeKeysIndices {
     }
   }
 
-  private static Map<KVFileType, KVKey> getRowKeys(List<String> row, Multimap<KVFileType, Integer> fks) {
+  private static Map<KVFileType, KVKey> getRowKeys(Function<List<Integer>, KVKey> keyFactory,
+      Multimap<KVFileType, Integer> fks) {
     val rowFks = ImmutableMap.<KVFileType, KVKey> builder();
     for (val fileType : fks.keySet()) {
       // The Multimap is backed by ArrayListMultimap
       val fileTypeFks = (List<Integer>) fks.get(fileType);
-      val key = KVKey.from(row, fileTypeFks);
+      val key = keyFactory.apply(fileTypeFks);
       rowFks.put(fileType, key);
     }
 
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.core;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.submission.core.parser.FieldRecord;
+import org.icgc.dcc.submission.core.parser.FieldRecordProcessor;
+
+import com.google.common.base.Throwables;
+
+/**
+ * {@link FieldRecordProcessor} that decouples parsing from processing: records produced by the parsing thread are
+ * handed over in batches to a dedicated consumer thread that runs the delegate.
+ * <p>
+ * Since the parser reuses its buffer, the bytes of each record are copied into the batch (one contiguous array per
+ * batch rather than objects per field).
+ * <p>
+ * Usage: pass the instance to the parser, call {@link #finish()} once parsing is done and always {@link #close()} it
+ * (which stops the consumer if parsing failed half-way).
+ */
+@Slf4j
+public class KVPipelinedRecordProcessor implements FieldRecordProcessor, Closeable {
+
+  /**
+   * Constants.
+   */
+  private static final int BATCH_SIZE = 1024;
+  private static final int QUEUE_CAPACITY = 16;
+  private static final long POLL_INTERVAL_MS = 100;
+  private static final int INITIAL_BATCH_BYTES = 256 * 1024;
+  private static final Batch END = new Batch(0);
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final FieldRecordProcessor delegate;
+
+  /**
+   * State.
+   */
+  private final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+  private final Thread consumer;
+  private volatile Throwable failure;
+  private Batch batch = new Batch(BATCH_SIZE);
+
+  public KVPipelinedRecordProcessor(@NonNull String name, @NonNull FieldRecordProcessor delegate) {
+    this.delegate = delegate;
+    this.consumer = new Thread(this::consume, "kv-pipeline-" + name);
+    this.consumer.setDaemon(true);
+    this.consumer.start();
+  }
+
+  @Override
+  public void process(long lineNumber, FieldRecord record) {
+    batch.add(lineNumber, record);
+    if (batch.isFull()) {
+      put(batch);
+      batch = new Batch(BATCH_SIZE);
+    }
+  }
+
+  /**
+   * Flushes the remaining records and waits for the consumer to process them, rethrowing any processing failure.
+   */
+  @SneakyThrows
+  public void finish() {
+    if (batch.size > 0) {
+      put(batch);
+    }
+    put(END);
+
+    consumer.join();
+    checkFailure();
+  }
+
+  @Override
+  public void close() {
+    if (consumer.isAlive()) {
+      consumer.interrupt();
+    }
+  }
+
+  @SneakyThrows
+  private void put(Batch batch) {
+    // Bail out if the consumer died, otherwise the parsing thread would block forever on a full queue
+    while (!queue.offer(batch, POLL_INTERVAL_MS, MILLISECONDS)) {
+      checkFailure();
+      checkState(consumer.isAlive(), "Pipeline consumer '%s' is no longer running", consumer.getName());
+    }
+  }
+
+  private void consume() {
+    try {
+      while (true) {
+        val next = queue.take();
+        if (next == END) {
+          return;
+        }
+
+        Batch.RecordView view = next.new RecordView();
+        for (int i = 0; i < next.size; i++) {
+          view.record = i;
+          delegate.process(next.lineNumbers[i], view);
+        }
+      }
+    } catch (InterruptedException e) {
+      log.warn("Pipeline consumer '{}' interrupted", consumer.getName());
+      failure = e;
+    } catch (Throwable t) {
+      log.error("Pipeline consumer '{}' failed:", consumer.getName(), t);
+      failure = t;
+    }
+  }
+
+  private void checkFailure() {
+    if (failure != null) {
+      throw Throwables.propagate(failure);
+    }
+  }
+
+  private static final class Batch {
+
+    private final long[] lineNumbers;
+
+    /**
+     * Record {@code i} owns fields {@code [fieldStarts[i], fieldStarts[i + 1])}, whose offsets point into {@link #bytes}.
+     */
+    private final int[] fieldStarts;
+    private int[] fieldOffsets;
+    private int[] fieldLengths;
+    private byte[] bytes;
+    private int byteCount;
+    private int size;
+
+    private Batch(int capacity) {
+      this.lineNumbers = new long[capacity];
+      this.fieldStarts = new int[capacity + 1];
+      this.fieldOffsets = new int[capacity == 0 ? 0 : capacity * 32];
+      this.fieldLengths = new int[fieldOffsets.length];
+      this.bytes = new byte[capacity == 0 ? 0 : INITIAL_BATCH_BYTES];
+    }
+
+    private void add(long lineNumber, FieldRecord record) {
+      val fieldCount = record.getFieldCount();
+      val fieldStart = fieldStarts[size];
+      val fieldEnd = fieldStart + fieldCount;
+      if (fieldEnd > fieldOffsets.length) {
+        fieldOffsets = Arrays.copyOf(fieldOffsets, Math.max(fieldEnd, fieldOffsets.length * 2));
+        fieldLengths = Arrays.copyOf(fieldLengths, fieldOffsets.length);
+      }
+
+      // Fields are contiguous in the record's buffer, so copy the whole span at once
+      val spanStart = record.getFieldOffset(0);
+      val last = fieldCount - 1;
+      val spanLength = record.getFieldOffset(last) + record.getFieldLength(last) - spanStart;
+      if (byteCount + spanLength > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(byteCount + spanLength, bytes.length * 2));
+      }
+      System.arraycopy(record.getBuffer(), spanStart, bytes, byteCount, spanLength);
+
+      for (int i = 0; i < fieldCount; i++) {
+        fieldOffsets[fieldStart + i] = record.getFieldOffset(i) - spanStart + byteCount;
+        fieldLengths[fieldStart + i] = record.getFieldLength(i);
+      }
+
+      byteCount += spanLength;
+      lineNumbers[size] = lineNumber;
+      size++;
+      fieldStarts[size] = fieldEnd;
+    }
+
+    private boolean isFull() {
+      return size == lineNumbers.length;
+    }
+
+    /**
+     * Reusable view over the record at index {@link #record}.
+     */
+    private final class RecordView implements FieldRecord {
+
+      private int record;
+
+      @Override
+      public int getFieldCount() {
+        return fieldStarts[record + 1] - fieldStarts[record];
+      }
+
+      @Override
+      public byte[] getBuffer() {
+        return bytes;
+      }
+
+      @Override
+      public int getFieldOffset(int index) {
+        return fieldOffsets[fieldStarts[record] + index];
+      }
+
+      @Override
+      public int getFieldLength(int index) {
+        return fieldLengths[fieldStarts[record] + index];
+      }
+
+    }
+
+  }
+
+}
@@ -17,12 +17,21 @@
  */
 package org.icgc.dcc.submission.validation.key.core;
 
-import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Maps.newConcurrentMap;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static com.google.common.collect.Sets.newLinkedHashSet;
 import static org.apache.commons.lang.StringUtils.repeat;
 import static org.icgc.dcc.common.core.util.Formats.formatBytes;
 import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableMap;
 
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -30,14 +39,19 @@ import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 import org.icgc.dcc.common.core.util.stream.Collectors;
+import org.icgc.dcc.submission.validation.key.data.KVBloomFilteredKeyStore;
 import org.icgc.dcc.submission.validation.key.data.KVEncounteredForeignKeys;
 import org.icgc.dcc.submission.validation.key.data.KVFileProcessor;
+import org.icgc.dcc.submission.validation.key.data.KVKeyStore;
+import org.icgc.dcc.submission.validation.key.data.KVKeyStoreType;
 import org.icgc.dcc.submission.validation.key.data.KVPrimaryKeys;
 import org.icgc.dcc.submission.validation.key.data.KVReferencedPrimaryKeys;
 import org.icgc.dcc.submission.validation.key.report.KVReporter;
 import org.icgc.dcc.submission.validation.key.surjectivity.SurjectivityValidator;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Main processor for the key validation.
@@ -59,28 +73,114 @@ public class KVSubmissionProcessor {
   private final KVFileSystem kvFileSystem;
   @NonNull
   private final KVReporter reporter;
+  @NonNull
+  private final KVKeyStoreType keyStoreType;
+
+  /**
+   * Number of file types processed concurrently (1 for sequential processing).
+   */
+  private final int threads;
 
-  private final Map<KVFileType, KVPrimaryKeys> fileTypeToPrimaryKeys = newHashMap();
+  /**
+   * Whether key stores are fronted by a Bloom filter.
+   */
+  private final boolean bloomFilter;
+
+  private final Map<KVFileType, KVPrimaryKeys> fileTypeToPrimaryKeys = newConcurrentMap();
+  private final Queue<KVKeyStore> keyStores = new ConcurrentLinkedQueue<>();
   private final SurjectivityValidator surjectivityValidator = new SurjectivityValidator();
 
   public void processSubmission() {
-    log.info("Loading data");
-    val fileTypes = dictionary.getTopologicallyOrderedFileTypes();
-    fileTypes.forEach(fileType -> processFileType(fileType));
+    try {
+      log.info("Loading data");
+      val fileTypes = dictionary.getTopologicallyOrderedFileTypes();
+      if (threads > 1) {
+        processFileTypesConcurrently(fileTypes);
+      } else {
+        fileTypes.forEach(fileType -> processFileType(fileType));
+      }
 
-    log.info("{}", banner("="));
-    for (val fileType : fileTypeToPrimaryKeys.keySet()) {
-      log.debug("{}: {}", fileType, fileTypeToPrimaryKeys.get(fileType));
+      log.info("{}", banner("="));
+      for (val fileType : fileTypeToPrimaryKeys.keySet()) {
+        log.debug("{}: {}", fileType, fileTypeToPrimaryKeys.get(fileType));
+      }
+      log.debug("{}", banner("="));
+      log.info("done.");
+    } finally {
+      // Off-heap stores hold direct memory until closed
+      closeKeyStores();
     }
-    log.debug("{}", banner("="));
-    log.info("done.");
   }
 
   public void processFileType(KVFileType fileType) {
+    processFileType(fileType, reporter, false);
+  }
+
+  /**
+   * Schedules each file type as soon as the primary keys of the file types it depends on are complete.
+   * <p>
+   * Each file type reports to its own forked reporter; those are joined in topological order so that the resulting
+   * report is the same as the one of a sequential run.
+   */
+  private void processFileTypesConcurrently(Iterable<KVFileType> fileTypes) {
+    log.info("Processing file types using {} threads", threads);
+    val executor = Executors.newFixedThreadPool(threads,
+        new ThreadFactoryBuilder().setNameFormat("kv-file-type-%d").setDaemon(true).build());
+
+    Map<KVFileType, CompletableFuture<KVReporter>> tasks = newLinkedHashMap();
+    try {
+      for (val fileType : fileTypes) {
+        CompletableFuture<?>[] dependencies = getDependencies(fileType).stream()
+            .map(dependency -> checkScheduled(tasks, dependency, fileType))
+            .toArray(CompletableFuture[]::new);
+
+        tasks.put(fileType, CompletableFuture.allOf(dependencies)
+            .thenApplyAsync(ignored -> processFileTypeConcurrently(fileType), executor));
+      }
+
+      for (val task : tasks.values()) {
+        reporter.join(task.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Throwables.propagate(e);
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private KVReporter processFileTypeConcurrently(KVFileType fileType) {
+    val fileTypeReporter = reporter.fork();
+    processFileType(fileType, fileTypeReporter, true);
+
+    return fileTypeReporter;
+  }
+
+  /**
+   * File types whose primary keys must be complete before processing the given file type.
+   */
+  private Set<KVFileType> getDependencies(KVFileType fileType) {
+    Set<KVFileType> dependencies = newLinkedHashSet(dictionary.getParents(fileType));
+    dependencies.addAll(dictionary.getSurjectiveReferencedTypes(fileType));
+
+    return dependencies;
+  }
+
+  private static CompletableFuture<KVReporter> checkScheduled(Map<KVFileType, CompletableFuture<KVReporter>> tasks,
+      KVFileType dependency, KVFileType fileType) {
+    val task = tasks.get(dependency);
+    checkState(task != null, "Dependency '%s' of '%s' was not scheduled first", dependency, fileType);
+
+    return task;
+  }
+
+  private void processFileType(KVFileType fileType, KVReporter reporter, boolean pipelined) {
     log.info("{}", banner("="));
 
     // Primary keys for the type under consideration (each file will augment it)
-    val primaryKeys = new KVPrimaryKeys();
+    val primaryKeys = new KVPrimaryKeys(createKeyStore());
 
     val referencedPrimaryKeys = getReferencedPrimaryKeys(fileType);
     if (!referencedPrimaryKeys.isEmpty()) {
@@ -109,7 +209,8 @@ public class KVSubmissionProcessor {
             reporter,
             primaryKeys,
             referencedPrimaryKeys,
-            encounteredForeignKeys);
+            encounteredForeignKeys,
+            pipelined);
 
         log.info("Finished processing file '{}' in {} with {} of JVM free memory remaining",
             new Object[] { dataFilePath, watch, formatFreeMemory() });
@@ -118,15 +219,20 @@ public class KVSubmissionProcessor {
       log.info("Skipping '{}', there are no matching files", fileType);
     }
     fileTypeToPrimaryKeys.put(fileType, primaryKeys);
+    log.info("Primary keys for '{}': {}", fileType, primaryKeys);
 
     encounteredForeignKeys.entrySet()
-        .forEach(entry -> checkSurjection(fileType, entry.getKey(), entry.getValue()));
+        .forEach(entry -> checkSurjection(fileType, entry.getKey(), entry.getValue(), reporter));
+
+    // Only needed for the surjection checks
+    encounteredForeignKeys.values().forEach(KVEncounteredForeignKeys::close);
   }
 
   private void checkSurjection(
       KVFileType fileType,
       KVFileType referencedType,
-      KVEncounteredForeignKeys encounteredForeignKeys) {
+      KVEncounteredForeignKeys encounteredForeignKeys,
+      KVReporter reporter) {
 
     log.info("{}", banner("-"));
     log.info("Post-processing: surjectivity check for type '{}'", fileType);
@@ -140,9 +246,25 @@ public class KVSubmissionProcessor {
             referencedType);
   }
 
+  private KVKeyStore createKeyStore() {
+    val keyStore = keyStoreType.createKeyStore();
+    keyStores.add(keyStore);
+
+    return bloomFilter ? new KVBloomFilteredKeyStore(keyStore) : keyStore;
+  }
+
+  private void closeKeyStores() {
+    log.info("Closing {} key stores", keyStores.size());
+    while (!keyStores.isEmpty()) {
+      keyStores.poll().close();
+    }
+  }
+
   private Map<KVFileType, KVEncounteredForeignKeys> createEncounteredForeignKeys(KVFileType fileType) {
     return dictionary.getSurjectiveReferencedTypes(fileType).stream()
-        .collect(Collectors.toImmutableMap(rft -> rft, rft -> new KVEncounteredForeignKeys()));
+        .collect(Collectors.toImmutableMap(
+            rft -> rft,
+            rft -> new KVEncounteredForeignKeys(createKeyStore())));
   }
 
   private Map<KVFileType, KVReferencedPrimaryKeys> getReferencedPrimaryKeys(KVFileType fileType) {
@@ -35,8 +35,8 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.cascading.FlowExecutorJob;
 import org.icgc.dcc.common.core.model.DataType;
-import org.icgc.dcc.common.hadoop.parser.FileLineListParser;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.validation.key.data.KVKeyStoreType;
 import org.icgc.dcc.submission.validation.key.report.KVReporter;
 
 import cascading.flow.hadoop.HadoopFlowStep;
@@ -67,6 +67,11 @@ public class KVValidatorRunner implements FlowExecutorJob, Serializable {
   private final String systemPath;
   @NonNull
   private final String reportPath;
+  @NonNull
+  private final KVKeyStoreType keyStoreType;
+  private final int threads;
+  private final boolean bloomFilter;
+  private final long maxFileErrors;
 
   @Override
   @SneakyThrows
@@ -80,18 +85,20 @@ public class KVValidatorRunner implements FlowExecutorJob, Serializable {
   }
 
   private void validate(Configuration configuration) throws IOException {
-    log.info("Starting key validation with memory: {}...", formatMemory());
+    log.info("Starting key validation with memory: {}, key store: {}, threads: {}, Bloom filter: {} "
+        + "and maximum errors per file: {}...",
+        new Object[] { formatMemory(), keyStoreType, threads, bloomFilter, maxFileErrors });
 
     val fileSystem = getFileSystem(configuration);
     val kvDictionary = new KVCachingDictionary(new KVDynamicDictionary(dictionary)); // TODO: inject
-    val report = new KVReporter(kvDictionary, fileSystem, new Path(reportPath));
+    val report = new KVReporter(kvDictionary, fileSystem, new Path(reportPath), maxFileErrors);
     val watch = createStopwatch();
     try {
       val validator = new KVSubmissionProcessor(
           kvDictionary,
-          new KVFileParser(fileSystem, new FileLineListParser(), false),
+          new KVFileParser(fileSystem, false),
           new KVFileSystem(fileSystem, dataTypes, dictionary.getPatterns(),
-              new Path(submissionPath), new Path(systemPath)), report);
+              new Path(submissionPath), new Path(systemPath)), report, keyStoreType, threads, bloomFilter);
 
       log.info("Processing submission...");
       validator.processSubmission();
@@ -20,42 +20,39 @@ package org.icgc.dcc.submission.validation.key.core;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.List;
-import java.util.Map;
 
 import lombok.NonNull;
 import lombok.val;
 
-import org.mvel2.MVEL;
-import org.mvel2.compiler.ExecutableStatement;
+import org.icgc.dcc.submission.validation.script.CompiledScript;
+import org.icgc.dcc.submission.validation.script.CompiledScript.Binding;
+import org.icgc.dcc.submission.validation.script.CompiledScripts;
 
 import com.google.common.collect.ImmutableMap;
 
+/**
+ * Evaluates a row condition script. Thread safe: each thread evaluates the shared compiled script through its own
+ * bindings of the row fields.
+ */
 public class RowConditionEvaluator {
 
-  private final ExecutableStatement statement;
+  private final CompiledScript script;
   private final List<String> fieldNames;
+  private final ThreadLocal<Binding> binding;
 
   public RowConditionEvaluator(@NonNull String script, @NonNull List<String> fieldNames) {
-    this.statement = (ExecutableStatement) MVEL.compileExpression(script);
+    this.script = CompiledScripts.compile(script);
     this.fieldNames = fieldNames;
+    this.binding = ThreadLocal.withInitial(() -> this.script.bind(fieldNames, ImmutableMap.of()));
   }
 
   public boolean evaluate(@NonNull List<String> row) {
-    val result = MVEL.executeExpression(statement, prepareInput(row));
-    checkState(result instanceof Boolean, "Failed to execute script. Result: %s", result);
-
-    return (Boolean) result;
-  }
-
-  private Map<String, Object> prepareInput(List<String> row) {
     checkState(fieldNames.size() == row.size(), "Failed verify script for row. \nExpected fields:%s. \nRow: %s",
         fieldNames, row);
-    val input = ImmutableMap.<String, Object> builder();
-    for (int i = 0; i < fieldNames.size(); i++) {
-      input.put(fieldNames.get(i), row.get(i));
-    }
+    val result = binding.get().evaluate(row);
+    checkState(result instanceof Boolean, "Failed to execute script. Result: %s", result);
 
-    return input.build();
+    return (Boolean) result;
   }
 
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.util.List;
+
+import lombok.val;
+
+/**
+ * Blocked Bloom filter over {@link KVKey}s.
+ * <p>
+ * All the bits of a key fall within a single 512 bits block (one cache line), so a lookup costs at most one cache miss.
+ * The number of keys is not known in advance, hence the filter grows by chaining sub-filters of doubling capacity
+ * (scalable Bloom filter). There are no false negatives.
+ * <p>
+ * Not thread-safe for writes.
+ */
+public final class KVBloomFilter {
+
+  /**
+   * Sizing constants.
+   */
+  private static final int INITIAL_CAPACITY = 64 * 1024;
+  private static final int BITS_PER_KEY = 12;
+  private static final int HASH_COUNT = 7;
+
+  /**
+   * Block constants (a block is {@link #BLOCK_WORDS} longs).
+   */
+  private static final int BLOCK_WORDS = 8;
+  private static final int BLOCK_BITS = BLOCK_WORDS * Long.SIZE;
+  private static final int BLOCK_BIT_MASK = BLOCK_BITS - 1;
+  private static final int BLOCK_BIT_SHIFT = Integer.numberOfTrailingZeros(BLOCK_BITS);
+
+  private final List<Filter> filters = newArrayList();
+  private Filter current;
+
+  public void put(KVKey key) {
+    if (current == null || current.size >= current.capacity) {
+      current = new Filter(current == null ? INITIAL_CAPACITY : current.capacity * 2);
+      filters.add(current);
+    }
+
+    current.put(hash(key));
+  }
+
+  /**
+   * Returns {@code false} if the key was definitely never added.
+   */
+  public boolean mightContain(KVKey key) {
+    val hash = hash(key);
+    for (int i = filters.size() - 1; i >= 0; i--) {
+      if (filters.get(i).mightContain(hash)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  public long getSizeInBytes() {
+    long bytes = 0;
+    for (val filter : filters) {
+      bytes += filter.words.length * Long.BYTES;
+    }
+
+    return bytes;
+  }
+
+  /**
+   * 64 bits FNV-1a over the key values (length-delimited) followed by the murmur3 finalizer.
+   */
+  private static long hash(KVKey key) {
+    long hash = 0xcbf29ce484222325L;
+    for (val value : key.getValues()) {
+      val position = value.position();
+      val length = value.remaining();
+      for (int i = 0; i < length; i++) {
+        hash ^= value.get(position + i);
+        hash *= 0x100000001b3L;
+      }
+
+      hash ^= length;
+      hash *= 0x100000001b3L;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+
+    return hash;
+  }
+
+  private static final class Filter {
+
+    private final long capacity;
+    private final long[] words;
+    private final int blocks;
+    private long size;
+
+    private Filter(long capacity) {
+      this.capacity = capacity;
+      this.blocks = (int) Math.max(1, (capacity * BITS_PER_KEY + BLOCK_BITS - 1) / BLOCK_BITS);
+      this.words = new long[blocks * BLOCK_WORDS];
+    }
+
+    private void put(long hash) {
+      val offset = getBlockOffset(hash);
+      long bits = getBits(hash);
+      for (int i = 0; i < HASH_COUNT; i++) {
+        val bit = (int) bits & BLOCK_BIT_MASK;
+        words[offset + (bit >>> 6)] |= 1L << bit;
+        bits >>>= BLOCK_BIT_SHIFT;
+      }
+
+      size++;
+    }
+
+    private boolean mightContain(long hash) {
+      val offset = getBlockOffset(hash);
+      long bits = getBits(hash);
+      for (int i = 0; i < HASH_COUNT; i++) {
+        val bit = (int) bits & BLOCK_BIT_MASK;
+        if ((words[offset + (bit >>> 6)] & (1L << bit)) == 0) {
+          return false;
+        }
+        bits >>>= BLOCK_BIT_SHIFT;
+      }
+
+      return true;
+    }
+
+    private int getBlockOffset(long hash) {
+      // Multiply-shift range reduction on the high bits
+      val block = (int) (((hash >>> 32) * blocks) >>> 32);
+
+      return block * BLOCK_WORDS;
+    }
+
+    /**
+     * Bit positions within the block ({@link #HASH_COUNT} groups of {@link #BLOCK_BIT_SHIFT} bits), re-mixed so they
+     * are independent from the block selection.
+     */
+    private static long getBits(long hash) {
+      long bits = hash * 0x9e3779b97f4a7c15L;
+      bits ^= bits >>> 29;
+
+      return bits;
+    }
+
+  }
+
+}
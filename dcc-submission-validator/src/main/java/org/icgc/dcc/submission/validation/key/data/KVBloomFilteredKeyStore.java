@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static java.lang.String.format;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * {@link KVKeyStore} decorator that consults a {@link KVBloomFilter}, built as keys are added, before probing the
+ * delegate. Definite misses are answered without hashing and comparing the full key against the delegate's index.
+ */
+@RequiredArgsConstructor
+public final class KVBloomFilteredKeyStore implements KVKeyStore {
+
+  @NonNull
+  private final KVKeyStore delegate;
+  private final KVBloomFilter filter = new KVBloomFilter();
+
+  /**
+   * Counters (lookups may happen concurrently once the store is complete).
+   */
+  private final AtomicLong lookups = new AtomicLong();
+  private final AtomicLong filteredMisses = new AtomicLong();
+  private final AtomicLong falsePositives = new AtomicLong();
+
+  @Override
+  public void add(int fileOrdinal, KVKey key) {
+    filter.put(key);
+    delegate.add(fileOrdinal, key);
+  }
+
+  @Override
+  public int getFileOrdinal(KVKey key) {
+    lookups.incrementAndGet();
+    if (!filter.mightContain(key)) {
+      filteredMisses.incrementAndGet();
+      return NOT_FOUND;
+    }
+
+    val fileOrdinal = delegate.getFileOrdinal(key);
+    if (fileOrdinal == NOT_FOUND) {
+      falsePositives.incrementAndGet();
+    }
+
+    return fileOrdinal;
+  }
+
+  @Override
+  public Iterator<KVKey> getKeys(int fileOrdinal) {
+    return delegate.getKeys(fileOrdinal);
+  }
+
+  @Override
+  public long getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  public long getLookups() {
+    return lookups.get();
+  }
+
+  /**
+   * Lookups answered by the filter alone.
+   */
+  public long getFilteredMisses() {
+    return filteredMisses.get();
+  }
+
+  /**
+   * Lookups the filter let through but the delegate did not find.
+   */
+  public long getFalsePositives() {
+    return falsePositives.get();
+  }
+
+  public long getHits() {
+    return getLookups() - getFilteredMisses() - getFalsePositives();
+  }
+
+  @Override
+  public String toString() {
+    return format("KVBloomFilteredKeyStore(delegate=%s, filterBytes=%s, lookups=%s, hits=%s, filteredMisses=%s, "
+        + "falsePositives=%s)",
+        delegate, formatCount(filter.getSizeInBytes()), formatCount(getLookups()), formatCount(getHits()),
+        formatCount(getFilteredMisses()), formatCount(getFalsePositives()));
+  }
+
+}
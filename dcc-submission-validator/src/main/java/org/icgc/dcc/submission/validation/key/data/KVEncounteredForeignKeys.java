@@ -18,30 +18,39 @@
 package org.icgc.dcc.submission.validation.key.data;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.collect.Sets.newHashSet;
-
-import java.util.Set;
+import static org.icgc.dcc.submission.validation.key.data.KVKeyStore.ALL_FILES;
 
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.val;
 
 /**
- * TODO: inclusive delegate possible with lombok?
+ * Keeps track of the foreign keys encountered for a given referenced file type (for the surjection check).
  */
 @RequiredArgsConstructor
 public final class KVEncounteredForeignKeys {
 
-  private final Set<KVKey> encounteredFks = newHashSet(); // TODO: change to array (optimization)?
+  /**
+   * Encountered keys are not tracked per file.
+   */
+  private static final int FILE_ORDINAL = 0;
+
+  @NonNull
+  private final KVKeyStore encounteredFks;
 
   public void addEncounteredForeignKey(KVKey fk) {
-    encounteredFks.add(checkNotNull(fk));
+    encounteredFks.add(FILE_ORDINAL, checkNotNull(fk));
   }
 
   public void addEncounteredForeignKeys(KVEncounteredForeignKeys surjectionEncountered) {
-    encounteredFks.addAll(surjectionEncountered.encounteredFks);
+    val fks = surjectionEncountered.encounteredFks.getKeys(ALL_FILES);
+    while (fks.hasNext()) {
+      encounteredFks.add(FILE_ORDINAL, fks.next());
+    }
   }
 
   public boolean noneEncountered() {
-    return encounteredFks.isEmpty();
+    return encounteredFks.getSize() == 0;
   }
 
   public boolean encountered(KVKey encounteredKeys) {
@@ -49,12 +58,17 @@ public final class KVEncounteredForeignKeys {
   }
 
   public long getSize() {
-    return encounteredFks.size();
+    return encounteredFks.getSize();
+  }
+
+  public void close() {
+    encounteredFks.close();
   }
 
   @Override
   public String toString() {
-    return String.format("KVEncounteredForeignKeys(encounteredFks=%s)", encounteredFks.size());
+    return String.format("KVEncounteredForeignKeys(encounteredFks=%s, store=%s)",
+        encounteredFks.getSize(), encounteredFks);
   }
 
 }
@@ -27,20 +27,22 @@ import static org.icgc.dcc.submission.validation.key.core.KVErrorType.RELATION;
 import static org.icgc.dcc.submission.validation.key.core.KVFileType.METH_ARRAY_P;
 import static org.icgc.dcc.submission.validation.key.core.KVSubmissionProcessor.ROW_CHECKS_ENABLED;
 
-import java.util.List;
 import java.util.Map;
 
+import lombok.Cleanup;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.hadoop.fs.Path;
-import org.icgc.dcc.common.hadoop.parser.FileRecordProcessor;
+import org.icgc.dcc.submission.core.parser.FieldRecord;
+import org.icgc.dcc.submission.core.parser.FieldRecordProcessor;
 import org.icgc.dcc.submission.validation.key.core.KVDictionary;
 import org.icgc.dcc.submission.validation.key.core.KVErrorType;
 import org.icgc.dcc.submission.validation.key.core.KVFileParser;
 import org.icgc.dcc.submission.validation.key.core.KVFileType;
+import org.icgc.dcc.submission.validation.key.core.KVPipelinedRecordProcessor;
 import org.icgc.dcc.submission.validation.key.report.KVReporter;
 
 @Slf4j
@@ -71,18 +73,19 @@ public final class KVFileProcessor {
       final KVReporter reporter, // To report all but surjection errors at this point
       final KVPrimaryKeys primaryKeys, // FileType's primary keys
       final Map<KVFileType, KVReferencedPrimaryKeys> referencedPrimaryKeys, // Parent's primary keys
-      final Map<KVFileType, KVEncounteredForeignKeys> encounteredKeys // Which parent keys are actually encountered.
-                                                                      // Used for the future surjection check
+      final Map<KVFileType, KVEncounteredForeignKeys> encounteredKeys, // Which parent keys are actually encountered.
+                                                                       // Used for the future surjection check
+      final boolean pipelined // Whether to parse and validate on separate threads
   ) {
     log.info("{} - {}", fileType, filePath);
 
     val context = new KVRowContext(filePath.getName(), fileType, reporter,
         primaryKeys, encounteredKeys, referencedPrimaryKeys);
 
-    fileParser.parse(filePath, new FileRecordProcessor<List<String>>() {
+    FieldRecordProcessor recordProcessor = new FieldRecordProcessor() {
 
       @Override
-      public void process(long lineNumber, List<String> record) {
+      public void process(long lineNumber, FieldRecord record) {
         // Update the context
         val row = dictionary.getKeysIndices(fileType).getRow(record);
         context.nextRow(row, lineNumber);
@@ -93,7 +96,16 @@ public final class KVFileProcessor {
         processStatus(lineNumber);
       }
 
-    });
+    };
+
+    if (pipelined) {
+      @Cleanup
+      val pipeline = new KVPipelinedRecordProcessor(filePath.getName(), recordProcessor);
+      fileParser.parse(filePath, pipeline);
+      pipeline.finish();
+    } else {
+      fileParser.parse(filePath, recordProcessor);
+    }
   }
 
   /**
@@ -101,13 +113,19 @@ public final class KVFileProcessor {
    */
   private void processRow(KVRowContext context, KVDictionary dictionary) {
     val fileType = context.getFileType();
+
+    // Once no more errors are reported for the file, only its keys are still needed (by other files and surjection)
+    val checked = !context.getReporter().isExhausted(context.getFileName());
+
     // No uniqueness check for METH_ARRAY_P (at Vincent's request)
-    if (hasPrimaryKeys(dictionary, fileType) && fileType != METH_ARRAY_P) { // TODO: Encode in the dictionary
+    if (checked && hasPrimaryKeys(dictionary, fileType) && fileType != METH_ARRAY_P) { // TODO: Encode in the dictionary
       valid.validateUniqueness(context);
     }
 
-    valid.validateForeignKeys(context);
-    valid.validateOptionalForeignKeys(context);
+    if (checked) {
+      valid.validateForeignKeys(context);
+      valid.validateOptionalForeignKeys(context);
+    }
 
     // E.g. Primary file types without secondary ones don't need to add their PKs as the surjection check will not be
     // performed for them.
@@ -119,7 +137,7 @@ public final class KVFileProcessor {
       addEncounteredForeignKeys(context.getFileName(), context.getEncounteredKeys(), context.getRow());
     }
 
-    if (context.getRow().hasConditionalFks()) {
+    if (checked && context.getRow().hasConditionalFks()) {
       valid.validateConditionalForeignKeys(context);
     }
   }
@@ -169,7 +187,9 @@ public final class KVFileProcessor {
       sanity.ensurePK(context.getFileName(), context.getRow());
 
       val pk = context.getRow().getPk();
-      if (context.getPrimaryKeys().containsPk(pk)) {
+      val pkFileName = context.getPrimaryKeys().getPkFileName(pk);
+      if (pkFileName.isPresent()) {
+        log.debug("Duplicate PK '{}' already encountered in '{}'", pk, pkFileName.get());
         context.getReporter().reportUniquenessError(context.getFileType(), context.getFileName(),
             context.getLineNumber(), pk);
       }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static com.google.common.collect.Iterators.concat;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import lombok.val;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+
+/**
+ * {@link KVKeyStore} backed by a single on-heap index of {@link KVKey}s.
+ * <p>
+ * Each key maps to the ordinal of the first file it was added for, so membership and "which file" questions are
+ * answered with one hash lookup regardless of the number of files. The keys of each file are also listed by ordinal
+ * (sharing the indexed instances) so that per-file iteration does not scan the whole index. Keys that are also added
+ * for other files (uniqueness violations, which are rare) are kept on the side.
+ */
+public final class KVHeapKeyStore implements KVKeyStore {
+
+  private final Map<KVKey, Integer> keys = newHashMap();
+  private final List<List<KVKey>> fileKeys = newArrayList();
+  private final SetMultimap<Integer, KVKey> duplicates = HashMultimap.create();
+
+  @Override
+  public void add(int fileOrdinal, KVKey key) {
+    val ordinal = keys.putIfAbsent(key, fileOrdinal);
+    if (ordinal == null) {
+      getFileKeys(fileOrdinal).add(key);
+    } else if (ordinal != fileOrdinal) {
+      duplicates.put(fileOrdinal, key);
+    }
+  }
+
+  @Override
+  public int getFileOrdinal(KVKey key) {
+    val ordinal = keys.get(key);
+
+    return ordinal == null ? NOT_FOUND : ordinal;
+  }
+
+  @Override
+  public Iterator<KVKey> getKeys(int fileOrdinal) {
+    if (fileOrdinal == ALL_FILES) {
+      return concat(keys.keySet().iterator(), duplicates.values().iterator());
+    }
+
+    val firstKeys = fileOrdinal < fileKeys.size() ? fileKeys.get(fileOrdinal) : Collections.<KVKey> emptyList();
+
+    return concat(firstKeys.iterator(), duplicates.get(fileOrdinal).iterator());
+  }
+
+  @Override
+  public long getSize() {
+    return keys.size() + duplicates.size();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("KVHeapKeyStore(size=%s, duplicates=%s)", getSize(), duplicates.size());
+  }
+
+  private List<KVKey> getFileKeys(int fileOrdinal) {
+    while (fileKeys.size() <= fileOrdinal) {
+      fileKeys.add(newArrayList());
+    }
+
+    return fileKeys.get(fileOrdinal);
+  }
+
+}
@@ -17,23 +17,28 @@
  */
 package org.icgc.dcc.submission.validation.key.data;
 
-import static com.google.common.base.Charsets.US_ASCII;
+import static com.google.common.base.Charsets.UTF_8;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Lists.newArrayList;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 import lombok.Value;
 import lombok.val;
 
 import org.icgc.dcc.common.core.model.SpecialValue;
+import org.icgc.dcc.submission.core.parser.FieldRecord;
 
 import com.google.common.collect.Interner;
 import com.google.common.collect.Interners;
 
 /**
  * Represents the values for a given key (a key may be composite).
+ * <p>
+ * Values are held as their UTF-8 bytes, the encoding of the submission files, so that keys built from the decoded
+ * fields and keys built straight from the file bytes are the same.
  */
 // TODO: efficient equals/hashCode (maybe lombok is ok for the latter)
 @Value
@@ -44,11 +49,11 @@ public class KVKey implements Comparable<KVKey> {
   // TODO: Move to another class? Clean up?
   private static final Interner<ByteBuffer> VALUE_INTERNER = Interners.newWeakInterner();
 
-  private static final ByteBuffer EMPTY_BYTE_BUFFER = ByteBuffer.wrap("".getBytes(US_ASCII));
+  private static final ByteBuffer EMPTY_BYTE_BUFFER = ByteBuffer.wrap("".getBytes(UTF_8));
   private static final ByteBuffer MISSING_CODE1_BYTE_BUFFER = ByteBuffer.wrap(SpecialValue.VERIFIED_UNKNOWN_CODE
-      .getBytes(US_ASCII));
+      .getBytes(UTF_8));
   private static final ByteBuffer MISSING_CODE2_BYTE_BUFFER = ByteBuffer.wrap(SpecialValue.NOT_APPLICABLE_CODE
-      .getBytes(US_ASCII));
+      .getBytes(UTF_8));
   private static final List<ByteBuffer> MISSING_CODE_BYTE_BUFFERS = newArrayList(
       MISSING_CODE1_BYTE_BUFFER, MISSING_CODE2_BYTE_BUFFER);
 
@@ -67,7 +72,7 @@ public class KVKey implements Comparable<KVKey> {
     val values = new ByteBuffer[size];
     for (int index = 0; index < size; index++) {
       val text = row.get(indices.get(index));
-      val bytes = ByteBuffer.wrap(text.getBytes(US_ASCII));
+      val bytes = ByteBuffer.wrap(text.getBytes(UTF_8));
       val canonicalized = VALUE_INTERNER.intern(bytes);
 
       values[index] = canonicalized;
@@ -76,6 +81,26 @@ public class KVKey implements Comparable<KVKey> {
     return new KVKey(values, size);
   }
 
+  /**
+   * Builds the key straight from the tokenized bytes: only the key fields are copied (the record's buffer is reused
+   * for the next line) and nothing is decoded.
+   */
+  public static KVKey from(FieldRecord record, List<Integer> indices) {
+    short size = (short) indices.size();
+    val values = new ByteBuffer[size];
+    val buffer = record.getBuffer();
+    for (int index = 0; index < size; index++) {
+      val fieldIndex = indices.get(index);
+      val offset = record.getFieldOffset(fieldIndex);
+      val bytes = ByteBuffer.wrap(Arrays.copyOfRange(buffer, offset, offset + record.getFieldLength(fieldIndex)));
+      val canonicalized = VALUE_INTERNER.intern(bytes);
+
+      values[index] = canonicalized;
+    }
+
+    return new KVKey(values, size);
+  }
+
   /**
    * Somewhat optimized...
    */
@@ -120,7 +145,7 @@ public class KVKey implements Comparable<KVKey> {
   public String[] getStringValues() {
     String[] result = new String[values.length];
     for (int i = 0; i < values.length; i++) {
-      result[i] = new String(values[i].array());
+      result[i] = new String(values[i].array(), UTF_8);
     }
 
     return result;
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import java.util.Iterator;
+
+/**
+ * Storage abstraction for the keys accumulated during key validation (see {@link KVPrimaryKeys} and
+ * {@link KVEncounteredForeignKeys}).
+ * <p>
+ * Keys are associated with the ordinal of the file they were encountered in, so that per-file iteration remains
+ * possible (as required by the surjection check).
+ */
+public interface KVKeyStore {
+
+  /**
+   * Marker ordinal used to iterate over keys regardless of the file they belong to.
+   */
+  int ALL_FILES = -1;
+
+  /**
+   * Ordinal returned when a key could not be found.
+   */
+  int NOT_FOUND = -1;
+
+  /**
+   * Adds a key for the given file ordinal. Adding the same key twice for the same file is a no-op.
+   */
+  void add(int fileOrdinal, KVKey key);
+
+  /**
+   * Returns whether the key was added for any of the files.
+   */
+  default boolean contains(KVKey key) {
+    return getFileOrdinal(key) != NOT_FOUND;
+  }
+
+  /**
+   * Returns the ordinal of a file the key was added for (or {@link #NOT_FOUND}), using a single index probe.
+   */
+  int getFileOrdinal(KVKey key);
+
+  /**
+   * Returns the keys added for the given file ordinal (or for all files when {@link #ALL_FILES} is provided).
+   */
+  Iterator<KVKey> getKeys(int fileOrdinal);
+
+  long getSize();
+
+  /**
+   * Releases the memory held by the store, which must not be used afterwards. Nothing to release by default.
+   */
+  default void close() {
+  }
+
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.newArrayList;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import lombok.val;
+
+/**
+ * {@link KVKeyStore} that keeps the key bytes outside of the JVM heap.
+ * <p>
+ * Keys are hash-partitioned. Each partition appends its keys as contiguous length-prefixed byte records to direct
+ * {@link ByteBuffer} segments and indexes them with an open-addressing table made of primitive arrays: the record
+ * address, the key hash and the ordinal of the file the key belongs to. This avoids the per-key object overhead of
+ * {@link KVKey} (the key array, the {@link ByteBuffer}s and their backing arrays, the hash set entry) as well as the
+ * associated GC pressure.
+ * <p>
+ * Record layout: {@code [int recordLength][short valueCount]([short valueLength][value bytes])*}.
+ * <p>
+ * The records of each file are also listed by ordinal (as primitive references to their partition and address) so
+ * that per-file iteration does not scan the whole index.
+ * <p>
+ * The direct memory is only reclaimed once the segments are collected, hence {@link #close()} should be called as soon
+ * as the store is no longer needed. Not thread-safe for writes.
+ */
+public final class KVOffHeapKeyStore implements KVKeyStore {
+
+  /**
+   * Partitioning constants (partition is chosen from the high bits of the hash, slot from the low bits).
+   */
+  private static final int PARTITION_BITS = 4;
+  private static final int PARTITION_COUNT = 1 << PARTITION_BITS;
+
+  /**
+   * Segment sizing constants (segments double in size up to the maximum).
+   */
+  private static final int INITIAL_SEGMENT_SIZE = 64 * 1024;
+  private static final int MAXIMUM_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  /**
+   * Index sizing constants.
+   */
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final float LOAD_FACTOR = 0.5f;
+
+  /**
+   * Address value denoting an empty slot.
+   */
+  private static final long EMPTY = 0;
+
+  /**
+   * Number of low bits of a record reference holding its address, the high bits holding its partition.
+   */
+  private static final int ADDRESS_BITS = Long.SIZE - PARTITION_BITS;
+  private static final long ADDRESS_MASK = (1L << ADDRESS_BITS) - 1;
+
+  /**
+   * Scratch space for encoding probe keys.
+   */
+  private static final ThreadLocal<Encoder> ENCODERS = ThreadLocal.withInitial(Encoder::new);
+
+  private final Partition[] partitions = new Partition[PARTITION_COUNT];
+  private final List<RecordList> fileRecords = newArrayList();
+  private boolean closed;
+
+  public KVOffHeapKeyStore() {
+    for (int i = 0; i < PARTITION_COUNT; i++) {
+      partitions[i] = new Partition();
+    }
+  }
+
+  @Override
+  public void add(int fileOrdinal, KVKey key) {
+    checkOpen();
+    checkState(fileOrdinal >= 0 && fileOrdinal <= Short.MAX_VALUE, "Invalid file ordinal: '%s'", fileOrdinal);
+    val encoder = ENCODERS.get().encode(key);
+    val hash = encoder.hash();
+
+    val partitionIndex = getPartitionIndex(hash);
+    val address = partitions[partitionIndex].add(encoder, hash, (short) fileOrdinal);
+    if (address != EMPTY) {
+      getFileRecords(fileOrdinal).add(reference(partitionIndex, address));
+    }
+  }
+
+  @Override
+  public int getFileOrdinal(KVKey key) {
+    checkOpen();
+    val encoder = ENCODERS.get().encode(key);
+    val hash = encoder.hash();
+
+    val partition = getPartition(hash);
+    val slot = partition.find(encoder, hash);
+
+    return slot < 0 ? NOT_FOUND : partition.fileOrdinals[slot];
+  }
+
+  @Override
+  public Iterator<KVKey> getKeys(int fileOrdinal) {
+    checkOpen();
+    if (fileOrdinal == ALL_FILES) {
+      return new KeyIterator();
+    }
+
+    return new FileKeyIterator(fileOrdinal < fileRecords.size() ? fileRecords.get(fileOrdinal) : new RecordList());
+  }
+
+  @Override
+  public long getSize() {
+    long size = 0;
+    for (val partition : partitions) {
+      size += partition.size;
+    }
+
+    return size;
+  }
+
+  /**
+   * Drops the segments and the index. Direct buffers are freed once collected, which allocating past the maximum
+   * direct memory size triggers.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    for (val partition : partitions) {
+      partition.release();
+    }
+
+    fileRecords.clear();
+  }
+
+  @Override
+  public String toString() {
+    long offHeapBytes = 0;
+    for (val partition : partitions) {
+      offHeapBytes += partition.getAllocatedBytes();
+    }
+
+    return String.format("KVOffHeapKeyStore(size=%s, offHeapBytes=%s)", getSize(), offHeapBytes);
+  }
+
+  private void checkOpen() {
+    checkState(!closed, "Key store is closed");
+  }
+
+  private Partition getPartition(int hash) {
+    return partitions[getPartitionIndex(hash)];
+  }
+
+  private RecordList getFileRecords(int fileOrdinal) {
+    while (fileRecords.size() <= fileOrdinal) {
+      fileRecords.add(new RecordList());
+    }
+
+    return fileRecords.get(fileOrdinal);
+  }
+
+  private KVKey decode(long reference) {
+    return partitions[(int) (reference >>> ADDRESS_BITS)].decode(reference & ADDRESS_MASK);
+  }
+
+  private static int getPartitionIndex(int hash) {
+    return hash >>> (Integer.SIZE - PARTITION_BITS);
+  }
+
+  private static long reference(int partitionIndex, long storedAddress) {
+    return ((long) partitionIndex << ADDRESS_BITS) | storedAddress;
+  }
+
+  /**
+   * A single hash partition: append-only record segments plus an open-addressing index.
+   */
+  private static final class Partition {
+
+    /**
+     * Record storage.
+     */
+    private final List<ByteBuffer> segments = newArrayList();
+    private ByteBuffer segment;
+
+    /**
+     * Index columns (addresses are offset by one so that {@link #EMPTY} can denote a free slot).
+     */
+    private long[] addresses = new long[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private short[] fileOrdinals = new short[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the (stored) address of the record of the added key, {@link #EMPTY} if it was already present.
+     */
+    private long add(Encoder encoder, int hash, short fileOrdinal) {
+      val mask = addresses.length - 1;
+      int slot = hash & mask;
+      while (addresses[slot] != EMPTY) {
+        if (hashes[slot] == hash && fileOrdinals[slot] == fileOrdinal && matches(addresses[slot], encoder)) {
+          // Already present for that file
+          return EMPTY;
+        }
+
+        slot = (slot + 1) & mask;
+      }
+
+      val address = append(encoder) + 1;
+      addresses[slot] = address;
+      hashes[slot] = hash;
+      fileOrdinals[slot] = fileOrdinal;
+      size++;
+
+      if (size > addresses.length * LOAD_FACTOR) {
+        resize();
+      }
+
+      return address;
+    }
+
+    private int find(Encoder encoder, int hash) {
+      val mask = addresses.length - 1;
+      int slot = hash & mask;
+      while (addresses[slot] != EMPTY) {
+        if (hashes[slot] == hash && matches(addresses[slot], encoder)) {
+          return slot;
+        }
+
+        slot = (slot + 1) & mask;
+      }
+
+      return -1;
+    }
+
+    private long append(Encoder encoder) {
+      val recordLength = Integer.BYTES + encoder.length;
+      if (segment == null || segment.remaining() < recordLength) {
+        val previousSize = segment == null ? INITIAL_SEGMENT_SIZE / 2 : segment.capacity();
+        val segmentSize = max(min(previousSize * 2, MAXIMUM_SEGMENT_SIZE), recordLength);
+
+        // Leaves room for the partition in record references
+        checkState(segments.size() < 1 << (ADDRESS_BITS - Integer.SIZE - 1), "Too many segments");
+        segment = ByteBuffer.allocateDirect(segmentSize);
+        segments.add(segment);
+      }
+
+      val offset = segment.position();
+      segment.putInt(encoder.length);
+      segment.put(encoder.bytes, 0, encoder.length);
+
+      return address(segments.size() - 1, offset);
+    }
+
+    private boolean matches(long storedAddress, Encoder encoder) {
+      val address = storedAddress - 1;
+      val records = segments.get(segmentIndex(address));
+      val offset = segmentOffset(address);
+      if (records.getInt(offset) != encoder.length) {
+        return false;
+      }
+
+      val start = offset + Integer.BYTES;
+      for (int i = 0; i < encoder.length; i++) {
+        if (records.get(start + i) != encoder.bytes[i]) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    private KVKey decode(long storedAddress) {
+      val address = storedAddress - 1;
+      val records = segments.get(segmentIndex(address)).duplicate();
+      records.position(segmentOffset(address) + Integer.BYTES);
+
+      val valueCount = records.getShort();
+      val values = new ByteBuffer[valueCount];
+      for (int i = 0; i < valueCount; i++) {
+        val value = new byte[records.getShort()];
+        records.get(value);
+
+        values[i] = ByteBuffer.wrap(value);
+      }
+
+      return new KVKey(values, valueCount);
+    }
+
+    private void resize() {
+      val oldAddresses = addresses;
+      val oldHashes = hashes;
+      val oldFileOrdinals = fileOrdinals;
+
+      val capacity = oldAddresses.length * 2;
+      val mask = capacity - 1;
+      addresses = new long[capacity];
+      hashes = new int[capacity];
+      fileOrdinals = new short[capacity];
+
+      for (int i = 0; i < oldAddresses.length; i++) {
+        if (oldAddresses[i] == EMPTY) {
+          continue;
+        }
+
+        int slot = oldHashes[i] & mask;
+        while (addresses[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+
+        addresses[slot] = oldAddresses[i];
+        hashes[slot] = oldHashes[i];
+        fileOrdinals[slot] = oldFileOrdinals[i];
+      }
+    }
+
+    private void release() {
+      segments.clear();
+      segment = null;
+      addresses = new long[0];
+      hashes = new int[0];
+      fileOrdinals = new short[0];
+      size = 0;
+    }
+
+    private long getAllocatedBytes() {
+      long bytes = 0;
+      for (val records : segments) {
+        bytes += records.capacity();
+      }
+
+      return bytes;
+    }
+
+    private static long address(int segmentIndex, int offset) {
+      return ((long) segmentIndex << Integer.SIZE) | offset;
+    }
+
+    private static int segmentIndex(long address) {
+      return (int) (address >>> Integer.SIZE);
+    }
+
+    private static int segmentOffset(long address) {
+      return (int) address;
+    }
+
+  }
+
+  /**
+   * Encodes a {@link KVKey} into its record form (without the length prefix) using a reusable buffer.
+   */
+  private static final class Encoder {
+
+    private byte[] bytes = new byte[256];
+    private int length;
+
+    private Encoder encode(KVKey key) {
+      length = 0;
+      val values = key.getValues();
+      ensureCapacity(Short.BYTES);
+      putShort((short) values.length);
+
+      for (val value : values) {
+        val valueLength = value.remaining();
+        checkState(valueLength <= Short.MAX_VALUE, "Key value is too long: %s bytes", valueLength);
+        ensureCapacity(Short.BYTES + valueLength);
+        putShort((short) valueLength);
+
+        val position = value.position();
+        for (int i = 0; i < valueLength; i++) {
+          bytes[length++] = value.get(position + i);
+        }
+      }
+
+      return this;
+    }
+
+    /**
+     * FNV-1a followed by the murmur3 finalizer so that both the high (partition) and low (slot) bits are well mixed.
+     */
+    private int hash() {
+      int hash = 0x811c9dc5;
+      for (int i = 0; i < length; i++) {
+        hash ^= bytes[i];
+        hash *= 0x01000193;
+      }
+
+      hash ^= hash >>> 16;
+      hash *= 0x85ebca6b;
+      hash ^= hash >>> 13;
+      hash *= 0xc2b2ae35;
+      hash ^= hash >>> 16;
+
+      return hash;
+    }
+
+    private void putShort(short value) {
+      bytes[length++] = (byte) (value >>> 8);
+      bytes[length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int additional) {
+      if (length + additional > bytes.length) {
+        val expanded = new byte[max(bytes.length * 2, length + additional)];
+        System.arraycopy(bytes, 0, expanded, 0, length);
+        bytes = expanded;
+      }
+    }
+
+  }
+
+  /**
+   * Growable list of record references.
+   */
+  private static final class RecordList {
+
+    private long[] references = new long[16];
+    private int size;
+
+    private void add(long reference) {
+      if (size == references.length) {
+        val expanded = new long[references.length * 2];
+        System.arraycopy(references, 0, expanded, 0, size);
+        references = expanded;
+      }
+
+      references[size++] = reference;
+    }
+
+  }
+
+  /**
+   * Iterates over the records of a single file, decoding their keys.
+   */
+  private final class FileKeyIterator implements Iterator<KVKey> {
+
+    private final RecordList records;
+    private int index;
+
+    private FileKeyIterator(RecordList records) {
+      this.records = records;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < records.size;
+    }
+
+    @Override
+    public KVKey next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      return decode(records.references[index++]);
+    }
+
+  }
+
+  /**
+   * Iterates over the index slots of every partition, decoding the keys of all files.
+   */
+  private final class KeyIterator implements Iterator<KVKey> {
+
+    private int partitionIndex;
+    private int slot = -1;
+
+    private KeyIterator() {
+      advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return partitionIndex < PARTITION_COUNT;
+    }
+
+    @Override
+    public KVKey next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      val key = partitions[partitionIndex].decode(partitions[partitionIndex].addresses[slot]);
+      advance();
+
+      return key;
+    }
+
+    private void advance() {
+      while (partitionIndex < PARTITION_COUNT) {
+        val partition = partitions[partitionIndex];
+        while (++slot < partition.addresses.length) {
+          if (partition.addresses[slot] != EMPTY) {
+            return;
+          }
+        }
+
+        partitionIndex++;
+        slot = -1;
+      }
+    }
+
+  }
+
+}
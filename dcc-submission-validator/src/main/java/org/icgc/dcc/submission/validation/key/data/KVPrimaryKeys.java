@@ -19,18 +19,19 @@ package org.icgc.dcc.submission.validation.key.data;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Maps.newLinkedHashMap;
+import static com.google.common.collect.Maps.newHashMap;
 import static java.lang.String.format;
 import static org.icgc.dcc.common.core.util.Formats.formatCount;
 import static org.icgc.dcc.submission.validation.key.core.KVSubmissionProcessor.ROW_CHECKS_ENABLED;
+import static org.icgc.dcc.submission.validation.key.data.KVKeyStore.NOT_FOUND;
 
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
-import com.google.common.collect.Sets;
+import com.google.common.base.Optional;
 
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
@@ -39,27 +40,39 @@ import lombok.val;
  * <p>
  * There's trade off here, we accept to potentially store the same PK under different files (if there's a uniqueness
  * violation). It's a bit wasteful but keeps the code complexity lower in {@link KVFileProcessor}.
+ * <p>
+ * Files are identified by their ordinal within the {@link KVKeyStore}.
  */
 @RequiredArgsConstructor
 public final class KVPrimaryKeys {
 
-  private final Map<String, Set<KVKey>> pks = newLinkedHashMap();
+  @NonNull
+  private final KVKeyStore pks;
+  private final List<String> fileNames = newArrayList();
+  private final Map<String, Integer> fileOrdinals = newHashMap();
 
   public List<String> getFilePaths() {
-    return newArrayList(pks.keySet());
+    return newArrayList(fileNames);
   }
 
   public Iterator<KVKey> getPrimaryKeys(String fileName) {
-    return pks.get(fileName).iterator();
+    val ordinal = fileOrdinals.get(fileName);
+    checkState(ordinal != null, "Unknown file: '%s'", fileName);
+
+    return pks.getKeys(ordinal);
   }
 
   public boolean containsPk(KVKey pk) {
-    for (val filePks : pks.values()) {
-      if (filePks.contains(pk)) {
-        return true;
-      }
-    }
-    return false;
+    return pks.contains(pk);
+  }
+
+  /**
+   * Returns the name of the file the PK was first encountered in, if any.
+   */
+  public Optional<String> getPkFileName(KVKey pk) {
+    val ordinal = pks.getFileOrdinal(pk);
+
+    return ordinal == NOT_FOUND ? Optional.absent() : Optional.of(fileNames.get(ordinal));
   }
 
   public void updatePks(String fileName, KVRow row) {
@@ -67,25 +80,29 @@ public final class KVPrimaryKeys {
       checkState(row.hasPk(), "Expected to have a PK: '%s' ('%s')", row, fileName);
     }
 
-    if (!pks.containsKey(fileName)) {
-      pks.put(fileName, Sets.<KVKey> newHashSet());
-    }
-
-    pks.get(fileName).add(row.getPk());
+    pks.add(getFileOrdinal(fileName), row.getPk());
   }
 
   public long getSize() {
-    long size = 0;
-    for (val filePks : pks.values()) {
-      size += filePks.size();
-    }
-
-    return size;
+    return pks.getSize();
   }
 
   @Override
   public String toString() {
-    return format("KVPrimaryKeys(pks=%s, size=%s)", formatCount(pks.size()), formatCount(getSize()));
+    return format("KVPrimaryKeys(pks=%s, size=%s, store=%s)",
+        formatCount(fileNames.size()), formatCount(getSize()), pks);
+  }
+
+  private int getFileOrdinal(String fileName) {
+    val ordinal = fileOrdinals.get(fileName);
+    if (ordinal != null) {
+      return ordinal;
+    }
+
+    fileNames.add(fileName);
+    fileOrdinals.put(fileName, fileNames.size() - 1);
+
+    return fileNames.size() - 1;
   }
 
 }
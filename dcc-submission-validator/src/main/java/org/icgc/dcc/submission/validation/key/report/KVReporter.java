@@ -20,6 +20,9 @@ package org.icgc.dcc.submission.validation.key.report;
 import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
 import static com.fasterxml.jackson.databind.SerializationFeature.FAIL_ON_EMPTY_BEANS;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newConcurrentMap;
 import static java.lang.String.format;
 import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.validation.key.core.KVErrorType.CONDITIONAL_RELATION;
@@ -29,12 +32,22 @@ import static org.icgc.dcc.submission.validation.key.core.KVErrorType.SURJECTION
 import static org.icgc.dcc.submission.validation.key.core.KVErrorType.UNIQUENESS;
 import static org.icgc.dcc.submission.validation.key.surjectivity.SurjectivityValidator.SURJECTION_ERROR_LINE_NUMBER;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
 
+import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -49,6 +62,7 @@ import org.icgc.dcc.submission.validation.key.data.KVKey;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.io.ByteStreams;
 
 /**
  * Reports key validation errors in the context of the submission system.
@@ -67,18 +81,52 @@ public class KVReporter implements Closeable {
   @NonNull
   private final KVDictionary dictionary;
   @NonNull
-  private final FileSystem fileSystem;
-  @NonNull
-  private final Path path;
-  @NonNull
   private final OutputStream outputStream;
 
+  /**
+   * Local file backing a reporter obtained through {@link #fork()}, {@code null} otherwise.
+   */
+  private final File forkFile;
+
+  /**
+   * Reporter this one was forked from, {@code null} if not forked.
+   */
+  private final KVReporter parent;
+
+  /**
+   * Maximum number of errors reported per file ({@code 0} for no maximum), past which its checks may be skipped (see
+   * {@link #isExhausted(String)}).
+   */
+  private final long maxFileErrors;
+
+  /**
+   * Counts of the reported errors by file name, read by the forks while their parent is joining others.
+   */
+  private final Map<String, Long> fileErrorCounts = newConcurrentMap();
+
+  /**
+   * Errors buffered by a fork with a maximum, in order, so that the maximum is applied again when joining.
+   */
+  private final List<ForkedError> forkedErrors;
+
+  public KVReporter(@NonNull KVDictionary dictionary, @NonNull FileSystem fileSystem, @NonNull Path path) {
+    this(dictionary, fileSystem, path, 0);
+  }
+
   @SneakyThrows
-  public KVReporter(KVDictionary dictionary, FileSystem fileSystem, Path path) {
+  public KVReporter(@NonNull KVDictionary dictionary, @NonNull FileSystem fileSystem, @NonNull Path path,
+      long maxFileErrors) {
+    this(dictionary, fileSystem.create(path), null, null, maxFileErrors);
+  }
+
+  private KVReporter(KVDictionary dictionary, OutputStream outputStream, File forkFile, KVReporter parent,
+      long maxFileErrors) {
     this.dictionary = dictionary;
-    this.fileSystem = fileSystem;
-    this.path = path;
-    this.outputStream = fileSystem.create(path);
+    this.outputStream = outputStream;
+    this.forkFile = forkFile;
+    this.parent = parent;
+    this.maxFileErrors = maxFileErrors;
+    this.forkedErrors = parent != null && maxFileErrors > 0 ? newArrayList() : null;
   }
 
   @Override
@@ -86,6 +134,52 @@ public class KVReporter implements Closeable {
     outputStream.close();
   }
 
+  /**
+   * Creates a reporter that buffers its errors in a local temporary file, to be appended to this reporter with
+   * {@link #join(KVReporter)}. Allows concurrent processing to produce the same report as a sequential one.
+   */
+  @SneakyThrows
+  public KVReporter fork() {
+    val file = File.createTempFile("kv-report-", ".json");
+    file.deleteOnExit();
+
+    return new KVReporter(dictionary, new BufferedOutputStream(new FileOutputStream(file)), file, this,
+        maxFileErrors);
+  }
+
+  /**
+   * Closes the forked reporter and appends its errors to this reporter, up to the maximum of each file given the
+   * errors already reported to this reporter. Forks must be joined in the order of a sequential run.
+   */
+  @SneakyThrows
+  public void join(@NonNull KVReporter forked) {
+    checkState(forked.parent == this, "Reporter was not forked from this one: %s", forked);
+    forked.close();
+
+    try {
+      if (forked.forkedErrors == null) {
+        Files.copy(forked.forkFile.toPath(), outputStream);
+      } else {
+        joinErrors(forked);
+      }
+    } finally {
+      forked.forkFile.delete();
+    }
+  }
+
+  private void joinErrors(KVReporter forked) throws IOException {
+    @Cleanup
+    val inputStream = new BufferedInputStream(new FileInputStream(forked.forkFile));
+    for (val error : forked.forkedErrors) {
+      if (isExhausted(error.getFileName())) {
+        ByteStreams.skipFully(inputStream, error.getLength());
+      } else {
+        ByteStreams.copy(ByteStreams.limit(inputStream, error.getLength()), outputStream);
+        countError(error.getFileName());
+      }
+    }
+  }
+
   public void reportUniquenessError(KVFileType fileType, String fileName, long lineNumber, KVKey pk) {
     reportError(fileType, fileName, lineNumber, UNIQUENESS, pk, null);
   }
@@ -109,12 +203,31 @@ public class KVReporter implements Closeable {
     reportError(fileType, fileName, SURJECTION_ERROR_LINE_NUMBER, SURJECTION, keys, referencedFileType);
   }
 
+  /**
+   * Whether the maximum number of errors of {@code fileName} has been reported, in which case any further error of it
+   * is dropped.
+   */
+  public boolean isExhausted(@NonNull String fileName) {
+    if (maxFileErrors <= 0) {
+      return false;
+    }
+
+    // Errors of a fork past the maximum of its parent would be dropped when joining
+    return fileErrorCounts.getOrDefault(fileName, 0L) >= maxFileErrors
+        || parent != null && parent.isExhausted(fileName);
+  }
+
   private void reportError(KVFileType fileType, String fileName, long lineNumber, KVErrorType errorType, KVKey keys,
       KVFileType referencedFileType) {
+    if (isExhausted(fileName)) {
+      return;
+    }
+
     log.debug("Reporting '{}' error at '({}, {}, {})': '{}'",
         new Object[] { errorType, fileType, fileName, lineNumber, keys });
+    countError(fileName);
 
-    persistError(error()
+    persistError(fileName, error()
         .fileName(fileName)
         .fieldNames(dictionary.getErrorFieldNames(fileType, errorType, referencedFileType))
         .params(getErrorParams(fileType, errorType, referencedFileType))
@@ -124,9 +237,20 @@ public class KVReporter implements Closeable {
         .build());
   }
 
+  private void countError(String fileName) {
+    fileErrorCounts.merge(fileName, 1L, Long::sum);
+  }
+
   @SneakyThrows
-  private void persistError(Error error) {
-    WRITER.writeValue(outputStream, error);
+  private void persistError(String fileName, Error error) {
+    if (forkedErrors == null) {
+      WRITER.writeValue(outputStream, error);
+      return;
+    }
+
+    val bytes = WRITER.writeValueAsBytes(error);
+    outputStream.write(bytes);
+    forkedErrors.add(new ForkedError(fileName, bytes.length));
   }
 
   private Object[] getErrorParams(KVFileType fileType, KVErrorType errorType,
@@ -157,4 +281,15 @@ public class KVReporter implements Closeable {
     throw new IllegalArgumentException(format("Unsupported error type %s", errorType));
   }
 
+  /**
+   * An error written to the file of a fork.
+   */
+  @Value
+  private static class ForkedError {
+
+    String fileName;
+    int length;
+
+  }
+
 }
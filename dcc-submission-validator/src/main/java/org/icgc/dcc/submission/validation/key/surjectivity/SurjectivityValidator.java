@@ -48,6 +48,7 @@ public class SurjectivityValidator {
         reporter,
         referencedFileType);
     log.info((valid ? "No" : "Some") + " surjection error found for file type '{}'", fileType);
+    log.info("Encountered foreign keys for '{}': {}", fileType, encounteredKeys);
   }
 
   private boolean validateSurjectionErrors(
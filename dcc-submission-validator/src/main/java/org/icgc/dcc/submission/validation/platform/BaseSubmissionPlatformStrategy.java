@@ -29,15 +29,19 @@ import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.toFilenameList;
 import static org.icgc.dcc.submission.validation.cascading.ValidationFields.OFFSET_FIELD;
 import static org.icgc.dcc.submission.validation.primary.core.Plan.MAX_CONCURRENT_FLOW_STEPS;
 
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.icgc.dcc.common.cascading.CascadingContext;
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.common.core.util.Extensions;
+import org.icgc.dcc.submission.core.util.ReadAheadInputStream;
+import org.icgc.dcc.submission.fs.StagedFiles;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 
 import com.google.common.io.LineReader;
@@ -154,8 +158,25 @@ public abstract class BaseSubmissionPlatformStrategy implements SubmissionPlatfo
     return new Path(submissionDir, fileName);
   }
 
+  /**
+   * Reads the staged copy of the file if there is one (see {@link StagedFiles}), decompressing the file itself
+   * otherwise.
+   */
+  @Override
+  @SneakyThrows
+  public InputStream readFile(String fileName) {
+    val file = StagedFiles.resolve(fileSystem, getFile(fileName));
+    val codec = new CompressionCodecFactory(fileSystem.getConf()).getCodec(file);
+    val inputStream = fileSystem.open(file);
+
+    return codec == null ? inputStream : new ReadAheadInputStream(codec.createInputStream(inputStream));
+  }
+
+  /**
+   * Path to read the content of the file from (see {@link StagedFiles}).
+   */
   protected String getFilePath(String fileName) {
-    return getFile(fileName).toUri().toString();
+    return StagedFiles.resolve(fileSystem, getFile(fileName)).toUri().toString();
   }
 
 }
@@ -34,6 +34,7 @@ import org.icgc.dcc.common.cascading.CascadingContext;
 import org.icgc.dcc.common.core.collect.Maps2;
 import org.icgc.dcc.submission.validation.cascading.TupleStateSerialization;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
+import org.icgc.dcc.submission.validation.primary.report.FieldStatisticsSerialization;
 
 import cascading.property.AppProps;
 import cascading.tuple.hadoop.TupleSerializationProps;
@@ -61,6 +62,7 @@ public class HadoopSubmissionPlatformStrategy extends BaseSubmissionPlatformStra
 
     // Custom serialization
     TupleSerializationProps.addSerialization(additionalFlowProperties, TupleStateSerialization.class.getName());
+    TupleSerializationProps.addSerialization(additionalFlowProperties, FieldStatisticsSerialization.class.getName());
 
     // M/R job entry point
     AppProps.setApplicationJarClass(additionalFlowProperties, this.getClass());
@@ -65,6 +65,11 @@ public interface SubmissionPlatformStrategy {
    */
   InputStream readReportTap(String fileName, FlowType type, String reportName);
 
+  /**
+   * Used to read the (decompressed) content of a submission file outside of a Flow.
+   */
+  InputStream readFile(String fileName);
+
   /**
    * TODO
    */
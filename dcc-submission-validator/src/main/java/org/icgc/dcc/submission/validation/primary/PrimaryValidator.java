@@ -20,10 +20,15 @@ package org.icgc.dcc.submission.validation.primary;
 import static com.google.common.collect.Iterables.size;
 import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
 
+import org.icgc.dcc.submission.validation.core.SynchronizedValidationContext;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
+import org.icgc.dcc.submission.validation.platform.LocalSubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.core.Plan;
 import org.icgc.dcc.submission.validation.primary.planner.Planner;
+import org.icgc.dcc.submission.validation.primary.restriction.RestrictionMatchers;
+import org.icgc.dcc.submission.validation.primary.restriction.RestrictionMatchers.Stats;
+import org.icgc.dcc.submission.validation.script.CompiledScripts;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import lombok.NonNull;
@@ -34,17 +39,35 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * {@code Validator} implementation that performs relation, restriction and data type validations using Cascading as the
  * execution platform.
+ * <p>
+ * In local mode, the validator can be configured to run fused row-based flow planners instead, which check and report
+ * on each file in a single loop without Cascading, {@code threads} files at a time.
  * 
  * @see https://groups.google.com/d/msg/cascading-user/gjxB2Bg-56w/R1h5lhn-g2IJ
  */
 @Slf4j
 public class PrimaryValidator implements Validator {
 
+  /**
+   * Dependencies.
+   */
   private final Planner planner;
 
+  /**
+   * Configuration.
+   */
+  private final boolean fused;
+  private final int threads;
+
   @Autowired
   public PrimaryValidator(@NonNull Planner planner) {
+    this(planner, false, 1);
+  }
+
+  public PrimaryValidator(@NonNull Planner planner, boolean fused, int threads) {
     this.planner = planner;
+    this.fused = fused;
+    this.threads = threads;
   }
 
   @Override
@@ -61,6 +84,17 @@ public class PrimaryValidator implements Validator {
     val dictionary = context.getDictionary();
     val platform = context.getPlatformStrategy();
 
+    // Matchers are looked up when planning
+    val matcherStats = RestrictionMatchers.getStats();
+    if (fused) {
+      if (platform instanceof LocalSubmissionPlatformStrategy) {
+        validateFused(context, matcherStats);
+        return;
+      }
+
+      log.info("Fused validation is only available in local mode, using Cascading for project '{}'", projectKey);
+    }
+
     // Plan
     log.info("Planning cascade for project '{}'", projectKey);
     Plan plan = planner.plan(projectKey, dataTypes, platform, dictionary);
@@ -76,8 +110,11 @@ public class PrimaryValidator implements Validator {
     try {
       // Start (blocking)
       log.info("Starting cascade for project '{}'", projectKey);
+      val scriptMetrics = CompiledScripts.getMetrics();
       plan.getCascade().complete();
       log.info("Finished cascade for project '{}'", projectKey);
+      CompiledScripts.logMetrics(scriptMetrics);
+      RestrictionMatchers.logStats(matcherStats);
       checkInterrupted(getName());
 
       // Report
@@ -95,4 +132,28 @@ public class PrimaryValidator implements Validator {
       throw t;
     }
   }
+
+  private void validateFused(ValidationContext context, Stats matcherStats) {
+    // Shorthands
+    val projectKey = context.getProjectKey();
+    ValidationContext reportContext = threads > 1 ? new SynchronizedValidationContext(context) : context;
+
+    // Plan
+    log.info("Planning fused validation for project '{}'", projectKey);
+    val plan = planner.plan(projectKey, context.getDataTypes(), context.getPlatformStrategy(), context.getDictionary(),
+        true);
+    log.info("Planned fused validation for project '{}', # of row-based flow planners: {}",
+        new Object[] { projectKey, size(plan.getRowBasedFlowPlanners()) });
+    checkInterrupted(getName());
+
+    // Execute and report (blocking)
+    log.info("Executing fused validation for project '{}' using {} threads", projectKey, threads);
+    val scriptMetrics = CompiledScripts.getMetrics();
+    plan.execute(reportContext, threads);
+    log.info("Finished fused validation for project '{}'", projectKey);
+    CompiledScripts.logMetrics(scriptMetrics);
+    RestrictionMatchers.logStats(matcherStats);
+    checkInterrupted(getName());
+  }
+
 }
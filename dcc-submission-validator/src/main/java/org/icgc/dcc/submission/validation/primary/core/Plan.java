@@ -20,7 +20,11 @@ package org.icgc.dcc.submission.validation.primary.core;
 import static com.google.common.collect.Iterables.unmodifiableIterable;
 import static com.google.common.collect.Maps.newHashMap;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.validation.core.ReportContext;
@@ -28,6 +32,10 @@ import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.planner.FileFlowPlanner;
 import org.icgc.dcc.submission.validation.primary.planner.RowBasedFlowPlanner;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import cascading.cascade.Cascade;
 import cascading.cascade.CascadeConnector;
 import cascading.cascade.CascadeDef;
@@ -102,6 +110,39 @@ public class Plan {
     }
   }
 
+  /**
+   * Executes a plan of fused flow planners (which process their file as their report is collected) instead of
+   * connecting and completing its cascade, {@code threads} files at a time. The {@code reportContext} must be
+   * thread-safe if {@code threads} is more than 1.
+   * <p>
+   * Returns early with the interrupted status set if the calling thread is interrupted.
+   */
+  public void execute(ReportContext reportContext, int threads) {
+    if (threads <= 1) {
+      collectSubmissionReport(reportContext);
+      return;
+    }
+
+    val executor = Executors.newFixedThreadPool(threads,
+        new ThreadFactoryBuilder().setNameFormat("primary-file-%d").setDaemon(true).build());
+    try {
+      List<Future<?>> tasks = Lists.newArrayList();
+      for (val planner : rowBasedFlowPlanners.values()) {
+        tasks.add(executor.submit(() -> planner.collectFileReport(platform, reportContext)));
+      }
+
+      for (val task : tasks) {
+        task.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   public Dictionary getDictionary() {
     return dictionary;
   }
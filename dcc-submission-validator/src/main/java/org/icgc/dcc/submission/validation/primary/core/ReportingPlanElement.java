@@ -17,6 +17,8 @@
  */
 package org.icgc.dcc.submission.validation.primary.core;
 
+import java.util.List;
+
 import org.icgc.dcc.submission.dictionary.model.SummaryType;
 import org.icgc.dcc.submission.validation.primary.report.ReportCollector;
 
@@ -39,4 +41,10 @@ public interface ReportingPlanElement extends PlanElement {
 
   ReportCollector getCollector();
 
+  /**
+   * Returns the equivalent of {@link #report(Pipe)} and {@link #getCollector()} for rows of the specified fields (see
+   * {@link RowReport}).
+   */
+  RowReport compile(List<String> fieldNames);
+
 }
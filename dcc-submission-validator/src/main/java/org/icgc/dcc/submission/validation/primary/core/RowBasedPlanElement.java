@@ -17,6 +17,8 @@
  */
 package org.icgc.dcc.submission.validation.primary.core;
 
+import java.util.List;
+
 import cascading.pipe.Pipe;
 
 /**
@@ -29,4 +31,9 @@ public interface RowBasedPlanElement extends PlanElement {
    */
   public Pipe extend(Pipe pipe);
 
+  /**
+   * Returns the equivalent of {@link #extend(Pipe)} for rows of the specified fields (see {@link RowCheck}).
+   */
+  public RowCheck compile(List<String> fieldNames);
+
 }
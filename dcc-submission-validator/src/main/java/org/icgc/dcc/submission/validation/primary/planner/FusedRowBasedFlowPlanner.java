@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.planner;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static java.lang.String.format;
+import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+import static org.icgc.dcc.submission.validation.primary.core.FlowType.ROW_BASED;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.validation.cascading.ForbiddenValuesFunction;
+import org.icgc.dcc.submission.validation.cascading.StructuralCheckFunction;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
+import org.icgc.dcc.submission.validation.core.ReportContext;
+import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
+import org.icgc.dcc.submission.validation.primary.PlanExecutionException;
+import org.icgc.dcc.submission.validation.primary.core.ReportingPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
+import org.icgc.dcc.submission.validation.primary.core.RowReport;
+import org.icgc.dcc.submission.validation.primary.visitor.PlanningVisitor;
+
+import com.google.common.base.Stopwatch;
+
+import cascading.flow.Flow;
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Alternative to {@link DefaultRowBasedFlowPlanner} that does not plan a {@link Flow}: the elements applied to it are
+ * compiled into {@link RowCheck}s and {@link RowReport}s, then run in a single loop over the lines of the file, each
+ * row being an array of field values rather than a tuple copied from one {@code Each} to the next.
+ * <p>
+ * Rows go through the same steps as in the row-based flow: empty lines and the header are skipped, the structural and
+ * forbidden values checks are applied, then the row checks (to structurally valid rows only) in the order the
+ * elements were applied, and the rows are finally accumulated by the reports. As in local mode, the offset of a row is
+ * its (0-based) line index.
+ * <p>
+ * There is no flow to connect: the file is processed when its report is collected.
+ */
+@Slf4j
+class FusedRowBasedFlowPlanner implements RowBasedFlowPlanner {
+
+  /**
+   * Constants.
+   */
+  private static final int BUFFER_SIZE = 1024 * 1024;
+  private static final int INTERRUPTION_CHECK_INTERVAL = 10000;
+
+  /**
+   * Configuration.
+   */
+  private final FileSchema fileSchema;
+  private final String fileName;
+
+  /**
+   * State.
+   */
+  private final List<RowBasedPlanElement> rowBasedPlanElements = newArrayList();
+  private final Map<String, ReportingPlanElement> reportingPlanElements = newLinkedHashMap();
+
+  FusedRowBasedFlowPlanner(@NonNull FileSchema fileSchema, @NonNull String fileName) {
+    this.fileSchema = fileSchema;
+    this.fileName = fileName;
+  }
+
+  @Override
+  public void acceptVisitor(PlanningVisitor<?> planningVisitor) {
+    // Same binding as for the other flow planners
+    planningVisitor.setFlowPlannerFileName(fileName);
+    fileSchema.accept(planningVisitor);
+    planningVisitor.unsetFlowPlannerFileName();
+  }
+
+  @Override
+  public void applyRowBasedPlanElement(RowBasedPlanElement element) {
+    checkArgument(element != null);
+    log.info("[{}] applying element [{}]", getName(), element.describe());
+    rowBasedPlanElements.add(element);
+  }
+
+  @Override
+  public void applyReportingPlanElement(ReportingPlanElement element) {
+    log.info("[{}] applying element [{}]", getName(), element.describe());
+    reportingPlanElements.put(element.getElementName(), element);
+  }
+
+  @Override
+  public Flow<?> connect(SubmissionPlatformStrategy platform) {
+    // Nothing to run in a cascade
+    return null;
+  }
+
+  /**
+   * Processes the file and reports on it.
+   */
+  @Override
+  public void collectFileReport(SubmissionPlatformStrategy platform, ReportContext context) {
+    val fieldNames = fileSchema.getFieldNames();
+    val checks = compileChecks(fieldNames);
+    val reports = compileReports(fieldNames);
+
+    val watch = Stopwatch.createStarted();
+    log.info("[{}] processing file with {} checks and {} reports",
+        new Object[] { getName(), checks.size(), reports.size() });
+    try {
+      @Cleanup
+      val reader = new BufferedReader(new InputStreamReader(platform.readFile(fileName), UTF_8), BUFFER_SIZE);
+      val rowCount = processLines(reader, fieldNames, checks, reports, context);
+      log.info("[{}] processed {} rows in {}", new Object[] { getName(), rowCount, watch });
+    } catch (IOException e) {
+      throw new PlanExecutionException("Error reading file " + fileName, e);
+    }
+
+    for (val report : reports) {
+      report.collect(platform, context);
+    }
+  }
+
+  private long processLines(BufferedReader reader, List<String> fieldNames, List<RowCheck> checks,
+      List<RowReport> reports, ReportContext context) throws IOException {
+    val structuralCheck = new StructuralCheckFunction(fieldNames);
+    val requiredFieldIndexes = getRequiredFieldIndexes(fieldNames);
+
+    long rowCount = 0;
+    long offset = 0;
+    for (String line; (line = reader.readLine()) != null; offset++) {
+      if (offset % INTERRUPTION_CHECK_INTERVAL == 0) {
+        checkInterrupted(getName());
+
+        if (context.isErrorBudgetExhausted(fileName)) {
+          log.warn("[{}] error budget exhausted, skipping the rows after offset {}", getName(), offset);
+          break;
+        }
+      }
+
+      val header = offset == 0;
+      if (line.isEmpty() || header) {
+        continue;
+      }
+
+      val state = new TupleState(offset);
+      val values = structuralCheck.checkLine(line, state).toArray();
+      for (val index : requiredFieldIndexes) {
+        ForbiddenValuesFunction.checkValue(fieldNames.get(index), (String) values[index], state);
+      }
+
+      if (state.isStructurallyValid()) {
+        for (val check : checks) {
+          check.check(values, state);
+        }
+      }
+
+      for (val report : reports) {
+        report.accumulate(values, state, context);
+      }
+
+      rowCount++;
+    }
+
+    return rowCount;
+  }
+
+  private List<RowCheck> compileChecks(List<String> fieldNames) {
+    List<RowCheck> checks = newArrayList();
+    for (val element : rowBasedPlanElements) {
+      checks.add(element.compile(fieldNames));
+    }
+
+    return checks;
+  }
+
+  private List<RowReport> compileReports(List<String> fieldNames) {
+    List<RowReport> reports = newArrayList();
+    for (val element : reportingPlanElements.values()) {
+      reports.add(element.compile(fieldNames));
+    }
+
+    return reports;
+  }
+
+  private List<Integer> getRequiredFieldIndexes(List<String> fieldNames) {
+    val requiredFieldNames = fileSchema.getRequiredFieldNames();
+
+    List<Integer> requiredFieldIndexes = newArrayList();
+    for (int i = 0; i < fieldNames.size(); i++) {
+      if (requiredFieldNames.contains(fieldNames.get(i))) {
+        requiredFieldIndexes.add(i);
+      }
+    }
+
+    return requiredFieldIndexes;
+  }
+
+  private String getName() {
+    return format("%s.%s", fileName, ROW_BASED);
+  }
+
+}
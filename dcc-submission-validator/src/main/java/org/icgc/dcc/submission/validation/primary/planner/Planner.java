@@ -25,6 +25,7 @@ import java.util.Set;
 
 import org.icgc.dcc.common.core.model.DataType;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.validation.core.ReportContext;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.core.Plan;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
@@ -53,10 +54,19 @@ public class Planner {
 
   public Plan plan(@NonNull String projectKey, @NonNull Collection<DataType> dataTypes,
       @NonNull SubmissionPlatformStrategy platform, @NonNull Dictionary dictionary) {
+    return plan(projectKey, dataTypes, platform, dictionary, false);
+  }
+
+  /**
+   * Plans with {@link FusedRowBasedFlowPlanner}s if {@code fused}, in which case the {@link Plan} is executed rather
+   * than connected (see {@link Plan#execute(ReportContext, int)}).
+   */
+  public Plan plan(@NonNull String projectKey, @NonNull Collection<DataType> dataTypes,
+      @NonNull SubmissionPlatformStrategy platform, @NonNull Dictionary dictionary, boolean fused) {
     val plan = new Plan(projectKey, dictionary, platform);
 
-    log.info("Including flow planners for '{}'", projectKey);
-    includeFlowPlanners(plan, projectKey, dataTypes, platform, dictionary);
+    log.info("Including {}flow planners for '{}'", fused ? "fused " : "", projectKey);
+    includeFlowPlanners(plan, projectKey, dataTypes, platform, dictionary, fused);
 
     log.info("Applying planning visitors for '{}'", projectKey);
     applyVisitors(plan, platform, projectKey);
@@ -70,7 +80,7 @@ public class Planner {
 
   private void includeFlowPlanners(
       Plan plan, String projectKey, Collection<DataType> dataTypes,
-      SubmissionPlatformStrategy platform, Dictionary dictionary) {
+      SubmissionPlatformStrategy platform, Dictionary dictionary, boolean fused) {
 
     // Selective validation filtering
     val fileSchemata = dictionary.getFileSchemata(dataTypes);
@@ -85,7 +95,9 @@ public class Planner {
               new Object[] { fileName, fileSchema.getName(), projectKey });
           plan.include(
               fileName,
-              new DefaultRowBasedFlowPlanner(fileSchema, fileName));
+              fused ?
+                  new FusedRowBasedFlowPlanner(fileSchema, fileName) :
+                  new DefaultRowBasedFlowPlanner(fileSchema, fileName));
         }
       }
     }
@@ -17,10 +17,10 @@
  */
 package org.icgc.dcc.submission.validation.primary.report;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.copyOf;
-import static com.google.common.collect.Iterables.transform;
-import static java.lang.String.format;
 import static org.icgc.dcc.submission.validation.cascading.CompletenessBy.COMPLETENESS;
+import static org.icgc.dcc.submission.validation.primary.report.FieldStatisticsBy.statisticsFieldName;
 
 import java.io.InputStream;
 import java.util.Iterator;
@@ -29,23 +29,34 @@ import java.util.Map;
 
 import org.icgc.dcc.submission.core.report.FieldReport;
 import org.icgc.dcc.submission.dictionary.model.SummaryType;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.TupleStates;
 import org.icgc.dcc.submission.validation.core.ReportContext;
 import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.PlanExecutionException;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.ReportingPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowReport;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.base.Function;
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.mongodb.BasicDBObject;
 
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.operation.Insert;
 import cascading.pipe.Each;
 import cascading.pipe.Pipe;
+import cascading.pipe.assembly.AggregateBy;
+import cascading.pipe.assembly.Discard;
 import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
 import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.SneakyThrows;
@@ -57,13 +68,9 @@ public abstract class BaseStatsReportingPlanElement implements ReportingPlanElem
 
   private static final ObjectMapper MAPPER = new ObjectMapper();
 
-  static final String FIELD = "field";
-  static final String VALUE = "value";
   static final String REPORT = "report";
-  static final Fields FIELD_FIELDS = new Fields(FIELD);
-  static final Fields VALUE_FIELDS = new Fields(VALUE);
-  static final Fields FIELD_VALUE_FIELDS = new Fields(FIELD, VALUE);
   static final Fields REPORT_FIELDS = new Fields(REPORT);
+  private static final Fields CONSTANT_FIELDS = new Fields("__constant__");
 
   protected final FlowType flowType;
   /**
@@ -87,21 +94,34 @@ public abstract class BaseStatsReportingPlanElement implements ReportingPlanElem
     this.fieldStatDigests = fieldStatDigests;
 
     // Extract the names
-    this.fieldNames = copyOf(transform(
-        fieldStatDigests.values(),
-        new Function<FieldStatDigest, String>() {
-
-          @Override
-          public String apply(FieldStatDigest fieldStatDigest) {
-            return fieldStatDigest.getName();
-          }
-        }));
+    this.fieldNames = copyOf(fieldStatDigests.keySet());
   }
 
   public Pipe keepStructurallyValidTuples(Pipe pipe) {
     return new Each(pipe, TupleStates.keepStructurallyValidTuplesFilter());
   }
 
+  /**
+   * Computes the statistics of all the fields in a single pass: every tuple is grouped under a constant so that
+   * {@link FieldStatisticsBy} sees them all, but since its partials are merged map side, a single tuple per task
+   * reaches the reducer.
+   */
+  @Override
+  public Pipe report(Pipe pipe) {
+    pipe = keepStructurallyValidTuples(pipe);
+    pipe = new Each(pipe, new Insert(CONSTANT_FIELDS, "1"), Fields.ALL);
+    pipe = new AggregateBy(pipe, CONSTANT_FIELDS, new FieldStatisticsBy(optionalSummaryType.orNull(), fieldNames));
+    pipe = new Discard(pipe, CONSTANT_FIELDS);
+    pipe = new Each(pipe, new FieldSummaryFunction(getReportedFieldNames()), REPORT_FIELDS);
+
+    return pipe;
+  }
+
+  @Override
+  public RowReport compile(List<String> rowFieldNames) {
+    return new StatsRowReport(rowFieldNames);
+  }
+
   @Override
   public String getElementName() {
     return optionalSummaryType.isPresent() ? optionalSummaryType.get().getDescription() : COMPLETENESS;
@@ -112,14 +132,17 @@ public abstract class BaseStatsReportingPlanElement implements ReportingPlanElem
     return String.format("%s-%s-%s", fileName, getElementName(), fieldNames);
   }
 
-  protected String getSubPipeName(String prefix) {
-    return format("%s_%s_pipe", fileName, prefix);
-  }
-
   public FlowType getFlowType() {
     return this.flowType;
   }
 
+  /**
+   * Returns the names of the fields in the order they are reported in.
+   */
+  protected List<String> getReportedFieldNames() {
+    return fieldNames;
+  }
+
   @Override
   public ReportCollector getCollector() {
     return new SummaryReportCollector(
@@ -175,13 +198,7 @@ public abstract class BaseStatsReportingPlanElement implements ReportingPlanElem
         val fieldSummary = getFieldSummaries(reportIntputStream);
 
         while (fieldSummary.hasNext()) {
-          val fieldReport = convert(fieldSummary.next());
-          val fieldName = fieldReport.getName();
-
-          val fieldStatDigest = fieldStatDigests.get(fieldName);
-          fieldReport.setType(fieldStatDigest.getSummaryType()); // May be null
-
-          context.reportField(fileName, fieldReport);
+          reportField(context, fileName, fieldStatDigests, fieldSummary.next());
         }
       } catch (Exception e) {
         log.error("Error processing file '{}'", fileName);
@@ -204,6 +221,98 @@ public abstract class BaseStatsReportingPlanElement implements ReportingPlanElem
 
   }
 
+  /**
+   * Outputs one {@link FieldSummary} per field, out of the statistics computed by {@link FieldStatisticsBy}.
+   */
+  @SuppressWarnings("rawtypes")
+  public static class FieldSummaryFunction extends BaseOperation implements Function {
+
+    private final List<String> fieldNames;
+
+    public FieldSummaryFunction(@NonNull List<String> fieldNames) {
+      super(REPORT_FIELDS);
+      this.fieldNames = ImmutableList.copyOf(fieldNames);
+    }
+
+    @Override
+    public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
+      TupleEntry entry = functionCall.getArguments();
+      for (String fieldName : fieldNames) {
+        FieldStatistics statistics = (FieldStatistics) entry.getObject(statisticsFieldName(fieldName));
+        functionCall.getOutputCollector().add(new Tuple(statistics.toFieldSummary(fieldName)));
+      }
+    }
+
+  }
+
+  /**
+   * {@link RowReport} of the stats reports: as with {@link #keepStructurallyValidTuples(Pipe)}, only structurally valid
+   * rows are accounted for. Nothing is reported for a file without any, since no tuple reaches the report tap then.
+   */
+  private class StatsRowReport implements RowReport {
+
+    /**
+     * Indexes in the row of the fields reported on (in the order of {@link #fieldNames}).
+     */
+    private final int[] indexes;
+    private final FieldStatistics[] statistics;
+    private long rowCount;
+
+    private StatsRowReport(@NonNull List<String> rowFieldNames) {
+      this.indexes = new int[fieldNames.size()];
+      this.statistics = new FieldStatistics[fieldNames.size()];
+      for (int i = 0; i < indexes.length; i++) {
+        indexes[i] = rowFieldNames.indexOf(fieldNames.get(i));
+        checkArgument(indexes[i] != -1, "Field '%s' not in '%s'", fieldNames.get(i), rowFieldNames);
+        statistics[i] = new FieldStatistics(optionalSummaryType.orNull());
+      }
+    }
+
+    @Override
+    public void accumulate(Object[] values, TupleState state, ReportContext context) {
+      if (!state.isStructurallyValid()) {
+        return;
+      }
+
+      rowCount++;
+      for (int i = 0; i < indexes.length; i++) {
+        statistics[i].accumulate(fieldNames.get(i), values[indexes[i]], state);
+      }
+    }
+
+    @Override
+    public void collect(SubmissionPlatformStrategy platform, ReportContext context) {
+      if (rowCount == 0) {
+        return;
+      }
+
+      for (val fieldName : getReportedFieldNames()) {
+        val fieldSummary = statistics[fieldNames.indexOf(fieldName)].toFieldSummary(fieldName);
+        reportField(context, fileName, fieldStatDigests, readBack(fieldSummary));
+      }
+    }
+
+  }
+
+  /**
+   * Returns {@code fieldSummary} as read back from a report tap (e.g. with integral values as {@code Integer}s).
+   */
+  @SneakyThrows
+  private static FieldSummary readBack(FieldSummary fieldSummary) {
+    return MAPPER.readValue(MAPPER.writeValueAsBytes(fieldSummary), FieldSummary.class);
+  }
+
+  private static void reportField(ReportContext context, String fileName,
+      Map<String, FieldStatDigest> fieldStatDigests, FieldSummary fieldSummary) {
+    val fieldReport = convert(fieldSummary);
+    val fieldName = fieldReport.getName();
+
+    val fieldStatDigest = fieldStatDigests.get(fieldName);
+    fieldReport.setType(fieldStatDigest.getSummaryType()); // May be null
+
+    context.reportField(fileName, fieldReport);
+  }
+
   public static FieldReport convert(FieldSummary fieldSummary) {
     val fieldReport = new FieldReport();
     fieldReport.setName(fieldSummary.field);
@@ -32,6 +32,10 @@ import java.util.Map;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.icgc.dcc.submission.core.util.ReadAheadInputStream;
+import org.icgc.dcc.submission.fs.LineIndex;
+import org.icgc.dcc.submission.fs.LineIndexes;
+import org.icgc.dcc.submission.fs.StagedFiles;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -78,11 +82,17 @@ public class ByteOffsetToLineNumber {
 
   @SneakyThrows
   private static Map<Long, Long> buildByteToLineOffsetMap(Path file, List<Long> sortedOffsets) {
+    val source = StagedFiles.resolve(fileSystem, file);
+    val index = getLineIndex(file, source);
+
+    @Cleanup
+    val seekableInputStream = index == null ? null : fileSystem.open(source);
     @Cleanup
-    val inputStream = createInputStream(file);
+    val inputStream = index == null ? createInputStream(source) : new DataInputStream(seekableInputStream);
 
     val mapping = Maps.<Long, Long> newLinkedHashMap();
     long previousOffset = 0;
+    long position = 0;
     long lineOffset = 1; // 1-based
 
     for (Long byteOffset : sortedOffsets) {
@@ -98,10 +108,22 @@ public class ByteOffsetToLineNumber {
           checkState(currentOffset > previousOffset,
               "Current offset %s is greater than previous offset %s", currentOffset, previousOffset);
 
-          lineOffset += countLinesInInterval(inputStream, previousOffset, currentOffset, lineOffset);
+          if (index != null) {
+            // Jump to the closest indexed line unless it is behind the current position
+            val entry = index.getEntry(currentOffset);
+            val entryOffset = index.getOffset(entry);
+            if (entryOffset > position) {
+              seekableInputStream.seek(entryOffset);
+              position = entryOffset;
+              lineOffset = index.getLineNumber(entry);
+            }
+          }
+
+          lineOffset += countLinesInInterval(inputStream, position, currentOffset, lineOffset);
           mapping.put(byteOffset, lineOffset);
 
           previousOffset = byteOffset;
+          position = currentOffset;
         }
       } catch (Exception e) {
         throw new IllegalStateException(
@@ -112,6 +134,20 @@ public class ByteOffsetToLineNumber {
     return mapping;
   }
 
+  /**
+   * Returns the line index recorded when {@code file} was first streamed, provided its content can be read at random
+   * from {@code source} (plain text or staged copy), {@code null} otherwise.
+   */
+  private static LineIndex getLineIndex(Path file, Path source) {
+    val index = LineIndexes.getLineIndex(fileSystem, file, source);
+    if (!index.isPresent()) {
+      return null;
+    }
+
+    log.info("Using line index of '{}' ({} entries)", file, index.get().size());
+    return index.get();
+  }
+
   private static long countLinesInInterval(DataInputStream is, long previousOffset, long currentOffset,
       long lineOffset) {
     long difference = currentOffset - previousOffset;
@@ -170,16 +206,17 @@ public class ByteOffsetToLineNumber {
     return buffer;
   }
 
-  private static DataInputStream createInputStream(Path file) {
+  private static DataInputStream createInputStream(Path source) {
     val factory = new CompressionCodecFactory(fileSystem.getConf());
 
     try {
-      val codec = factory.getCodec(file);
-      InputStream inputStream =
-          (codec == null) ? fileSystem.open(file) : codec.createInputStream(fileSystem.open(file));
+      val codec = factory.getCodec(source);
+      InputStream inputStream = (codec == null) ?
+          fileSystem.open(source) :
+          new ReadAheadInputStream(codec.createInputStream(fileSystem.open(source)));
       return new DataInputStream(inputStream);
     } catch (IOException e) {
-      throw new RuntimeException("Error reading: '" + file.toString() + "'", e);
+      throw new RuntimeException("Error reading: '" + source.toString() + "'", e);
     }
   }
 
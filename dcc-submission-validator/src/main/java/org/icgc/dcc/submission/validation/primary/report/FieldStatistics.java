@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.AVERAGE;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.FREQUENCY;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.MIN_MAX;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.UNIQUE_COUNT;
+import static org.icgc.dcc.submission.validation.cascading.MinMaxBy.MAX;
+import static org.icgc.dcc.submission.validation.cascading.MinMaxBy.MIN;
+import static org.icgc.dcc.submission.validation.primary.report.DeviationBy.AVG;
+import static org.icgc.dcc.submission.validation.primary.report.DeviationBy.STDDEV;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Set;
+import java.util.SortedMap;
+
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableUtils;
+import org.icgc.dcc.submission.dictionary.model.SummaryType;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
+import org.icgc.dcc.submission.validation.primary.report.BaseStatsReportingPlanElement.FieldSummary;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import lombok.val;
+
+/**
+ * Single-pass statistics of the values of a field, as reported for its {@link SummaryType} (completeness only if it has
+ * none):
+ * <ul>
+ * <li>completeness (nulls, missing and populated counts)</li>
+ * <li>min/max, and average and standard deviation (Welford's online algorithm) for {@link SummaryType#MIN_MAX} and
+ * {@link SummaryType#AVERAGE}</li>
+ * <li>frequencies of the populated values for {@link SummaryType#FREQUENCY}</li>
+ * <li>unique count for {@link SummaryType#UNIQUE_COUNT}, exact up to {@value #EXACT_UNIQUE_COUNT_LIMIT} values and
+ * estimated with a {@link HyperLogLog} sketch past that</li>
+ * </ul>
+ * Statistics are partial aggregates: those of disjoint sets of rows (e.g. computed map side) can be
+ * {@link #merge(FieldStatistics) merged} into those of their union.
+ * <p>
+ * Not thread-safe.
+ */
+public final class FieldStatistics {
+
+  /**
+   * Constants.
+   */
+  public static final String UCOUNT = "unique_count";
+  public static final int EXACT_UNIQUE_COUNT_LIMIT = 10000;
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+  private static final SummaryType[] SUMMARY_TYPES = SummaryType.values();
+
+  /**
+   * Configuration.
+   */
+  private final SummaryType summaryType;
+
+  /**
+   * Completeness.
+   */
+  private long nulls;
+  private long missing;
+  private long populated;
+
+  /**
+   * Moments of the numeric values.
+   */
+  private long count;
+  private double min;
+  private double max;
+  private double mean;
+  private double m2;
+
+  /**
+   * Frequencies of the populated values.
+   */
+  private final SortedMap<String, Long> frequencies;
+
+  /**
+   * Unique values, {@code null} included (exact set until the sketch takes over).
+   */
+  private boolean nullValue;
+  private Set<String> uniqueValues;
+  private HyperLogLog sketch;
+
+  /**
+   * @param summaryType may be {@code null} (completeness only)
+   */
+  public FieldStatistics(SummaryType summaryType) {
+    this.summaryType = summaryType;
+    this.frequencies = summaryType == FREQUENCY ? Maps.<String, Long> newTreeMap() : null;
+    this.uniqueValues = summaryType == UNIQUE_COUNT ? Sets.<String> newHashSet() : null;
+  }
+
+  public void accumulate(String fieldName, Object value, TupleState state) {
+    val populatedValue = value != null && !value.toString().isEmpty();
+    if (state.isFieldMissing(fieldName)) {
+      missing++;
+    } else if (populatedValue) {
+      populated++;
+    } else {
+      nulls++;
+    }
+
+    if (summaryType == MIN_MAX || summaryType == AVERAGE) {
+      if (populatedValue) {
+        // As coerced by MinMaxBy and DeviationBy
+        accumulateNumber(
+            value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString()));
+      }
+    } else if (summaryType == FREQUENCY) {
+      if (populatedValue) {
+        val key = value.toString();
+        val frequency = frequencies.get(key);
+        frequencies.put(key, frequency == null ? 1L : frequency + 1);
+      }
+    } else if (summaryType == UNIQUE_COUNT) {
+      if (value == null) {
+        nullValue = true;
+      } else {
+        accumulateUnique(value.toString());
+      }
+    }
+  }
+
+  public void merge(FieldStatistics other) {
+    nulls += other.nulls;
+    missing += other.missing;
+    populated += other.populated;
+
+    if (other.count > 0) {
+      mergeMoments(other);
+    }
+
+    if (frequencies != null) {
+      for (val entry : other.frequencies.entrySet()) {
+        val frequency = frequencies.get(entry.getKey());
+        frequencies.put(entry.getKey(), frequency == null ? entry.getValue() : frequency + entry.getValue());
+      }
+    }
+
+    if (summaryType == UNIQUE_COUNT) {
+      nullValue |= other.nullValue;
+      if (other.sketch != null) {
+        toSketch();
+        sketch.merge(other.sketch);
+      } else {
+        for (val uniqueValue : other.uniqueValues) {
+          accumulateUnique(uniqueValue);
+        }
+      }
+    }
+  }
+
+  public Double getMin() {
+    return count == 0 ? null : min;
+  }
+
+  public Double getMax() {
+    return count == 0 ? null : max;
+  }
+
+  public double getAverage() {
+    return count == 0 ? Double.NaN : mean;
+  }
+
+  /**
+   * Population standard deviation.
+   */
+  public double getDeviation() {
+    return count == 0 ? Double.NaN : Math.sqrt(m2 / count);
+  }
+
+  public long getUniqueCount() {
+    long uniqueCount = sketch == null ? uniqueValues.size() : sketch.estimate();
+
+    return nullValue ? uniqueCount + 1 : uniqueCount;
+  }
+
+  public boolean isUniqueCountExact() {
+    return sketch == null;
+  }
+
+  public FieldSummary toFieldSummary(String fieldName) {
+    val fieldSummary = new FieldSummary();
+    fieldSummary.field = fieldName;
+    fieldSummary.nulls = nulls;
+    fieldSummary.missing = missing;
+    fieldSummary.populated = populated;
+
+    val summary = fieldSummary.summary;
+    if (summaryType == MIN_MAX || summaryType == AVERAGE) {
+      summary.put(MIN, getMin());
+      summary.put(MAX, getMax());
+    }
+    if (summaryType == AVERAGE) {
+      summary.put(AVG, getAverage());
+      summary.put(STDDEV, getDeviation());
+    }
+    if (summaryType == FREQUENCY) {
+      summary.putAll(frequencies);
+    }
+    if (summaryType == UNIQUE_COUNT) {
+      summary.put(UCOUNT, getUniqueCount());
+    }
+
+    return fieldSummary;
+  }
+
+  /**
+   * Writes these statistics (see {@link FieldStatisticsSerialization}).
+   */
+  void write(DataOutput out) throws IOException {
+    WritableUtils.writeVInt(out, summaryType == null ? 0 : summaryType.ordinal() + 1);
+    WritableUtils.writeVLong(out, nulls);
+    WritableUtils.writeVLong(out, missing);
+    WritableUtils.writeVLong(out, populated);
+
+    if (summaryType == MIN_MAX || summaryType == AVERAGE) {
+      WritableUtils.writeVLong(out, count);
+      if (count > 0) {
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeDouble(mean);
+        out.writeDouble(m2);
+      }
+    } else if (summaryType == FREQUENCY) {
+      WritableUtils.writeVInt(out, frequencies.size());
+      for (val entry : frequencies.entrySet()) {
+        Text.writeString(out, entry.getKey());
+        WritableUtils.writeVLong(out, entry.getValue());
+      }
+    } else if (summaryType == UNIQUE_COUNT) {
+      out.writeBoolean(nullValue);
+      out.writeBoolean(sketch == null);
+      if (sketch == null) {
+        WritableUtils.writeVInt(out, uniqueValues.size());
+        for (val uniqueValue : uniqueValues) {
+          Text.writeString(out, uniqueValue);
+        }
+      } else {
+        out.write(sketch.getRegisters());
+      }
+    }
+  }
+
+  /**
+   * Reads statistics written by {@link #write(DataOutput)}.
+   */
+  static FieldStatistics read(DataInput in) throws IOException {
+    val summaryTypeOrdinal = WritableUtils.readVInt(in);
+    val statistics = new FieldStatistics(summaryTypeOrdinal == 0 ? null : SUMMARY_TYPES[summaryTypeOrdinal - 1]);
+    statistics.nulls = WritableUtils.readVLong(in);
+    statistics.missing = WritableUtils.readVLong(in);
+    statistics.populated = WritableUtils.readVLong(in);
+
+    val summaryType = statistics.summaryType;
+    if (summaryType == MIN_MAX || summaryType == AVERAGE) {
+      statistics.count = WritableUtils.readVLong(in);
+      if (statistics.count > 0) {
+        statistics.min = in.readDouble();
+        statistics.max = in.readDouble();
+        statistics.mean = in.readDouble();
+        statistics.m2 = in.readDouble();
+      }
+    } else if (summaryType == FREQUENCY) {
+      val size = WritableUtils.readVInt(in);
+      for (int i = 0; i < size; i++) {
+        statistics.frequencies.put(Text.readString(in), WritableUtils.readVLong(in));
+      }
+    } else if (summaryType == UNIQUE_COUNT) {
+      statistics.nullValue = in.readBoolean();
+      if (in.readBoolean()) {
+        val size = WritableUtils.readVInt(in);
+        for (int i = 0; i < size; i++) {
+          statistics.uniqueValues.add(Text.readString(in));
+        }
+      } else {
+        val registers = new byte[HyperLogLog.REGISTER_COUNT];
+        in.readFully(registers);
+        statistics.uniqueValues = null;
+        statistics.sketch = new HyperLogLog(registers);
+      }
+    }
+
+    return statistics;
+  }
+
+  private void accumulateNumber(double value) {
+    if (count == 0 || value < min) {
+      min = value;
+    }
+    if (count == 0 || value > max) {
+      max = value;
+    }
+
+    count++;
+    double delta = value - mean;
+    mean += delta / count;
+    m2 += delta * (value - mean);
+  }
+
+  /**
+   * Chan et al.'s pairwise update of the moments.
+   */
+  private void mergeMoments(FieldStatistics other) {
+    if (count == 0) {
+      count = other.count;
+      min = other.min;
+      max = other.max;
+      mean = other.mean;
+      m2 = other.m2;
+
+      return;
+    }
+
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+
+    long total = count + other.count;
+    double delta = other.mean - mean;
+    mean += delta * other.count / total;
+    m2 += other.m2 + delta * delta * count * other.count / total;
+    count = total;
+  }
+
+  private void accumulateUnique(String value) {
+    if (sketch != null) {
+      sketch.add(hash(value));
+    } else if (uniqueValues.add(value) && uniqueValues.size() > EXACT_UNIQUE_COUNT_LIMIT) {
+      toSketch();
+    }
+  }
+
+  private void toSketch() {
+    if (sketch != null) {
+      return;
+    }
+
+    sketch = new HyperLogLog();
+    for (val uniqueValue : uniqueValues) {
+      sketch.add(hash(uniqueValue));
+    }
+    uniqueValues = null;
+  }
+
+  private static long hash(String value) {
+    return HASH_FUNCTION.hashString(value, UTF_8).asLong();
+  }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static java.lang.String.format;
+import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD;
+
+import java.util.List;
+
+import org.icgc.dcc.submission.dictionary.model.SummaryType;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
+import org.icgc.dcc.submission.validation.cascading.ValidationFields;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.Aggregator;
+import cascading.operation.AggregatorCall;
+import cascading.operation.BaseOperation;
+import cascading.pipe.assembly.AggregateBy;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+import lombok.NonNull;
+
+/**
+ * Class FieldStatisticsBy computes the {@link FieldStatistics} of a set of fields in a single pass over the tuple
+ * stream, emitting them as the {@link #statisticsFieldName(String)} fields.
+ * <p/>
+ * Partial statistics are accumulated map side by {@link FieldStatisticsPartials} and merged reduce side by
+ * {@link FieldStatisticsFinal}, so that only one partial per task and group is shuffled whatever the number of fields.
+ *
+ * @see cascading.pipe.assembly.AggregateBy
+ */
+@SuppressWarnings("rawtypes")
+public class FieldStatisticsBy extends AggregateBy {
+
+  private static final long serialVersionUID = 1L;
+
+  public static String statisticsFieldName(String fieldName) {
+    return format("%s#statistics", fieldName);
+  }
+
+  private static String partialFieldName(String fieldName) {
+    return format("%s#partial", fieldName);
+  }
+
+  /**
+   * Class FieldStatisticsPartials is a {@link cascading.pipe.assembly.AggregateBy.Functor} that accumulates the
+   * statistics of each field, given the field values followed by the tuple state.
+   */
+  public static class FieldStatisticsPartials implements Functor {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SummaryType summaryType;
+    private final String[] fieldNames;
+    private final Fields declaredFields;
+
+    public FieldStatisticsPartials(SummaryType summaryType, String[] fieldNames) {
+      this.summaryType = summaryType;
+      this.fieldNames = fieldNames;
+      this.declaredFields = fields(fieldNames, false);
+    }
+
+    @Override
+    public Fields getDeclaredFields() {
+      return declaredFields;
+    }
+
+    @Override
+    public Tuple aggregate(FlowProcess flowProcess, TupleEntry args, Tuple context) {
+      if (context == null) {
+        context = Tuple.size(fieldNames.length);
+        for (int i = 0; i < fieldNames.length; i++) {
+          context.set(i, new FieldStatistics(summaryType));
+        }
+      }
+
+      TupleState state = ValidationFields.state(args);
+      for (int i = 0; i < fieldNames.length; i++) {
+        ((FieldStatistics) context.getObject(i)).accumulate(fieldNames[i], args.getObject(i), state);
+      }
+
+      return context;
+    }
+
+    @Override
+    public Tuple complete(FlowProcess flowProcess, Tuple context) {
+      return context;
+    }
+
+  }
+
+  /**
+   * Class FieldStatisticsFinal is used to merge the partials on the Reduce side of the process. It must be used in
+   * tandem with a {@link FieldStatisticsPartials} Functor.
+   */
+  public static class FieldStatisticsFinal extends BaseOperation<FieldStatistics[]> implements
+      Aggregator<FieldStatistics[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SummaryType summaryType;
+
+    public FieldStatisticsFinal(SummaryType summaryType, Fields fieldDeclaration) {
+      super(fieldDeclaration.size(), fieldDeclaration);
+      this.summaryType = summaryType;
+    }
+
+    @Override
+    public void start(FlowProcess flowProcess, AggregatorCall<FieldStatistics[]> aggregatorCall) {
+      FieldStatistics[] context = new FieldStatistics[fieldDeclaration.size()];
+      for (int i = 0; i < context.length; i++) {
+        context[i] = new FieldStatistics(summaryType);
+      }
+
+      aggregatorCall.setContext(context);
+    }
+
+    @Override
+    public void aggregate(FlowProcess flowProcess, AggregatorCall<FieldStatistics[]> aggregatorCall) {
+      FieldStatistics[] context = aggregatorCall.getContext();
+      TupleEntry arguments = aggregatorCall.getArguments();
+      for (int i = 0; i < context.length; i++) {
+        context[i].merge((FieldStatistics) arguments.getObject(i));
+      }
+    }
+
+    @Override
+    public void complete(FlowProcess flowProcess, AggregatorCall<FieldStatistics[]> aggregatorCall) {
+      FieldStatistics[] context = aggregatorCall.getContext();
+      Tuple result = Tuple.size(context.length);
+      for (int i = 0; i < context.length; i++) {
+        result.set(i, context[i]);
+      }
+
+      aggregatorCall.getOutputCollector().add(result);
+    }
+
+  }
+
+  /**
+   * Use this constructor when used with a {@link cascading.pipe.assembly.AggregateBy} instance.
+   *
+   * @param summaryType may be {@code null} (completeness only)
+   */
+  public FieldStatisticsBy(SummaryType summaryType, @NonNull List<String> fieldNames) {
+    this(summaryType, fieldNames.toArray(new String[fieldNames.size()]));
+  }
+
+  private FieldStatisticsBy(SummaryType summaryType, String[] fieldNames) {
+    super(
+        new Fields(fieldNames).append(STATE_FIELD),
+        new FieldStatisticsPartials(summaryType, fieldNames),
+        new FieldStatisticsFinal(summaryType, fields(fieldNames, true)));
+  }
+
+  private static Fields fields(String[] fieldNames, boolean statistics) {
+    String[] names = new String[fieldNames.length];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = statistics ? statisticsFieldName(fieldNames[i]) : partialFieldName(fieldNames[i]);
+    }
+
+    return new Fields(names);
+  }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.io.serializer.Deserializer;
+import org.apache.hadoop.io.serializer.Serialization;
+import org.apache.hadoop.io.serializer.Serializer;
+
+import cascading.tuple.hadoop.SerializationToken;
+
+/**
+ * Hadoop serialization of the {@link FieldStatistics} partials shuffled by {@link FieldStatisticsBy}.
+ */
+@SerializationToken(tokens = { 223 }, classNames = {
+    "org.icgc.dcc.submission.validation.primary.report.FieldStatistics" })
+public class FieldStatisticsSerialization extends Configured implements Serialization<FieldStatistics> {
+
+  public static class FieldStatisticsDeserializer implements Deserializer<FieldStatistics> {
+
+    private DataInputStream in;
+
+    @Override
+    public void open(InputStream in) throws IOException {
+      if (in instanceof DataInputStream) {
+        this.in = (DataInputStream) in;
+      } else {
+        this.in = new DataInputStream(in);
+      }
+    }
+
+    @Override
+    public FieldStatistics deserialize(FieldStatistics statistics) throws IOException {
+      return FieldStatistics.read(in);
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+
+  }
+
+  public static class FieldStatisticsSerializer implements Serializer<FieldStatistics> {
+
+    private DataOutputStream out;
+
+    @Override
+    public void open(OutputStream out) throws IOException {
+      if (out instanceof DataOutputStream) {
+        this.out = (DataOutputStream) out;
+      } else {
+        this.out = new DataOutputStream(out);
+      }
+    }
+
+    @Override
+    public void serialize(FieldStatistics statistics) throws IOException {
+      statistics.write(out);
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+
+  }
+
+  @Override
+  public boolean accept(Class<?> c) {
+    return FieldStatistics.class.isAssignableFrom(c);
+  }
+
+  @Override
+  public Serializer<FieldStatistics> getSerializer(Class<FieldStatistics> c) {
+    return new FieldStatisticsSerializer();
+  }
+
+  @Override
+  public Deserializer<FieldStatistics> getDeserializer(Class<FieldStatistics> c) {
+    return new FieldStatisticsDeserializer();
+  }
+
+}
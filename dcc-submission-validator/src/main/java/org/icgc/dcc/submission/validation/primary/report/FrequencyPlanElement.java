@@ -19,160 +19,30 @@ package org.icgc.dcc.submission.validation.primary.report;
 
 import static org.icgc.dcc.submission.dictionary.model.SummaryType.FREQUENCY;
 
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
-import org.icgc.dcc.submission.validation.cascading.TupleState;
-import org.icgc.dcc.submission.validation.cascading.ValidationFields;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.Ordering;
 
-import cascading.flow.FlowProcess;
-import cascading.operation.BaseOperation;
-import cascading.operation.Buffer;
-import cascading.operation.BufferCall;
-import cascading.operation.Function;
-import cascading.operation.FunctionCall;
-import cascading.operation.Insert;
-import cascading.pipe.Each;
-import cascading.pipe.Every;
-import cascading.pipe.GroupBy;
-import cascading.pipe.Merge;
-import cascading.pipe.Pipe;
-import cascading.pipe.assembly.CountBy;
-import cascading.pipe.assembly.Rename;
-import cascading.pipe.assembly.Retain;
-import cascading.tuple.Fields;
-import cascading.tuple.Tuple;
-import cascading.tuple.TupleEntry;
-
+/**
+ * Plans frequency reporting: the frequency of each populated value of the fields, in the order of the values.
+ */
 public final class FrequencyPlanElement extends BaseStatsReportingPlanElement {
 
-  private static final String FREQ = "freq";
-  private static final String MISSING_FLAG = "missing?";
-
   public FrequencyPlanElement(
       FlowType flowType, String fileName, Map<String, FieldStatDigest> fieldStatDigests) {
     super(flowType, Optional.of(FREQUENCY), fileName, fieldStatDigests);
   }
 
-  @Override
-  public Pipe report(Pipe pipe) {
-    pipe = keepStructurallyValidTuples(pipe);
-
-    Pipe[] freqs = new Pipe[fieldNames.size()];
-    int i = 0;
-    for (String fieldName : fieldNames) {
-      freqs[i++] = frequency(fieldName, pipe);
-    }
-    pipe = new Merge(freqs);
-    pipe = new GroupBy(pipe, new Fields(FIELD));
-    pipe = new Every(pipe, new Fields(VALUE, FREQ, MISSING_FLAG), new FrequencySummaryBuffer(), REPORT_FIELDS);
-    return pipe;
-  }
-
   /**
-   * - keep only the field of interest "my_field" and "_state"<br/>
-   * - replace "_state" with boolean "missing?"<br/>
-   * - rename "my_field" to "value"<br/>
-   * - count by the combination of "value"+"missing?" and store results into "freq" (we need to keep track of "missing?"
-   * for completeness reporting...)<br/>
-   * - insert "my_field" as a value (instead of an {@code Fields} as it originally was)<br/>
-   * <br/>
-   * Output is like:
-   * <table>
-   * <tr>
-   * <td>"field"</td>
-   * <td>"value"</td>
-   * <td>"missing?"</td>
-   * <td>"freq"</td>
-   * </tr>
-   * <tr>
-   * <td>f1</td>
-   * <td>abc</td>
-   * <td>false</td>
-   * <td>5</td>
-   * </tr>
-   * <tr>
-   * <td>f1</td>
-   * <td>null</td>
-   * <td>true</td>
-   * <td>8</td>
-   * </tr>
-   * <tr>
-   * <td>f1</td>
-   * <td>def</td>
-   * <td>fasle</td>
-   * <td>4</td>
-   * </tr>
-   * </table>
+   * Fields are reported in the order of their names.
    */
-  protected Pipe frequency(String field, Pipe pipe) {
-    pipe = new Pipe(getSubPipeName(FREQ + "_" + field), pipe);
-    pipe = new Retain(pipe, new Fields(field).append(ValidationFields.STATE_FIELD));
-    pipe = new Each(pipe, ValidationFields.STATE_FIELD, new MissingFlaggerFunction(field), Fields.SWAP);
-    pipe = new Rename(pipe, new Fields(field), new Fields(VALUE));
-    pipe = new CountBy(pipe, new Fields(VALUE, MISSING_FLAG), new Fields(FREQ));
-    pipe = new Each(pipe, new Insert(new Fields(FIELD), field), new Fields(FIELD, VALUE, MISSING_FLAG, FREQ));
-    return pipe;
-  }
-
-  @SuppressWarnings("rawtypes")
-  static class MissingFlaggerFunction extends BaseOperation implements Function {
-
-    private final String fieldName;
-
-    public MissingFlaggerFunction(String fieldName) {
-      super(1, new Fields(MISSING_FLAG));
-      this.fieldName = fieldName;
-    }
-
-    @Override
-    public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
-      TupleEntry entry = functionCall.getArguments();
-      TupleState state = ValidationFields.state(entry);
-      functionCall.getOutputCollector().add(new Tuple(state.isFieldMissing(fieldName)));
-    }
+  @Override
+  protected List<String> getReportedFieldNames() {
+    return Ordering.natural().sortedCopy(fieldNames);
   }
 
-  /**
-   * This also populates {@code FieldSummary}'s fields populated, missing and nulls, which collectively represent what
-   * we refer to as "completeness".
-   * <p>
-   * FIXME?: There is some logic in here that is redundant with that of {@code CompletenessBy}... (see DCC-770)
-   */
-  @SuppressWarnings("rawtypes")
-  public static class FrequencySummaryBuffer extends BaseOperation implements Buffer {
-
-    public FrequencySummaryBuffer() {
-      super(3, REPORT_FIELDS);
-    }
-
-    @Override
-    public void operate(FlowProcess flowProcess, BufferCall bufferCall) {
-      @SuppressWarnings("unchecked")
-      Iterator<TupleEntry> tuples = bufferCall.getArgumentsIterator();
-      FieldSummary fs = new FieldSummary();
-      fs.field = bufferCall.getGroup().getString(0);
-      while (tuples.hasNext()) {
-        TupleEntry tuple = tuples.next();
-        String value = tuple.getString(0); // TODO: use field names...
-        Long frequency = tuple.getLong(1);
-        if (value == null) {
-          if (tuple.getBoolean(MISSING_FLAG)) {
-            fs.missing += frequency;
-          } else {
-            fs.nulls += frequency;
-          }
-        } else if (value.isEmpty()) {
-          fs.nulls += frequency;
-        } else {
-          fs.populated += frequency;
-          fs.summary.put(value, frequency);
-        }
-      }
-      bufferCall.getOutputCollector().add(new Tuple(fs));
-    }
-  }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Minimal HyperLogLog sketch of a set of 64 bits hashes, used to estimate unique counts past the exact limit of
+ * {@link FieldStatistics}.
+ * <p>
+ * With {@value #PRECISION} bits of precision (16KB of registers) the standard error is about 0.8%. Small cardinalities
+ * are estimated by linear counting.
+ */
+final class HyperLogLog {
+
+  /**
+   * Constants.
+   */
+  static final int PRECISION = 14;
+  static final int REGISTER_COUNT = 1 << PRECISION;
+  private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+  /**
+   * State.
+   */
+  private final byte[] registers;
+
+  HyperLogLog() {
+    this(new byte[REGISTER_COUNT]);
+  }
+
+  HyperLogLog(byte[] registers) {
+    checkArgument(registers.length == REGISTER_COUNT, "Expected %s registers, got %s", REGISTER_COUNT,
+        registers.length);
+    this.registers = registers;
+  }
+
+  void add(long hash) {
+    int index = (int) (hash >>> (Long.SIZE - PRECISION));
+
+    // Position of the leftmost 1 in the remaining bits, the sentinel bit bounding it
+    long remaining = hash << PRECISION | 1L << (PRECISION - 1);
+    byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+    if (rank > registers[index]) {
+      registers[index] = rank;
+    }
+  }
+
+  void merge(HyperLogLog other) {
+    for (int i = 0; i < REGISTER_COUNT; i++) {
+      if (other.registers[i] > registers[i]) {
+        registers[i] = other.registers[i];
+      }
+    }
+  }
+
+  long estimate() {
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += Math.scalb(1.0, -register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+
+    double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+    if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+      estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+    }
+
+    return Math.round(estimate);
+  }
+
+  /**
+   * The registers as is (see {@link FieldStatisticsSerialization}).
+   */
+  byte[] getRegisters() {
+    return registers;
+  }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.restriction;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import org.icgc.dcc.submission.dictionary.model.CodeList;
+
+import com.google.common.collect.ImmutableSet;
+
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Membership test of the codes and values of a {@link CodeList}, as a single immutable hash set (see
+ * {@link RestrictionMatchers#codeList(CodeList)} for the shared instances).
+ */
+public final class CodeListMatcher implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * State.
+   */
+  private final ImmutableSet<String> terms;
+
+  CodeListMatcher(@NonNull CodeList codeList) {
+    val terms = ImmutableSet.<String> builder();
+    for (val term : codeList.getTerms()) {
+      add(terms, term.getCode());
+      add(terms, term.getValue());
+    }
+
+    this.terms = terms.build();
+  }
+
+  CodeListMatcher(@NonNull Set<String> codes, @NonNull Set<String> values) {
+    // TODO: see note in DCC-904 (values are accepted as well as codes)
+    this.terms = ImmutableSet.<String> builder().addAll(codes).addAll(values).build();
+  }
+
+  /**
+   * Whether {@code value} is one of the codes or values of the code list.
+   */
+  public boolean matches(@NonNull String value) {
+    return terms.contains(value);
+  }
+
+  public int size() {
+    return terms.size();
+  }
+
+  private static void add(ImmutableSet.Builder<String> terms, String term) {
+    if (term != null) {
+      terms.add(term);
+    }
+  }
+
+}
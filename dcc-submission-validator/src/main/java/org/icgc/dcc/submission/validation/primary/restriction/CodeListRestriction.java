@@ -17,14 +17,17 @@
  */
 package org.icgc.dcc.submission.validation.primary.restriction;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
-import org.icgc.dcc.submission.dictionary.model.Term;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
@@ -34,12 +37,11 @@ import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.FieldRestrictionParameter;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.ParameterType;
 import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
 import org.icgc.dcc.submission.validation.primary.planner.PlanningException;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.google.common.base.Optional;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Sets;
 
 import cascading.flow.FlowProcess;
 import cascading.operation.BaseOperation;
@@ -49,6 +51,7 @@ import cascading.pipe.Each;
 import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
+import lombok.val;
 
 public class CodeListRestriction implements RowBasedPlanElement {
 
@@ -66,28 +69,12 @@ public class CodeListRestriction implements RowBasedPlanElement {
 
   private final String codeListName;
 
-  private final Set<String> codes;
-
-  private final Set<String> values;
+  private final CodeListMatcher matcher;
 
   protected CodeListRestriction(String field, CodeList codeList) {
     this.field = field;
     this.codeListName = codeList.getName();
-    List<Term> terms = codeList.getTerms();
-    codes = Sets.newHashSet(Iterables.transform(terms, new com.google.common.base.Function<Term, String>() {
-
-      @Override
-      public String apply(Term term) {
-        return term.getCode();
-      }
-    }));
-    values = Sets.newHashSet(Iterables.transform(terms, new com.google.common.base.Function<Term, String>() {
-
-      @Override
-      public String apply(Term term) {
-        return term.getValue();
-      }
-    }));
+    this.matcher = RestrictionMatchers.codeList(codeList);
   }
 
   @Override
@@ -97,7 +84,16 @@ public class CodeListRestriction implements RowBasedPlanElement {
 
   @Override
   public Pipe extend(Pipe pipe) {
-    return new Each(pipe, new ValidationFields(field), new InCodeListFunction(codes, values), Fields.REPLACE);
+    return new Each(pipe, new ValidationFields(field), new InCodeListFunction(matcher), Fields.REPLACE);
+  }
+
+  @Override
+  public RowCheck compile(List<String> fieldNames) {
+    val index = fieldNames.indexOf(field);
+    checkArgument(index != -1, "Field '%s' not in '%s'", field, fieldNames);
+    val function = new InCodeListFunction(matcher);
+
+    return (row, state) -> function.check(field, Objects.toString(row[index], null), state);
   }
 
   public static class Type implements RestrictionType {
@@ -147,14 +143,15 @@ public class CodeListRestriction implements RowBasedPlanElement {
   @SuppressWarnings("rawtypes")
   public static class InCodeListFunction extends BaseOperation implements Function {
 
-    private final Set<String> codes;
-
-    private final Set<String> values;
+    private final CodeListMatcher matcher;
 
     protected InCodeListFunction(Set<String> codes, Set<String> values) {
+      this(new CodeListMatcher(codes, values));
+    }
+
+    protected InCodeListFunction(CodeListMatcher matcher) {
       super(2, Fields.ARGS);
-      this.codes = codes;
-      this.values = values;
+      this.matcher = matcher;
     }
 
     @Override
@@ -162,14 +159,17 @@ public class CodeListRestriction implements RowBasedPlanElement {
       TupleEntry tupleEntry = functionCall.getArguments();
       Object object = tupleEntry.getObject(0);
       String value = object == null ? null : object.toString();
-      if (value != null && codes.contains(value) == false && values.contains(value) == false) { // TODO: see note in
-                                                                                                // DCC-904
-        Object fieldName = tupleEntry.getFields().get(0);
-        ValidationFields.state(tupleEntry).reportError(ErrorType.CODELIST_ERROR, fieldName.toString(), value);
-      }
+      Object fieldName = tupleEntry.getFields().get(0);
+      check(fieldName.toString(), value, ValidationFields.state(tupleEntry));
       functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
     }
 
+    void check(String fieldName, String value, TupleState state) {
+      if (value != null && matcher.matches(value) == false) {
+        state.reportError(ErrorType.CODELIST_ERROR, fieldName, value);
+      }
+    }
+
   }
 
 }
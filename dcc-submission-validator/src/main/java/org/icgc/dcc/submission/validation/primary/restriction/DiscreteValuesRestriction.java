@@ -17,12 +17,17 @@
  */
 package org.icgc.dcc.submission.validation.primary.restriction;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
@@ -31,6 +36,7 @@ import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.FieldRestrictionParameter;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.ParameterType;
 import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
 
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableSet;
@@ -44,6 +50,7 @@ import cascading.pipe.Each;
 import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
+import lombok.val;
 
 public class DiscreteValuesRestriction implements RowBasedPlanElement {
 
@@ -72,6 +79,15 @@ public class DiscreteValuesRestriction implements RowBasedPlanElement {
     return new Each(pipe, new ValidationFields(field), new InValuesFunction(values), Fields.REPLACE);
   }
 
+  @Override
+  public RowCheck compile(List<String> fieldNames) {
+    val index = fieldNames.indexOf(field);
+    checkArgument(index != -1, "Field '%s' not in '%s'", field, fieldNames);
+    val function = new InValuesFunction(values);
+
+    return (row, state) -> function.check(field, Objects.toString(row[index], null), state);
+  }
+
   public static class Type implements RestrictionType {
 
     private final RestrictionTypeSchema schema = new RestrictionTypeSchema(//
@@ -120,12 +136,15 @@ public class DiscreteValuesRestriction implements RowBasedPlanElement {
     public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
       TupleEntry tupleEntry = functionCall.getArguments();
       String value = tupleEntry.getString(0);
+      Object fieldName = tupleEntry.getFields().get(0);
+      check(fieldName.toString(), value, ValidationFields.state(tupleEntry));
+      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
+    }
+
+    void check(String fieldName, String value, TupleState state) {
       if (value != null && values.contains(value) == false) {
-        Object fieldName = tupleEntry.getFields().get(0);
-        ValidationFields.state(tupleEntry).reportError(ErrorType.DISCRETE_VALUES_ERROR, fieldName.toString(),
-            value, values);
+        state.reportError(ErrorType.DISCRETE_VALUES_ERROR, fieldName, value, values);
       }
-      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
     }
 
   }
@@ -17,11 +17,15 @@
  */
 package org.icgc.dcc.submission.validation.primary.restriction;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
+import java.util.List;
+
 import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
@@ -30,6 +34,7 @@ import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.FieldRestrictionParameter;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.ParameterType;
 import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
 import org.icgc.dcc.submission.validation.primary.visitor.ValueTypePlanningVisitor;
 
 import com.mongodb.DBObject;
@@ -42,6 +47,7 @@ import cascading.pipe.Each;
 import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
+import lombok.val;
 
 /**
  * Must happen after {@link ValueTypePlanningVisitor} to ensure data types are correct to begin with.
@@ -76,6 +82,15 @@ public class RangeFieldRestriction implements RowBasedPlanElement {
     return new Each(pipe, new ValidationFields(field), new RangeFunction(min, max), Fields.REPLACE);
   }
 
+  @Override
+  public RowCheck compile(List<String> fieldNames) {
+    val index = fieldNames.indexOf(field);
+    checkArgument(index != -1, "Field '%s' not in '%s'", field, fieldNames);
+    val function = new RangeFunction(min, max);
+
+    return (row, state) -> function.check(field, row[index], state);
+  }
+
   public static class Type implements RestrictionType {
 
     private final RestrictionTypeSchema schema = new RestrictionTypeSchema(//
@@ -132,17 +147,21 @@ public class RangeFieldRestriction implements RowBasedPlanElement {
 
       Object fieldName = tupleEntry.getFields().get(0);
 
+      check(fieldName.toString(), value, ValidationFields.state(tupleEntry));
+
+      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
+    }
+
+    void check(String fieldName, Object value, TupleState state) {
       if (isValue(value)) { // Nothing to check if there is no value (null or empty string)
         checkState(value instanceof Number, "Value is expected to be a number at this point, instead got '%s'", value);
         Number num = (Number) value;
         if (num.longValue() < this.min.longValue() || num.longValue() > this.max.longValue()) {
 
-          ValidationFields.state(tupleEntry).reportError(ErrorType.OUT_OF_RANGE_ERROR, fieldName.toString(),
-              num.longValue(), min.longValue(), max.longValue());
+          state.reportError(ErrorType.OUT_OF_RANGE_ERROR, fieldName, num.longValue(), min.longValue(),
+              max.longValue());
         }
       }
-
-      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
     }
 
     private boolean isValue(Object value) {
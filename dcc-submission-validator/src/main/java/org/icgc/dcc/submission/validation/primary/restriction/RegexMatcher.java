@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.restriction;
+
+import java.io.Serializable;
+import java.util.regex.Pattern;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Full match of a regular expression, compiled once (see {@link RestrictionMatchers#regex(String)} for the shared
+ * instances).
+ * <p>
+ * Patterns that are anchored literals or alternations of literals (e.g. {@code ^(yes|no)$}) are matched by hash set
+ * membership rather than by the regex engine.
+ */
+public final class RegexMatcher implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constants.
+   */
+  private static final CharMatcher METACHARACTERS = CharMatcher.anyOf("\\^$.|?*+()[]{}");
+
+  /**
+   * Configuration.
+   */
+  @Getter
+  private final String pattern;
+
+  /**
+   * State.
+   */
+  private final Pattern compiledPattern;
+  private final ImmutableSet<String> literals;
+
+  RegexMatcher(@NonNull String pattern) {
+    this.pattern = pattern;
+    this.compiledPattern = Pattern.compile(pattern);
+    this.literals = literals(pattern);
+  }
+
+  /**
+   * Same as {@code Pattern.compile(pattern).matcher(value).matches()}.
+   */
+  public boolean matches(@NonNull String value) {
+    if (literals != null) {
+      return literals.contains(value);
+    }
+
+    return compiledPattern.matcher(value).matches();
+  }
+
+  public boolean isLiteral() {
+    return literals != null;
+  }
+
+  /**
+   * Returns the strings {@code pattern} fully matches if it is made of literals only, {@code null} otherwise.
+   */
+  private static ImmutableSet<String> literals(String pattern) {
+    // Anchors are implied by full matches
+    String body = pattern;
+    if (body.startsWith("^")) {
+      body = body.substring(1);
+    }
+    if (body.endsWith("$") && !body.endsWith("\\$")) {
+      body = body.substring(0, body.length() - 1);
+    }
+
+    // At most one group around the alternation
+    if (body.startsWith("(?:") && body.endsWith(")")) {
+      body = body.substring(3, body.length() - 1);
+    } else if (body.startsWith("(") && body.endsWith(")")) {
+      body = body.substring(1, body.length() - 1);
+    }
+
+    val literals = ImmutableSet.<String> builder();
+    for (val alternative : Splitter.on('|').split(body)) {
+      if (METACHARACTERS.matchesAnyOf(alternative)) {
+        return null;
+      }
+
+      literals.add(alternative);
+    }
+
+    return literals.build();
+  }
+
+}
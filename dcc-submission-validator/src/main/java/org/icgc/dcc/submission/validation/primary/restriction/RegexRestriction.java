@@ -17,14 +17,17 @@
  */
 package org.icgc.dcc.submission.validation.primary.restriction;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.icgc.dcc.submission.core.report.ErrorType.REGEX_ERROR;
 import static org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.ParameterType.TEXT;
 
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.Objects;
 
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
@@ -32,6 +35,7 @@ import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.FieldRestrictionParameter;
 import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
 
 import com.mongodb.BasicDBObject;
 
@@ -43,6 +47,7 @@ import cascading.pipe.Each;
 import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
+import lombok.val;
 
 public class RegexRestriction implements RowBasedPlanElement {
 
@@ -73,6 +78,15 @@ public class RegexRestriction implements RowBasedPlanElement {
     return new Each(pipe, new ValidationFields(field), new RegexFunction(field, patternString), Fields.REPLACE);
   }
 
+  @Override
+  public RowCheck compile(List<String> fieldNames) {
+    val index = fieldNames.indexOf(field);
+    checkArgument(index != -1, "Field '%s' not in '%s'", field, fieldNames);
+    val function = new RegexFunction(field, patternString);
+
+    return (row, state) -> function.check(Objects.toString(row[index], null), state);
+  }
+
   public static class Type implements RestrictionType {
 
     private final RestrictionTypeSchema schema = new RestrictionTypeSchema(//
@@ -111,22 +125,26 @@ public class RegexRestriction implements RowBasedPlanElement {
 
     private final String fieldname;
 
-    private final Pattern pattern;
+    private final RegexMatcher matcher;
 
     protected RegexFunction(String fieldname, String patternString) {
       super(2, Fields.ARGS);
       this.fieldname = fieldname;
-      this.pattern = Pattern.compile(patternString);
+      this.matcher = RestrictionMatchers.regex(patternString);
     }
 
     @Override
     public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
       TupleEntry tupleEntry = functionCall.getArguments();
       String value = tupleEntry.getString(fieldname);
-      if (value != null && pattern.matcher(value).matches() == false) {
-        ValidationFields.state(tupleEntry).reportError(REGEX_ERROR, fieldname, value, pattern.pattern());
-      }
+      check(value, ValidationFields.state(tupleEntry));
       functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
     }
+
+    void check(String value, TupleState state) {
+      if (value != null && matcher.matches(value) == false) {
+        state.reportError(REGEX_ERROR, fieldname, value, matcher.getPattern());
+      }
+    }
   }
 }
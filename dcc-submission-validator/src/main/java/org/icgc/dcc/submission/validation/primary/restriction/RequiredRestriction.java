@@ -17,15 +17,22 @@
  */
 package org.icgc.dcc.submission.validation.primary.restriction;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.List;
+import java.util.Objects;
+
 import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.dictionary.model.Field;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.PlanElement;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionType;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
 import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
 
 import cascading.flow.FlowProcess;
 import cascading.operation.BaseOperation;
@@ -35,6 +42,7 @@ import cascading.pipe.Each;
 import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
 import cascading.tuple.TupleEntry;
+import lombok.val;
 
 public class RequiredRestriction implements RowBasedPlanElement {
 
@@ -62,6 +70,15 @@ public class RequiredRestriction implements RowBasedPlanElement {
         Fields.REPLACE);
   }
 
+  @Override
+  public RowCheck compile(List<String> fieldNames) {
+    val index = fieldNames.indexOf(field);
+    checkArgument(index != -1, "Field '%s' not in '%s'", field, fieldNames);
+    val function = new SpecifiedFunction(this.isAcceptMissingCode());
+
+    return (row, state) -> function.check(field, Objects.toString(row[index], null), state);
+  }
+
   private boolean isAcceptMissingCode() {
     return acceptMissingCode;
   }
@@ -116,21 +133,20 @@ public class RequiredRestriction implements RowBasedPlanElement {
     public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
       TupleEntry tupleEntry = functionCall.getArguments();
       String value = tupleEntry.getString(0);
+      Object fieldName = tupleEntry.getFields().get(0);
+      check(fieldName.toString(), value, ValidationFields.state(tupleEntry));
+      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
+    }
 
-      boolean isFieldMissing =
-          ValidationFields.state(tupleEntry).isFieldMissing((String) tupleEntry.getFields().get(0));
+    void check(String fieldName, String value, TupleState state) {
+      boolean isFieldMissing = state.isFieldMissing(fieldName);
       // TODO The IF conditions seem to lead to the same thing
       // TODO: DCC-1076 - This should also check for -999 rather than have {@link ForbiddenValuesFunction} do it.
       if (isFieldMissing == false && (value == null || value.isEmpty())) {
-        Object fieldName = tupleEntry.getFields().get(0);
-        ValidationFields.state(tupleEntry).reportError(ErrorType.MISSING_VALUE_ERROR, fieldName.toString(),
-            value);
+        state.reportError(ErrorType.MISSING_VALUE_ERROR, fieldName, value);
       } else if (isFieldMissing == true && !acceptMissingCode) {
-        Object fieldName = tupleEntry.getFields().get(0);
-        ValidationFields.state(tupleEntry).reportError(ErrorType.MISSING_VALUE_ERROR, fieldName.toString(),
-            value);
+        state.reportError(ErrorType.MISSING_VALUE_ERROR, fieldName, value);
       }
-      functionCall.getOutputCollector().add(tupleEntry.getTupleCopy());
     }
 
   }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.restriction;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import org.icgc.dcc.submission.dictionary.model.CodeList;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JVM wide registry of the {@link CodeListMatcher}s and {@link RegexMatcher}s of the restrictions, shared by all the
+ * plans and thus all the validations.
+ * <p>
+ * Code lists are updated in place rather than versioned with the dictionary, so that their matchers are keyed by
+ * instance: the code lists read by the validations are shared until the repository invalidates them on a change, after
+ * which the next plan reads new instances and thus builds new matchers. The stale ones are collected with their code
+ * lists. Matchers are therefore only shared across validations as long as the code list repository hands out the same
+ * instances, which its entity cache does: code lists read from the database anew would miss every time.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class RestrictionMatchers {
+
+  /**
+   * Constants.
+   */
+  private static final int MAX_MATCHER_COUNT = 1000;
+
+  /**
+   * State.
+   */
+  private static final Cache<CodeList, CodeListMatcher> CODE_LISTS = CacheBuilder.newBuilder()
+      .weakKeys()
+      .maximumSize(MAX_MATCHER_COUNT)
+      .recordStats()
+      .build();
+  private static final LoadingCache<String, RegexMatcher> REGEXES = CacheBuilder.newBuilder()
+      .maximumSize(MAX_MATCHER_COUNT)
+      .recordStats()
+      .build(new CacheLoader<String, RegexMatcher>() {
+
+        @Override
+        public RegexMatcher load(String pattern) {
+          return new RegexMatcher(pattern);
+        }
+
+      });
+
+  @SneakyThrows
+  public static CodeListMatcher codeList(@NonNull CodeList codeList) {
+    return CODE_LISTS.get(codeList, () -> new CodeListMatcher(codeList));
+  }
+
+  /**
+   * Returns the matcher of {@code pattern}. Invalid patterns fail as {@code Pattern.compile} does.
+   */
+  public static RegexMatcher regex(@NonNull String pattern) {
+    try {
+      return REGEXES.getUnchecked(pattern);
+    } catch (UncheckedExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  /**
+   * Returns the cache statistics of the matchers so far, to be passed to {@link #logStats(Stats)} at the end of a run.
+   */
+  public static Stats getStats() {
+    return new Stats(CODE_LISTS.stats(), REGEXES.stats());
+  }
+
+  /**
+   * Logs the cache statistics of the matchers since {@code start} was taken (see {@link #getStats()}). Lookups made by
+   * concurrent runs are included.
+   */
+  public static void logStats(@NonNull Stats start) {
+    val stats = getStats().minus(start);
+    log.info("Code list matchers: {}, stats: {}", CODE_LISTS.size(), stats.getCodeLists());
+    log.info("Regex matchers: {}, stats: {}", REGEXES.size(), stats.getRegexes());
+  }
+
+  /**
+   * Cache statistics of the code list and regex matchers.
+   */
+  @Value
+  public static class Stats {
+
+    CacheStats codeLists;
+    CacheStats regexes;
+
+    private Stats minus(Stats stats) {
+      return new Stats(codeLists.minus(stats.codeLists), regexes.minus(stats.regexes));
+    }
+
+  }
+
+}
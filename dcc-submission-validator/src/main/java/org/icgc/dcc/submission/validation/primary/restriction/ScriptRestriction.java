@@ -21,13 +21,14 @@ import static cascading.tuple.Fields.ALL;
 import static cascading.tuple.Fields.REPLACE;
 import static com.google.common.collect.Maps.newLinkedHashMap;
 import static java.lang.String.format;
-import static java.lang.reflect.Modifier.STATIC;
+import static java.util.Collections.singletonMap;
 import static lombok.AccessLevel.PROTECTED;
 import static org.icgc.dcc.submission.core.report.ErrorType.SCRIPT_ERROR;
 import static org.icgc.dcc.submission.validation.cascading.ValidationFields.OFFSET_FIELD_NAME;
 import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STATE_FIELD_NAME;
 import static org.icgc.dcc.submission.validation.cascading.ValidationFields.state;
 
+import java.util.List;
 import java.util.Map;
 
 import org.icgc.dcc.submission.dictionary.model.Field;
@@ -40,14 +41,13 @@ import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.FieldRestrictionParameter;
 import org.icgc.dcc.submission.validation.primary.core.RestrictionTypeSchema.ParameterType;
 import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
-import org.mvel2.MVEL;
-import org.mvel2.ParserConfiguration;
-import org.mvel2.ParserContext;
-import org.mvel2.compiler.ExecutableStatement;
-import org.mvel2.integration.VariableResolverFactory;
-import org.mvel2.integration.impl.MapVariableResolverFactory;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
+import org.icgc.dcc.submission.validation.script.CompiledScript;
+import org.icgc.dcc.submission.validation.script.CompiledScript.Binding;
+import org.icgc.dcc.submission.validation.script.CompiledScripts;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
 
 import cascading.flow.FlowProcess;
 import cascading.operation.BaseOperation;
@@ -58,8 +58,8 @@ import cascading.operation.OperationException;
 import cascading.pipe.Each;
 import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
-import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.val;
@@ -105,6 +105,34 @@ public class ScriptRestriction implements RowBasedPlanElement {
     return new Each(pipe, fields, function, REPLACE);
   }
 
+  @Override
+  public RowCheck compile(List<String> fieldNames) {
+    val context = new ScriptContext(projectKey, script);
+
+    return (row, state) -> {
+      try {
+        boolean passed = context.evaluate(fieldNames, row);
+        if (!passed) {
+          val values = context.references(fieldNames, row);
+
+          ScriptFunction.reportError(state, number, reportedField, values);
+        }
+      } catch (Exception e) {
+        ScriptFunction.reportError(state, number, reportedField, context, e, arguments(fieldNames, row, state));
+      }
+    };
+  }
+
+  /**
+   * The arguments the {@link ScriptFunction} would see for the row (only used to describe failures).
+   */
+  private static TupleEntry arguments(List<String> fieldNames, Object[] row, TupleState state) {
+    val fields = new Fields(fieldNames.toArray(new String[fieldNames.size()])).append(new Fields(STATE_FIELD_NAME));
+    val tuple = new Tuple(row).append(new Tuple(state));
+
+    return new TupleEntry(fields, tuple);
+  }
+
   public static class Type implements RestrictionType {
 
     private final RestrictionTypeSchema schema = new RestrictionTypeSchema(
@@ -210,54 +238,77 @@ public class ScriptRestriction implements RowBasedPlanElement {
         if (!passed) {
           val values = context.references(arguments);
 
-          reportError(state, values);
+          reportError(state, number, reportedField, values);
         }
       } catch (Exception e) {
-        val errorMessage = format("Error invoking script restriction: '%s', arguments: '%s'",
-            e.getMessage(), arguments);
-        log.error(errorMessage + ", context: " + context, e);
-
-        reportError(state, errorMessage);
+        reportError(state, number, reportedField, context, e, arguments);
       }
 
       val result = arguments.getTupleCopy();
       functionCall.getOutputCollector().add(result);
     }
 
-    private void reportError(TupleState state, Map<String, Object> values) {
+    private static void reportError(TupleState state, int number, String reportedField, Map<String, Object> values) {
       val reportedValue = VARIABLE_JOINER.join(values);
-      reportError(state, reportedValue);
+      reportError(state, number, reportedField, reportedValue);
     }
 
-    private void reportError(TupleState state, String reportedValue) {
+    private static void reportError(TupleState state, int number, String reportedField, ScriptContext context,
+        Exception e, TupleEntry arguments) {
+      val errorMessage = format("Error invoking script restriction: '%s', arguments: '%s'",
+          e.getMessage(), arguments);
+      log.error(errorMessage + ", context: " + context, e);
+
+      reportError(state, number, reportedField, errorMessage);
+    }
+
+    private static void reportError(TupleState state, int number, String reportedField, String reportedValue) {
       state.reportError(number, SCRIPT_ERROR, reportedField, reportedValue);
     }
 
   }
 
+  /**
+   * Evaluates a script against the rows of a file. Not thread safe: the variables of the script are bound to the layout
+   * of the rows on first use and reused from one row to the next.
+   */
   public static class ScriptContext {
 
     private final String projectKey;
     private final String script;
+    private final CompiledScript compiledScript;
 
-    @Getter
-    private final Map<String, Class<?>> inputs;
-    private final ParserContext parserContext;
-    private final ExecutableStatement compiledScript;
+    /**
+     * State.
+     */
+    private Fields boundFields;
+    private List<String> boundFieldNames;
+    private Binding binding;
 
     public ScriptContext(String projectKey, String script) {
       this.projectKey = projectKey;
       this.script = script;
-      this.parserContext = new ParserContext(configuration());
-      this.compiledScript = (ExecutableStatement) MVEL.compileExpression(script, parserContext);
-      this.inputs = inputs();
+      this.compiledScript = CompiledScripts.compile(script);
 
       validate();
     }
 
+    public Map<String, Class<?>> getInputs() {
+      return compiledScript.getInputs();
+    }
+
     public boolean evaluate(TupleEntry tupleEntry) {
-      val result = compiledScript.getValue(null, variableResolverFactory(tupleEntry));
+      return evaluate(binding(tupleEntry.getFields()).evaluate(tupleEntry));
+    }
+
+    /**
+     * Same as {@link #evaluate(TupleEntry)} for a row given as the values of {@code fieldNames}.
+     */
+    public boolean evaluate(List<String> fieldNames, Object[] values) {
+      return evaluate(binding(fieldNames).evaluate(values));
+    }
 
+    private boolean evaluate(Object result) {
       if (!isPredicate(result)) {
         val resultClass = result == null ? null : result.getClass();
 
@@ -277,7 +328,7 @@ public class ScriptRestriction implements RowBasedPlanElement {
         val fieldValue = tupleEntry.getObject(i);
 
         // Referenced in script
-        val referenced = isInput(fieldName);
+        val referenced = compiledScript.isInput(fieldName);
         if (!referenced) {
           continue;
         }
@@ -288,41 +339,72 @@ public class ScriptRestriction implements RowBasedPlanElement {
       return variables;
     }
 
-    private void validate() {
-      val returnType = returnType();
-      if (!isPredicate(returnType)) {
-        throw new InvalidScriptException("Script restriction has non boolean return type: '" + returnType + "'");
+    /**
+     * Same as {@link #references(TupleEntry)} for a row given as the values of {@code fieldNames}.
+     */
+    public Map<String, Object> references(List<String> fieldNames, Object[] values) {
+      val variables = variables();
+
+      for (int i = 0; i < values.length; i++) {
+        val fieldName = fieldNames.get(i);
+
+        // Referenced in script
+        val referenced = compiledScript.isInput(fieldName);
+        if (!referenced) {
+          continue;
+        }
+
+        variables.put(fieldName, values[i]);
       }
+
+      return variables;
     }
 
-    @SuppressWarnings("rawtypes")
-    private Class<?> returnType() {
-      val returnType = compiledScript.getKnownEgressType();
+    @Override
+    public String toString() {
+      return format("ScriptContext[projectKey=%s, script=%s]", projectKey, script);
+    }
 
-      return returnType;
+    private void validate() {
+      val returnType = compiledScript.getReturnType();
+      if (!isPredicate(returnType)) {
+        throw new InvalidScriptException("Script restriction has non boolean return type: '" + returnType + "'");
+      }
     }
 
-    private static ParserConfiguration configuration() {
-      val config = new ParserConfiguration();
-      config.addPackageImport("java.util");
+    private Binding binding(Fields fields) {
+      // Arguments share their fields from one tuple to the next
+      if (fields != boundFields) {
+        val fieldNames = Lists.<String> newArrayListWithCapacity(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+          val fieldName = fields.get(i).toString();
 
-      for (val method : Math.class.getMethods()) {
-        val staticMethod = (method.getModifiers() & STATIC) > 0;
-        if (staticMethod) {
-          config.addImport(method.getName(), method);
+          // Skip validation book-keeping
+          val internal = fieldName.equals(STATE_FIELD_NAME) || fieldName.equals(OFFSET_FIELD_NAME);
+          fieldNames.add(internal ? null : fieldName);
         }
+
+        binding = bind(fieldNames);
+        boundFields = fields;
+        boundFieldNames = null;
       }
 
-      return config;
+      return binding;
     }
 
-    private boolean isInput(String fieldName) {
-      return inputs.keySet().contains(fieldName);
+    private Binding binding(List<String> fieldNames) {
+      if (fieldNames != boundFieldNames) {
+        binding = bind(fieldNames);
+        boundFieldNames = fieldNames;
+        boundFields = null;
+      }
+
+      return binding;
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Class<?>> inputs() {
-      return (Map<String, Class<?>>) (Object) parserContext.getInputs();
+    private Binding bind(List<String> fieldNames) {
+      // Add projectKey to the available fields
+      return compiledScript.bind(fieldNames, singletonMap(PROJECT_VARIABLE_NAME, projectKey));
     }
 
     private static boolean isPredicate(Class<?> clazz) {
@@ -333,44 +415,11 @@ public class ScriptRestriction implements RowBasedPlanElement {
       return result instanceof Boolean;
     }
 
-    private static Map<String, Object> variables(TupleEntry tupleEntry, String projectKey,
-        Iterable<String> scriptVariables) {
-      val variables = variables();
-      for (val scriptVariable : scriptVariables) {
-        variables.put(scriptVariable, null);
-      }
-
-      for (int i = 0; i < tupleEntry.size(); i++) {
-        val fieldName = tupleEntry.getFields().get(i).toString();
-        val fieldValue = tupleEntry.getObject(i);
-
-        // Skip validation book-keeping
-        val internal = fieldName.equals(STATE_FIELD_NAME) || fieldName.equals(OFFSET_FIELD_NAME);
-        if (internal) {
-          continue;
-        }
-
-        variables.put(fieldName, fieldValue);
-      }
-
-      // Add projectKey to the available fields
-      variables.put(PROJECT_VARIABLE_NAME, projectKey);
-
-      return variables;
-    }
-
     private static Map<String, Object> variables() {
       // Preserve order
       return newLinkedHashMap();
     }
 
-    private VariableResolverFactory variableResolverFactory(TupleEntry tupleEntry) {
-      val scriptVariables = parserContext.getVariables().keySet();
-      val factory = new MapVariableResolverFactory(variables(tupleEntry, projectKey, scriptVariables));
-
-      return factory;
-    }
-
   }
 
 }
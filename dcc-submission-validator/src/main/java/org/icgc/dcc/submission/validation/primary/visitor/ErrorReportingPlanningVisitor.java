@@ -23,6 +23,9 @@ import static org.icgc.dcc.submission.validation.cascading.ValidationFields.STAT
 
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 
 import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.validation.cascading.TupleState;
@@ -31,10 +34,12 @@ import org.icgc.dcc.submission.validation.platform.SubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.PlanExecutionException;
 import org.icgc.dcc.submission.validation.primary.core.FlowType;
 import org.icgc.dcc.submission.validation.primary.core.ReportingPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowReport;
 import org.icgc.dcc.submission.validation.primary.report.ReportCollector;
 
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
 
 import cascading.pipe.Each;
 import cascading.pipe.Pipe;
@@ -65,6 +70,11 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
 
   static class ErrorsPlanElement implements ReportingPlanElement {
 
+    /**
+     * Constants.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     /**
      * Configuration.
      */
@@ -103,6 +113,87 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
       return new ErrorReportCollector(fileName);
     }
 
+    /**
+     * Errors are reported as rows are accumulated, rather than kept until collection.
+     */
+    @Override
+    public RowReport compile(List<String> fieldNames) {
+      return new RowReport() {
+
+        @Override
+        public void accumulate(Object[] values, TupleState state, ReportContext context) {
+          if (state.isInvalid()) {
+            reportErrors(fileName, state, context);
+          }
+        }
+
+        @Override
+        public void collect(SubmissionPlatformStrategy platform, ReportContext context) {
+          context.reportLineNumbers(platform.getFile(fileName));
+        }
+
+      };
+    }
+
+    private static void reportErrors(String fileName, TupleState tupleState, ReportContext context) {
+      for (val errorTuple : tupleState.getErrors()) {
+        context.reportError(
+            error()
+                .fileName(fileName)
+                .fieldNames(errorTuple.getColumnNames())
+                .type(errorTuple.getType())
+                .number(errorTuple.getNumber())
+                .lineNumber(errorTuple.getLine())
+                .value(normalize(errorTuple.getValue()))
+                .params(normalize(errorTuple.getParameters().values()))
+                .build());
+      }
+    }
+
+    /**
+     * Returns {@code value} as read back from the report tap, whether it was or not: e.g. with integral values as
+     * {@code Integer}s if small enough, decimal values as {@code Double}s and collections as lists. Errors then report
+     * the same whatever the flow that found them.
+     */
+    private static Object normalize(Object value) {
+      if (value == null || value instanceof String || value instanceof Boolean || value instanceof Integer) {
+        return value;
+      }
+      if (value instanceof Long || value instanceof Short || value instanceof Byte) {
+        val longValue = ((Number) value).longValue();
+        return longValue == (int) longValue ? (Object) (int) longValue : (Object) longValue;
+      }
+      if (value instanceof Double) {
+        val doubleValue = (Double) value;
+        return doubleValue.isNaN() || doubleValue.isInfinite() ? doubleValue.toString() : doubleValue;
+      }
+      if (value instanceof Float || value instanceof BigDecimal) {
+        // Written as their decimal representation
+        return normalize(Double.valueOf(value.toString()));
+      }
+      if (value instanceof CharSequence || value instanceof Character) {
+        return value.toString();
+      }
+      if (value instanceof Enum) {
+        return ((Enum<?>) value).name();
+      }
+      if (value instanceof Collection) {
+        return normalize((Collection<?>) value);
+      }
+
+      // Anything else as Jackson would (e.g. big integers, arrays, maps and dates)
+      return MAPPER.convertValue(value, Object.class);
+    }
+
+    private static List<Object> normalize(Collection<?> values) {
+      List<Object> normalized = Lists.newArrayListWithCapacity(values.size());
+      for (val value : values) {
+        normalized.add(normalize(value));
+      }
+
+      return normalized;
+    }
+
     @RequiredArgsConstructor
     class ErrorReportCollector implements ReportCollector {
 
@@ -118,21 +209,11 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
           val reportInputStream = getReportInputStream(platform);
           val tupleStates = getTupleStates(reportInputStream);
 
-          while (tupleStates.hasNext()) {
+          // Stop reading once no more errors are to be reported
+          while (tupleStates.hasNext() && !context.isErrorBudgetExhausted(fileName)) {
             val tupleState = tupleStates.next();
             if (tupleState.isInvalid()) {
-              for (val errorTuple : tupleState.getErrors()) {
-                context.reportError(
-                    error()
-                        .fileName(fileName)
-                        .fieldNames(errorTuple.getColumnNames())
-                        .type(errorTuple.getType())
-                        .number(errorTuple.getNumber())
-                        .lineNumber(errorTuple.getLine())
-                        .value(errorTuple.getValue())
-                        .params(errorTuple.getParameters())
-                        .build());
-              }
+              reportErrors(fileName, tupleState, context);
             }
           }
 
@@ -151,7 +232,7 @@ public class ErrorReportingPlanningVisitor extends ReportingPlanningVisitor {
 
       @SneakyThrows
       private MappingIterator<TupleState> getTupleStates(InputStream reportInputStream) {
-        val reader = new ObjectMapper().reader().forType(TupleState.class);
+        val reader = MAPPER.reader().forType(TupleState.class);
 
         return reader.readValues(reportInputStream);
       }
@@ -17,11 +17,17 @@
  */
 package org.icgc.dcc.submission.validation.primary.visitor;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.List;
+
 import org.icgc.dcc.common.core.model.ValueType;
 import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.dictionary.model.Field;
+import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.cascading.ValidationFields;
 import org.icgc.dcc.submission.validation.primary.core.RowBasedPlanElement;
+import org.icgc.dcc.submission.validation.primary.core.RowCheck;
 import org.icgc.dcc.submission.validation.primary.planner.PlanningException;
 
 import cascading.flow.FlowProcess;
@@ -33,6 +39,7 @@ import cascading.pipe.Pipe;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntry;
+import lombok.val;
 
 /**
  * Creates {@code PlanElement}s for validating the {@code ValueType} of a {@code Field}.
@@ -76,6 +83,15 @@ public class ValueTypePlanningVisitor extends RowBasedFlowPlanningVisitor {
       return new Each(pipe, new ValidationFields(field), new ValueTypeFunction(type), Fields.REPLACE);
     }
 
+    @Override
+    public RowCheck compile(List<String> fieldNames) {
+      val index = fieldNames.indexOf(field);
+      checkArgument(index != -1, "Field '%s' not in '%s'", field, fieldNames);
+      val function = new ValueTypeFunction(type);
+
+      return (row, state) -> row[index] = function.check(field, (String) row[index], state);
+    }
+
     @SuppressWarnings("rawtypes")
     public static final class ValueTypeFunction extends BaseOperation implements Function {
 
@@ -89,17 +105,23 @@ public class ValueTypePlanningVisitor extends RowBasedFlowPlanningVisitor {
       @Override
       public void operate(FlowProcess flowProcess, FunctionCall functionCall) {
         TupleEntry arguments = functionCall.getArguments();
-        String value = arguments.getString(0);
-        Object parsedValue = null;
+        Object fieldName = arguments.getFields().get(0);
+        TupleState state = ValidationFields.state(arguments);
+        Object parsedValue = check(fieldName.toString(), arguments.getString(0), state);
+        functionCall.getOutputCollector().add(new Tuple(parsedValue, state));
+      }
+
+      /**
+       * Returns the parsed {@code value}, or {@code null} if it is not of the expected type (reporting the error).
+       */
+      public Object check(String fieldName, String value, TupleState state) {
         try {
-          parsedValue = parse(value);
+          return parse(value);
         } catch (IllegalArgumentException e) {
-          Object fieldName = arguments.getFields().get(0);
+          state.reportError(ErrorType.VALUE_TYPE_ERROR, fieldName, value, type);
 
-          ValidationFields.state(arguments).reportError(ErrorType.VALUE_TYPE_ERROR, fieldName.toString(),
-              value, type);
+          return null;
         }
-        functionCall.getOutputCollector().add(new Tuple(parsedValue, ValidationFields.state(arguments)));
       }
 
       private Object parse(String value) {
@@ -17,6 +17,7 @@
  */
 package org.icgc.dcc.submission.validation.rgv;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
 import static org.icgc.dcc.submission.core.parser.SubmissionFileParsers.newMapFileParser;
 import static org.icgc.dcc.submission.core.report.Error.error;
@@ -27,27 +28,45 @@ import static org.icgc.dcc.submission.validation.rgv.util.ChromosomeConverter.co
 import static org.icgc.dcc.submission.validation.rgv.util.ReferenceUtils.REFERENCE_INSERTION_VALUE;
 import static org.icgc.dcc.submission.validation.rgv.util.ReferenceUtils.isInsertionType;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.model.DataType;
 import org.icgc.dcc.common.core.model.FileTypes.FileType;
 import org.icgc.dcc.common.hadoop.parser.FileParser;
 import org.icgc.dcc.common.hadoop.parser.FileRecordProcessor;
+import org.icgc.dcc.submission.core.parser.FileLineMapParser;
+import org.icgc.dcc.submission.core.report.ErrorType;
+import org.icgc.dcc.submission.fs.LineIndex;
+import org.icgc.dcc.submission.fs.LineIndexes;
+import org.icgc.dcc.submission.fs.StagedFiles;
 import org.icgc.dcc.submission.validation.cascading.TupleState;
 import org.icgc.dcc.submission.validation.core.ValidationContext;
 import org.icgc.dcc.submission.validation.core.Validator;
 import org.icgc.dcc.submission.validation.rgv.core.PrimaryFieldAccessor;
 import org.icgc.dcc.submission.validation.rgv.core.ReferenceGenomeFileType;
+import org.icgc.dcc.submission.validation.rgv.reference.MappedReferenceGenome;
 import org.icgc.dcc.submission.validation.rgv.reference.ReferenceGenome;
 import org.icgc.dcc.submission.validation.rgv.report.TupleStateWriter;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -55,7 +74,10 @@ import lombok.extern.slf4j.Slf4j;
  * Support querying a reference genome data file in the form for chromosome-start-end to validate submission input.
  * <p>
  * This uses the picard utilities to query an indexed FASTA file, as a bench mark reference we can check roughly
- * 3,000,000 reference genomes in 200 seconds.
+ * 3,000,000 reference genomes in 200 seconds. The file may also be memory-mapped (see {@link MappedReferenceGenome}).
+ * <p>
+ * With more than one thread, plain text (or staged) files are split into the line-aligned chunks of their
+ * {@link LineIndex} which are checked concurrently, their errors being reported in line order.
  * 
  * @see https://wiki.oicr.on.ca/display/DCCSOFT/Unify+genome+assembly+build+throughout+the+system
  * @see https://wiki.oicr.on.ca/display/DCCSOFT/SSM+data+model+supporting+controlled+fields+and+other+improvements#
@@ -71,6 +93,15 @@ public class ReferenceGenomeValidator implements Validator {
   @NonNull
   private final ReferenceGenome reference;
 
+  /**
+   * Number of chunks of a file checked concurrently (1 for sequential processing).
+   */
+  private final int threads;
+
+  public ReferenceGenomeValidator(@NonNull ReferenceGenome reference) {
+    this(reference, 1);
+  }
+
   @Override
   public String getName() {
     return "Reference Genome Validator";
@@ -125,7 +156,10 @@ public class ReferenceGenomeValidator implements Validator {
   @SneakyThrows
   private void validateFileType(ValidationContext context, FileType fileType, List<Path> files,
       PrimaryFieldAccessor fieldAccessor) {
-    val fileParser = newMapFileParser(context.getFileSystem(), context.getFileSchema(fileType));
+    // Only the accessed fields are extracted from the (typically very large) primary files
+    val fileParser = newMapFileParser(context.getFileSystem(), context.getFileSchema(fileType),
+        fieldAccessor.getFieldNames());
+    val recordParser = new FileLineMapParser(context.getFileSchema(fileType), fieldAccessor.getFieldNames());
     for (val file : files) {
       try {
         @Cleanup
@@ -133,7 +167,7 @@ public class ReferenceGenomeValidator implements Validator {
 
         // Get to work
         log.info("Performing reference genome validation on file '{}' for '{}'", file, context.getProjectKey());
-        validateFile(context, file, fileParser, fieldAccessor, writer);
+        validateFile(context, file, fileParser, recordParser, fieldAccessor, writer);
         log.info("Finished performing reference genome validation for '{}'", context.getProjectKey());
       } catch (Exception e) {
         throw new RuntimeException("Error validating reference genome: file=" + file + ", fileType=" + fileType, e);
@@ -141,76 +175,41 @@ public class ReferenceGenomeValidator implements Validator {
     }
   }
 
+  private void validateFile(ValidationContext context, Path filePath, FileParser<Map<String, String>> fileParser,
+      FileLineMapParser recordParser, PrimaryFieldAccessor fieldAccessor, TupleStateWriter writer) {
+    val fileSystem = context.getFileSystem();
+    val sourcePath = StagedFiles.resolve(fileSystem, filePath);
+    val index = threads > 1 ? LineIndexes.getLineIndex(fileSystem, filePath, sourcePath).orNull() : null;
+    if (index == null) {
+      validateFileSequentially(context, filePath, sourcePath, fileParser, fieldAccessor, writer);
+    } else {
+      validateFileConcurrently(context, filePath, sourcePath, index, recordParser, fieldAccessor, writer);
+    }
+  }
+
   @SneakyThrows
-  private void validateFile(final ValidationContext context, final Path filePath,
+  private void validateFileSequentially(final ValidationContext context, final Path filePath, Path sourcePath,
       final FileParser<Map<String, String>> fileParser, final PrimaryFieldAccessor fieldAccessor,
       final TupleStateWriter writer) {
     val fileName = filePath.getName();
 
-    fileParser.parse(filePath, new FileRecordProcessor<Map<String, String>>() {
+    fileParser.parse(sourcePath, new FileRecordProcessor<Map<String, String>>() {
+
+      /**
+       * Whether no more errors are to be reported for the file, in which case the remaining records are skipped.
+       */
+      boolean exhausted;
 
       @Override
       public void process(long lineNumber, Map<String, String> record) throws IOException {
-        // Access field values
-        val mutationType = fieldAccessor.getMutationType(record);
-        val chromosomeCode = fieldAccessor.getChromosomeCode(record);
-        val start = fieldAccessor.getStart(record);
-        val end = fieldAccessor.getEnd(record);
-        val actualReference = fieldAccessor.getReferenceAllele(record);
-
-        if (isInsertionType(mutationType)) {
-          // Insertion
-          val mismatch = !actualReference.equals(REFERENCE_INSERTION_VALUE);
-          if (mismatch) {
-            val type = REFERENCE_GENOME_INSERTION_ERROR;
-            val value = formatValue(REFERENCE_INSERTION_VALUE, actualReference);
-            val columnName = SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
-            val param = reference.getVersion();
-
-            // Database
-            context.reportError(
-                error()
-                    .fileName(fileName)
-                    .fieldNames(columnName)
-                    .type(type)
-                    .lineNumber(lineNumber)
-                    .value(value)
-                    .params(param)
-                    .build());
-
-            // File
-            val tupleState = new TupleState(lineNumber);
-            tupleState.reportError(type, columnName, value, param);
-            writer.write(tupleState);
-          }
-        } else {
-          // Deletion or substitution
-          val chromosome = convert(chromosomeCode);
-          val expectedReference = reference.getSequence(chromosome, start, end);
-
-          val mismatch = !isMatch(actualReference, expectedReference);
-          if (mismatch) {
-            val type = REFERENCE_GENOME_MISMATCH_ERROR;
-            val value = formatValue(expectedReference, actualReference);
-            val columnName = SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
-            val param = reference.getVersion();
-
-            // Database
-            context.reportError(
-                error()
-                    .fileName(fileName)
-                    .fieldNames(columnName)
-                    .type(type)
-                    .lineNumber(lineNumber)
-                    .value(value)
-                    .params(param)
-                    .build());
-
-            // File
-            val tupleState = new TupleState(lineNumber);
-            tupleState.reportError(type, columnName, value, param);
-            writer.write(tupleState);
-          }
+        if (exhausted) {
+          return;
+        }
+
+        val mismatch = checkRecord(lineNumber, record, fieldAccessor);
+        if (mismatch != null) {
+          reportMismatch(context, fileName, writer, mismatch);
+          exhausted = checkExhausted(context, fileName, lineNumber);
         }
 
         // Cooperate
@@ -220,6 +219,152 @@ public class ReferenceGenomeValidator implements Validator {
     });
   }
 
+  /**
+   * Checks the chunks starting at each entry of the {@code index} of the file concurrently, reporting their mismatches
+   * from the calling thread in line order as the chunks complete.
+   */
+  @SneakyThrows
+  private void validateFileConcurrently(ValidationContext context, Path filePath, Path sourcePath, LineIndex index,
+      FileLineMapParser recordParser, PrimaryFieldAccessor fieldAccessor, TupleStateWriter writer) {
+    val fileName = filePath.getName();
+    val fileSystem = context.getFileSystem();
+    log.info("Checking {} chunks of '{}' with {} threads", new Object[] { index.size(), fileName, threads });
+
+    val executor = Executors.newFixedThreadPool(threads,
+        new ThreadFactoryBuilder().setNameFormat("rgv-chunk-%d").setDaemon(true).build());
+    try {
+      List<Future<List<Mismatch>>> chunks = Lists.newArrayList();
+      for (int entry = 0; entry < index.size(); entry++) {
+        val start = index.getOffset(entry);
+        val end = entry + 1 < index.size() ? index.getOffset(entry + 1) : index.getLength();
+        val lineNumber = index.getLineNumber(entry);
+
+        chunks.add(executor.submit(
+            () -> checkChunk(fileSystem, sourcePath, start, end, lineNumber, recordParser, fieldAccessor)));
+      }
+
+      for (val chunk : chunks) {
+        for (val mismatch : chunk.get()) {
+          reportMismatch(context, fileName, writer, mismatch);
+          if (checkExhausted(context, fileName, mismatch.getLineNumber())) {
+            return;
+          }
+        }
+
+        // Cooperate
+        checkInterrupted(getName());
+      }
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Checks the lines of the {@code [start, end)} byte range of {@code sourcePath}, the first of which is
+   * {@code lineNumber}.
+   */
+  private List<Mismatch> checkChunk(FileSystem fileSystem, Path sourcePath, long start, long end, long lineNumber,
+      FileLineMapParser recordParser, PrimaryFieldAccessor fieldAccessor) throws IOException {
+    @Cleanup
+    val inputStream = fileSystem.open(sourcePath);
+    inputStream.seek(start);
+    @Cleanup
+    val reader = new BufferedReader(new InputStreamReader(ByteStreams.limit(inputStream, end - start), UTF_8));
+
+    val mismatches = Lists.<Mismatch> newArrayList();
+    String line;
+    for (long currentLineNumber = lineNumber; (line = reader.readLine()) != null; currentLineNumber++) {
+      // Skip the header
+      if (currentLineNumber == 1) {
+        continue;
+      }
+
+      val mismatch = checkRecord(currentLineNumber, recordParser.parse(line), fieldAccessor);
+      if (mismatch != null) {
+        mismatches.add(mismatch);
+      }
+
+      // Cooperate
+      checkInterrupted(getName());
+    }
+
+    return mismatches;
+  }
+
+  /**
+   * Returns the mismatch of the reference allele of {@code record} with the reference genome, {@code null} if none.
+   */
+  private Mismatch checkRecord(long lineNumber, Map<String, String> record, PrimaryFieldAccessor fieldAccessor) {
+    // Access field values
+    val mutationType = fieldAccessor.getMutationType(record);
+    val chromosomeCode = fieldAccessor.getChromosomeCode(record);
+    val start = fieldAccessor.getStart(record);
+    val end = fieldAccessor.getEnd(record);
+    val actualReference = fieldAccessor.getReferenceAllele(record);
+
+    if (isInsertionType(mutationType)) {
+      // Insertion
+      val mismatch = !actualReference.equals(REFERENCE_INSERTION_VALUE);
+      if (mismatch) {
+        val value = formatValue(REFERENCE_INSERTION_VALUE, actualReference);
+
+        return new Mismatch(lineNumber, REFERENCE_GENOME_INSERTION_ERROR, value);
+      }
+    } else {
+      // Deletion or substitution
+      val chromosome = convert(chromosomeCode);
+      val mismatch = !reference.isMatch(chromosome, start, end, actualReference);
+      if (mismatch) {
+        val expectedReference = reference.getSequence(chromosome, start, end);
+        val value = formatValue(expectedReference, actualReference);
+
+        return new Mismatch(lineNumber, REFERENCE_GENOME_MISMATCH_ERROR, value);
+      }
+    }
+
+    return null;
+  }
+
+  private void reportMismatch(ValidationContext context, String fileName, TupleStateWriter writer, Mismatch mismatch)
+      throws IOException {
+    val type = mismatch.getType();
+    val lineNumber = mismatch.getLineNumber();
+    val value = mismatch.getValue();
+    val columnName = SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
+    val param = reference.getVersion();
+
+    // Database
+    context.reportError(
+        error()
+            .fileName(fileName)
+            .fieldNames(columnName)
+            .type(type)
+            .lineNumber(lineNumber)
+            .value(value)
+            .params(param)
+            .build());
+
+    // File
+    val tupleState = new TupleState(lineNumber);
+    tupleState.reportError(type, columnName, value, param);
+    writer.write(tupleState);
+  }
+
+  /**
+   * Returns whether no more errors are to be reported for the file, in which case the records after
+   * {@code lineNumber} are skipped.
+   */
+  private static boolean checkExhausted(ValidationContext context, String fileName, long lineNumber) {
+    val exhausted = context.isErrorBudgetExhausted(fileName);
+    if (exhausted) {
+      log.warn("Error budget of '{}' exhausted, skipping the records after line {}", fileName, lineNumber);
+    }
+
+    return exhausted;
+  }
+
   private static boolean isValidatable(Iterable<DataType> dataTypes) {
     for (val dataType : dataTypes) {
       for (val referenceGenomeFileType : ReferenceGenomeFileType.values()) {
@@ -232,10 +377,6 @@ public class ReferenceGenomeValidator implements Validator {
     return false;
   }
 
-  private static boolean isMatch(String controlAllele, String refSequence) {
-    return controlAllele.equalsIgnoreCase(refSequence);
-  }
-
   private static String formatValue(String expected, String actual) {
     return String.format("Expected: %s, Actual: %s", expected, actual);
   }
@@ -245,4 +386,16 @@ public class ReferenceGenomeValidator implements Validator {
         context.getFileSystem(), new Path(context.getSubmissionDirectory().getValidationDirPath()), file);
   }
 
+  /**
+   * A reference allele not matching the reference genome.
+   */
+  @Value
+  private static class Mismatch {
+
+    long lineNumber;
+    ErrorType type;
+    String value;
+
+  }
+
 }
@@ -22,12 +22,20 @@ import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUB
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_START;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
 
+import java.util.Collection;
 import java.util.Map;
 
 import org.icgc.dcc.submission.validation.rgv.core.PrimaryFieldAccessor;
 
+import com.google.common.collect.ImmutableList;
+
 public abstract class AbstractPrimaryFieldAccessor implements PrimaryFieldAccessor {
 
+  @Override
+  public String getMutationType(Map<String, String> record) {
+    return record.get(getMutationTypeFieldName());
+  }
+
   @Override
   public String getChromosomeCode(Map<String, String> record) {
     return record.get(SUBMISSION_OBSERVATION_CHROMOSOME);
@@ -48,4 +56,16 @@ public abstract class AbstractPrimaryFieldAccessor implements PrimaryFieldAccess
     return record.get(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE);
   }
 
+  @Override
+  public Collection<String> getFieldNames() {
+    return ImmutableList.of(
+        getMutationTypeFieldName(),
+        SUBMISSION_OBSERVATION_CHROMOSOME,
+        SUBMISSION_OBSERVATION_CHROMOSOME_START,
+        SUBMISSION_OBSERVATION_CHROMOSOME_END,
+        SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE);
+  }
+
+  protected abstract String getMutationTypeFieldName();
+
 }
\ No newline at end of file
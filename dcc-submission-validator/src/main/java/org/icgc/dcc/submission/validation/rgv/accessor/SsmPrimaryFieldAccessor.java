@@ -19,13 +19,11 @@ package org.icgc.dcc.submission.validation.rgv.accessor;
 
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATION_TYPE;
 
-import java.util.Map;
-
 public class SsmPrimaryFieldAccessor extends AbstractPrimaryFieldAccessor {
 
   @Override
-  public String getMutationType(Map<String, String> record) {
-    return record.get(SUBMISSION_OBSERVATION_MUTATION_TYPE);
+  protected String getMutationTypeFieldName() {
+    return SUBMISSION_OBSERVATION_MUTATION_TYPE;
   }
 
 }
\ No newline at end of file
@@ -17,6 +17,7 @@
  */
 package org.icgc.dcc.submission.validation.rgv.core;
 
+import java.util.Collection;
 import java.util.Map;
 
 public interface PrimaryFieldAccessor {
@@ -31,4 +32,9 @@ public interface PrimaryFieldAccessor {
 
   String getReferenceAllele(Map<String, String> record);
 
+  /**
+   * The names of the fields accessed, so that parsing can be limited to them.
+   */
+  Collection<String> getFieldNames();
+
 }
\ No newline at end of file
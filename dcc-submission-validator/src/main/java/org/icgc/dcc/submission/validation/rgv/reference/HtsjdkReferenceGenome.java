@@ -37,7 +37,7 @@ public class HtsjdkReferenceGenome implements ReferenceGenome {
   private final String assemblyVersion;
 
   /**
-   * The FASTA file used for validation.
+   * The FASTA file used for validation, not thread-safe.
    */
   @NonNull
   private final IndexedFastaSequenceFile sequenceFile;
@@ -74,7 +74,7 @@ public class HtsjdkReferenceGenome implements ReferenceGenome {
     return get(chromosome, startPosition, endPosition);
   }
 
-  private String get(String chromosome, long start, long end) {
+  private synchronized String get(String chromosome, long start, long end) {
     try {
       val sequence = sequenceFile.getSubsequenceAt(chromosome, start, end);
       val text = new String(sequence.getBases());
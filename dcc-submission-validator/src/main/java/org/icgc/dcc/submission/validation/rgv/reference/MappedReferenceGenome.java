@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.rgv.reference;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.io.Files.getNameWithoutExtension;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ReferenceGenome} reading bases straight from a memory-mapped FASTA file, located through its {@code .fai}
+ * index.
+ * <p>
+ * Each sequence (chromosome) is mapped as a window of the file on first access and stays mapped, so that the clustered
+ * positions of a submission file keep hitting the same pages. Matching compares the mapped bytes with the allele in
+ * place, only mismatches building the expected sequence. Lookups are thread-safe, only absolute reads being made.
+ */
+@Slf4j
+public class MappedReferenceGenome implements ReferenceGenome {
+
+  /**
+   * Constants.
+   */
+  private static final String INDEX_FILE_EXTENSION = ".fai";
+  private static final Splitter INDEX_SPLITTER = Splitter.on('\t').trimResults();
+
+  /**
+   * The reference assembly version that corresponds to the configured {@link #fastaFile}.
+   */
+  @NonNull
+  private final String assemblyVersion;
+
+  /**
+   * The FASTA file used for validation and its index, by sequence name.
+   */
+  @NonNull
+  private final File fastaFile;
+  @NonNull
+  private final Map<String, Sequence> sequences;
+
+  /**
+   * State.
+   */
+  private final ConcurrentMap<String, MappedByteBuffer> windows = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a {@code MappedReferenceGenome} configured with the supplied {@code fastaFilePath}.
+   *
+   * @param fastaFilePath the fully qualified path to the the {@code .fasta} file. Expected to be placed next to
+   * {@code .fai} file with the same prefix.
+   */
+  public MappedReferenceGenome(@NonNull String fastaFilePath) {
+    this.fastaFile = new File(fastaFilePath).getAbsoluteFile();
+    this.assemblyVersion = getNameWithoutExtension(fastaFile.getName());
+    this.sequences = readIndex(new File(fastaFile.getPath() + INDEX_FILE_EXTENSION));
+
+    log.info("Using '{}' assembly versioned FASTA file: '{}' with {} sequences (memory-mapped)",
+        new Object[] { assemblyVersion, fastaFile, sequences.size() });
+  }
+
+  @Override
+  public String getVersion() {
+    return assemblyVersion;
+  }
+
+  @Override
+  public String getSequence(String chromosome, String start, String end) {
+    val startPosition = Long.parseLong(start);
+    val endPosition = Long.parseLong(end);
+    val sequence = getSequence(chromosome, startPosition, endPosition);
+    val window = getWindow(sequence);
+
+    val bases = new byte[(int) (endPosition - startPosition + 1)];
+    int index = sequence.getIndex(startPosition);
+    int column = sequence.getColumn(startPosition);
+    for (int i = 0; i < bases.length; i++) {
+      bases[i] = window.get(index);
+
+      if (++column == sequence.getLineBases()) {
+        column = 0;
+        index += sequence.getLineWidth() - sequence.getLineBases();
+      }
+      index++;
+    }
+
+    return new String(bases, US_ASCII);
+  }
+
+  @Override
+  public boolean isMatch(String chromosome, String start, String end, String allele) {
+    val startPosition = Long.parseLong(start);
+    val endPosition = Long.parseLong(end);
+    val sequence = getSequence(chromosome, startPosition, endPosition);
+    if (allele.length() != endPosition - startPosition + 1) {
+      return false;
+    }
+
+    val window = getWindow(sequence);
+    int index = sequence.getIndex(startPosition);
+    int column = sequence.getColumn(startPosition);
+    for (int i = 0; i < allele.length(); i++) {
+      if (!equalsIgnoreCase(window.get(index), allele.charAt(i))) {
+        return false;
+      }
+
+      if (++column == sequence.getLineBases()) {
+        column = 0;
+        index += sequence.getLineWidth() - sequence.getLineBases();
+      }
+      index++;
+    }
+
+    return true;
+  }
+
+  private Sequence getSequence(String chromosome, long start, long end) {
+    val sequence = sequences.get(chromosome);
+    if (sequence == null || start < 1 || start > end + 1 || end > sequence.getLength()) {
+      throw new RuntimeException(
+          "Error trying to get subsequence at: chr=" + chromosome + " start=" + start + ", end=" + end);
+    }
+
+    return sequence;
+  }
+
+  private MappedByteBuffer getWindow(Sequence sequence) {
+    return windows.computeIfAbsent(sequence.getName(), name -> map(sequence));
+  }
+
+  @SneakyThrows
+  private MappedByteBuffer map(Sequence sequence) {
+    log.info("Mapping sequence '{}' of '{}'", sequence.getName(), fastaFile);
+    @Cleanup
+    val channel = FileChannel.open(fastaFile.toPath(), StandardOpenOption.READ);
+
+    return channel.map(READ_ONLY, sequence.getOffset(), sequence.getSize());
+  }
+
+  private static boolean equalsIgnoreCase(byte base, char allele) {
+    if (base == allele) {
+      return true;
+    }
+
+    // ASCII letters only differ in case by bit 5
+    val upperBase = base & ~0x20;
+    return allele < 0x80 && upperBase >= 'A' && upperBase <= 'Z' && upperBase == (allele & ~0x20);
+  }
+
+  @SneakyThrows
+  private static Map<String, Sequence> readIndex(File indexFile) {
+    val sequences = ImmutableMap.<String, Sequence> builder();
+    for (val line : Files.readLines(indexFile, UTF_8)) {
+      if (line.isEmpty()) {
+        continue;
+      }
+
+      val fields = INDEX_SPLITTER.splitToList(line);
+      checkState(fields.size() >= 5, "Invalid FASTA index line in '%s': '%s'", indexFile, line);
+
+      // The name is the first word of the header line
+      val name = fields.get(0).split("\\s+")[0];
+      val sequence = new Sequence(name, Long.parseLong(fields.get(1)), Long.parseLong(fields.get(2)),
+          Integer.parseInt(fields.get(3)), Integer.parseInt(fields.get(4)));
+      checkState(sequence.getSize() <= Integer.MAX_VALUE, "Sequence '%s' is too large to be mapped", name);
+
+      sequences.put(name, sequence);
+    }
+
+    return sequences.build();
+  }
+
+  /**
+   * An entry of the FASTA index.
+   */
+  @Value
+  private static class Sequence {
+
+    String name;
+    long length;
+    long offset;
+    int lineBases;
+    int lineWidth;
+
+    /**
+     * Number of bytes from the first to the last base of the sequence.
+     */
+    long getSize() {
+      return length == 0 ? 0 : (length - 1) / lineBases * lineWidth + (length - 1) % lineBases + 1;
+    }
+
+    /**
+     * Index of the 1-based {@code position} in the mapped sequence.
+     */
+    int getIndex(long position) {
+      return (int) ((position - 1) / lineBases * lineWidth + getColumn(position));
+    }
+
+    int getColumn(long position) {
+      return (int) ((position - 1) % lineBases);
+    }
+
+  }
+
+}
@@ -23,4 +23,11 @@ public interface ReferenceGenome {
 
   String getSequence(String chromosome, String start, String end);
 
+  /**
+   * Whether {@code allele} is the sequence of {@code chromosome} from {@code start} to {@code end}, ignoring case.
+   */
+  default boolean isMatch(String chromosome, String start, String end, String allele) {
+    return allele.equalsIgnoreCase(getSequence(chromosome, start, end));
+  }
+
 }
@@ -25,6 +25,8 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 
+import javax.annotation.concurrent.ThreadSafe;
+
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.submission.validation.cascading.TupleState;
@@ -34,6 +36,11 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 
 import lombok.val;
 
+/**
+ * Writes the {@link TupleState}s of the reference genome errors of a file as JSON. Thread-safe, each state being
+ * written as a whole.
+ */
+@ThreadSafe
 public class TupleStateWriter implements Closeable {
 
   private static final ObjectWriter OBJECT_WRITER = new ObjectMapper()
@@ -47,12 +54,12 @@ public class TupleStateWriter implements Closeable {
     this.outputStream = getOutputStream(fileSystem, outputDirectory, file);
   }
 
-  public void write(TupleState tupleState) throws IOException {
+  public synchronized void write(TupleState tupleState) throws IOException {
     OBJECT_WRITER.writeValue(outputStream, tupleState);
   }
 
   @Override
-  public void close() throws IOException {
+  public synchronized void close() throws IOException {
     outputStream.close();
   }
 
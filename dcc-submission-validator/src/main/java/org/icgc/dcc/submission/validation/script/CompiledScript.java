@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.script;
+
+import static java.lang.reflect.Modifier.STATIC;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.mvel2.MVEL;
+import org.mvel2.ParserConfiguration;
+import org.mvel2.ParserContext;
+import org.mvel2.compiler.ExecutableStatement;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import cascading.tuple.TupleEntry;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * An MVEL script compiled once and shared by all its evaluations.
+ * <p>
+ * The compiled statement is thread safe but the variables it is evaluated against are not: each evaluating thread
+ * {@link #bind(List, Map)}s the script to the layout of its rows and evaluates them through its own {@link Binding}.
+ * Evaluation counts and times are accumulated across all bindings (see {@link CompiledScripts#logMetrics(Map)}).
+ */
+public final class CompiledScript {
+
+  /**
+   * Configuration.
+   */
+  @Getter
+  private final String script;
+
+  /**
+   * State.
+   */
+  private final ExecutableStatement statement;
+  @Getter
+  private final Map<String, Class<?>> inputs;
+  @Getter
+  private final ImmutableSet<String> locals;
+
+  /**
+   * Metrics.
+   */
+  private final LongAdder evaluationCount = new LongAdder();
+  private final LongAdder evaluationNanos = new LongAdder();
+
+  @SuppressWarnings("unchecked")
+  CompiledScript(@NonNull String script) {
+    val parserContext = new ParserContext(configuration());
+
+    this.script = script;
+    this.statement = (ExecutableStatement) MVEL.compileExpression(script, parserContext);
+    this.inputs = ImmutableMap.copyOf((Map<String, Class<?>>) (Object) parserContext.getInputs());
+    this.locals = ImmutableSet.copyOf(parserContext.getVariables().keySet());
+  }
+
+  public Class<?> getReturnType() {
+    return statement.getKnownEgressType();
+  }
+
+  public boolean isInput(String name) {
+    return inputs.containsKey(name);
+  }
+
+  public long getEvaluationCount() {
+    return evaluationCount.sum();
+  }
+
+  public long getEvaluationTime(TimeUnit unit) {
+    return unit.convert(evaluationNanos.sum(), NANOSECONDS);
+  }
+
+  /**
+   * Binds the script to rows of {@code fieldNames} values, resolving the field ordinals once. Null field names are never
+   * bound. {@code constants} take precedence over fields of the same name.
+   */
+  public Binding bind(@NonNull List<String> fieldNames, @NonNull Map<String, Object> constants) {
+    return new Binding(fieldNames, constants);
+  }
+
+  @Override
+  public String toString() {
+    return script;
+  }
+
+  private static ParserConfiguration configuration() {
+    val config = new ParserConfiguration();
+    config.addPackageImport("java.util");
+
+    for (val method : Math.class.getMethods()) {
+      val staticMethod = (method.getModifiers() & STATIC) > 0;
+      if (staticMethod) {
+        config.addImport(method.getName(), method);
+      }
+    }
+
+    return config;
+  }
+
+  /**
+   * The variables of a script for rows of a given layout, reused from one row to the next. Not thread safe.
+   * <p>
+   * Every field of a row is copied in, not only the {@link #getInputs() inputs}: MVEL does not report fields only used
+   * from closures, loops or by dynamic access as such. Script locals are reset to {@code null} as they would be in fresh
+   * variables.
+   */
+  public final class Binding {
+
+    /**
+     * State.
+     */
+    private final String[] names;
+    private final int[] ordinals;
+    private final String[] resetLocals;
+    private final Map<String, Object> constants;
+    private final Map<String, Object> variables = new HashMap<>();
+    private final MapVariableResolverFactory factory = new MapVariableResolverFactory(variables);
+
+    private Binding(List<String> fieldNames, Map<String, Object> constants) {
+      // Last occurrence wins, as when putting all the fields into a map
+      val bindings = new LinkedHashMap<String, Integer>();
+      for (int i = 0; i < fieldNames.size(); i++) {
+        val fieldName = fieldNames.get(i);
+        if (fieldName != null && !constants.containsKey(fieldName)) {
+          bindings.put(fieldName, i);
+        }
+      }
+
+      this.names = bindings.keySet().toArray(new String[bindings.size()]);
+      this.ordinals = new int[names.length];
+      for (int i = 0; i < names.length; i++) {
+        ordinals[i] = bindings.get(names[i]);
+      }
+
+      this.resetLocals = locals.stream()
+          .filter(local -> !bindings.containsKey(local) && !constants.containsKey(local))
+          .toArray(String[]::new);
+      this.constants = new HashMap<>(constants);
+    }
+
+    public Object evaluate(@NonNull Object[] values) {
+      reset();
+      for (int i = 0; i < names.length; i++) {
+        variables.put(names[i], values[ordinals[i]]);
+      }
+
+      return execute();
+    }
+
+    public Object evaluate(@NonNull List<?> values) {
+      reset();
+      for (int i = 0; i < names.length; i++) {
+        variables.put(names[i], values.get(ordinals[i]));
+      }
+
+      return execute();
+    }
+
+    public Object evaluate(@NonNull TupleEntry tupleEntry) {
+      reset();
+      for (int i = 0; i < names.length; i++) {
+        variables.put(names[i], tupleEntry.getObject(ordinals[i]));
+      }
+
+      return execute();
+    }
+
+    private void reset() {
+      // Drop whatever the previous evaluation assigned beyond the known locals
+      if (variables.size() != names.length + resetLocals.length + constants.size()) {
+        variables.clear();
+      }
+
+      for (val local : resetLocals) {
+        variables.put(local, null);
+      }
+      variables.putAll(constants);
+    }
+
+    private Object execute() {
+      val start = System.nanoTime();
+      try {
+        return statement.getValue(null, factory);
+      } finally {
+        evaluationNanos.add(System.nanoTime() - start);
+        evaluationCount.increment();
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.script;
+
+import static com.google.common.collect.Maps.immutableEntry;
+import static java.util.Comparator.comparing;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JVM wide cache of {@link CompiledScript}s, keyed by script text.
+ * <p>
+ * Scripts come from the dictionary, so that each of them is compiled once per dictionary version however many files,
+ * tasks and threads evaluate it.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class CompiledScripts {
+
+  /**
+   * Constants.
+   */
+  private static final int MAX_SCRIPT_COUNT = 1000;
+
+  /**
+   * State.
+   */
+  private static final LoadingCache<String, CompiledScript> CACHE = CacheBuilder.newBuilder()
+      .maximumSize(MAX_SCRIPT_COUNT)
+      .build(new CacheLoader<String, CompiledScript>() {
+
+        @Override
+        public CompiledScript load(String script) {
+          return new CompiledScript(script);
+        }
+
+      });
+
+  /**
+   * Returns the compiled {@code script}, compiling it on first use. Compilation failures are propagated as is.
+   */
+  public static CompiledScript compile(@NonNull String script) {
+    try {
+      return CACHE.getUnchecked(script);
+    } catch (UncheckedExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  /**
+   * Returns the evaluation metrics of the scripts so far, to be passed to {@link #logMetrics(Map)} at the end of a run.
+   */
+  public static Map<CompiledScript, Evaluations> getMetrics() {
+    val metrics = ImmutableMap.<CompiledScript, Evaluations> builder();
+    for (val script : CACHE.asMap().values()) {
+      metrics.put(script, new Evaluations(script.getEvaluationCount(), script.getEvaluationTime(NANOSECONDS)));
+    }
+
+    return metrics.build();
+  }
+
+  /**
+   * Logs the evaluation metrics of the scripts evaluated in this JVM since {@code start} was taken (see
+   * {@link #getMetrics()}), most time consuming first. None are logged for scripts evaluated by remote tasks, and
+   * evaluations made by concurrent runs of the same scripts are included.
+   */
+  public static void logMetrics(@NonNull Map<CompiledScript, Evaluations> start) {
+    val end = getMetrics();
+    List<Entry<CompiledScript, Evaluations>> evaluations = end.entrySet().stream()
+        .map(entry -> immutableEntry(entry.getKey(), entry.getValue().minus(start.get(entry.getKey()))))
+        .filter(entry -> entry.getValue().getCount() > 0)
+        .sorted(comparing((Entry<CompiledScript, Evaluations> entry) -> entry.getValue().getNanos()).reversed())
+        .collect(Collectors.toList());
+
+    for (val entry : evaluations) {
+      val count = entry.getValue().getCount();
+      val nanos = entry.getValue().getNanos();
+
+      log.info("Script evaluations: {}, total: {} ms, mean: {} ns, script: '{}'",
+          new Object[] { count, MILLISECONDS.convert(nanos, NANOSECONDS), nanos / count, entry.getKey() });
+    }
+  }
+
+  /**
+   * Number and total time of the evaluations of a script.
+   */
+  @Value
+  public static class Evaluations {
+
+    long count;
+    long nanos;
+
+    private Evaluations minus(Evaluations evaluations) {
+      return evaluations == null ? this : new Evaluations(count - evaluations.count, nanos - evaluations.nanos);
+    }
+
+  }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.stage;
+
+import static java.util.regex.Pattern.compile;
+import static org.icgc.dcc.submission.validation.core.Validators.checkInterrupted;
+
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.submission.fs.StagedFiles;
+import org.icgc.dcc.submission.validation.core.ValidationContext;
+import org.icgc.dcc.submission.validation.core.Validator;
+
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Not a validator as such: decompresses the compressed files of the submission once up front (see
+ * {@link StagedFiles}) so that the following validators read plain copies instead of each decompressing the files
+ * again. Never reports errors, files that cannot be decompressed are left for the first-pass validator to report.
+ * <p>
+ * Staged copies are removed once the validation ends, whatever its outcome.
+ */
+@Slf4j
+public class StagingValidator implements Validator {
+
+  @Override
+  public String getName() {
+    return "Staging";
+  }
+
+  @Override
+  public void validate(ValidationContext context) throws InterruptedException {
+    val submissionDirectory = context.getSubmissionDirectory();
+    val fileSchemata = context.getDictionary().getFileSchemata(context.getDataTypes());
+
+    int count = 0;
+    for (val fileSchema : fileSchemata) {
+      for (val fileName : submissionDirectory.listFile(compile(fileSchema.getPattern()))) {
+        // Cooperate
+        checkInterrupted(getName());
+
+        val file = new Path(submissionDirectory.getDataFilePath(fileName));
+        if (StagedFiles.stage(context.getFileSystem(), file)) {
+          count++;
+        }
+      }
+    }
+
+    log.info("Staged {} file(s) of '{}'", count, context.getProjectKey());
+  }
+
+}
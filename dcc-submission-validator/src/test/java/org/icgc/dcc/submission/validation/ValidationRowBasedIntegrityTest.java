@@ -31,6 +31,8 @@ import java.util.Collections;
 
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.model.DataType.DataTypes;
+import org.icgc.dcc.common.core.model.FileTypes.FileType;
+import org.icgc.dcc.submission.core.report.Report;
 import org.icgc.dcc.submission.dictionary.model.CodeList;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.dictionary.model.Field;
@@ -38,6 +40,7 @@ import org.icgc.dcc.submission.dictionary.model.FileSchema;
 import org.icgc.dcc.submission.dictionary.model.Restriction;
 import org.icgc.dcc.submission.dictionary.model.RestrictionType;
 import org.icgc.dcc.submission.validation.cascading.ForbiddenValuesFunction;
+import org.icgc.dcc.submission.validation.core.DefaultReportContext;
 import org.icgc.dcc.submission.validation.platform.LocalSubmissionPlatformStrategy;
 import org.icgc.dcc.submission.validation.primary.core.Plan;
 import org.icgc.dcc.submission.validation.primary.restriction.CodeListRestriction;
@@ -51,6 +54,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.mongodb.BasicDBObject;
 
@@ -117,18 +121,7 @@ public class ValidationRowBasedIntegrityTest extends BaseValidationIntegrityTest
 
   @Test
   public void test_validate_invalidRange() {
-    BasicDBObject rangeConfig = new BasicDBObject();
-    rangeConfig.put(RangeFieldRestriction.MIN, 0);
-    rangeConfig.put(RangeFieldRestriction.MAX, 200);
-
-    Restriction rangeRestriction = new Restriction(); // can't easily mock this because used by visitor as well
-    rangeRestriction.setType(RestrictionType.RANGE);
-    rangeRestriction.setConfig(rangeConfig);
-
-    // add a range restriction (none set at the moment); TODO: remove if range restrictions are added in the future
-    FileSchema donor = getFileSchemaByName(dictionary, "donor");
-    Field age = getFieldByName(donor, "donor_age_at_diagnosis");
-    age.addRestriction(rangeRestriction);
+    addRangeRestriction(dictionary);
 
     testErrorType(RangeFieldRestriction.NAME);
   }
@@ -151,37 +144,41 @@ public class ValidationRowBasedIntegrityTest extends BaseValidationIntegrityTest
 
   @Test
   public void test_validate_invalidRegexValues() {
-    BasicDBObject config = new BasicDBObject();
-    config.put(RegexRestriction.PARAM, "^T[0-9] N[0-9] M[0-9]$");
-
-    Restriction restriction = new Restriction();
-    restriction.setType(RestrictionType.REGEX);
-    restriction.setConfig(config);
-
-    FileSchema donor = getFileSchemaByName(dictionary, "donor");
-    Field stage = getFieldByName(donor, "donor_tumour_stage_at_diagnosis");
-    stage.setRestrictions(new ArrayList<Restriction>());
-    stage.addRestriction(restriction);
+    setRegexRestriction(dictionary);
 
     testErrorType(RegexRestriction.NAME);
   }
 
   @Test
   public void test_validate_invalidScriptValues() {
-    // Create restrictions
-    val restriction1 = createScriptRestriction("donor_sex == 1", "Donor's sex must be male");
-    val restriction2 = createScriptRestriction("donor_sex != 2", "Donor's sex must not equal two");
-    val restrictions = Lists.<Restriction> newArrayList(restriction1, restriction2);
-
-    // Create container
-    val donor = getFileSchemaByName(dictionary, "donor");
-    val donorSex = getFieldByName(donor, "donor_sex");
-    donorSex.setRestrictions(restrictions);
+    setScriptRestrictions(dictionary);
 
     // Execute and verify
     testErrorType(ScriptRestriction.NAME);
   }
 
+  @Test
+  public void test_validate_fused() {
+    for (val errorType : new String[] { ForbiddenValuesFunction.NAME, ValueTypePlanningVisitor.NAME,
+        CodeListRestriction.NAME, RequiredRestriction.NAME, RangeFieldRestriction.NAME, RegexRestriction.NAME,
+        ScriptRestriction.NAME }) {
+      val dictionary = getDictionary();
+      addRangeRestriction(dictionary);
+      setRegexRestriction(dictionary);
+      setScriptRestrictions(dictionary);
+
+      val submissionFilePath = "/fixtures/validation/internal/error/" + errorType;
+      val expected = collect(dictionary, submissionFilePath, false, 1);
+      assertTrue("errorType = " + errorType, expected.hasErrors());
+
+      for (int threads : new int[] { 1, 4 }) {
+        val actual = collect(dictionary, submissionFilePath, true, threads);
+
+        assertEquals("errorType = " + errorType + ", threads = " + threads, expected, actual);
+      }
+    }
+  }
+
   private void testErrorType(String errorType) {
     val submissionFilePath = "/fixtures/validation/internal/error/" + errorType;
     val content = validate(dictionary, submissionFilePath);
@@ -215,6 +212,68 @@ public class ValidationRowBasedIntegrityTest extends BaseValidationIntegrityTest
     return readFileToString(errorFile);
   }
 
+  private Report collect(Dictionary dictionary, String submissionFilePath, boolean fused, int threads) {
+    val rootDir = new Path(this.getClass().getResource(submissionFilePath).getFile());
+    val outputDir = new Path(rootDir, ".validation");
+    val platformStrategy = new LocalSubmissionPlatformStrategy(
+        Collections.<String, String> emptyMap(), rootDir, outputDir);
+
+    val report = new Report(ImmutableMap.of("donor.txt", FileType.DONOR_TYPE));
+    // Single file, hence reported on by a single thread whatever the number of threads
+    val reportContext = new DefaultReportContext(report);
+    val plan = planner.plan(PROJECT_KEY, DataTypes.values(), platformStrategy, dictionary, fused);
+    if (fused) {
+      plan.execute(reportContext, threads);
+    } else {
+      plan.connect();
+      plan.getCascade().complete();
+      plan.collectSubmissionReport(reportContext);
+    }
+
+    return reportContext.getReport();
+  }
+
+  private static void addRangeRestriction(Dictionary dictionary) {
+    BasicDBObject rangeConfig = new BasicDBObject();
+    rangeConfig.put(RangeFieldRestriction.MIN, 0);
+    rangeConfig.put(RangeFieldRestriction.MAX, 200);
+
+    Restriction rangeRestriction = new Restriction(); // can't easily mock this because used by visitor as well
+    rangeRestriction.setType(RestrictionType.RANGE);
+    rangeRestriction.setConfig(rangeConfig);
+
+    // add a range restriction (none set at the moment); TODO: remove if range restrictions are added in the future
+    FileSchema donor = getFileSchemaByName(dictionary, "donor");
+    Field age = getFieldByName(donor, "donor_age_at_diagnosis");
+    age.addRestriction(rangeRestriction);
+  }
+
+  private static void setRegexRestriction(Dictionary dictionary) {
+    BasicDBObject config = new BasicDBObject();
+    config.put(RegexRestriction.PARAM, "^T[0-9] N[0-9] M[0-9]$");
+
+    Restriction restriction = new Restriction();
+    restriction.setType(RestrictionType.REGEX);
+    restriction.setConfig(config);
+
+    FileSchema donor = getFileSchemaByName(dictionary, "donor");
+    Field stage = getFieldByName(donor, "donor_tumour_stage_at_diagnosis");
+    stage.setRestrictions(new ArrayList<Restriction>());
+    stage.addRestriction(restriction);
+  }
+
+  private static void setScriptRestrictions(Dictionary dictionary) {
+    // Create restrictions
+    val restriction1 = createScriptRestriction("donor_sex == 1", "Donor's sex must be male");
+    val restriction2 = createScriptRestriction("donor_sex != 2", "Donor's sex must not equal two");
+    val restrictions = Lists.<Restriction> newArrayList(restriction1, restriction2);
+
+    // Create container
+    val donor = getFileSchemaByName(dictionary, "donor");
+    val donorSex = getFieldByName(donor, "donor_sex");
+    donorSex.setRestrictions(restrictions);
+  }
+
   private static Restriction createScriptRestriction(String script, String description) {
     val config = new BasicDBObject();
     config.put(ScriptRestriction.PARAM, script);
@@ -17,6 +17,8 @@
  */
 package org.icgc.dcc.submission.validation.cascading;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -24,12 +26,15 @@ import java.io.IOException;
 
 import org.apache.hadoop.io.BooleanWritable;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.serializer.Deserializer;
+import org.apache.hadoop.io.serializer.Serializer;
 import org.apache.hadoop.io.serializer.WritableSerialization;
 import org.apache.hadoop.mapred.JobConf;
 import org.icgc.dcc.submission.core.report.ErrorType;
 import org.icgc.dcc.submission.validation.cascading.TupleState.TupleError;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.mysema.util.FileUtils;
 
@@ -93,6 +98,69 @@ public class TupleStateSerializationTest extends CascadingTestCase {
     input.close();
   }
 
+  @Test
+  public void test_valid_tuple_state_serialization() throws IOException {
+    TupleState testState = new TupleState(42L);
+
+    byte[] bytes = serialize(testState);
+    // Fast path: the offset only
+    assertEquals(1, bytes.length);
+
+    TupleState resultState = deserialize(bytes);
+    assertEquals(42L, resultState.getOffset());
+    assertTrue(resultState.isValid());
+    assertTrue(resultState.isStructurallyValid());
+    assertFalse(resultState.isFieldMissing("field1"));
+  }
+
+  @Test
+  public void test_invalid_tuple_state_serialization() throws IOException {
+    TupleState testState = new TupleState(123456789L);
+    testState.addMissingField("field1");
+    testState.reportError(ErrorType.OUT_OF_RANGE_ERROR, "field2", 4L, 1L, 10L);
+    testState.reportError(ErrorType.STRUCTURALLY_INVALID_ROW_ERROR, ImmutableList.of("field1", "field2"),
+        ImmutableList.of("a", "b"), 3);
+
+    TupleState resultState = deserialize(serialize(testState));
+    assertEquals(testState.getOffset(), resultState.getOffset());
+    assertEquals(testState.isInvalid(), resultState.isInvalid());
+    assertEquals(testState.isStructurallyValid(), resultState.isStructurallyValid());
+    assertTrue(resultState.isFieldMissing("field1"));
+    assertFalse(resultState.isFieldMissing("field2"));
+
+    TupleError[] testErrors = Iterables.toArray(testState.getErrors(), TupleError.class);
+    TupleError[] resultErrors = Iterables.toArray(resultState.getErrors(), TupleError.class);
+    assertEquals(testErrors.length, resultErrors.length);
+    for (int i = 0; i < testErrors.length; i++) {
+      assertEquals(testErrors[i].getType(), resultErrors[i].getType());
+      assertEquals(testErrors[i].getColumnNames(), resultErrors[i].getColumnNames());
+      assertEquals(testErrors[i].getNumber(), resultErrors[i].getNumber());
+      assertEquals(testErrors[i].getValue(), resultErrors[i].getValue());
+      assertEquals(testErrors[i].getLine(), resultErrors[i].getLine());
+      assertEquals(testErrors[i].getParameters(), resultErrors[i].getParameters());
+      assertEquals(testErrors[i].getMessage(), resultErrors[i].getMessage());
+    }
+  }
+
+  private static byte[] serialize(TupleState state) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Serializer<TupleState> serializer = new TupleStateSerialization().getSerializer(TupleState.class);
+    serializer.open(bytes);
+    serializer.serialize(state);
+    serializer.close();
+
+    return bytes.toByteArray();
+  }
+
+  private static TupleState deserialize(byte[] bytes) throws IOException {
+    Deserializer<TupleState> deserializer = new TupleStateSerialization().getDeserializer(TupleState.class);
+    deserializer.open(new ByteArrayInputStream(bytes));
+    TupleState state = deserializer.deserialize(null);
+    deserializer.close();
+
+    return state;
+  }
+
   @Override
   protected void setUp() throws Exception {
     file = new File("src/test/resources/tupleState.test");
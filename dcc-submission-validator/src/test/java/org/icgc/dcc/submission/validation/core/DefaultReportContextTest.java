@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.SSM_M_TYPE;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.SSM_P_TYPE;
+import static org.icgc.dcc.submission.core.report.Error.error;
+import static org.icgc.dcc.submission.core.report.ErrorType.SCRIPT_ERROR;
+
+import org.icgc.dcc.submission.core.report.Report;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import lombok.val;
+
+public class DefaultReportContextTest {
+
+  private static final String FILE_NAME = "ssm_p.txt";
+  private static final String OTHER_FILE_NAME = "ssm_m.txt";
+
+  @Test
+  public void testUnlimited() {
+    val context = new DefaultReportContext(createReport());
+    reportErrors(context, FILE_NAME, 100);
+
+    assertThat(context.getErrorCount()).isEqualTo(100);
+    assertThat(context.isErrorBudgetExhausted(FILE_NAME)).isFalse();
+    assertThat(context.getReport().getFileReport(FILE_NAME).get().isErrorsTruncated()).isFalse();
+  }
+
+  @Test
+  public void testMaxFileErrors() {
+    val context = new DefaultReportContext(createReport(), new ErrorBudget(10, ErrorBudget.UNLIMITED));
+    reportErrors(context, FILE_NAME, 9);
+    assertThat(context.isErrorBudgetExhausted(FILE_NAME)).isFalse();
+
+    reportErrors(context, FILE_NAME, 91);
+    reportErrors(context, OTHER_FILE_NAME, 5);
+
+    assertThat(context.isErrorBudgetExhausted(FILE_NAME)).isTrue();
+    assertThat(context.isErrorBudgetExhausted(OTHER_FILE_NAME)).isFalse();
+    assertThat(context.getErrorCount()).isEqualTo(15);
+
+    val report = context.getReport();
+    assertThat(report.getFileReport(FILE_NAME).get().isErrorsTruncated()).isTrue();
+    assertThat(report.getFileReport(OTHER_FILE_NAME).get().isErrorsTruncated()).isFalse();
+  }
+
+  @Test
+  public void testMaxFileErrorsReached() {
+    val context = new DefaultReportContext(createReport(), new ErrorBudget(10, ErrorBudget.UNLIMITED));
+    reportErrors(context, FILE_NAME, 10);
+
+    assertThat(context.isErrorBudgetExhausted(FILE_NAME)).isFalse();
+    assertThat(context.getErrorCount()).isEqualTo(10);
+    assertThat(context.getReport().getFileReport(FILE_NAME).get().isErrorsTruncated()).isFalse();
+  }
+
+  @Test
+  public void testMaxErrors() {
+    val context = new DefaultReportContext(createReport(), new ErrorBudget(ErrorBudget.UNLIMITED, 10));
+    reportErrors(context, FILE_NAME, 8);
+    reportErrors(context, OTHER_FILE_NAME, 8);
+
+    assertThat(context.isErrorBudgetExhausted(FILE_NAME)).isTrue();
+    assertThat(context.isErrorBudgetExhausted(OTHER_FILE_NAME)).isTrue();
+    assertThat(context.getErrorCount()).isEqualTo(10);
+    assertThat(context.getReport().getFileReport(OTHER_FILE_NAME).get().isErrorsTruncated()).isTrue();
+  }
+
+  private static void reportErrors(ReportContext context, String fileName, int count) {
+    for (int i = 0; i < count; i++) {
+      context.reportError(error().fileName(fileName).type(SCRIPT_ERROR).fieldNames("f1").lineNumber(i + 2)
+          .value("v" + i).build());
+    }
+  }
+
+  private static Report createReport() {
+    return new Report(ImmutableMap.of(FILE_NAME, SSM_P_TYPE, OTHER_FILE_NAME, SSM_M_TYPE));
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.core;
+
+import static com.google.common.util.concurrent.Uninterruptibles.awaitUninterruptibly;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import lombok.val;
+
+public class ErrorBudgetTest {
+
+  private static final String FILE_NAME = "ssm_p.txt";
+  private static final int THREADS = 8;
+  private static final int ERRORS_PER_THREAD = 10000;
+
+  @Test
+  public void testSpendConcurrently() throws InterruptedException {
+    val budget = new ErrorBudget(100, 1000);
+    val fileSpent = new AtomicLong();
+    val otherSpent = new AtomicLong();
+
+    val start = new CountDownLatch(1);
+    val executor = Executors.newFixedThreadPool(THREADS);
+    for (int i = 0; i < THREADS; i++) {
+      val fileName = i % 2 == 0 ? FILE_NAME : "thread" + i + ".txt";
+      val spent = i % 2 == 0 ? fileSpent : otherSpent;
+      executor.execute(() -> {
+        awaitUninterruptibly(start);
+        for (int j = 0; j < ERRORS_PER_THREAD; j++) {
+          if (budget.spend(fileName)) {
+            spent.incrementAndGet();
+          }
+        }
+      });
+    }
+
+    start.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(30, SECONDS)).isTrue();
+
+    // One file shared by half the threads, one file per other thread
+    assertThat(fileSpent.get()).isEqualTo(100);
+    assertThat(otherSpent.get()).isEqualTo(THREADS / 2 * 100);
+    assertThat(budget.isExhausted(FILE_NAME)).isTrue();
+  }
+
+  @Test
+  public void testSpendMaxErrorsConcurrently() throws InterruptedException {
+    val budget = new ErrorBudget(ErrorBudget.UNLIMITED, 1000);
+    val spent = new AtomicLong();
+
+    val executor = Executors.newFixedThreadPool(THREADS);
+    for (int i = 0; i < THREADS; i++) {
+      val fileName = "thread" + i + ".txt";
+      executor.execute(() -> {
+        for (int j = 0; j < ERRORS_PER_THREAD; j++) {
+          if (budget.spend(fileName)) {
+            spent.incrementAndGet();
+          }
+        }
+      });
+    }
+
+    executor.shutdown();
+    assertThat(executor.awaitTermination(30, SECONDS)).isTrue();
+    assertThat(spent.get()).isEqualTo(1000);
+    assertThat(budget.isExhausted()).isTrue();
+  }
+
+  @Test
+  public void testExhaustedOnlyOnceRefused() {
+    val budget = new ErrorBudget(2, ErrorBudget.UNLIMITED);
+    assertThat(budget.spend(FILE_NAME)).isTrue();
+    assertThat(budget.spend(FILE_NAME)).isTrue();
+    assertThat(budget.isExhausted(FILE_NAME)).isFalse();
+
+    assertThat(budget.spend(FILE_NAME)).isFalse();
+    assertThat(budget.isExhausted(FILE_NAME)).isTrue();
+  }
+
+}
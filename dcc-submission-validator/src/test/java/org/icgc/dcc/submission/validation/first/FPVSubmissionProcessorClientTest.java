@@ -160,6 +160,18 @@ public class FPVSubmissionProcessorClientTest {
     TestUtils.checkNoErrorsReported(validationContext);
   }
 
+  @Test
+  public void sanityConcurrently() throws IOException {
+    // One stream per file as they are read concurrently
+    when(fs.getDecompressingInputStream(Mockito.anyString())).thenAnswer(
+        invocation -> FileCorruptionCheckerTest.getTestInputStream(VALID_CONTENT, PLAIN_TEXT));
+
+    val fpv = new FPVSubmissionProcessor();
+    fpv.setThreads(2);
+    fpv.process("mystepname", validationContext, fs);
+    TestUtils.checkNoErrorsReported(validationContext);
+  }
+
   private static Iterable<DataType> anyDataTypeIterable() {
     return any();
   }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.hadoop.fs.FileSystems.getDefaultLocalFileSystem;
+import static org.icgc.dcc.submission.core.report.ErrorType.COMPRESSION_CODEC_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.FILE_HEADER_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.INVALID_CHARSET_ROW_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.LINE_TERMINATOR_MISSING_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.MISSING_ROWS_ERROR;
+import static org.icgc.dcc.submission.core.report.ErrorType.STRUCTURALLY_INVALID_ROW_ERROR;
+import static org.icgc.dcc.submission.dictionary.util.Dictionaries.readResourcesDictionary;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.validation.core.BasicValidationContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+
+import lombok.Cleanup;
+import lombok.val;
+
+public class FirstPassStreamCheckerTest {
+
+  /**
+   * Test data.
+   */
+  private static final String RELEASE_NAME = "myrelease";
+  private static final String PROJECT_KEY = "myproject";
+  private static final Dictionary DICTIONARY = readResourcesDictionary("0.11c");
+
+  /**
+   * Scratch space.
+   */
+  @Rule
+  public final TemporaryFolder tmp = new TemporaryFolder();
+
+  /**
+   * Environment.
+   */
+  File rootDir;
+  File projectDir;
+
+  /**
+   * Class under test.
+   */
+  FirstPassStreamChecker checker = new FirstPassStreamChecker(DICTIONARY);
+
+  @Before
+  public void setUp() throws IOException {
+    rootDir = tmp.newFolder();
+    projectDir = new File(new File(rootDir, RELEASE_NAME), PROJECT_KEY);
+    projectDir.mkdirs();
+
+    // One file per error type, the files referencing each other so that the cross-file checks pass
+    write("donor.txt", header("donor") + row("donor") + row("donor"));
+    write("specimen.txt", header("specimen") + row("specimen") + row("specimen").replaceFirst("\t", ""));
+    write("sample.txt", header("specimen") + row("sample"));
+    write("ssm_m.txt", header("ssm_m") + row("ssm_m") + row("ssm_m").replaceFirst("v", "\u00e9"));
+    write("ssm_p.txt", header("ssm_p") + row("ssm_p") + row("ssm_p").trim());
+    write("cnsm_m.txt.gz", header("cnsm_m") + row("cnsm_m"));
+    writeGzip("cnsm_p.txt.gz", header("cnsm_p") + row("cnsm_p").replaceFirst("\t", "") + row("cnsm_p"));
+    write("cnsm_s.txt", header("cnsm_s"));
+  }
+
+  @Test
+  public void testCheckSameAsFirstPassValidator() throws IOException {
+    assertSameErrors(new FirstPassValidator());
+    assertSameErrors(new FirstPassValidator(true, 4));
+  }
+
+  private void assertSameErrors(FirstPassValidator validator) throws IOException {
+    val expected = validate(validator);
+    assertThat(Lists.transform(Lists.newArrayList(expected.values()), Error::getType)).containsOnly(
+        FILE_HEADER_ERROR,
+        STRUCTURALLY_INVALID_ROW_ERROR,
+        INVALID_CHARSET_ROW_ERROR,
+        LINE_TERMINATOR_MISSING_ERROR,
+        COMPRESSION_CODEC_ERROR,
+        MISSING_ROWS_ERROR);
+
+    for (val file : projectDir.listFiles(File::isFile)) {
+      val fileName = file.getName();
+
+      @Cleanup
+      val inputStream = new FileInputStream(file);
+      assertThat(checker.check(fileName, inputStream)).as(fileName).isEqualTo(expected.get(fileName));
+    }
+  }
+
+  /**
+   * Runs the validator on the whole submission and returns the reported errors by file name.
+   */
+  private ListMultimap<String, Error> validate(FirstPassValidator validator) {
+    ListMultimap<String, Error> errors = ArrayListMultimap.create();
+    val fsRoot = new Path(rootDir.getAbsolutePath()).toUri().toString();
+    val fsUrl = getDefaultLocalFileSystem().getUri().toString();
+    val context = new BasicValidationContext(RELEASE_NAME, PROJECT_KEY, fsRoot, fsUrl) {
+
+      @Override
+      protected Dictionary createDictionary() {
+        return DICTIONARY;
+      }
+
+      @Override
+      public void reportError(Error error) {
+        super.reportError(error);
+        errors.put(error.getFileName(), error);
+      }
+
+    };
+
+    validator.validate(context);
+
+    return errors;
+  }
+
+  private void write(String fileName, String content) throws IOException {
+    Files.write(content, new File(projectDir, fileName), UTF_8);
+  }
+
+  private void writeGzip(String fileName, String content) throws IOException {
+    @Cleanup
+    val outputStream = new GZIPOutputStream(new FileOutputStream(new File(projectDir, fileName)));
+    outputStream.write(content.getBytes(UTF_8));
+  }
+
+  private static String header(String schemaName) {
+    return Joiner.on('\t').join(getFieldNames(schemaName)) + "\n";
+  }
+
+  private static String row(String schemaName) {
+    List<String> values = Lists.newArrayList();
+    for (int i = 0; i < getFieldNames(schemaName).size(); i++) {
+      values.add("v" + i);
+    }
+
+    return Joiner.on('\t').join(values) + "\n";
+  }
+
+  private static List<String> getFieldNames(String schemaName) {
+    return DICTIONARY.getFileSchemaByName(schemaName).get().getFieldNames();
+  }
+
+}
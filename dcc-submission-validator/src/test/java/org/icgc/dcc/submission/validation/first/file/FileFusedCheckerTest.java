@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.file;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.icgc.dcc.submission.dictionary.model.Dictionary;
+import org.icgc.dcc.submission.dictionary.model.FileSchema;
+import org.icgc.dcc.submission.validation.core.ValidationContext;
+import org.icgc.dcc.submission.validation.first.core.FileChecker;
+import org.icgc.dcc.submission.validation.first.core.RowChecker;
+import org.icgc.dcc.submission.validation.first.io.FPVFileInput;
+import org.icgc.dcc.submission.validation.first.io.FPVFileSystem;
+import org.icgc.dcc.submission.validation.first.io.FPVFileSystem.CodecType;
+import org.icgc.dcc.submission.validation.first.io.FPVLineReader;
+import org.icgc.dcc.submission.validation.first.row.TestUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import lombok.Cleanup;
+import lombok.val;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FileFusedCheckerTest {
+
+  @Mock
+  ValidationContext validationContext;
+  @Mock
+  FPVFileSystem fs;
+  @Mock
+  RowChecker rowChecker;
+
+  @Before
+  public void setup() {
+    val dict = mock(Dictionary.class);
+    val fileSchema = mock(FileSchema.class);
+    when(fileSchema.getFieldNames()).thenReturn(ImmutableList.of("a", "b"));
+    when(dict.getFileSchemaByName(anyString())).thenReturn(Optional.of(fileSchema));
+    when(dict.getFileSchemaByFileName(anyString())).thenReturn(Optional.of(fileSchema));
+
+    when(validationContext.getDictionary()).thenReturn(dict);
+    when(fs.determineCodecFromFilename(anyString())).thenReturn(CodecType.PLAIN_TEXT);
+  }
+
+  @Test
+  public void simpleValidation() throws Exception {
+    when(fs.openInput(anyString())).thenReturn(createInput("a\tb\nf1\tf2\n".getBytes()));
+
+    createChecker().checkFile("f.txt");
+
+    TestUtils.checkNoErrorsReported(validationContext);
+    verify(rowChecker).checkLines(anyString(), any(FPVLineReader.class));
+  }
+
+  @Test
+  public void notValidHeader() throws Exception {
+    when(fs.openInput(anyString())).thenReturn(createInput("b\ta\nf1\tf2\n".getBytes()));
+
+    createChecker().checkFile("f.txt");
+
+    TestUtils.checkFileHeaderErrorReported(validationContext, 1);
+    verify(rowChecker, never()).checkLines(anyString(), any(FPVLineReader.class));
+  }
+
+  @Test
+  public void notValidCompressedContent() throws Exception {
+    val bytes = new ByteArrayOutputStream();
+    @Cleanup
+    val gzip = new GZIPOutputStream(bytes);
+    gzip.write("a\tb\n".getBytes());
+    gzip.finish();
+    when(fs.openInput(anyString())).thenReturn(createInput(bytes.toByteArray()));
+
+    createChecker().checkFile("f.txt");
+
+    TestUtils.checkErrorReported(validationContext, 1);
+    verify(rowChecker, never()).checkLines(anyString(), any(FPVLineReader.class));
+  }
+
+  private FileChecker createChecker() {
+    return new FileFusedChecker(new FileNoOpChecker(validationContext, fs), rowChecker);
+  }
+
+  private static FPVFileInput createInput(byte[] bytes) throws Exception {
+    return new FPVFileInput(new ByteArrayInputStream(bytes));
+  }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.first.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+public class FPVLineReaderTest {
+
+  @Test
+  public void testNext() {
+    val reader = createReader(new byte[] { 'a', '\t', 'b', '\n', '\n', 'c', '\r', '\n' }, 1024);
+
+    assertThat(readLines(reader)).containsExactly("a\tb", "", "c\r");
+    assertThat(reader.hasUnterminatedLine()).isFalse();
+  }
+
+  @Test
+  public void testNextWithLinesSpanningBuffer() {
+    val reader = createReader("0123456789abcdef\n01\n0123456789abcdefghij\n".getBytes(), 8);
+
+    assertThat(readLines(reader)).containsExactly("0123456789abcdef", "01", "0123456789abcdefghij");
+    assertThat(reader.hasUnterminatedLine()).isFalse();
+  }
+
+  @Test
+  public void testUnterminatedLine() {
+    val reader = createReader("a\nb".getBytes(), 1024);
+
+    assertThat(readLines(reader)).containsExactly("a");
+    assertThat(reader.hasUnterminatedLine()).isTrue();
+  }
+
+  @Test
+  public void testNulByteEndsData() {
+    val reader = createReader(new byte[] { 'a', '\n', 'b', 0, 'c', '\n' }, 1024);
+
+    assertThat(readLines(reader)).containsExactly("a");
+    assertThat(reader.hasUnterminatedLine()).isTrue();
+  }
+
+  @Test
+  public void testNonAsciiBytes() {
+    val reader = createReader(new byte[] { 'a', (byte) 0xE9, '\n' }, 1024);
+
+    assertThat(readLines(reader)).containsExactly("aé");
+  }
+
+  private static FPVLineReader createReader(byte[] bytes, int bufferSize) {
+    return new FPVLineReader(new ByteArrayInputStream(bytes), bufferSize);
+  }
+
+  @SneakyThrows
+  private static List<String> readLines(FPVLineReader reader) {
+    val lines = Lists.<String> newArrayList();
+    while (reader.next()) {
+      lines.add(reader.getLine().toString());
+    }
+
+    return lines;
+  }
+
+}
@@ -17,29 +17,42 @@
  */
 package org.icgc.dcc.submission.validation.key;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.icgc.dcc.common.hadoop.fs.FileSystems.getDefaultLocalFileSystem;
 import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.lsRecursive;
+import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.readSmallTextFile;
 import static org.icgc.dcc.submission.dictionary.util.Dictionaries.readResourcesDictionary;
 import static org.icgc.dcc.submission.fs.ReleaseFileSystem.SYSTEM_FILES_DIR_NAME;
 import static org.icgc.dcc.submission.validation.key.KVTestUtils.FS_DIR;
 import static org.icgc.dcc.submission.validation.key.KVTestUtils.copyDirectory;
+import static org.icgc.dcc.submission.validation.key.KeyValidator.DEFAULT_MAX_FILE_ERRORS;
+import static org.icgc.dcc.submission.validation.key.data.KVKeyStoreType.HEAP;
+import static org.icgc.dcc.submission.validation.key.data.KVKeyStoreType.OFF_HEAP;
+import static org.icgc.dcc.submission.validation.key.report.KVReporter.REPORT_FILE_NAME;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
+import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.common.core.model.DataType.DataTypes;
 import org.icgc.dcc.common.core.util.Joiners;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.validation.core.BasicValidationContext;
+import org.icgc.dcc.submission.validation.key.core.KVValidatorRunner;
+import org.icgc.dcc.submission.validation.key.data.KVKeyStoreType;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import com.google.common.base.Splitter;
+
 @Slf4j
 public class KeyValidatorIntegrationTest {
 
@@ -91,6 +104,76 @@ public class KeyValidatorIntegrationTest {
     validator.validate(context);
   }
 
+  @Test
+  public void testValidateConcurrently() {
+    assertSameReport(HEAP, 4, false, DEFAULT_MAX_FILE_ERRORS);
+  }
+
+  @Test
+  public void testValidateOffHeap() {
+    assertSameReport(OFF_HEAP, 1, false, DEFAULT_MAX_FILE_ERRORS);
+    assertSameReport(OFF_HEAP, 4, false, DEFAULT_MAX_FILE_ERRORS);
+  }
+
+  @Test
+  public void testValidateBloomFilter() {
+    assertSameReport(HEAP, 1, true, DEFAULT_MAX_FILE_ERRORS);
+    assertSameReport(OFF_HEAP, 4, true, DEFAULT_MAX_FILE_ERRORS);
+  }
+
+  @Test
+  public void testValidateConcurrentlyWithMaxFileErrors() {
+    val unlimited = validate(HEAP, 1, false, DEFAULT_MAX_FILE_ERRORS);
+    val limited = assertSameReport(HEAP, 4, false, 1);
+    assertThat(limited.size()).isLessThan(unlimited.size());
+
+    assertSameReport(HEAP, 4, false, 2);
+  }
+
+  /**
+   * Asserts that the report of the given configuration has the same errors, in the same order, as the one of the
+   * sequential heap configuration with the same maximum number of errors per file, and returns them.
+   */
+  private List<String> assertSameReport(KVKeyStoreType keyStoreType, int threads, boolean bloomFilter,
+      long maxFileErrors) {
+    val expected = validate(HEAP, 1, false, maxFileErrors);
+    assertThat(expected).isNotEmpty();
+
+    val actual = validate(keyStoreType, threads, bloomFilter, maxFileErrors);
+    assertThat(actual)
+        .as("key store: " + keyStoreType + ", threads: " + threads + ", Bloom filter: " + bloomFilter
+            + ", maximum errors per file: " + maxFileErrors)
+        .isEqualTo(expected);
+
+    return actual;
+  }
+
+  /**
+   * Runs the key validation in this JVM and returns the reported errors.
+   */
+  @SneakyThrows
+  private List<String> validate(KVKeyStoreType keyStoreType, int threads, boolean bloomFilter, long maxFileErrors) {
+    val releaseDir = new Path(rootDir, RELEASE_NAME);
+    val reportPath = new Path(tmp.newFolder().getAbsolutePath(), REPORT_FILE_NAME);
+    val runner = new KVValidatorRunner(
+        fileSystem.getUri(),
+        DataTypes.values(),
+        readResourcesDictionary("0.14z"),
+        new Path(releaseDir, PROJECT_KEY).toUri().toString(),
+        new Path(releaseDir, SYSTEM_FILES_DIR_NAME).toUri().toString(),
+        reportPath.toUri().toString(),
+        keyStoreType,
+        threads,
+        bloomFilter,
+        maxFileErrors);
+
+    runner.execute(fileSystem.getConf());
+
+    // Errors are written back to back without a separator
+    val report = Joiners.NEWLINE.join(readSmallTextFile(fileSystem, reportPath));
+    return Splitter.on("}{").omitEmptyStrings().splitToList(report);
+  }
+
   private BasicValidationContext createContext() {
     val fsRoot = rootDir.toUri().toString();
     val fsUrl = fileSystem.getUri().toString();
@@ -17,6 +17,7 @@
  */
 package org.icgc.dcc.submission.validation.key.core;
 
+import static com.google.common.base.Charsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.icgc.dcc.submission.validation.key.core.KVFileType.SAMPLE;
 import static org.icgc.dcc.submission.validation.key.core.KVFileType.SPECIMEN;
@@ -26,13 +27,17 @@ import static org.icgc.dcc.submission.validation.key.core.KVKeyType.FK;
 import static org.icgc.dcc.submission.validation.key.core.KVKeyType.OPTIONAL_FK;
 import static org.icgc.dcc.submission.validation.key.core.KVKeyType.PK;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
 import java.util.Map;
 
+import lombok.Cleanup;
 import lombok.val;
 
+import org.icgc.dcc.submission.core.parser.FieldTokenizer;
 import org.junit.Test;
 
+import com.google.common.base.Joiner;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -80,6 +85,24 @@ public class KVFileTypeKeysIndicesTest {
     assertThat(keys.get(SAMPLE).getStringValues()).containsExactly("TARGET-1-2");
   }
 
+  @Test
+  public void testGetRow_record() throws Exception {
+    keysIndices = new KVFileTypeKeysIndices(createSsmMIndexKeys(),
+        ImmutableMap.of(SAMPLE, createSsmMRowEvaluator()));
+    val fields = ImmutableList.of("TARGET-\u00e9", "TARGET-\u00e9-1", "TARGET-\u00fc-2", "1", "p1", "proto2", "alg3",
+        "alg4", "alg5", "alg6", "str7", "cov8", "AWS", "acc10");
+
+    @Cleanup
+    val record = new FieldTokenizer(new ByteArrayInputStream((Joiner.on('\t').join(fields) + "\n").getBytes(UTF_8)));
+    assertThat(record.next()).isTrue();
+    val row = keysIndices.getRow(record);
+
+    // Same keys as the decoded fields, non-ASCII characters included
+    assertThat(row).isEqualTo(keysIndices.getRow(fields));
+    assertThat(row.getPk().getStringValues()).containsExactly("TARGET-\u00e9", "TARGET-\u00e9-1");
+    assertThat(row.getConditionalKeys().get(SAMPLE).getStringValues()).containsExactly("TARGET-\u00fc-2");
+  }
+
   private static Map<KVKeyType, Multimap<KVFileType, Integer>> createSsmMIndexKeys() {
     return ImmutableMap.of(
         PK, createMultimap(SSM_M, ImmutableList.of(0, 1)),
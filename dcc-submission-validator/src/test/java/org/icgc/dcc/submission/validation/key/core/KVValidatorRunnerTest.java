@@ -10,6 +10,7 @@ import org.apache.hadoop.mapred.JobConf;
 import org.icgc.dcc.common.core.model.DataType.DataTypes;
 import org.icgc.dcc.submission.dictionary.model.Dictionary;
 import org.icgc.dcc.submission.validation.ValidationTests;
+import org.icgc.dcc.submission.validation.key.data.KVKeyStoreType;
 import org.junit.Test;
 
 import cascading.flow.hadoop.HadoopFlowStep;
@@ -29,7 +30,8 @@ public class KVValidatorRunnerTest {
    */
   @Test
   public void testSerializable() throws URISyntaxException {
-    val runner = new KVValidatorRunner(new URI("file:///"), DataTypes.values(), getDictionary(), "", "", "");
+    val runner = new KVValidatorRunner(new URI("file:///"), DataTypes.values(), getDictionary(), "", "", "",
+        KVKeyStoreType.OFF_HEAP, 4, true, 1000);
     val serialized = cascadingSerialize(runner);
     log.info("runner: {}, serialized: {}", runner, serialized);
 
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.validation.key.data.KVKeyStore.ALL_FILES;
+
+import java.util.Iterator;
+import java.util.List;
+
+import lombok.val;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+public abstract class BaseKVKeyStoreTest {
+
+  KVKeyStore store = createKeyStore();
+
+  protected abstract KVKeyStore createKeyStore();
+
+  @Test
+  public void testContains() {
+    store.add(0, key("DO1"));
+    store.add(0, key("DO2"));
+    store.add(1, key("DO3"));
+
+    assertThat(store.contains(key("DO1"))).isTrue();
+    assertThat(store.contains(key("DO3"))).isTrue();
+    assertThat(store.contains(key("DO4"))).isFalse();
+    assertThat(store.contains(key("DO"))).isFalse();
+  }
+
+  @Test
+  public void testGetFileOrdinal() {
+    store.add(3, key("DO1"));
+    store.add(5, key("DO2"));
+
+    assertThat(store.getFileOrdinal(key("DO1"))).isEqualTo(3);
+    assertThat(store.getFileOrdinal(key("DO2"))).isEqualTo(5);
+    assertThat(store.getFileOrdinal(key("DO3"))).isEqualTo(KVKeyStore.NOT_FOUND);
+  }
+
+  @Test
+  public void testCompositeKeys() {
+    store.add(0, key("DO1", "SP1"));
+
+    assertThat(store.contains(key("DO1", "SP1"))).isTrue();
+    assertThat(store.contains(key("DO1SP1"))).isFalse();
+    assertThat(store.contains(key("DO1", "SP2"))).isFalse();
+  }
+
+  @Test
+  public void testDuplicates() {
+    store.add(0, key("DO1"));
+    store.add(0, key("DO1"));
+    assertThat(store.getSize()).isEqualTo(1);
+
+    // Same key in another file is kept
+    store.add(1, key("DO1"));
+    assertThat(store.getSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGetKeys() {
+    val count = 100000;
+    for (int i = 0; i < count; i++) {
+      store.add(i % 2, key("DO" + i, "SP" + i));
+    }
+
+    assertThat(store.getSize()).isEqualTo(count);
+    assertThat(values(store.getKeys(0))).hasSize(count / 2).contains("DO0|SP0").doesNotContain("DO1|SP1");
+    assertThat(values(store.getKeys(1))).hasSize(count / 2).contains("DO1|SP1").doesNotContain("DO0|SP0");
+    assertThat(values(store.getKeys(ALL_FILES))).hasSize(count);
+    for (int i = 0; i < count; i++) {
+      assertThat(store.contains(key("DO" + i, "SP" + i))).isTrue();
+    }
+  }
+
+  @Test
+  public void testGetKeysDuplicates() {
+    store.add(0, key("DO1"));
+    store.add(1, key("DO2"));
+    store.add(1, key("DO1"));
+    store.add(1, key("DO1"));
+    store.add(2, key("DO3"));
+
+    assertThat(values(store.getKeys(0))).containsOnly("DO1");
+    assertThat(values(store.getKeys(1))).containsOnly("DO1", "DO2").hasSize(2);
+    assertThat(values(store.getKeys(2))).containsOnly("DO3");
+    assertThat(values(store.getKeys(3))).isEmpty();
+    assertThat(values(store.getKeys(ALL_FILES))).hasSize(4);
+  }
+
+  private static List<String> values(Iterator<KVKey> keys) {
+    val values = Lists.<String> newArrayList();
+    while (keys.hasNext()) {
+      values.add(String.join("|", keys.next().getStringValues()));
+    }
+
+    return values;
+  }
+
+  protected static KVKey key(String... values) {
+    val row = ImmutableList.copyOf(values);
+    val indices = Lists.<Integer> newArrayList();
+    for (int i = 0; i < values.length; i++) {
+      indices.add(i);
+    }
+
+    return KVKey.from(row, indices);
+  }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class KVBloomFilteredKeyStoreTest extends BaseKVKeyStoreTest {
+
+  @Override
+  protected KVKeyStore createKeyStore() {
+    return new KVBloomFilteredKeyStore(new KVHeapKeyStore());
+  }
+
+  @Test
+  public void testCounters() {
+    for (int i = 0; i < 1000; i++) {
+      store.add(0, key("DO" + i));
+    }
+
+    for (int i = 0; i < 2000; i++) {
+      store.contains(key("DO" + i));
+    }
+
+    KVBloomFilteredKeyStore filtered = (KVBloomFilteredKeyStore) store;
+    assertThat(filtered.getLookups()).isEqualTo(2000);
+    assertThat(filtered.getHits()).isEqualTo(1000);
+    assertThat(filtered.getFilteredMisses() + filtered.getFalsePositives()).isEqualTo(1000);
+    assertThat(filtered.getFilteredMisses()).isGreaterThan(900);
+  }
+
+}
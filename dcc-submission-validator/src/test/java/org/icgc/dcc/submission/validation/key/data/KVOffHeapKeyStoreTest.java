@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.key.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class KVOffHeapKeyStoreTest extends BaseKVKeyStoreTest {
+
+  @Override
+  protected KVKeyStore createKeyStore() {
+    return new KVOffHeapKeyStore();
+  }
+
+  @Test
+  public void testClose() {
+    store.add(0, key("DO1"));
+    assertThat(store.toString()).doesNotContain("offHeapBytes=0)");
+
+    store.close();
+    assertThat(store.getSize()).isEqualTo(0);
+    assertThat(store.toString()).contains("offHeapBytes=0)");
+
+    // Idempotent
+    store.close();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testClosedAdd() {
+    store.close();
+    store.add(0, key("DO1"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testClosedContains() {
+    store.close();
+    store.contains(key("DO1"));
+  }
+
+}
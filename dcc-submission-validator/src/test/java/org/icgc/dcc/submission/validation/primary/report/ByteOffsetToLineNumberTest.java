@@ -23,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.PrintWriter;
 import java.util.Collection;
 import java.util.Map;
 import java.util.zip.GZIPInputStream;
@@ -30,6 +31,9 @@ import java.util.zip.GZIPInputStream;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.submission.fs.LineIndex;
+import org.icgc.dcc.submission.fs.LineIndexes;
+import org.icgc.dcc.submission.fs.LineIndexingInputStream;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -37,6 +41,7 @@ import org.junit.rules.TemporaryFolder;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
 
 import lombok.Cleanup;
 import lombok.SneakyThrows;
@@ -88,6 +93,37 @@ public class ByteOffsetToLineNumberTest {
     }
   }
 
+  @Test
+  @SneakyThrows
+  public void testConvertIndexed() {
+    val file = tmp.newFile("indexed.txt");
+    val lineCount = 3 * LineIndex.INTERVAL + 123;
+    val writer = new PrintWriter(file);
+    for (int i = 0; i < lineCount; i++) {
+      writer.println("line" + i % 10);
+    }
+    writer.close();
+
+    // Index as the first-pass does
+    val path = new Path(file.getAbsolutePath());
+    @Cleanup
+    val inputStream = new LineIndexingInputStream(fileSystem.open(path));
+    ByteStreams.exhaust(inputStream);
+    LineIndexes.save(fileSystem, path, inputStream.getLineIndex().get());
+
+    val expected = ImmutableMap.<Long, Long> builder();
+    for (val entry : getMapping(file).entrySet()) {
+      if (entry.getValue() % 1000 == 7 || entry.getValue() == lineCount) {
+        expected.put(entry);
+      }
+    }
+
+    // Exercise
+    val actual = ByteOffsetToLineNumber.convert(path, expected.build().keySet(), false);
+
+    assertThat(actual).isEqualTo(expected.build());
+  }
+
   /**
    * See https://jira.oicr.on.ca/browse/DCC-4752
    */
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.assertj.core.data.MapEntry.entry;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.AVERAGE;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.FREQUENCY;
+import static org.icgc.dcc.submission.dictionary.model.SummaryType.UNIQUE_COUNT;
+import static org.icgc.dcc.submission.validation.primary.report.FieldStatistics.EXACT_UNIQUE_COUNT_LIMIT;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Random;
+
+import org.icgc.dcc.submission.validation.cascading.TupleState;
+import org.junit.Test;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+public class FieldStatisticsTest {
+
+  /**
+   * Test data.
+   */
+  private static final String FIELD_NAME = "field";
+
+  @Test
+  public void test_accumulate_completeness() {
+    val statistics = new FieldStatistics(null);
+    val missingState = new TupleState();
+    missingState.addMissingField(FIELD_NAME);
+
+    statistics.accumulate(FIELD_NAME, "value", new TupleState());
+    statistics.accumulate(FIELD_NAME, "", new TupleState());
+    statistics.accumulate(FIELD_NAME, null, new TupleState());
+    statistics.accumulate(FIELD_NAME, null, missingState);
+
+    val fieldSummary = statistics.toFieldSummary(FIELD_NAME);
+    assertThat(fieldSummary.populated).isEqualTo(1);
+    assertThat(fieldSummary.nulls).isEqualTo(2);
+    assertThat(fieldSummary.missing).isEqualTo(1);
+    assertThat(fieldSummary.summary).isEmpty();
+  }
+
+  @Test
+  public void test_merge_average() {
+    val random = new Random(1);
+    val statistics = new FieldStatistics(AVERAGE);
+    val partial1 = new FieldStatistics(AVERAGE);
+    val partial2 = new FieldStatistics(AVERAGE);
+
+    double sum = 0;
+    val count = 10000;
+    for (int i = 0; i < count; i++) {
+      double value = 1000000 + random.nextGaussian();
+      statistics.accumulate(FIELD_NAME, value, new TupleState());
+      (i % 3 == 0 ? partial1 : partial2).accumulate(FIELD_NAME, value, new TupleState());
+      sum += value;
+    }
+
+    val merged = new FieldStatistics(AVERAGE);
+    merged.merge(roundTrip(partial1));
+    merged.merge(roundTrip(partial2));
+
+    assertThat(merged.getAverage()).isEqualTo(sum / count, offset(1e-6));
+    assertThat(merged.getAverage()).isEqualTo(statistics.getAverage(), offset(1e-6));
+    assertThat(merged.getDeviation()).isEqualTo(statistics.getDeviation(), offset(1e-6));
+    assertThat(merged.getDeviation()).isEqualTo(1.0, offset(0.05));
+    assertThat(merged.getMin()).isEqualTo(statistics.getMin());
+    assertThat(merged.getMax()).isEqualTo(statistics.getMax());
+  }
+
+  @Test
+  public void test_merge_frequency() {
+    val partial = new FieldStatistics(FREQUENCY);
+    partial.accumulate(FIELD_NAME, "b", new TupleState());
+    partial.accumulate(FIELD_NAME, "a", new TupleState());
+    partial.accumulate(FIELD_NAME, "b", new TupleState());
+    partial.accumulate(FIELD_NAME, null, new TupleState());
+
+    val merged = roundTrip(partial);
+    merged.merge(partial);
+
+    val fieldSummary = merged.toFieldSummary(FIELD_NAME);
+    assertThat(fieldSummary.summary).containsExactly(entry("a", 2L), entry("b", 4L));
+    assertThat(fieldSummary.populated).isEqualTo(6);
+    assertThat(fieldSummary.nulls).isEqualTo(2);
+  }
+
+  @Test
+  public void test_unique_count_exact() {
+    val statistics = new FieldStatistics(UNIQUE_COUNT);
+    for (int i = 0; i < EXACT_UNIQUE_COUNT_LIMIT; i++) {
+      statistics.accumulate(FIELD_NAME, "value" + i, new TupleState());
+      statistics.accumulate(FIELD_NAME, "value" + i, new TupleState());
+    }
+    statistics.accumulate(FIELD_NAME, null, new TupleState());
+
+    assertThat(statistics.isUniqueCountExact()).isTrue();
+    assertThat(statistics.getUniqueCount()).isEqualTo(EXACT_UNIQUE_COUNT_LIMIT + 1);
+  }
+
+  @Test
+  public void test_unique_count_estimated() {
+    val count = 100000;
+    val partial1 = new FieldStatistics(UNIQUE_COUNT);
+    val partial2 = new FieldStatistics(UNIQUE_COUNT);
+    for (int i = 0; i < count; i++) {
+      (i % 2 == 0 ? partial1 : partial2).accumulate(FIELD_NAME, "value" + i, new TupleState());
+      partial2.accumulate(FIELD_NAME, "value" + i, new TupleState());
+    }
+
+    val merged = new FieldStatistics(UNIQUE_COUNT);
+    merged.merge(roundTrip(partial1));
+    merged.merge(roundTrip(partial2));
+
+    assertThat(merged.isUniqueCountExact()).isFalse();
+    assertThat((double) merged.getUniqueCount()).isEqualTo(count, offset(count * 0.03));
+  }
+
+  @SneakyThrows
+  private static FieldStatistics roundTrip(FieldStatistics statistics) {
+    val bytes = new ByteArrayOutputStream();
+    statistics.write(new DataOutputStream(bytes));
+
+    return FieldStatistics.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+  }
+
+}
@@ -59,6 +59,21 @@ public class CodeListRestrictionTest extends CascadingTestCase {
     assertEquals(String.format("codelist[%s:%s]", FIELDNAME, CODELISTNAME), restriction.describe());
   }
 
+  @Test
+  public void test_CodeListMatcher_sharedPerCodeList() {
+    setup_CodeListRestriction();
+    CodeList previous = codeList;
+    CodeListMatcher matcher = RestrictionMatchers.codeList(previous);
+    assertSame(matcher, RestrictionMatchers.codeList(previous));
+
+    // Re-read code list, e.g. after an invalidation of the repository
+    setup_CodeListRestriction();
+    codeList.addTerm(new Term("1", "Y", ""));
+    CodeListMatcher reread = RestrictionMatchers.codeList(codeList);
+    assertNotSame(matcher, reread);
+    assertTrue(reread.matches("Y"));
+  }
+
   public void setup_InCodeListFunction() {
 
   }
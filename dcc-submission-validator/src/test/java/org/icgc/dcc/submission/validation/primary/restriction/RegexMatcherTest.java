@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.restriction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import lombok.val;
+
+public class RegexMatcherTest {
+
+  private static final String[] VALUES = { "", "a", "b", "ab", "yes", "no", "yesno", "a\n", "$", "x.y", "xzy" };
+
+  @Test
+  public void testLiteral() {
+    assertLiteral("^yes$");
+    assertLiteral("^(yes|no)$");
+    assertLiteral("(?:a|b|)");
+    assertLiteral("ab");
+    assertLiteral("^$");
+  }
+
+  @Test
+  public void testRegex() {
+    assertRegex("^[ab]$");
+    assertRegex("x.y");
+    assertRegex("(a)|(b)");
+    assertRegex("\\$");
+    assertRegex("(?i)yes");
+  }
+
+  @Test
+  public void testShared() {
+    assertThat(RestrictionMatchers.regex("^(yes|no)$")).isSameAs(RestrictionMatchers.regex("^(yes|no)$"));
+  }
+
+  private static void assertLiteral(String pattern) {
+    val matcher = assertMatches(pattern);
+    assertThat(matcher.isLiteral()).as(pattern).isTrue();
+  }
+
+  private static void assertRegex(String pattern) {
+    val matcher = assertMatches(pattern);
+    assertThat(matcher.isLiteral()).as(pattern).isFalse();
+  }
+
+  private static RegexMatcher assertMatches(String pattern) {
+    val matcher = new RegexMatcher(pattern);
+    val expected = Pattern.compile(pattern);
+    for (val value : VALUES) {
+      assertThat(matcher.matches(value)).as(pattern + " ~ " + value).isEqualTo(expected.matcher(value).matches());
+    }
+
+    return matcher;
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.primary.restriction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.icgc.dcc.submission.dictionary.model.CodeList;
+import org.icgc.dcc.submission.dictionary.model.Term;
+import org.junit.Test;
+
+import lombok.val;
+
+public class RestrictionMatchersTest {
+
+  @Test
+  public void testStats() {
+    val start = RestrictionMatchers.getStats();
+
+    val codeList = codeList();
+    RestrictionMatchers.codeList(codeList);
+    RestrictionMatchers.codeList(codeList);
+    RestrictionMatchers.regex("^test-stats-[0-9]+$");
+    RestrictionMatchers.regex("^test-stats-[0-9]+$");
+
+    val end = RestrictionMatchers.getStats();
+    val codeLists = end.getCodeLists().minus(start.getCodeLists());
+    val regexes = end.getRegexes().minus(start.getRegexes());
+    assertThat(codeLists.missCount()).isEqualTo(1);
+    assertThat(codeLists.hitCount()).isEqualTo(1);
+    assertThat(regexes.missCount()).isEqualTo(1);
+    assertThat(regexes.hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testCodeListsKeyedByInstance() {
+    val start = RestrictionMatchers.getStats();
+
+    // Equal code lists read anew, e.g. without the repository cache
+    RestrictionMatchers.codeList(codeList());
+    RestrictionMatchers.codeList(codeList());
+
+    val codeLists = RestrictionMatchers.getStats().getCodeLists().minus(start.getCodeLists());
+    assertThat(codeLists.missCount()).isEqualTo(2);
+    assertThat(codeLists.hitCount()).isEqualTo(0);
+  }
+
+  private static CodeList codeList() {
+    val codeList = new CodeList("test-stats");
+    codeList.addTerm(new Term("1", "one", ""));
+
+    return codeList;
+  }
+
+}
@@ -4,14 +4,28 @@ import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUB
 import static org.icgc.dcc.submission.core.report.Error.error;
 import static org.icgc.dcc.submission.core.report.ErrorType.REFERENCE_GENOME_INSERTION_ERROR;
 import static org.icgc.dcc.submission.core.report.ErrorType.REFERENCE_GENOME_MISMATCH_ERROR;
+import static org.icgc.dcc.common.core.model.FileTypes.FileType.SSM_P_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
+import java.util.List;
 
+import org.icgc.dcc.submission.core.report.Error;
+import org.icgc.dcc.submission.fs.LineIndex;
+import org.icgc.dcc.submission.fs.LineIndexes;
+import org.icgc.dcc.submission.validation.core.ValidationContext;
+import org.icgc.dcc.submission.validation.rgv.reference.HtsjdkReferenceGenome;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
+import com.google.common.io.ByteStreams;
+
+import lombok.Cleanup;
 import lombok.val;
 
 public class ReferenceGenomeValidatorTest extends BaseReferenceGenomeValidatorTest {
@@ -63,4 +77,101 @@ public class ReferenceGenomeValidatorTest extends BaseReferenceGenomeValidatorTe
             .build()));
   }
 
+  @Test
+  public void testSsmSamplePrimaryFileChunks() throws IOException, InterruptedException {
+    val testFile = TEST_FILE_NAME;
+    val context = mockContext();
+    indexFile(context, LineIndex.INTERVAL);
+    validator = new ReferenceGenomeValidator(new HtsjdkReferenceGenome("/tmp/GRCh37.fasta"), 2);
+
+    // Execute
+    validator.validate(context);
+
+    // Verify
+    val inOrder = inOrder(context);
+    inOrder.verify(context).reportError(eq(
+        error()
+            .fileName(testFile)
+            .fieldNames(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE)
+            .lineNumber(2)
+            .type(REFERENCE_GENOME_MISMATCH_ERROR)
+            .value("Expected: A, Actual: C")
+            .params("GRCh37")
+            .build()));
+    inOrder.verify(context).reportError(eq(
+        error()
+            .fileName(testFile)
+            .fieldNames(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE)
+            .lineNumber(3)
+            .type(REFERENCE_GENOME_MISMATCH_ERROR)
+            .value("Expected: T, Actual: C")
+            .params("GRCh37")
+            .build()));
+    inOrder.verify(context).reportError(eq(
+        error()
+            .fileName(testFile)
+            .fieldNames(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE)
+            .lineNumber(4)
+            .type(REFERENCE_GENOME_MISMATCH_ERROR)
+            .value("Expected: T, Actual: G")
+            .params("GRCh37")
+            .build()));
+    inOrder.verify(context).reportError(eq(
+        error()
+            .fileName(testFile)
+            .fieldNames(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE)
+            .lineNumber(5)
+            .type(REFERENCE_GENOME_INSERTION_ERROR)
+            .value("Expected: -, Actual: A")
+            .params("GRCh37")
+            .build()));
+  }
+
+  @Test
+  public void testSsmSamplePrimaryFileSmallChunks() throws IOException, InterruptedException {
+    val expected = getErrors(mockContext());
+    assertThat(expected).hasSize(4);
+
+    // A chunk per line, then chunks straddling the header and errors
+    for (int interval : new int[] { 1, 2, 3 }) {
+      val context = mockContext();
+      val index = indexFile(context, interval);
+      assertThat(index.size()).isGreaterThan(2);
+
+      validator = new ReferenceGenomeValidator(new HtsjdkReferenceGenome("/tmp/GRCh37.fasta"), 2);
+      assertThat(getErrors(context)).as("interval " + interval).isEqualTo(expected);
+    }
+  }
+
+  /**
+   * Validates and returns the reported errors, in order.
+   */
+  private List<Error> getErrors(ValidationContext context) throws InterruptedException {
+    validator.validate(context);
+
+    val errors = ArgumentCaptor.forClass(Error.class);
+    verify(context, atLeastOnce()).reportError(errors.capture());
+
+    return errors.getAllValues();
+  }
+
+  /**
+   * Records the line index of the submitted file every {@code interval} lines, as the first-pass would.
+   */
+  private static LineIndex indexFile(ValidationContext context, int interval) throws IOException {
+    val fileSystem = context.getFileSystem();
+    val file = context.getFiles(SSM_P_TYPE).get(0);
+
+    @Cleanup
+    val inputStream = fileSystem.open(file);
+    val bytes = ByteStreams.toByteArray(inputStream);
+    val builder = new LineIndex.Builder(interval);
+    builder.update(bytes, 0, bytes.length);
+
+    val index = builder.build();
+    LineIndexes.save(fileSystem, file, index);
+
+    return index;
+  }
+
 }
@@ -0,0 +1,106 @@
+package org.icgc.dcc.submission.validation.rgv.reference;
+
+import static com.google.common.base.Charsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Joiner;
+import com.google.common.io.Files;
+
+import lombok.SneakyThrows;
+
+public class MappedReferenceGenomeTest {
+
+  /**
+   * Test data.
+   */
+  private static final String SEQUENCE_1 = "NNNNACGTacgtAACCGGTTTTGGCCAANNNN";
+  private static final String SEQUENCE_2 = "GATTACA";
+  private static final int LINE_BASES = 10;
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  MappedReferenceGenome genome;
+
+  @Before
+  @SneakyThrows
+  public void setUp() {
+    File fastaFile = new File(tmp.getRoot(), "GRCh37.fasta");
+    StringBuilder fasta = new StringBuilder();
+    StringBuilder index = new StringBuilder();
+    appendSequence("1", SEQUENCE_1, fasta, index);
+    appendSequence("2 some description", SEQUENCE_2, fasta, index);
+
+    Files.write(fasta, fastaFile, US_ASCII);
+    Files.write(index, new File(fastaFile.getPath() + ".fai"), US_ASCII);
+
+    genome = new MappedReferenceGenome(fastaFile.getPath());
+  }
+
+  @Test
+  public void testVersion() {
+    assertThat(genome.getVersion()).isEqualTo("GRCh37");
+  }
+
+  @Test
+  public void testGetSequence() {
+    for (int start = 1; start <= SEQUENCE_1.length(); start++) {
+      for (int end = start; end <= SEQUENCE_1.length(); end++) {
+        assertThat(genome.getSequence("1", Integer.toString(start), Integer.toString(end)))
+            .isEqualTo(SEQUENCE_1.substring(start - 1, end));
+      }
+    }
+
+    assertThat(genome.getSequence("2", "1", "7")).isEqualTo(SEQUENCE_2);
+  }
+
+  @Test
+  public void testIsMatch() {
+    // Across lines, ignoring case
+    assertThat(genome.isMatch("1", "5", "14", "ACGTACGTAA")).isTrue();
+    assertThat(genome.isMatch("1", "5", "14", "acgtACGTaa")).isTrue();
+    assertThat(genome.isMatch("1", "5", "14", "ACGTACGTAC")).isFalse();
+    assertThat(genome.isMatch("2", "4", "4", "t")).isTrue();
+
+    // Length
+    assertThat(genome.isMatch("2", "4", "4", "TA")).isFalse();
+    assertThat(genome.isMatch("2", "4", "5", "T")).isFalse();
+
+    // Non letters
+    assertThat(genome.isMatch("2", "4", "4", "-")).isFalse();
+    assertThat(genome.isMatch("2", "4", "4", "\u0154")).isFalse();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testSequenceOutOfRange() {
+    genome.getSequence("2", "7", "8");
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testMatchOutOfRange() {
+    genome.isMatch("2", "0", "1", "G");
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testUnknownSequence() {
+    genome.isMatch("3", "1", "1", "G");
+  }
+
+  private static void appendSequence(String header, String bases, StringBuilder fasta, StringBuilder index) {
+    fasta.append('>').append(header).append('\n');
+    int offset = fasta.length();
+    for (int i = 0; i < bases.length(); i += LINE_BASES) {
+      fasta.append(bases, i, Math.min(i + LINE_BASES, bases.length())).append('\n');
+    }
+
+    index.append(Joiner.on('\t').join(header, bases.length(), offset, LINE_BASES, LINE_BASES + 1)).append('\n');
+  }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.submission.validation.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.submission.dictionary.util.Dictionaries.readResourcesDictionary;
+import static org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction.PROJECT_VARIABLE_NAME;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.icgc.dcc.submission.dictionary.model.RestrictionType;
+import org.icgc.dcc.submission.validation.primary.restriction.ScriptRestriction;
+import org.junit.Test;
+import org.mvel2.MVEL;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import lombok.val;
+
+public class CompiledScriptTest {
+
+  /**
+   * Test data.
+   */
+  private static final String PROJECT_KEY = "TEST-DCC";
+  private static final String ERROR = "<error>";
+  private static final List<String> FIELD_VALUES = Lists.newArrayList(null, "", "1", "-777", "SA1", "X");
+
+  @Test
+  public void testCompileCached() {
+    val script = "donor_sex == 1";
+
+    assertThat(CompiledScripts.compile(script)).isSameAs(CompiledScripts.compile(script));
+  }
+
+  @Test
+  public void testInputs() {
+    val script = CompiledScripts.compile("list_def = ['a','b']; list_def contains donor_id");
+
+    assertThat(script.getInputs()).containsKey("donor_id");
+    assertThat(script.getLocals()).contains("list_def");
+  }
+
+  @Test
+  public void testEvaluate() {
+    val script = CompiledScripts.compile("['AWS','Collab'] contains external_repo && project == 'TEST-DCC'");
+    val binding = script.bind(ImmutableList.of("donor_id", "external_repo", "note"),
+        ImmutableMap.<String, Object> of("project", "TEST-DCC"));
+
+    assertThat(binding.evaluate(new Object[] { "", "AWS", "" })).isEqualTo(true);
+    assertThat(binding.evaluate(ImmutableList.of("", "boo", ""))).isEqualTo(false);
+    assertThat(binding.evaluate(new Object[] { "", "Collab", "" })).isEqualTo(true);
+  }
+
+  @Test
+  public void testEvaluationCount() {
+    val script = CompiledScripts.compile("count_value > 10");
+    val binding = script.bind(ImmutableList.of("count_value"), Collections.<String, Object> emptyMap());
+    val count = script.getEvaluationCount();
+
+    binding.evaluate(new Object[] { 5 });
+    binding.evaluate(new Object[] { 15 });
+
+    assertThat(script.getEvaluationCount()).isEqualTo(count + 2);
+  }
+
+  @Test
+  public void testMetrics() {
+    val script = CompiledScripts.compile("count_value < 10");
+    val binding = script.bind(ImmutableList.of("count_value"), Collections.<String, Object> emptyMap());
+    binding.evaluate(new Object[] { 5 });
+    val start = CompiledScripts.getMetrics();
+
+    binding.evaluate(new Object[] { 15 });
+    val end = CompiledScripts.getMetrics();
+
+    assertThat(end.get(script).getCount() - start.get(script).getCount()).isEqualTo(1);
+    assertThat(end.get(script).getNanos()).isGreaterThanOrEqualTo(start.get(script).getNanos());
+  }
+
+  @Test
+  public void testEvaluateBindsEveryField() {
+    val script = CompiledScripts.compile("def check() { donor_id == 'DO1' }; check()");
+    val binding = script.bind(ImmutableList.of("donor_id", "note"), Collections.<String, Object> emptyMap());
+
+    assertThat(binding.evaluate(new Object[] { "DO1", "" })).isEqualTo(true);
+    assertThat(binding.evaluate(new Object[] { "DO2", "" })).isEqualTo(false);
+  }
+
+  @Test
+  public void testEvaluateDictionaryScripts() {
+    val dictionary = readResourcesDictionary();
+    for (val fileSchema : dictionary.getFiles()) {
+      val fieldNames = fileSchema.getFieldNames();
+      for (val field : fileSchema.getFields()) {
+        for (val restriction : field.getRestrictions()) {
+          if (restriction.getType() == RestrictionType.SCRIPT) {
+            val script = restriction.getConfig().getString(ScriptRestriction.PARAM);
+            val binding = CompiledScripts.compile(script)
+                .bind(fieldNames, ImmutableMap.<String, Object> of(PROJECT_VARIABLE_NAME, PROJECT_KEY));
+
+            for (val fieldValue : FIELD_VALUES) {
+              val values = new Object[fieldNames.size()];
+              for (int i = 0; i < values.length; i++) {
+                values[i] = fieldValue;
+              }
+
+              // Twice, so that the second evaluation runs against reused variables
+              evaluate(binding, values);
+              assertThat(evaluate(binding, values)).as(script).isEqualTo(evaluate(script, fieldNames, values));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static Object evaluate(CompiledScript.Binding binding, Object[] values) {
+    try {
+      return binding.evaluate(values);
+    } catch (RuntimeException e) {
+      return ERROR;
+    }
+  }
+
+  private static Object evaluate(String script, List<String> fieldNames, Object[] values) {
+    // Fresh variables holding every field, as scripts were evaluated originally
+    Map<String, Object> variables = Maps.newLinkedHashMap();
+    for (int i = 0; i < values.length; i++) {
+      variables.put(fieldNames.get(i), values[i]);
+    }
+    variables.put(PROJECT_VARIABLE_NAME, PROJECT_KEY);
+
+    try {
+      return MVEL.executeExpression(MVEL.compileExpression(script), variables);
+    } catch (RuntimeException e) {
+      return ERROR;
+    }
+  }
+
+}